@@ -577,6 +577,23 @@ public final class ConfigurationProperties {
 
     public static final String DEFAULT_REPOSITORY_SYSTEM_REPOSITORY_KEY_FUNCTION = "nid";
 
+    /**
+     * <b>Experimental:</b> Flag controlling whether resolver executors (used by connector, collector and metadata
+     * resolver) should use virtual threads, one per task, instead of pooled platform threads. When enabled, the
+     * concurrency is still bounded by the configured thread count of executor user, but is enforced by a semaphore
+     * instead of pool size. Virtual threads require Java 21 or newer, on older Java versions this flag is ignored
+     * and platform threads are used.
+     *
+     * @since 2.0.20
+     * @configurationSource {@link RepositorySystemSession#getConfigProperties()}
+     * @configurationType {@link java.lang.Boolean}
+     * @configurationDefaultValue {@link #DEFAULT_REPOSITORY_SYSTEM_VIRTUAL_THREADS}
+     * @configurationRepoIdSuffix No
+     */
+    public static final String REPOSITORY_SYSTEM_VIRTUAL_THREADS = PREFIX_SYSTEM + "virtualThreads";
+
+    public static final boolean DEFAULT_REPOSITORY_SYSTEM_VIRTUAL_THREADS = false;
+
     /**
      * A flag indicating whether version scheme cache statistics should be printed on JVM shutdown.
      * This is useful for analyzing cache performance and effectiveness in development and testing scenarios.
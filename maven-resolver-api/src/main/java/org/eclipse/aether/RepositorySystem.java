@@ -19,8 +19,11 @@
 package org.eclipse.aether;
 
 import java.io.Closeable;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.collection.CollectRequest;
@@ -135,6 +138,65 @@ public interface RepositorySystem extends Closeable {
     CollectResult collectDependencies(RepositorySystemSession session, CollectRequest request)
             throws DependencyCollectionException;
 
+    /**
+     * Collects the transitive dependencies of an artifact and builds a dependency graph, reusing what is possible
+     * from a previous collection result. This is meant for callers that repeatedly collect the same project with
+     * small changes, like a changed direct dependency or managed version. The returned graph is always built anew
+     * and is equivalent to the one {@link #collectDependencies(RepositorySystemSession, CollectRequest)} would
+     * return, but descriptors and version ranges already processed by previous collection are not read again.
+     * <p>
+     * Implementations may reuse only data they retained in the previous result, and fall back to full collection
+     * otherwise. This default implementation always performs full collection.
+     *
+     * @param session The repository session, must not be {@code null}.
+     * @param request The collection request, must not be {@code null}.
+     * @param previous The result of previous collection, may be {@code null}.
+     * @return The collection result, never {@code null}.
+     * @throws DependencyCollectionException If the dependency tree could not be built.
+     * @see #collectDependencies(RepositorySystemSession, CollectRequest)
+     * @since 2.0.20
+     */
+    default CollectResult collectDependencies(
+            RepositorySystemSession session, CollectRequest request, CollectResult previous)
+            throws DependencyCollectionException {
+        return collectDependencies(session, request);
+    }
+
+    /**
+     * Collects the transitive dependencies of several artifacts at once, like the modules of a multi-module build.
+     * Implementations may share data among the collections of a batch, like read artifact descriptors and resolved
+     * version ranges, and may collect them concurrently. Collected nodes are not shared: every result has a graph of
+     * its own, so subtrees common to several requests are still built once per request. Each returned result is equivalent to the one
+     * {@link #collectDependencies(RepositorySystemSession, CollectRequest)} would return for the same request.
+     * <p>
+     * A failing collection does not stop the others: its result is the one carried by the
+     * {@link DependencyCollectionException} that the single request variant would throw, and it always has at least
+     * one {@link CollectResult#getExceptions() exception} recorded. This default implementation collects the
+     * requests one by one.
+     *
+     * @param session The repository session, must not be {@code null}.
+     * @param requests The collection requests, must not be {@code null}.
+     * @return The collection results in the order of requests, never {@code null}.
+     * @see #collectDependencies(RepositorySystemSession, CollectRequest)
+     * @since 2.0.20
+     */
+    default List<CollectResult> collectDependencies(
+            RepositorySystemSession session, Collection<? extends CollectRequest> requests) {
+        List<CollectResult> results = new ArrayList<>(requests.size());
+        for (CollectRequest request : requests) {
+            try {
+                results.add(collectDependencies(session, request));
+            } catch (DependencyCollectionException e) {
+                CollectResult result = e.getResult() != null ? e.getResult() : new CollectResult(request);
+                if (result.getExceptions().isEmpty()) {
+                    result.addException(e);
+                }
+                results.add(result);
+            }
+        }
+        return results;
+    }
+
     /**
      * Collects and resolves the transitive dependencies of an artifact. This operation is essentially a combination of
      * {@link #collectDependencies(RepositorySystemSession, CollectRequest)} and
@@ -196,6 +258,45 @@ public interface RepositorySystem extends Closeable {
             RepositorySystemSession session, Collection<? extends ArtifactRequest> requests)
             throws ArtifactResolutionException;
 
+    /**
+     * Resolves the paths for a collection of artifacts asynchronously, returning a future per request, that completes
+     * as soon as the artifact of that request is resolved, independently of the others. This allows callers to start
+     * processing the first resolved artifacts (like putting them on a class path) while the others are still being
+     * downloaded. A future of an artifact that could not be resolved completes exceptionally with an
+     * {@link ArtifactResolutionException} carrying the single {@link ArtifactResult} of that request. The session must
+     * not be closed before all futures are completed.
+     * <p>
+     * This default implementation resolves all artifacts with
+     * {@link #resolveArtifacts(RepositorySystemSession, Collection)} before returning, hence the returned futures are
+     * already completed.
+     *
+     * @param session  The repository session, must not be {@code null}.
+     * @param requests The resolution requests, must not be {@code null}.
+     * @return The futures of resolution results (in request order), never {@code null}.
+     * @see #resolveArtifacts(RepositorySystemSession, Collection)
+     * @since 2.0.20
+     */
+    default List<CompletableFuture<ArtifactResult>> resolveArtifactsAsync(
+            RepositorySystemSession session, Collection<? extends ArtifactRequest> requests) {
+        List<ArtifactResult> results;
+        try {
+            results = resolveArtifacts(session, requests);
+        } catch (ArtifactResolutionException e) {
+            results = e.getResults();
+        }
+        List<CompletableFuture<ArtifactResult>> futures = new ArrayList<>(results.size());
+        for (ArtifactResult result : results) {
+            CompletableFuture<ArtifactResult> future = new CompletableFuture<>();
+            if (result.isResolved()) {
+                future.complete(result);
+            } else {
+                future.completeExceptionally(new ArtifactResolutionException(Collections.singletonList(result)));
+            }
+            futures.add(future);
+        }
+        return futures;
+    }
+
     /**
      * Resolves the paths for a collection of metadata. Metadata will be downloaded to the local repository if
      * necessary, e.g. because it hasn't been cached yet or the cache is deemed outdated.
@@ -55,6 +55,8 @@ public final class CollectRequest {
 
     private RequestTrace trace;
 
+    private DependencyCollectionListener collectionListener;
+
     /**
      * Creates an uninitialized request.
      */
@@ -331,6 +333,28 @@ public final class CollectRequest {
         return this;
     }
 
+    /**
+     * Gets the listener to notify about dependency nodes as they are discovered during collection.
+     *
+     * @since 2.0.20
+     * @return The listener or {@code null} if none.
+     */
+    public DependencyCollectionListener getCollectionListener() {
+        return collectionListener;
+    }
+
+    /**
+     * Sets the listener to notify about dependency nodes as they are discovered during collection.
+     *
+     * @since 2.0.20
+     * @param collectionListener The listener, may be {@code null}.
+     * @return This request for chaining, never {@code null}.
+     */
+    public CollectRequest setCollectionListener(DependencyCollectionListener collectionListener) {
+        this.collectionListener = collectionListener;
+        return this;
+    }
+
     @Override
     public String toString() {
         return getRoot() + " -> " + getDependencies() + " < " + getRepositories();
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.eclipse.aether.collection;
+
+import org.eclipse.aether.graph.DependencyNode;
+
+/**
+ * A listener being notified about dependency nodes as they are discovered during dependency collection, allowing
+ * callers to start processing them (ie. downloading artifacts) while the collection is still running.
+ * <p>
+ * Reported nodes are part of the "dirty" graph: they are reported before the
+ * {@link DependencyGraphTransformer} is applied, so some of them (ie. conflict losers) may not be part of the final
+ * graph. A node whose children were already collected elsewhere in the graph shares them, in which case the shared
+ * children are reported only once. If the collection is re-run (see {@link DependencyCollectionChecker}), each run
+ * starts with {@link #collectionStarted(DependencyNode)} and reports all of its nodes again.
+ * <p>
+ * The listener is invoked synchronously from the thread performing the collection, and never concurrently. Hence, a
+ * listener blocking (ie. on a bounded queue) slows down the collection, providing natural back-pressure.
+ * Implementations should not modify the reported nodes.
+ *
+ * @see CollectRequest#setCollectionListener(DependencyCollectionListener)
+ * @since 2.0.20
+ */
+@FunctionalInterface
+public interface DependencyCollectionListener {
+    /**
+     * Notifies the listener about start of a collection run, carrying the root node of the graph being built.
+     *
+     * @param root The root node, never {@code null}.
+     */
+    default void collectionStarted(DependencyNode root) {}
+
+    /**
+     * Notifies the listener that a node has been discovered and added to the graph as child of given parent.
+     *
+     * @param parent The parent node, never {@code null}.
+     * @param node The discovered node, never {@code null}.
+     */
+    void nodeCollected(DependencyNode parent, DependencyNode node);
+}
@@ -18,6 +18,8 @@
  */
 package org.eclipse.aether.impl;
 
+import java.util.Collection;
+
 import org.eclipse.aether.RepositorySystem;
 import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.resolution.ArtifactDescriptorException;
@@ -45,4 +47,19 @@ public interface ArtifactDescriptorReader {
      */
     ArtifactDescriptorResult readArtifactDescriptor(RepositorySystemSession session, ArtifactDescriptorRequest request)
             throws ArtifactDescriptorException;
+
+    /**
+     * Prepares the descriptors of several artifacts ahead of their reading, so that subsequent
+     * {@link #readArtifactDescriptor(RepositorySystemSession, ArtifactDescriptorRequest)} calls for them are cheap.
+     * Implementations are expected to group the work shared by the requests, like resolving all the descriptor files
+     * using single {@link ArtifactResolver#resolveArtifacts(RepositorySystemSession, Collection)} call, so
+     * that synchronization, update checks and downloads are batched. This method is only a hint: it must not throw,
+     * problems are expected to be reported by the subsequent reads. By default, this method does nothing.
+     *
+     * @param session The repository session, must not be {@code null}.
+     * @param requests The descriptor requests, must not be {@code null}.
+     * @since 2.0.20
+     */
+    default void prefetchArtifactDescriptors(
+            RepositorySystemSession session, Collection<? extends ArtifactDescriptorRequest> requests) {}
 }
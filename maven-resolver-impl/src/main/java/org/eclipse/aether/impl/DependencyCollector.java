@@ -18,6 +18,10 @@
  */
 package org.eclipse.aether.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 import org.eclipse.aether.RepositorySystem;
 import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.collection.CollectRequest;
@@ -53,4 +57,56 @@ public interface DependencyCollector {
      */
     CollectResult collectDependencies(RepositorySystemSession session, CollectRequest request)
             throws DependencyCollectionException;
+
+    /**
+     * Collects the transitive dependencies of some artifacts and builds a dependency graph, possibly reusing data
+     * retained from a previous collection result. By default, this method ignores the previous result and performs
+     * full collection.
+     *
+     * @param session The repository session, must not be {@code null}.
+     * @param request The collection request, must not be {@code null}.
+     * @param previous The previous collection result to reuse data from, may be {@code null}.
+     * @return The collection result, never {@code null}.
+     * @throws DependencyCollectionException If the dependency tree could not be built.
+     * @see RepositorySystem#collectDependencies(RepositorySystemSession, CollectRequest, CollectResult)
+     * @since 2.0.20
+     */
+    default CollectResult collectDependencies(
+            RepositorySystemSession session, CollectRequest request, CollectResult previous)
+            throws DependencyCollectionException {
+        return collectDependencies(session, request);
+    }
+
+    /**
+     * Collects the transitive dependencies of several artifacts at once, possibly sharing data among the collections.
+     * A failing collection does not stop the others, its result carries the recorded exceptions instead. By default,
+     * this method collects the requests one by one.
+     * <p>
+     * The collectors provided by resolver share artifact descriptors, version ranges, interned data and memoized
+     * derivations among the collections of a batch, but not the collected nodes: every collection builds its own
+     * graph, as graphs are modified by transformation once collected. Hence, a subtree reachable from several requests
+     * is still expanded once per request, only the data it is expanded from is shared.
+     *
+     * @param session The repository session, must not be {@code null}.
+     * @param requests The collection requests, must not be {@code null}.
+     * @return The collection results in the order of requests, never {@code null}.
+     * @see RepositorySystem#collectDependencies(RepositorySystemSession, Collection)
+     * @since 2.0.20
+     */
+    default List<CollectResult> collectDependencies(
+            RepositorySystemSession session, Collection<? extends CollectRequest> requests) {
+        List<CollectResult> results = new ArrayList<>(requests.size());
+        for (CollectRequest request : requests) {
+            try {
+                results.add(collectDependencies(session, request));
+            } catch (DependencyCollectionException e) {
+                CollectResult result = e.getResult() != null ? e.getResult() : new CollectResult(request);
+                if (result.getExceptions().isEmpty()) {
+                    result.addException(e);
+                }
+                results.add(result);
+            }
+        }
+        return results;
+    }
 }
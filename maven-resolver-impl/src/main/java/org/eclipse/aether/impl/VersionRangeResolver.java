@@ -18,6 +18,10 @@
  */
 package org.eclipse.aether.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 import org.eclipse.aether.RepositorySystem;
 import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.resolution.VersionRangeRequest;
@@ -49,4 +53,35 @@ public interface VersionRangeResolver {
      */
     VersionRangeResult resolveVersionRange(RepositorySystemSession session, VersionRangeRequest request)
             throws VersionRangeResolutionException;
+
+    /**
+     * Expands several version ranges at once. Implementations are expected to group the work shared by the requests,
+     * like resolving the metadata of all of them using single
+     * {@link MetadataResolver#resolveMetadata(RepositorySystemSession, Collection)} call, that processes them in
+     * parallel. A failing request does not stop the others: its result is the one carried by the
+     * {@link VersionRangeResolutionException} that {@link #resolveVersionRange(RepositorySystemSession,
+     * VersionRangeRequest)} would throw, and it has at least one exception recorded. By default, this method resolves
+     * the requests one by one.
+     *
+     * @param session The repository session, must not be {@code null}.
+     * @param requests The version range requests, must not be {@code null}.
+     * @return The version range results in the order of requests, never {@code null}.
+     * @since 2.0.20
+     */
+    default List<VersionRangeResult> resolveVersionRanges(
+            RepositorySystemSession session, Collection<? extends VersionRangeRequest> requests) {
+        List<VersionRangeResult> results = new ArrayList<>(requests.size());
+        for (VersionRangeRequest request : requests) {
+            try {
+                results.add(resolveVersionRange(session, request));
+            } catch (VersionRangeResolutionException e) {
+                VersionRangeResult result = e.getResult() != null ? e.getResult() : new VersionRangeResult(request);
+                if (result.getExceptions().isEmpty()) {
+                    result.addException(e);
+                }
+                results.add(result);
+            }
+        }
+        return results;
+    }
 }
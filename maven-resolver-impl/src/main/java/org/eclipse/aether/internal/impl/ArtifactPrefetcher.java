@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.eclipse.aether.internal.impl;
+
+import java.util.Collections;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.RequestTrace;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.collection.DependencyCollectionListener;
+import org.eclipse.aether.collection.DependencyGraphTransformer;
+import org.eclipse.aether.graph.DependencyFilter;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.impl.ArtifactResolver;
+import org.eclipse.aether.internal.impl.collect.bf.DependencyPruner;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.util.artifact.ArtifactIdUtils;
+import org.eclipse.aether.util.concurrency.SmartExecutor;
+import org.eclipse.aether.util.concurrency.SmartExecutorUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collection listener fetching artifacts of nodes while dependencies are still being collected, used by pipelined
+ * {@link DefaultRepositorySystem#resolveDependencies(RepositorySystemSession,
+ * org.eclipse.aether.resolution.DependencyRequest)}.
+ * <p>
+ * Children of root without version range are fetched unconditionally, when graph transformer of session applies
+ * Maven conflict resolution semantics (see {@link DependencyPruner#supports(DependencyGraphTransformer)}), as they
+ * are certain to survive it. Other nodes (and with other graph transformers, all nodes) are fetched speculatively, as
+ * they may still lose conflict resolution, hence their count is bounded by a budget. Nodes rejected by the filter of dependency request (evaluated with their
+ * parent only, as their full path is not known yet) are not fetched. Failures are ignored, as prefetched artifacts are
+ * resolved again (as local hits) once the graph is final, and that resolution reports them. Notifications are passed
+ * on to the listener of collect request, if any.
+ * <p>
+ * Closing the prefetcher skips the speculative fetches not yet started, and waits for the others to finish.
+ */
+final class ArtifactPrefetcher implements DependencyCollectionListener, AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ArtifactPrefetcher.class);
+
+    private final RepositorySystemSession session;
+
+    private final ArtifactResolver artifactResolver;
+
+    private final RequestTrace trace;
+
+    private final DependencyFilter filter;
+
+    private final DependencyCollectionListener delegate;
+
+    private final SmartExecutor executor;
+
+    private final boolean directCertain;
+
+    private final Set<String> seen = ConcurrentHashMap.newKeySet();
+
+    private final Queue<Future<Boolean>> fetches = new ConcurrentLinkedQueue<>();
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private DependencyNode root;
+
+    private int budget;
+
+    @SuppressWarnings("checkstyle:parameternumber")
+    ArtifactPrefetcher(
+            RepositorySystemSession session,
+            ArtifactResolver artifactResolver,
+            RequestTrace trace,
+            DependencyFilter filter,
+            DependencyCollectionListener delegate,
+            int threads,
+            int budget) {
+        this.session = session;
+        this.artifactResolver = artifactResolver;
+        this.trace = trace;
+        this.filter = filter;
+        this.delegate = delegate;
+        this.executor = SmartExecutorUtils.smartExecutor(session, null, threads, "resolver-prefetcher-");
+        this.budget = budget;
+        this.directCertain = DependencyPruner.supports(session.getDependencyGraphTransformer());
+    }
+
+    @Override
+    public void collectionStarted(DependencyNode root) {
+        this.root = root;
+        if (delegate != null) {
+            delegate.collectionStarted(root);
+        }
+    }
+
+    @Override
+    public void nodeCollected(DependencyNode parent, DependencyNode node) {
+        prefetch(parent, node);
+        if (delegate != null) {
+            delegate.nodeCollected(parent, node);
+        }
+    }
+
+    private void prefetch(DependencyNode parent, DependencyNode node) {
+        if (closed.get() || node.getDependency() == null) {
+            return;
+        }
+        Artifact artifact = node.getArtifact();
+        if (!seen.add(ArtifactIdUtils.toId(artifact))) {
+            return;
+        }
+        if (filter != null && !filter.accept(node, Collections.singletonList(parent))) {
+            return;
+        }
+        boolean certain = directCertain
+                && parent == root
+                && (node.getVersionConstraint() == null
+                        || node.getVersionConstraint().getRange() == null);
+        if (!certain && budget-- <= 0) {
+            return;
+        }
+        ArtifactRequest request = new ArtifactRequest(artifact, node.getRepositories(), node.getRequestContext());
+        request.setTrace(trace);
+        fetches.add(executor.submit(() -> {
+            if (!certain && closed.get()) {
+                return false;
+            }
+            try {
+                artifactResolver.resolveArtifact(session, request);
+            } catch (Exception e) {
+                LOGGER.debug("Failed to prefetch artifact {}", artifact, e);
+            }
+            return true;
+        }));
+    }
+
+    @Override
+    public void close() {
+        closed.set(true);
+        int fetched = 0;
+        try {
+            for (Future<Boolean> fetch; (fetch = fetches.poll()) != null; ) {
+                if (fetch.get()) {
+                    fetched++;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // fetches do not throw
+        } finally {
+            executor.close();
+        }
+        LOGGER.debug("Prefetched {} artifacts during collection", fetched);
+    }
+}
@@ -24,17 +24,26 @@ import javax.inject.Singleton;
 
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.eclipse.aether.ConfigurationProperties;
+import org.eclipse.aether.Keys;
 import org.eclipse.aether.RepositoryEvent;
 import org.eclipse.aether.RepositoryEvent.EventType;
 import org.eclipse.aether.RepositorySystemSession;
@@ -78,7 +87,12 @@ import org.eclipse.aether.transfer.ArtifactNotFoundException;
 import org.eclipse.aether.transfer.ArtifactTransferException;
 import org.eclipse.aether.transfer.NoRepositoryConnectorException;
 import org.eclipse.aether.transfer.RepositoryOfflineException;
+import org.eclipse.aether.transfer.TransferCancelledException;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.eclipse.aether.transfer.TransferListener;
 import org.eclipse.aether.util.ConfigUtils;
+import org.eclipse.aether.util.concurrency.SmartExecutor;
+import org.eclipse.aether.util.concurrency.SmartExecutorUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -119,6 +133,68 @@ public class DefaultArtifactResolver implements ArtifactResolver {
 
     public static final boolean DEFAULT_SIMPLE_LRM_INTEROP = false;
 
+    /**
+     * Configuration to enable the optimistic, lock-free path for artifacts already present in the local repository.
+     * Released artifacts (not snapshots, and not resolved to other version, like "RELEASE" or "LATEST") that are
+     * found in the workspace, or are available in the local repository (are tracked as cached from one of the
+     * requested repositories, or installed locally), are resolved without entering the sync context, as no download
+     * nor update check is needed for them. Only the remaining artifacts are resolved under the sync context.
+     *
+     * @since 2.0.20
+     * @configurationSource {@link RepositorySystemSession#getConfigProperties()}
+     * @configurationType {@link java.lang.Boolean}
+     * @configurationDefaultValue {@link #DEFAULT_OPTIMISTIC_LOCAL}
+     */
+    public static final String CONFIG_PROP_OPTIMISTIC_LOCAL = CONFIG_PROPS_PREFIX + "optimisticLocal";
+
+    public static final boolean DEFAULT_OPTIMISTIC_LOCAL = true;
+
+    /**
+     * Configuration to enable hedged downloads, when artifacts are to be downloaded from more than one remote
+     * repository. Without hedging, remote repositories are tried strictly in order, so a slow or hanging repository
+     * stalls resolution until transfer times out. With hedging, if downloads from a repository do not complete within
+     * the hedging delay, downloads of still unresolved artifacts from the next repository are started as well. The
+     * first successful download of an artifact wins, and other transfers of it are cancelled. The hedging delay is the
+     * configured percentile of download latencies observed in the session, but at least the configured minimum delay.
+     * Hedged transfers download into private staging directories next to their target, and only the winning transfer
+     * is moved into the local repository, while resolution still holds its sync context. Transfers still running when
+     * resolution returns are left to fail or complete on their own threads, without touching the local repository nor
+     * emitting further events.
+     *
+     * @since 2.0.20
+     * @configurationSource {@link RepositorySystemSession#getConfigProperties()}
+     * @configurationType {@link java.lang.Boolean}
+     * @configurationDefaultValue {@link #DEFAULT_HEDGING}
+     */
+    public static final String CONFIG_PROP_HEDGING = CONFIG_PROPS_PREFIX + "hedging";
+
+    public static final boolean DEFAULT_HEDGING = false;
+
+    /**
+     * The percentile of download latencies observed in the session, after which downloads are hedged. Latencies are
+     * measured per download batch from a remote repository.
+     *
+     * @since 2.0.20
+     * @configurationSource {@link RepositorySystemSession#getConfigProperties()}
+     * @configurationType {@link java.lang.Integer}
+     * @configurationDefaultValue {@link #DEFAULT_HEDGING_PERCENTILE}
+     */
+    public static final String CONFIG_PROP_HEDGING_PERCENTILE = CONFIG_PROP_HEDGING + ".percentile";
+
+    public static final int DEFAULT_HEDGING_PERCENTILE = 95;
+
+    /**
+     * The minimum hedging delay in milliseconds, also used while there are too few latencies observed in the session.
+     *
+     * @since 2.0.20
+     * @configurationSource {@link RepositorySystemSession#getConfigProperties()}
+     * @configurationType {@link java.lang.Long}
+     * @configurationDefaultValue {@link #DEFAULT_HEDGING_MIN_DELAY}
+     */
+    public static final String CONFIG_PROP_HEDGING_MIN_DELAY = CONFIG_PROP_HEDGING + ".minDelay";
+
+    public static final long DEFAULT_HEDGING_MIN_DELAY = 1000L;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultArtifactResolver.class);
 
     private final PathProcessor pathProcessor;
@@ -186,6 +262,49 @@ public class DefaultArtifactResolver implements ArtifactResolver {
             throws ArtifactResolutionException {
         requireNonNull(session, "session cannot be null");
         requireNonNull(requests, "requests cannot be null");
+        List<ArtifactResult> results = null;
+        if (ConfigUtils.getBoolean(session, DEFAULT_OPTIMISTIC_LOCAL, CONFIG_PROP_OPTIMISTIC_LOCAL)) {
+            results = resolveLocally(session, requests);
+        }
+        if (results == null) {
+            return resolveLocked(session, requests);
+        }
+        List<ArtifactResult> local = new ArrayList<>(results.size());
+        List<ArtifactRequest> remaining = new ArrayList<>();
+        Iterator<? extends ArtifactRequest> requestIt = requests.iterator();
+        for (ArtifactResult result : results) {
+            ArtifactRequest request = requestIt.next();
+            if (result != null) {
+                local.add(result);
+            } else {
+                remaining.add(request);
+            }
+        }
+        boolean failures = postProcess(session, local);
+        List<ArtifactResult> locked = Collections.emptyList();
+        if (!remaining.isEmpty()) {
+            try {
+                locked = resolveLocked(session, remaining);
+            } catch (ArtifactResolutionException e) {
+                failures = true;
+                locked = e.getResults();
+            }
+        }
+        Iterator<ArtifactResult> lockedIt = locked.iterator();
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i) == null) {
+                results.set(i, lockedIt.next());
+            }
+        }
+        if (failures) {
+            throw new ArtifactResolutionException(results);
+        }
+        return results;
+    }
+
+    private List<ArtifactResult> resolveLocked(
+            RepositorySystemSession session, Collection<? extends ArtifactRequest> requests)
+            throws ArtifactResolutionException {
         try (SyncContext shared = syncContextFactory.newInstance(session, true);
                 SyncContext exclusive = syncContextFactory.newInstance(session, false)) {
             Collection<Artifact> artifacts = new ArrayList<>(requests.size());
@@ -202,6 +321,136 @@ public class DefaultArtifactResolver implements ArtifactResolver {
         }
     }
 
+    /**
+     * Resolves, without entering the sync context, the requests of released artifacts found in workspace, or available
+     * in local repository. Returns results in request order, with {@code null} for requests that need to be resolved
+     * under the sync context, or returns {@code null} if no request was resolved.
+     */
+    private List<ArtifactResult> resolveLocally(
+            RepositorySystemSession session, Collection<? extends ArtifactRequest> requests) {
+        SystemDependencyScope systemDependencyScope = session.getSystemDependencyScope();
+        LocalRepositoryManager lrm = session.getLocalRepositoryManager();
+        WorkspaceReader workspace = session.getWorkspaceReader();
+        RemoteRepositoryFilter filter = remoteRepositoryFilterManager.getRemoteRepositoryFilter(session);
+        List<ArtifactResult> results = new ArrayList<>(requests.size());
+        boolean resolved = false;
+        for (ArtifactRequest request : requests) {
+            Artifact artifact = request.getArtifact();
+            ArtifactResult result = null;
+            if (!artifact.isSnapshot()
+                    && (systemDependencyScope == null || systemDependencyScope.getSystemPath(artifact) == null)) {
+                result = resolveLocally(session, request, lrm, workspace, filter);
+            }
+            results.add(result);
+            resolved |= result != null;
+        }
+        return resolved ? results : null;
+    }
+
+    private ArtifactResult resolveLocally(
+            RepositorySystemSession session,
+            ArtifactRequest request,
+            LocalRepositoryManager lrm,
+            WorkspaceReader workspace,
+            RemoteRepositoryFilter filter) {
+        RequestTrace trace = RequestTrace.newChild(request.getTrace(), request);
+        ArtifactResult result = new ArtifactResult(request);
+        Artifact artifact = request.getArtifact();
+        List<RemoteRepository> filteredRemoteRepositories = filterRepositories(filter, request, result);
+
+        VersionResult versionResult;
+        try {
+            VersionRequest versionRequest =
+                    new VersionRequest(artifact, filteredRemoteRepositories, request.getRequestContext());
+            versionRequest.setTrace(trace);
+            versionResult = versionResolver.resolveVersion(session, versionRequest);
+        } catch (VersionResolutionException e) {
+            return null;
+        }
+        if (!artifact.getVersion().equals(versionResult.getVersion())) {
+            return null;
+        }
+        if (versionResult.getRepository() != null) {
+            if (versionResult.getRepository() instanceof RemoteRepository) {
+                filteredRemoteRepositories =
+                        Collections.singletonList((RemoteRepository) versionResult.getRepository());
+            } else {
+                filteredRemoteRepositories = Collections.emptyList();
+            }
+        }
+
+        ArtifactRepository repository;
+        Path path = workspace != null ? workspace.findArtifactPath(artifact) : null;
+        if (path != null) {
+            repository = workspace.getRepository();
+        } else {
+            LocalArtifactResult local = lrm.find(
+                    session,
+                    new LocalArtifactRequest(artifact, filteredRemoteRepositories, request.getRequestContext()));
+            if (!local.isAvailable() || local.getPath() == null) {
+                return null;
+            }
+            result.setLocalArtifactResult(local);
+            path = local.getPath();
+            repository = local.getRepository() != null ? local.getRepository() : lrm.getRepository();
+        }
+        artifact = artifact.setPath(path);
+        result.setArtifact(artifact);
+        result.setRepository(repository);
+        artifactResolving(session, trace, request.getArtifact());
+        artifactResolved(session, trace, artifact, repository, null);
+        return result;
+    }
+
+    /**
+     * Returns the repositories of request accepted by filter (if any), and records the rejected ones on result.
+     */
+    private List<RemoteRepository> filterRepositories(
+            RemoteRepositoryFilter filter, ArtifactRequest request, ArtifactResult result) {
+        List<RemoteRepository> remoteRepositories = request.getRepositories();
+        List<RemoteRepository> filteredRemoteRepositories = new ArrayList<>(remoteRepositories);
+        if (filter != null) {
+            for (RemoteRepository repository : remoteRepositories) {
+                RemoteRepositoryFilter.Result filterResult = filter.acceptArtifact(repository, request.getArtifact());
+                if (!filterResult.isAccepted()) {
+                    result.addException(
+                            repository,
+                            new ArtifactFilteredOutException(
+                                    request.getArtifact(), repository, filterResult.reasoning()));
+                    filteredRemoteRepositories.remove(repository);
+                }
+            }
+        }
+        return filteredRemoteRepositories;
+    }
+
+    /**
+     * Applies post-processors to results, and records failures of unresolved ones; returns {@code true} if any of
+     * them failed.
+     */
+    private boolean postProcess(RepositorySystemSession session, List<ArtifactResult> results) {
+        for (ArtifactResolverPostProcessor artifactResolverPostProcessor : artifactResolverPostProcessors.values()) {
+            artifactResolverPostProcessor.postProcess(session, results);
+        }
+
+        boolean failures = false;
+        for (ArtifactResult result : results) {
+            ArtifactRequest request = result.getRequest();
+
+            Artifact artifact = result.getArtifact();
+            if (artifact == null || artifact.getPath() == null) {
+                failures = true;
+                if (result.getExceptions().isEmpty()) {
+                    Exception exception = new ArtifactNotFoundException(request.getArtifact(), (RemoteRepository) null);
+                    result.addException(result.getRepository(), exception);
+                }
+                RequestTrace trace = RequestTrace.newChild(request.getTrace(), request);
+                artifactResolved(session, trace, request.getArtifact(), null, result.getExceptions());
+            }
+        }
+        return failures;
+    }
+
     @SuppressWarnings("checkstyle:methodlength")
     private List<ArtifactResult> resolve(
             SyncContext shared,
@@ -256,19 +505,7 @@ public class DefaultArtifactResolver implements ArtifactResolver {
                     }
 
                     List<RemoteRepository> remoteRepositories = request.getRepositories();
-                    List<RemoteRepository> filteredRemoteRepositories = new ArrayList<>(remoteRepositories);
-                    if (filter != null) {
-                        for (RemoteRepository repository : remoteRepositories) {
-                            RemoteRepositoryFilter.Result filterResult = filter.acceptArtifact(repository, artifact);
-                            if (!filterResult.isAccepted()) {
-                                result.addException(
-                                        repository,
-                                        new ArtifactFilteredOutException(
-                                                artifact, repository, filterResult.reasoning()));
-                                filteredRemoteRepositories.remove(repository);
-                            }
-                        }
-                    }
+                    List<RemoteRepository> filteredRemoteRepositories = filterRepositories(filter, request, result);
 
                     VersionResult versionResult;
                     try {
@@ -396,31 +633,16 @@ public class DefaultArtifactResolver implements ArtifactResolver {
                     continue;
                 }
 
-                for (ResolutionGroup group : groups) {
-                    performDownloads(session, group);
-                }
-
-                for (ArtifactResolverPostProcessor artifactResolverPostProcessor :
-                        artifactResolverPostProcessors.values()) {
-                    artifactResolverPostProcessor.postProcess(session, results);
-                }
-
-                for (ArtifactResult result : results) {
-                    ArtifactRequest request = result.getRequest();
-
-                    Artifact artifact = result.getArtifact();
-                    if (artifact == null || artifact.getPath() == null) {
-                        failures = true;
-                        if (result.getExceptions().isEmpty()) {
-                            Exception exception =
-                                    new ArtifactNotFoundException(request.getArtifact(), (RemoteRepository) null);
-                            result.addException(result.getRepository(), exception);
-                        }
-                        RequestTrace trace = RequestTrace.newChild(request.getTrace(), request);
-                        artifactResolved(session, trace, request.getArtifact(), null, result.getExceptions());
+                if (groups.size() > 1 && ConfigUtils.getBoolean(session, DEFAULT_HEDGING, CONFIG_PROP_HEDGING)) {
+                    performHedgedDownloads(session, groups);
+                } else {
+                    for (ResolutionGroup group : groups) {
+                        performDownloads(session, group, group, false);
                     }
                 }
 
+                failures |= postProcess(session, results);
+
                 if (failures) {
                     throw new ArtifactResolutionException(results);
                 }
@@ -487,14 +709,114 @@ public class DefaultArtifactResolver implements ArtifactResolver {
         return path;
     }
 
-    private void performDownloads(RepositorySystemSession session, ResolutionGroup group) {
-        List<ArtifactDownload> downloads = gatherDownloads(session, group);
-        if (downloads.isEmpty()) {
-            return;
+    /**
+     * Performs downloads of groups in order, like sequential resolution does, but if downloads of a group do not
+     * complete within the hedging delay, starts downloads of the next group without waiting for them. Returns when
+     * every group either completed, or had all its downloads superseded by downloads from other groups; superseded
+     * transfers are cancelled on their next transfer event, and are not awaited. Each group runs on its own thread,
+     * so superseded transfers that hang do not hold back other resolutions, and groups are fenced before returning:
+     * from then on, their transfers emit no events, and their staged downloads are discarded.
+     */
+    private void performHedgedDownloads(RepositorySystemSession session, List<ResolutionGroup> groups) {
+        DownloadLatencies latencies =
+                (DownloadLatencies) session.getData().computeIfAbsent(DownloadLatencies.KEY, DownloadLatencies::new);
+        long delay = Math.max(
+                ConfigUtils.getLong(session, DEFAULT_HEDGING_MIN_DELAY, CONFIG_PROP_HEDGING_MIN_DELAY),
+                latencies.percentile(
+                        ConfigUtils.getInteger(session, DEFAULT_HEDGING_PERCENTILE, CONFIG_PROP_HEDGING_PERCENTILE)));
+        // not shared with other resolutions: closing it does not wait for (possibly hanging) superseded transfers
+        SmartExecutor executor = SmartExecutorUtils.newSmartExecutor(groups.size(), groups.size(), "resolver-hedging-");
+        Object lock = new Object();
+        try {
+            hedgeDownloads(session, groups, executor, lock, latencies, delay);
+        } finally {
+            synchronized (lock) {
+                groups.forEach(group -> group.fenced.set(true));
+            }
+            executor.close();
+        }
+        synchronized (lock) {
+            for (ResolutionGroup group : groups) {
+                if (group.failure instanceof RuntimeException) {
+                    throw (RuntimeException) group.failure;
+                } else if (group.failure instanceof Error) {
+                    throw (Error) group.failure;
+                }
+            }
         }
+    }
 
-        for (ArtifactDownload download : downloads) {
-            artifactDownloading(session, download.getTrace(), download.getArtifact(), group.repository);
+    private void hedgeDownloads(
+            RepositorySystemSession session,
+            List<ResolutionGroup> groups,
+            SmartExecutor executor,
+            Object lock,
+            DownloadLatencies latencies,
+            long delay) {
+        for (int i = 0; i < groups.size(); i++) {
+            ResolutionGroup group = groups.get(i);
+            executor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    if (performDownloads(session, group, lock, true)) {
+                        latencies.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                    }
+                } catch (RuntimeException | Error e) {
+                    synchronized (lock) {
+                        group.failure = e;
+                    }
+                } finally {
+                    synchronized (lock) {
+                        group.done = true;
+                        lock.notifyAll();
+                    }
+                }
+            });
+            if (i < groups.size() - 1 && !awaitDownloads(lock, Collections.singletonList(group), delay)) {
+                LOGGER.debug("Downloads from {} did not complete in {} ms, hedging", group.repository, delay);
+            }
+        }
+        awaitDownloads(lock, groups, Long.MAX_VALUE);
+    }
+
+    /**
+     * Waits at most given milliseconds for groups to be settled, returns {@code true} if all of them are.
+     */
+    private static boolean awaitDownloads(Object lock, List<ResolutionGroup> groups, long timeout) {
+        long deadline = timeout == Long.MAX_VALUE ? Long.MAX_VALUE : System.currentTimeMillis() + timeout;
+        synchronized (lock) {
+            while (!groups.stream().allMatch(ResolutionGroup::isSettled)) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                try {
+                    lock.wait(deadline == Long.MAX_VALUE ? 0L : remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while downloading artifacts", e);
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Performs downloads of group, gathering and evaluating them while holding given lock, returns {@code true} if
+     * any download was performed and was not superseded by download from another group.
+     */
+    private boolean performDownloads(
+            RepositorySystemSession session, ResolutionGroup group, Object lock, boolean hedged) {
+        List<ArtifactDownload> downloads;
+        synchronized (lock) {
+            downloads = gatherDownloads(session, group, hedged);
+            group.gathered = true;
+            for (ArtifactDownload download : downloads) {
+                artifactDownloading(session, download.getTrace(), download.getArtifact(), group.repository);
+            }
+        }
+        if (downloads.isEmpty()) {
+            return false;
         }
 
         try {
@@ -508,10 +830,50 @@ public class DefaultArtifactResolver implements ArtifactResolver {
             }
         }
 
-        evaluateDownloads(session, group);
+        try {
+            synchronized (lock) {
+                return evaluateDownloads(session, group, hedged);
+            }
+        } finally {
+            for (ResolutionItem item : group.items) {
+                if (item.staging != null) {
+                    deleteStaging(item.staging);
+                }
+            }
+        }
     }
 
-    private List<ArtifactDownload> gatherDownloads(RepositorySystemSession session, ResolutionGroup group) {
+    /**
+     * Moves the staged download (and checksums persisted along it) to the target directory, data file last.
+     */
+    private static void commitStaging(Path staging, Path target) throws IOException {
+        List<Path> staged;
+        try (Stream<Path> stream = Files.list(staging)) {
+            staged = stream.collect(Collectors.toList());
+        }
+        Path data = staging.resolve(target.getFileName());
+        for (Path path : staged) {
+            if (!path.equals(data)) {
+                Files.move(path, target.resolveSibling(path.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(data, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static void deleteStaging(Path staging) {
+        try (Stream<Path> stream = Files.walk(staging)) {
+            for (Path path : stream.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.deleteIfExists(path);
+            }
+        } catch (NoSuchFileException e) {
+            // nothing was staged
+        } catch (IOException e) {
+            LOGGER.debug("Failed to delete hedged download staging directory {}", staging, e);
+        }
+    }
+
+    private List<ArtifactDownload> gatherDownloads(
+            RepositorySystemSession session, ResolutionGroup group, boolean hedged) {
         LocalRepositoryManager lrm = session.getLocalRepositoryManager();
         List<ArtifactDownload> downloads = new ArrayList<>();
 
@@ -526,7 +888,12 @@ public class DefaultArtifactResolver implements ArtifactResolver {
             ArtifactDownload download = new ArtifactDownload();
             download.setArtifact(artifact);
             download.setRequestContext(item.request.getRequestContext());
-            download.setListener(SafeTransferListener.wrap(session));
+            if (hedged) {
+                download.setListener(
+                        new HedgedTransferListener(SafeTransferListener.wrap(session), item.resolved, group.fenced));
+            } else {
+                download.setListener(SafeTransferListener.wrap(session));
+            }
             download.setTrace(item.trace);
             if (item.local.getPath() != null) {
                 download.setPath(item.local.getPath());
@@ -535,6 +902,7 @@ public class DefaultArtifactResolver implements ArtifactResolver {
                 download.setPath(lrm.getAbsolutePathForRemoteArtifact(
                         artifact, group.repository, item.request.getRequestContext()));
             }
+            Path target = download.getPath();
 
             boolean snapshot = artifact.isSnapshot();
             RepositoryPolicy policy = remoteRepositoryManager.getPolicy(session, group.repository, !snapshot, snapshot);
@@ -543,7 +911,7 @@ public class DefaultArtifactResolver implements ArtifactResolver {
             if ((errorPolicy & ResolutionErrorPolicy.CACHE_ALL) != 0) {
                 UpdateCheck<Artifact, ArtifactTransferException> check = new UpdateCheck<>();
                 check.setItem(artifact);
-                check.setPath(download.getPath());
+                check.setPath(target);
                 check.setFileValid(false);
                 check.setRepository(group.repository);
                 check.setArtifactPolicy(policy.getArtifactUpdatePolicy());
@@ -556,17 +924,24 @@ public class DefaultArtifactResolver implements ArtifactResolver {
                 }
             }
 
+            if (hedged && !download.isExistenceCheck()) {
+                // concurrent transfers of the same artifact must not share the target, nor its checksums
+                item.staging = target.resolveSibling(".hedging-" + UUID.randomUUID());
+                download.setPath(item.staging.resolve(target.getFileName()));
+            }
             download.setChecksumPolicy(policy.getChecksumPolicy());
             download.setRepositories(item.repository.getMirroredRepositories());
             downloads.add(download);
             item.download = download;
+            item.target = target;
         }
 
         return downloads;
     }
 
-    private void evaluateDownloads(RepositorySystemSession session, ResolutionGroup group) {
+    private boolean evaluateDownloads(RepositorySystemSession session, ResolutionGroup group, boolean hedged) {
         LocalRepositoryManager lrm = session.getLocalRepositoryManager();
+        boolean evaluated = false;
 
         for (ResolutionItem item : group.items) {
             ArtifactDownload download = item.download;
@@ -575,6 +950,23 @@ public class DefaultArtifactResolver implements ArtifactResolver {
             }
 
             Artifact artifact = download.getArtifact();
+            if (hedged && item.resolved.get()) {
+                // superseded by download from another group: outcome (mostly cancellation) is irrelevant
+                if (!group.fenced.get()) {
+                    artifactDownloaded(
+                            session, download.getTrace(), artifact, group.repository, download.getException());
+                }
+                continue;
+            }
+            evaluated = true;
+            if (item.staging != null && download.getException() == null) {
+                try {
+                    commitStaging(item.staging, item.target);
+                    download.setPath(item.target);
+                } catch (IOException e) {
+                    download.setException(new ArtifactTransferException(artifact, group.repository, e));
+                }
+            }
             if (download.getException() == null) {
                 item.resolved.set(true);
                 item.result.setRepository(group.repository);
@@ -607,6 +999,7 @@ public class DefaultArtifactResolver implements ArtifactResolver {
                 artifactResolved(session, download.getTrace(), artifact, group.repository, null);
             }
         }
+        return evaluated;
     }
 
     private void artifactResolving(RepositorySystemSession session, RequestTrace trace, Artifact artifact) {
@@ -669,10 +1062,48 @@ public class DefaultArtifactResolver implements ArtifactResolver {
 
         final List<ResolutionItem> items = new ArrayList<>();
 
+        /**
+         * Hedged downloads only: whether downloads of group were gathered, guarded by the hedging lock.
+         */
+        boolean gathered;
+
+        /**
+         * Hedged downloads only: whether downloads of group completed, guarded by the hedging lock.
+         */
+        boolean done;
+
+        /**
+         * Hedged downloads only: the failure of downloads of group, if any, guarded by the hedging lock.
+         */
+        Throwable failure;
+
+        /**
+         * Hedged downloads only: set once resolution returned, and group may not emit events anymore.
+         */
+        final AtomicBoolean fenced = new AtomicBoolean();
+
         ResolutionGroup(RemoteRepository repository) {
             this.repository = repository;
         }
 
+        /**
+         * Hedged downloads only: returns {@code true} if downloads of group completed, or if all artifacts it
+         * downloads were resolved by other groups. Must be invoked while holding the hedging lock.
+         */
+        boolean isSettled() {
+            if (done) {
+                return true;
+            } else if (!gathered) {
+                return false;
+            }
+            for (ResolutionItem item : items) {
+                if (item.download != null && !item.resolved.get()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
         boolean matches(RemoteRepository repo) {
             return repository.getUrl().equals(repo.getUrl())
                     && repository.getContentType().equals(repo.getContentType())
@@ -680,6 +1111,107 @@ public class DefaultArtifactResolver implements ArtifactResolver {
         }
     }
 
+    /**
+     * Forwards transfer events to session listener, and cancels the transfer of an artifact once it is resolved by
+     * download from another group. Once the group is fenced, events are not forwarded anymore.
+     */
+    static final class HedgedTransferListener implements TransferListener {
+        private final TransferListener delegate; // may be null
+
+        private final AtomicBoolean resolved;
+
+        private final AtomicBoolean fenced;
+
+        HedgedTransferListener(TransferListener delegate, AtomicBoolean resolved, AtomicBoolean fenced) {
+            this.delegate = delegate;
+            this.resolved = resolved;
+            this.fenced = fenced;
+        }
+
+        @Override
+        public void transferInitiated(TransferEvent event) throws TransferCancelledException {
+            checkSuperseded();
+            if (delegate != null) {
+                delegate.transferInitiated(event);
+            }
+        }
+
+        @Override
+        public void transferStarted(TransferEvent event) throws TransferCancelledException {
+            checkSuperseded();
+            if (delegate != null) {
+                delegate.transferStarted(event);
+            }
+        }
+
+        @Override
+        public void transferProgressed(TransferEvent event) throws TransferCancelledException {
+            checkSuperseded();
+            if (delegate != null) {
+                delegate.transferProgressed(event);
+            }
+        }
+
+        @Override
+        public void transferCorrupted(TransferEvent event) throws TransferCancelledException {
+            checkSuperseded();
+            if (delegate != null) {
+                delegate.transferCorrupted(event);
+            }
+        }
+
+        @Override
+        public void transferSucceeded(TransferEvent event) {
+            if (delegate != null && !fenced.get()) {
+                delegate.transferSucceeded(event);
+            }
+        }
+
+        @Override
+        public void transferFailed(TransferEvent event) {
+            if (delegate != null && !fenced.get()) {
+                delegate.transferFailed(event);
+            }
+        }
+
+        private void checkSuperseded() throws TransferCancelledException {
+            if (resolved.get() || fenced.get()) {
+                throw new TransferCancelledException("Artifact resolved from another repository");
+            }
+        }
+    }
+
+    /**
+     * Latencies of recent download batches within a session, used to compute the hedging delay.
+     */
+    static final class DownloadLatencies {
+        static final Object KEY = Keys.of(DownloadLatencies.class);
+
+        private static final int MIN_SAMPLES = 10;
+
+        private final long[] samples = new long[64];
+
+        private int count;
+
+        synchronized void add(long latency) {
+            samples[count++ % samples.length] = latency;
+        }
+
+        /**
+         * Returns the given percentile of recorded latencies, or {@code 0} if there are too few of them.
+         */
+        synchronized long percentile(int percentile) {
+            int size = Math.min(count, samples.length);
+            if (size < MIN_SAMPLES) {
+                return 0L;
+            }
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(size * Math.min(Math.max(percentile, 1), 100) / 100.0) - 1;
+            return sorted[index];
+        }
+    }
+
     static class ResolutionItem {
 
         final RequestTrace trace;
@@ -700,6 +1232,13 @@ public class DefaultArtifactResolver implements ArtifactResolver {
 
         UpdateCheck<Artifact, ArtifactTransferException> updateCheck;
 
+        /**
+         * Hedged downloads only: the private directory the download is staged in, if any.
+         */
+        Path staging;
+
+        Path target;
+
         ResolutionItem(
                 RequestTrace trace,
                 Artifact artifact,
@@ -29,6 +29,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
@@ -43,6 +44,7 @@ import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.collection.CollectRequest;
 import org.eclipse.aether.collection.CollectResult;
 import org.eclipse.aether.collection.DependencyCollectionException;
+import org.eclipse.aether.collection.DependencyCollectionListener;
 import org.eclipse.aether.deployment.DeployRequest;
 import org.eclipse.aether.deployment.DeployResult;
 import org.eclipse.aether.deployment.DeploymentException;
@@ -92,6 +94,8 @@ import org.eclipse.aether.spi.artifact.decorator.ArtifactDecorator;
 import org.eclipse.aether.spi.artifact.decorator.ArtifactDecoratorFactory;
 import org.eclipse.aether.spi.synccontext.SyncContextFactory;
 import org.eclipse.aether.util.ConfigUtils;
+import org.eclipse.aether.util.concurrency.SmartExecutor;
+import org.eclipse.aether.util.concurrency.SmartExecutorUtils;
 import org.eclipse.aether.util.graph.visitor.LevelOrderDependencyNodeConsumerVisitor;
 import org.eclipse.aether.util.graph.visitor.PostorderDependencyNodeConsumerVisitor;
 import org.eclipse.aether.util.graph.visitor.PreorderDependencyNodeConsumerVisitor;
@@ -106,6 +110,70 @@ import static java.util.stream.Collectors.toList;
 @Singleton
 @Named
 public class DefaultRepositorySystem implements RepositorySystem {
+    public static final String CONFIG_PROPS_PREFIX = ConfigurationProperties.PREFIX_SYSTEM + "resolveDependencies.";
+
+    /**
+     * <b>Experimental:</b> Flag controlling whether dependency resolution is pipelined, that is, whether artifacts are
+     * fetched while dependencies are still being collected, instead of after collection and graph transformation
+     * finished. Nodes are observed as collector discovers them, using a {@link DependencyCollectionListener} that
+     * wraps the listener of collect request, if any. Direct dependencies (without version range) are fetched right
+     * away, if graph transformer of session applies Maven conflict resolution, other nodes are fetched speculatively,
+     * bounded by {@link #CONFIG_PROP_SPECULATION_BUDGET}. Speculatively
+     * fetched artifacts may lose conflict resolution, in which case they were downloaded (and resolution events were
+     * fired for them) in vain. Applies only to dependency requests carrying a collect request.
+     *
+     * @since 2.0.20
+     * @configurationSource {@link RepositorySystemSession#getConfigProperties()}
+     * @configurationType {@link java.lang.Boolean}
+     * @configurationDefaultValue {@link #DEFAULT_PIPELINED}
+     */
+    public static final String CONFIG_PROP_PIPELINED = CONFIG_PROPS_PREFIX + "pipelined";
+
+    public static final boolean DEFAULT_PIPELINED = false;
+
+    /**
+     * Number of threads fetching artifacts while collecting, when {@link #CONFIG_PROP_PIPELINED} is enabled. Must be
+     * greater than 1, as with single thread artifacts would be fetched by the collecting thread itself, so there
+     * would be no pipelining.
+     *
+     * @since 2.0.20
+     * @configurationSource {@link RepositorySystemSession#getConfigProperties()}
+     * @configurationType {@link java.lang.Integer}
+     * @configurationDefaultValue {@link #DEFAULT_PIPELINE_THREADS}
+     */
+    public static final String CONFIG_PROP_PIPELINE_THREADS = CONFIG_PROPS_PREFIX + "pipelineThreads";
+
+    public static final int DEFAULT_PIPELINE_THREADS = 4;
+
+    /**
+     * The maximum count of transitive dependencies whose artifacts are fetched speculatively (before conflict
+     * resolution decided whether they are part of resolved graph) per dependency request, when
+     * {@link #CONFIG_PROP_PIPELINED} is enabled. Value {@code 0} restricts prefetching to direct dependencies.
+     *
+     * @since 2.0.20
+     * @configurationSource {@link RepositorySystemSession#getConfigProperties()}
+     * @configurationType {@link java.lang.Integer}
+     * @configurationDefaultValue {@link #DEFAULT_SPECULATION_BUDGET}
+     */
+    public static final String CONFIG_PROP_SPECULATION_BUDGET = CONFIG_PROPS_PREFIX + "speculationBudget";
+
+    public static final int DEFAULT_SPECULATION_BUDGET = 64;
+
+    /**
+     * Number of threads resolving artifacts requested by
+     * {@link #resolveArtifactsAsync(RepositorySystemSession, Collection)}. Each artifact is resolved as a separate
+     * task, so its future completes as soon as its artifact is resolved.
+     *
+     * @since 2.0.20
+     * @configurationSource {@link RepositorySystemSession#getConfigProperties()}
+     * @configurationType {@link java.lang.Integer}
+     * @configurationDefaultValue {@link #DEFAULT_ASYNC_THREADS}
+     */
+    public static final String CONFIG_PROP_ASYNC_THREADS =
+            ConfigurationProperties.PREFIX_SYSTEM + "resolveArtifactsAsync.threads";
+
+    public static final int DEFAULT_ASYNC_THREADS = 5;
+
     private final AtomicBoolean shutdown;
 
     private final AtomicInteger sessionIdCounter;
@@ -229,6 +297,30 @@ public class DefaultRepositorySystem implements RepositorySystem {
         return artifactResolver.resolveArtifacts(session, requests);
     }
 
+    @Override
+    public List<CompletableFuture<ArtifactResult>> resolveArtifactsAsync(
+            RepositorySystemSession session, Collection<? extends ArtifactRequest> requests) {
+        validateSession(session);
+        requireNonNull(requests, "requests cannot be null");
+        repositorySystemValidator.validateArtifactRequests(session, requests);
+        List<CompletableFuture<ArtifactResult>> futures = new ArrayList<>(requests.size());
+        int threads = ConfigUtils.getInteger(session, DEFAULT_ASYNC_THREADS, CONFIG_PROP_ASYNC_THREADS);
+        try (SmartExecutor executor = SmartExecutorUtils.smartExecutor(session, null, threads, "resolver-async-")) {
+            for (ArtifactRequest request : requests) {
+                CompletableFuture<ArtifactResult> future = new CompletableFuture<>();
+                futures.add(future);
+                executor.submit(() -> {
+                    try {
+                        future.complete(artifactResolver.resolveArtifact(session, request));
+                    } catch (ArtifactResolutionException | RuntimeException | Error e) {
+                        future.completeExceptionally(e);
+                    }
+                });
+            }
+        }
+        return futures;
+    }
+
     @Override
     public List<MetadataResult> resolveMetadata(
             RepositorySystemSession session, Collection<? extends MetadataRequest> requests) {
@@ -247,6 +339,28 @@ public class DefaultRepositorySystem implements RepositorySystem {
         return dependencyCollector.collectDependencies(session, request);
     }
 
+    @Override
+    public CollectResult collectDependencies(
+            RepositorySystemSession session, CollectRequest request, CollectResult previous)
+            throws DependencyCollectionException {
+        validateSession(session);
+        requireNonNull(request, "request cannot be null");
+        repositorySystemValidator.validateCollectRequest(session, request);
+        return dependencyCollector.collectDependencies(session, request, previous);
+    }
+
+    @Override
+    public List<CollectResult> collectDependencies(
+            RepositorySystemSession session, Collection<? extends CollectRequest> requests) {
+        validateSession(session);
+        requireNonNull(requests, "requests cannot be null");
+        for (CollectRequest request : requests) {
+            requireNonNull(request, "request cannot be null");
+            repositorySystemValidator.validateCollectRequest(session, request);
+        }
+        return dependencyCollector.collectDependencies(session, requests);
+    }
+
     @Override
     public DependencyResult resolveDependencies(RepositorySystemSession session, DependencyRequest request)
             throws DependencyResolutionException {
@@ -264,12 +378,19 @@ public class DefaultRepositorySystem implements RepositorySystem {
             result.setRoot(request.getRoot());
         } else if (request.getCollectRequest() != null) {
             CollectResult collectResult;
-            try {
-                request.getCollectRequest().setTrace(trace);
-                collectResult = dependencyCollector.collectDependencies(session, request.getCollectRequest());
+            CollectRequest collectRequest = request.getCollectRequest();
+            DependencyCollectionListener listener = collectRequest.getCollectionListener();
+            try (ArtifactPrefetcher prefetcher = newArtifactPrefetcher(session, request, trace)) {
+                collectRequest.setTrace(trace);
+                if (prefetcher != null) {
+                    collectRequest.setCollectionListener(prefetcher);
+                }
+                collectResult = dependencyCollector.collectDependencies(session, collectRequest);
             } catch (DependencyCollectionException e) {
                 dce = e;
                 collectResult = e.getResult();
+            } finally {
+                collectRequest.setCollectionListener(listener);
             }
             result.setRoot(collectResult.getRoot());
             result.setCycles(collectResult.getCycles());
@@ -314,6 +435,26 @@ public class DefaultRepositorySystem implements RepositorySystem {
         return result;
     }
 
+    private ArtifactPrefetcher newArtifactPrefetcher(
+            RepositorySystemSession session, DependencyRequest request, RequestTrace trace) {
+        if (!ConfigUtils.getBoolean(session, DEFAULT_PIPELINED, CONFIG_PROP_PIPELINED)) {
+            return null;
+        }
+        int threads = ConfigUtils.getInteger(session, DEFAULT_PIPELINE_THREADS, CONFIG_PROP_PIPELINE_THREADS);
+        if (threads < 2) {
+            throw new IllegalArgumentException(
+                    "Invalid " + CONFIG_PROP_PIPELINE_THREADS + " value " + threads + ", must be greater than 1");
+        }
+        return new ArtifactPrefetcher(
+                session,
+                artifactResolver,
+                trace,
+                request.getFilter(),
+                request.getCollectRequest().getCollectionListener(),
+                threads,
+                ConfigUtils.getInteger(session, DEFAULT_SPECULATION_BUDGET, CONFIG_PROP_SPECULATION_BUDGET));
+    }
+
     @Override
     public List<DependencyNode> flattenDependencyNodes(
             RepositorySystemSession session, DependencyNode root, DependencyFilter dependencyFilter) {
@@ -31,6 +31,7 @@ import java.util.Properties;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntSupplier;
 
 import org.eclipse.aether.ConfigurationProperties;
 import org.eclipse.aether.Keys;
@@ -50,6 +51,7 @@ import org.eclipse.aether.transfer.ArtifactTransferException;
 import org.eclipse.aether.transfer.MetadataNotFoundException;
 import org.eclipse.aether.transfer.MetadataTransferException;
 import org.eclipse.aether.util.ConfigUtils;
+import org.eclipse.aether.util.StringDigestUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -92,6 +94,35 @@ public class DefaultUpdateCheckManager implements UpdateCheckManager {
 
     public static final String DEFAULT_SESSION_STATE = "enabled";
 
+    /**
+     * Whether to maintain a persistent index of artifacts and metadata known to be missing from remote repositories.
+     * If enabled, update checks of known misses are answered from the index, without reading the tracking files, as
+     * long as the update policy of the repository does not require an update. Note: deleting tracking files does not
+     * make resolver reattempt a known miss while this index is enabled, the index has to be deleted as well.
+     *
+     * @since 2.0.20
+     * @configurationSource {@link RepositorySystemSession#getConfigProperties()}
+     * @configurationType {@link java.lang.Boolean}
+     * @configurationDefaultValue {@link #DEFAULT_NEGATIVE_LOOKUP_INDEX}
+     */
+    public static final String CONFIG_PROP_NEGATIVE_LOOKUP_INDEX =
+            ConfigurationProperties.PREFIX_AETHER + "updateCheckManager.negativeLookupIndex";
+
+    public static final boolean DEFAULT_NEGATIVE_LOOKUP_INDEX = false;
+
+    /**
+     * The basedir of negative lookup index. If relative, is resolved from local repository root.
+     *
+     * @since 2.0.20
+     * @configurationSource {@link RepositorySystemSession#getConfigProperties()}
+     * @configurationType {@link java.lang.String}
+     * @configurationDefaultValue {@link #DEFAULT_NEGATIVE_LOOKUP_INDEX_BASEDIR}
+     */
+    public static final String CONFIG_PROP_NEGATIVE_LOOKUP_INDEX_BASEDIR =
+            CONFIG_PROP_NEGATIVE_LOOKUP_INDEX + ".basedir";
+
+    public static final String DEFAULT_NEGATIVE_LOOKUP_INDEX_BASEDIR = ".negativeLookups";
+
     private static final int STATE_ENABLED = 0;
 
     private static final int STATE_BYPASS = 1;
@@ -123,6 +154,8 @@ public class DefaultUpdateCheckManager implements UpdateCheckManager {
 
     private final PathProcessor pathProcessor;
 
+    private final NegativeLookupIndex negativeLookupIndex = new NegativeLookupIndex();
+
     @Inject
     public DefaultUpdateCheckManager(
             TrackingFileManager trackingFileManager,
@@ -152,12 +185,27 @@ public class DefaultUpdateCheckManager implements UpdateCheckManager {
         Path artifactPath =
                 requireNonNull(check.getPath(), String.format("The artifact '%s' has no file attached", artifact));
 
+        String updateKey = getUpdateKey(session, artifactPath, repository);
+
+        if (isKnownMissing(
+                session,
+                check,
+                repository,
+                updateKey,
+                updatePolicy,
+                () -> Utils.getPolicy(session, artifact, repository))) {
+            LOGGER.debug("Skipped remote request for {}, known to be missing from {}", artifact, repository.getId());
+
+            check.setRequired(false);
+            check.setException(newException(NOT_FOUND, artifact, repository));
+            return;
+        }
+
         boolean fileExists = check.isFileValid() && Files.exists(artifactPath);
 
         Path touchPath = getArtifactTouchFile(artifactPath);
         Properties props = read(touchPath);
 
-        String updateKey = getUpdateKey(session, artifactPath, repository);
         String dataKey = getDataKey(repository);
 
         String error = getError(props, dataKey);
@@ -259,12 +307,27 @@ public class DefaultUpdateCheckManager implements UpdateCheckManager {
         Path metadataPath =
                 requireNonNull(check.getPath(), String.format("The metadata '%s' has no file attached", metadata));
 
+        String updateKey = getUpdateKey(session, metadataPath, repository);
+
+        if (isKnownMissing(
+                session,
+                check,
+                repository,
+                updateKey,
+                updatePolicy,
+                () -> Utils.getPolicy(session, metadata, repository))) {
+            LOGGER.debug("Skipped remote request for {}, known to be missing from {}", metadata, repository.getId());
+
+            check.setRequired(false);
+            check.setException(newException(NOT_FOUND, metadata, repository));
+            return;
+        }
+
         boolean fileExists = check.isFileValid() && Files.exists(metadataPath);
 
         Path touchPath = getMetadataTouchFile(metadataPath);
         Properties props = read(touchPath);
 
-        String updateKey = getUpdateKey(session, metadataPath, repository);
         String dataKey = getDataKey(metadataPath);
 
         String error = getError(props, dataKey);
@@ -338,6 +401,60 @@ public class DefaultUpdateCheckManager implements UpdateCheckManager {
         }
     }
 
+    /**
+     * Checks whether the negative lookup index knows the item as missing from repository, and that (as in case of
+     * "not found" error recorded in tracking file) no remote request is needed. Performs no file I/O unless the item
+     * is in the index.
+     */
+    private boolean isKnownMissing(
+            RepositorySystemSession session,
+            UpdateCheck<?, ?> check,
+            RemoteRepository repository,
+            String updateKey,
+            String updatePolicy,
+            IntSupplier errorPolicy) {
+        Path log = getNegativeLookupLog(session, repository);
+        if (log == null) {
+            return false;
+        }
+        long lastMissed = negativeLookupIndex.getMissed(
+                log, check.getPath().toAbsolutePath().toString());
+        if (lastMissed == TS_NEVER || (check.isFileValid() && Files.exists(check.getPath()))) {
+            return false;
+        }
+        return isAlreadyUpdated(session, updateKey)
+                || (!isUpdatedRequired(session, lastMissed, updatePolicy)
+                        && (errorPolicy.getAsInt() & ResolutionErrorPolicy.CACHE_NOT_FOUND) != 0);
+    }
+
+    private void updateNegativeLookupIndex(
+            RepositorySystemSession session, RemoteRepository repository, Path path, Exception error) {
+        Path log = getNegativeLookupLog(session, repository);
+        if (log != null) {
+            String item = path.toAbsolutePath().toString();
+            if (error instanceof ArtifactNotFoundException || error instanceof MetadataNotFoundException) {
+                negativeLookupIndex.recordMissed(log, item, System.currentTimeMillis());
+            } else {
+                negativeLookupIndex.recordFound(log, item);
+            }
+        }
+    }
+
+    /**
+     * Returns the path of negative lookup log of repository, or {@code null} if negative lookup index is disabled.
+     */
+    private Path getNegativeLookupLog(RepositorySystemSession session, RemoteRepository repository) {
+        if (!ConfigUtils.getBoolean(session, DEFAULT_NEGATIVE_LOOKUP_INDEX, CONFIG_PROP_NEGATIVE_LOOKUP_INDEX)
+                || session.getLocalRepository().getBasePath() == null) {
+            return null;
+        }
+        return session.getLocalRepository()
+                .getBasePath()
+                .resolve(ConfigUtils.getString(
+                        session, DEFAULT_NEGATIVE_LOOKUP_INDEX_BASEDIR, CONFIG_PROP_NEGATIVE_LOOKUP_INDEX_BASEDIR))
+                .resolve(StringDigestUtil.sha1(getDataKey(repository)) + ".log");
+    }
+
     private long getLastUpdated(Properties props, String key) {
         String value = props.getProperty(key + UPDATED_KEY_SUFFIX, "");
         try {
@@ -477,6 +594,7 @@ public class DefaultUpdateCheckManager implements UpdateCheckManager {
 
         setUpdated(session, updateKey);
         Properties props = write(touchPath, dataKey, transferKey, check.getException());
+        updateNegativeLookupIndex(session, check.getAuthoritativeRepository(), artifactPath, check.getException());
 
         if (Files.exists(artifactPath) && !hasErrors(props)) {
             trackingFileManager.delete(touchPath);
@@ -505,6 +623,7 @@ public class DefaultUpdateCheckManager implements UpdateCheckManager {
 
         setUpdated(session, updateKey);
         write(touchPath, dataKey, transferKey, check.getException());
+        updateNegativeLookupIndex(session, check.getRepository(), metadataPath, check.getException());
     }
 
     private Properties write(Path touchPath, String dataKey, String transferKey, Exception error) {
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.eclipse.aether.internal.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persistent index of items (artifacts and metadata) known to be missing from remote repositories, used by
+ * {@link DefaultUpdateCheckManager} to answer update checks of known misses without reading tracking files.
+ * <p>
+ * Every remote repository has its own append-only log, with lines of form {@code timestamp<TAB>path}, where timestamp
+ * is the time of the miss, or {@code 0} if the item was found since. A log is lazily replayed into memory on first
+ * use and remains cached during lifetime of the component, every recorded change is applied in memory and appended
+ * to the log. Changes made to the log by other processes during lifetime of the component are not picked up. Failing
+ * to read or write a log is not an error, as index is merely an optimization: missing entries just make update checks
+ * fall back to tracking files.
+ *
+ * @since 2.0.20
+ */
+final class NegativeLookupIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(NegativeLookupIndex.class);
+
+    private static final long FOUND = 0L;
+
+    private final ConcurrentHashMap<Path, ConcurrentHashMap<String, Long>> logs = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the timestamp of recorded miss of item, or {@code 0} if no miss is recorded.
+     */
+    long getMissed(Path log, String item) {
+        Long timestamp = entries(log).get(item);
+        return timestamp != null ? timestamp : FOUND;
+    }
+
+    /**
+     * Records the miss of item at given timestamp.
+     */
+    void recordMissed(Path log, String item, long timestamp) {
+        ConcurrentHashMap<String, Long> entries = entries(log);
+        synchronized (entries) {
+            entries.put(item, timestamp);
+            append(log, item, timestamp);
+        }
+    }
+
+    /**
+     * Records that item is not missing (anymore). Appends to the log only if a miss of item was recorded.
+     */
+    void recordFound(Path log, String item) {
+        ConcurrentHashMap<String, Long> entries = entries(log);
+        synchronized (entries) {
+            if (entries.remove(item) != null) {
+                append(log, item, FOUND);
+            }
+        }
+    }
+
+    private ConcurrentHashMap<String, Long> entries(Path log) {
+        return logs.computeIfAbsent(log, this::load);
+    }
+
+    private ConcurrentHashMap<String, Long> load(Path log) {
+        ConcurrentHashMap<String, Long> result = new ConcurrentHashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(log, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int tab = line.indexOf('\t');
+                try {
+                    long timestamp = Long.parseLong(line.substring(0, Math.max(tab, 0)));
+                    String item = line.substring(tab + 1);
+                    if (timestamp == FOUND) {
+                        result.remove(item);
+                    } else {
+                        result.put(item, timestamp);
+                    }
+                } catch (NumberFormatException e) {
+                    LOGGER.debug("Negative lookup log '{}' ignored malformed line '{}'", log, line);
+                }
+            }
+            LOGGER.debug("Loaded {} known misses from {}", result.size(), log);
+        } catch (NoSuchFileException e) {
+            // nothing recorded yet
+        } catch (IOException e) {
+            LOGGER.warn("Failed to read negative lookup log '{}', ignoring it", log, e);
+        }
+        return result;
+    }
+
+    private void append(Path log, String item, long timestamp) {
+        try {
+            Files.createDirectories(log.getParent());
+            Files.write(
+                    log,
+                    (timestamp + "\t" + item + System.lineSeparator()).getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to write negative lookup log '{}'", log, e);
+        }
+    }
+}
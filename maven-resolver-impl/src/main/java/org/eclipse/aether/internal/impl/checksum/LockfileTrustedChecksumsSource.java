@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.eclipse.aether.internal.impl.checksum;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.aether.ConfigurationProperties;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.internal.impl.collect.DefaultDependencyCollector;
+import org.eclipse.aether.repository.ArtifactRepository;
+import org.eclipse.aether.spi.checksums.TrustedChecksumsSource;
+import org.eclipse.aether.spi.connector.checksum.ChecksumAlgorithmFactory;
+import org.eclipse.aether.util.ConfigUtils;
+import org.eclipse.aether.util.artifact.ArtifactIdUtils;
+import org.eclipse.aether.util.graph.lockfile.DependencyLockfile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link TrustedChecksumsSource} implementation backed by the dependency lockfile configured for dependency
+ * collection (see {@link DefaultDependencyCollector#CONFIG_PROP_LOCKFILE}). It provides the SHA-256 checksums recorded
+ * in the lockfile, hence to have locked artifacts verified when they are resolved, the trusted checksums artifact
+ * resolver post processor must be enabled as well, with "SHA-256" among its checksum algorithms.
+ * <p>
+ * The lockfile is read once per session, unless it is modified. If it does not exist, or it has no checksum for
+ * an artifact (ie. the artifact is not part of locked graph), the source provides no checksums for the artifact.
+ * <p>
+ * The name of this implementation is "lockfile".
+ *
+ * @since 2.0.20
+ */
+@Singleton
+@Named(LockfileTrustedChecksumsSource.NAME)
+public final class LockfileTrustedChecksumsSource implements TrustedChecksumsSource {
+    public static final String NAME = "lockfile";
+
+    /**
+     * Is checksum source enabled?
+     *
+     * @since 2.0.20
+     * @configurationSource {@link RepositorySystemSession#getConfigProperties()}
+     * @configurationType {@link java.lang.Boolean}
+     * @configurationDefaultValue false
+     */
+    public static final String CONFIG_PROP_ENABLED =
+            ConfigurationProperties.PREFIX_AETHER + "trustedChecksumsSource." + NAME;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LockfileTrustedChecksumsSource.class);
+
+    @Override
+    public Map<String, String> getTrustedArtifactChecksums(
+            RepositorySystemSession session,
+            Artifact artifact,
+            ArtifactRepository artifactRepository,
+            List<ChecksumAlgorithmFactory> checksumAlgorithmFactories) {
+        requireNonNull(session, "session is null");
+        requireNonNull(artifact, "artifact is null");
+        requireNonNull(artifactRepository, "artifactRepository is null");
+        requireNonNull(checksumAlgorithmFactories, "checksumAlgorithmFactories is null");
+        if (!ConfigUtils.getBoolean(session, false, CONFIG_PROP_ENABLED)) {
+            return null;
+        }
+        String lockfile = ConfigUtils.getString(session, null, DefaultDependencyCollector.CONFIG_PROP_LOCKFILE);
+        if (lockfile == null
+                || checksumAlgorithmFactories.stream()
+                        .noneMatch(f -> DependencyLockfile.CHECKSUM_ALGORITHM.equals(f.getName()))) {
+            return Collections.emptyMap();
+        }
+        Path path = Paths.get(lockfile);
+        if (!Files.isRegularFile(path)) {
+            LOGGER.debug("Dependency lockfile {} does not exist, no trusted checksums for '{}'", path, artifact);
+            return Collections.emptyMap();
+        }
+        try {
+            String checksum =
+                    DependencyLockfile.read(session, path).getChecksums().get(ArtifactIdUtils.toId(artifact));
+            if (checksum == null) {
+                return Collections.emptyMap();
+            }
+            return Collections.singletonMap(DependencyLockfile.CHECKSUM_ALGORITHM, checksum);
+        } catch (IOException e) {
+            // unexpected, log
+            LOGGER.warn("Could not read dependency lockfile {} for artifact '{}' trusted checksum", path, artifact, e);
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Lockfile is written from a resolved graph (see {@link DependencyLockfile#of}), hence there is no writer.
+     */
+    @Override
+    public Writer getTrustedArtifactChecksumsWriter(RepositorySystemSession session) {
+        return null;
+    }
+}
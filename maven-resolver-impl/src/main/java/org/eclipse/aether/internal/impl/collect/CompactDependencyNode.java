@@ -0,0 +1,389 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.eclipse.aether.internal.impl.collect;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.graph.DependencyVisitor;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.version.Version;
+import org.eclipse.aether.version.VersionConstraint;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Internal helper class for collector implementations: a {@link DependencyNode} with reduced per-node footprint, used
+ * for all the nodes collectors create (except the root). It behaves as
+ * {@link org.eclipse.aether.graph.DefaultDependencyNode}, but:
+ * <ul>
+ *     <li>the dependency and the artifact share one field, as artifact of node having a dependency is the artifact of
+ *     dependency</li>
+ *     <li>the relocations and aliases, that are rarely present, share one field, that is {@code null} if both are
+ *     empty</li>
+ *     <li>the child list is allocated only when first requested (with no capacity, so the array of it only when first
+ *     child is added), leaf nodes whose children are never requested have none</li>
+ *     <li>the custom data is kept in a flat key-value array allocated on first use, instead of a hash map; the map
+ *     passed to {@link #setData(Map)} is copied</li>
+ * </ul>
+ * Empty collections are shared singletons, and repository lists are expected to be interned by the collector (see
+ * {@link DataPool#internRepositories(List)}).
+ *
+ * @since 2.0.20
+ */
+public final class CompactDependencyNode implements DependencyNode {
+    private List<DependencyNode> children;
+
+    private Object subject;
+
+    private Labels labels;
+
+    private VersionConstraint versionConstraint;
+
+    private Version version;
+
+    private List<RemoteRepository> repositories;
+
+    private String context;
+
+    private Object[] data;
+
+    private byte managedBits;
+
+    /**
+     * Creates a new node with the specified dependency.
+     *
+     * @param dependency The dependency associated with this node, must not be {@code null}.
+     */
+    public CompactDependencyNode(Dependency dependency) {
+        this.subject = requireNonNull(dependency, "dependency cannot be null");
+        this.repositories = Collections.emptyList();
+        this.context = "";
+    }
+
+    @Override
+    public List<DependencyNode> getChildren() {
+        List<DependencyNode> result = children;
+        if (result == null) {
+            result = new ArrayList<>(0);
+            children = result;
+        }
+        return result;
+    }
+
+    @Override
+    public void setChildren(List<DependencyNode> children) {
+        this.children = children;
+    }
+
+    @Override
+    public Dependency getDependency() {
+        return (Dependency) subject;
+    }
+
+    @Override
+    public Artifact getArtifact() {
+        return ((Dependency) subject).getArtifact();
+    }
+
+    @Override
+    public void setArtifact(Artifact artifact) {
+        subject = getDependency().setArtifact(artifact);
+    }
+
+    @Override
+    public List<? extends Artifact> getRelocations() {
+        return labels != null ? labels.relocations : Collections.emptyList();
+    }
+
+    /**
+     * Sets the sequence of relocations that was followed to resolve this dependency's artifact.
+     *
+     * @param relocations The sequence of relocations, may be {@code null}.
+     */
+    public void setRelocations(List<? extends Artifact> relocations) {
+        labels = Labels.of(relocations, getAliases());
+    }
+
+    @Override
+    public Collection<? extends Artifact> getAliases() {
+        return labels != null ? labels.aliases : Collections.emptyList();
+    }
+
+    /**
+     * Sets the known aliases for this dependency's artifact.
+     *
+     * @param aliases The known aliases, may be {@code null}.
+     */
+    public void setAliases(Collection<? extends Artifact> aliases) {
+        labels = Labels.of(getRelocations(), aliases);
+    }
+
+    @Override
+    public VersionConstraint getVersionConstraint() {
+        return versionConstraint;
+    }
+
+    /**
+     * Sets the version constraint that was parsed from the dependency's version declaration.
+     *
+     * @param versionConstraint The version constraint for this node, may be {@code null}.
+     */
+    public void setVersionConstraint(VersionConstraint versionConstraint) {
+        this.versionConstraint = versionConstraint;
+    }
+
+    @Override
+    public Version getVersion() {
+        return version;
+    }
+
+    /**
+     * Sets the version that was selected for the dependency's target artifact.
+     *
+     * @param version The parsed version, may be {@code null}.
+     */
+    public void setVersion(Version version) {
+        this.version = version;
+    }
+
+    @Override
+    public void setScope(String scope) {
+        subject = getDependency().setScope(scope);
+    }
+
+    @Override
+    public void setOptional(Boolean optional) {
+        subject = getDependency().setOptional(optional);
+    }
+
+    @Override
+    public int getManagedBits() {
+        return managedBits;
+    }
+
+    /**
+     * Sets a bit field indicating which attributes of this node were subject to dependency management.
+     *
+     * @param managedBits The bit field indicating the managed attributes or {@code 0} if dependency management wasn't
+     *            applied.
+     */
+    public void setManagedBits(int managedBits) {
+        this.managedBits = (byte) (managedBits & 0x1F);
+    }
+
+    @Override
+    public List<RemoteRepository> getRepositories() {
+        return repositories;
+    }
+
+    /**
+     * Sets the remote repositories from which this node's artifact shall be resolved.
+     *
+     * @param repositories The remote repositories to use for artifact resolution, may be {@code null}.
+     */
+    public void setRepositories(List<RemoteRepository> repositories) {
+        if (repositories == null || repositories.isEmpty()) {
+            this.repositories = Collections.emptyList();
+        } else {
+            this.repositories = repositories;
+        }
+    }
+
+    @Override
+    public String getRequestContext() {
+        return context;
+    }
+
+    @Override
+    public void setRequestContext(String context) {
+        this.context = (context != null) ? context.intern() : "";
+    }
+
+    @Override
+    public Map<?, ?> getData() {
+        return data != null ? new DataMap() : Collections.emptyMap();
+    }
+
+    @Override
+    public void setData(Map<Object, Object> data) {
+        if (data == null || data.isEmpty()) {
+            this.data = null;
+        } else {
+            Object[] array = new Object[data.size() * 2];
+            int i = 0;
+            for (Map.Entry<Object, Object> entry : data.entrySet()) {
+                array[i++] = requireNonNull(entry.getKey(), "key cannot be null");
+                array[i++] = entry.getValue();
+            }
+            this.data = array;
+        }
+    }
+
+    @Override
+    public void setData(Object key, Object value) {
+        requireNonNull(key, "key cannot be null");
+        Object[] array = data;
+        int index = indexOf(array, key);
+        if (value == null) {
+            if (index >= 0) {
+                if (array.length == 2) {
+                    data = null;
+                } else {
+                    Object[] smaller = new Object[array.length - 2];
+                    System.arraycopy(array, 0, smaller, 0, index);
+                    System.arraycopy(array, index + 2, smaller, index, array.length - index - 2);
+                    data = smaller;
+                }
+            }
+        } else if (index >= 0) {
+            array[index + 1] = value;
+        } else {
+            int length = array != null ? array.length : 0;
+            Object[] larger = new Object[length + 2];
+            if (array != null) {
+                System.arraycopy(array, 0, larger, 0, length);
+            }
+            larger[length] = key;
+            larger[length + 1] = value;
+            data = larger;
+        }
+    }
+
+    private static int indexOf(Object[] array, Object key) {
+        if (array != null) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean accept(DependencyVisitor visitor) {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new RuntimeException(new InterruptedException("Thread interrupted"));
+        }
+        if (visitor.visitEnter(this)) {
+            List<DependencyNode> nodes = children;
+            if (nodes != null) {
+                for (DependencyNode child : nodes) {
+                    if (!child.accept(visitor)) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        return visitor.visitLeave(this);
+    }
+
+    @Override
+    public String toString() {
+        return subject.toString();
+    }
+
+    /**
+     * The relocations and aliases, of which at least one is not empty.
+     */
+    private static final class Labels {
+        private final List<? extends Artifact> relocations;
+
+        private final Collection<? extends Artifact> aliases;
+
+        private Labels(List<? extends Artifact> relocations, Collection<? extends Artifact> aliases) {
+            this.relocations = relocations;
+            this.aliases = aliases;
+        }
+
+        static Labels of(List<? extends Artifact> relocations, Collection<? extends Artifact> aliases) {
+            boolean noRelocations = relocations == null || relocations.isEmpty();
+            boolean noAliases = aliases == null || aliases.isEmpty();
+            if (noRelocations && noAliases) {
+                return null;
+            }
+            return new Labels(
+                    noRelocations ? Collections.emptyList() : relocations,
+                    noAliases ? Collections.emptyList() : aliases);
+        }
+    }
+
+    /**
+     * Read-only map view of the custom data.
+     */
+    private final class DataMap extends AbstractMap<Object, Object> {
+        @Override
+        public Object get(Object key) {
+            Object[] array = data;
+            int index = key != null ? indexOf(array, key) : -1;
+            return index >= 0 ? array[index + 1] : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key != null && indexOf(data, key) >= 0;
+        }
+
+        @Override
+        public Set<Entry<Object, Object>> entrySet() {
+            return new AbstractSet<Entry<Object, Object>>() {
+                @Override
+                public Iterator<Entry<Object, Object>> iterator() {
+                    Object[] array = data != null ? data : new Object[0];
+                    return new Iterator<Entry<Object, Object>>() {
+                        private int index;
+
+                        @Override
+                        public boolean hasNext() {
+                            return index < array.length;
+                        }
+
+                        @Override
+                        public Entry<Object, Object> next() {
+                            if (index >= array.length) {
+                                throw new NoSuchElementException();
+                            }
+                            Entry<Object, Object> entry = new SimpleImmutableEntry<>(array[index], array[index + 1]);
+                            index += 2;
+                            return entry;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return data != null ? data.length / 2 : 0;
+                }
+            };
+        }
+    }
+}
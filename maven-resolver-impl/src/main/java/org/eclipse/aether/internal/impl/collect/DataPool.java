@@ -18,20 +18,35 @@
  */
 package org.eclipse.aether.internal.impl.collect;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
 import java.lang.ref.WeakReference;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
 
 import org.eclipse.aether.Keys;
 import org.eclipse.aether.RepositoryCache;
 import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.collection.DependencyCollectionContext;
 import org.eclipse.aether.collection.DependencyManager;
 import org.eclipse.aether.collection.DependencySelector;
 import org.eclipse.aether.collection.DependencyTraverser;
@@ -40,6 +55,7 @@ import org.eclipse.aether.graph.Dependency;
 import org.eclipse.aether.graph.DependencyNode;
 import org.eclipse.aether.repository.ArtifactRepository;
 import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.repository.WorkspaceRepository;
 import org.eclipse.aether.resolution.ArtifactDescriptorException;
 import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
 import org.eclipse.aether.resolution.ArtifactDescriptorResult;
@@ -58,7 +74,8 @@ public final class DataPool {
     /**
      * Flag controlling interning data pool type used by dependency collector for Artifact instances, matters for
      * heap consumption. By default, uses “weak” references (consume less heap). Using “hard” will make it much
-     * more memory aggressive and possibly faster (system and Java dependent). Supported values: "hard", "weak".
+     * more memory aggressive and possibly faster (system and Java dependent).
+     * Supported values: "hard", "weak", "adaptive" (see {@link #CONFIG_PROP_COLLECTOR_POOL_ADAPTIVE_THRESHOLD}).
      *
      * @since 1.9.5
      * @configurationSource {@link RepositorySystemSession#getConfigProperties()}
@@ -70,7 +87,8 @@ public final class DataPool {
     /**
      * Flag controlling interning data pool type used by dependency collector for Dependency instances, matters for
      * heap consumption. By default, uses “weak” references (consume less heap). Using “hard” will make it much
-     * more memory aggressive and possibly faster (system and Java dependent). Supported values: "hard", "weak".
+     * more memory aggressive and possibly faster (system and Java dependent).
+     * Supported values: "hard", "weak", "adaptive" (see {@link #CONFIG_PROP_COLLECTOR_POOL_ADAPTIVE_THRESHOLD}).
      *
      * @since 1.9.5
      * @configurationSource {@link RepositorySystemSession#getConfigProperties()}
@@ -82,7 +100,8 @@ public final class DataPool {
     /**
      * Flag controlling interning data pool type used by dependency collector for ArtifactDescriptor (POM) instances,
      * matters for heap consumption. By default, uses “weak” references (consume less heap). Using “hard” will make it
-     * much more memory aggressive and possibly faster (system and Java dependent). Supported values: "hard", "weak".
+     * much more memory aggressive and possibly faster (system and Java dependent).
+     * Supported values: "hard", "weak", "adaptive" (see {@link #CONFIG_PROP_COLLECTOR_POOL_ADAPTIVE_THRESHOLD}).
      *
      * @since 1.9.5
      * @configurationSource {@link RepositorySystemSession#getConfigProperties()}
@@ -94,7 +113,8 @@ public final class DataPool {
     /**
      * Flag controlling interning data pool type used by dependency lists collector for ArtifactDescriptor (POM) instances,
      * matters for heap consumption. By default, uses “weak” references (consume less heap). Using “hard” will make it
-     * much more memory aggressive and possibly faster (system and Java dependent). Supported values: "hard", "weak".
+     * much more memory aggressive and possibly faster (system and Java dependent).
+     * Supported values: "hard", "weak", "adaptive" (see {@link #CONFIG_PROP_COLLECTOR_POOL_ADAPTIVE_THRESHOLD}).
      *
      * @since 1.9.22
      * @configurationSource {@link RepositorySystemSession#getConfigProperties()}
@@ -126,6 +146,54 @@ public final class DataPool {
     public static final String CONFIG_PROP_COLLECTOR_POOL_INTERN_ARTIFACT_DESCRIPTOR_MANAGED_DEPENDENCIES =
             "aether.dependencyCollector.pool.internArtifactDescriptorManagedDependencies";
 
+    /**
+     * The heap occupancy (fraction of maximum heap still in use after garbage collection, as reported by
+     * {@link java.lang.management.MemoryPoolMXBean#getCollectionUsage()}) above which "adaptive" pools demote their
+     * cold entries from hard to soft references, letting garbage collector reclaim them. Once occupancy drops below
+     * this value, demoted entries still present are promoted back to hard references when accessed.
+     *
+     * @since 2.0.20
+     * @configurationSource {@link RepositorySystemSession#getConfigProperties()}
+     * @configurationType {@link java.lang.Float}
+     * @configurationDefaultValue {@link #DEFAULT_COLLECTOR_POOL_ADAPTIVE_THRESHOLD}
+     */
+    public static final String CONFIG_PROP_COLLECTOR_POOL_ADAPTIVE_THRESHOLD =
+            CONFIG_PROPS_PREFIX + "adaptiveThreshold";
+
+    public static final float DEFAULT_COLLECTOR_POOL_ADAPTIVE_THRESHOLD = 0.75f;
+
+    /**
+     * Flag controlling memoization of derived dependency selectors, managers, traversers and version filters during
+     * single collection. If enabled, a child derived from same parent instance for same dependency and same managed
+     * dependencies is derived only once, and equal derived instances are shared, making them cheaper to compare
+     * when looking up already collected nodes. Requires derivations to be deterministic, as they are expected to be.
+     *
+     * @since 2.0.20
+     * @configurationSource {@link RepositorySystemSession#getConfigProperties()}
+     * @configurationType {@link java.lang.Boolean}
+     * @configurationDefaultValue {@link #DEFAULT_COLLECTOR_POOL_MEMOIZE_DERIVATIONS}
+     */
+    public static final String CONFIG_PROP_COLLECTOR_POOL_MEMOIZE_DERIVATIONS =
+            CONFIG_PROPS_PREFIX + "memoizeDerivations";
+
+    public static final boolean DEFAULT_COLLECTOR_POOL_MEMOIZE_DERIVATIONS = true;
+
+    /**
+     * Flag controlling caching of resolved version ranges across collections, in the {@link RepositoryCache} of the
+     * session (if session carries one). Cached ranges are keyed by artifact (carrying the range) and repositories.
+     * Ranges resolved (also) to workspace artifacts are not cached, as workspace is expected to change between
+     * collections, nor are ranges whose resolution reported exceptions (ie. a repository was not reachable), as
+     * those are retried by subsequent collections.
+     *
+     * @since 2.0.20
+     * @configurationSource {@link RepositorySystemSession#getConfigProperties()}
+     * @configurationType {@link java.lang.Boolean}
+     * @configurationDefaultValue {@link #DEFAULT_COLLECTOR_POOL_CACHE_CONSTRAINTS}
+     */
+    public static final String CONFIG_PROP_COLLECTOR_POOL_CACHE_CONSTRAINTS = CONFIG_PROPS_PREFIX + "cacheConstraints";
+
+    public static final boolean DEFAULT_COLLECTOR_POOL_CACHE_CONSTRAINTS = true;
+
     private static final Object ARTIFACT_POOL = Keys.of(DataPool.class, "artifact");
 
     private static final Object DEPENDENCY_POOL = Keys.of(DataPool.class, "dependency");
@@ -134,6 +202,10 @@ public final class DataPool {
 
     private static final Object DEPENDENCY_LISTS_POOL = Keys.of(DataPool.class, "dependencyLists");
 
+    private static final Object SNAPSHOT = Keys.of(DataPool.class, "snapshot");
+
+    private static final Object CONSTRAINTS = Keys.of(DataPool.class, "constraints");
+
     public static final ArtifactDescriptorResult NO_DESCRIPTOR =
             new ArtifactDescriptorResult(new ArtifactDescriptorRequest());
 
@@ -158,21 +230,66 @@ public final class DataPool {
     private final InternPool<List<Dependency>, List<Dependency>> dependencyLists;
 
     /**
-     * Constraint cache, lives during single collection invocation (same as this DataPool instance).
+     * Constraint cache, lives during single collection invocation (same as this DataPool instance), or during
+     * collection of whole batch.
      */
     private final ConcurrentHashMap<Object, Constraint> constraints;
 
+    /**
+     * Constraint cache, lives across session (if session carries non-null {@link RepositoryCache}), or {@code null}
+     * if not caching. Does not hold constraints originating from workspace, nor those resolved with exceptions.
+     */
+    private final ConcurrentHashMap<Object, Constraint> cachedConstraints;
+
     /**
      * DependencyNode cache, lives during single collection invocation (same as this DataPool instance).
      */
     private final ConcurrentHashMap<Object, List<DependencyNode>> nodes;
 
+    /**
+     * Descriptors recorded for incremental collection (and carried over from previous one), or {@code null} if not
+     * recording, see {@link #retain(DependencyNode)}.
+     */
+    private final ConcurrentHashMap<DescriptorKey, Descriptor> recordedDescriptors;
+
+    /**
+     * Derived selectors, managers, traversers and filters keyed by their derivation, or {@code null} if not
+     * memoizing, lives during single collection invocation (same as this DataPool instance), or during collection of
+     * whole batch.
+     */
+    private final ConcurrentHashMap<DerivationKey, Object> derivations;
+
+    /**
+     * Canonical instances of derived selectors, managers, traversers and filters, or {@code null} if not memoizing,
+     * lives during single collection invocation (same as this DataPool instance).
+     */
+    private final ConcurrentHashMap<Object, Object> derived;
+
+    /**
+     * {@link RemoteRepository} list interning pool, lives during single collection invocation (same as this DataPool
+     * instance), or during collection of whole batch.
+     */
+    private final ConcurrentHashMap<List<RemoteRepository>, List<RemoteRepository>> repositoryLists;
+
     private final boolean internArtifactDescriptorDependencies;
 
     private final boolean internArtifactDescriptorManagedDependencies;
 
-    @SuppressWarnings("unchecked")
     public DataPool(RepositorySystemSession session) {
+        this(session, false, null);
+    }
+
+    /**
+     * Creates a data pool for (possibly incremental) collection.
+     *
+     * @param session the session
+     * @param record whether to record descriptors and constraints so they can be {@link #retain(DependencyNode)
+     *               retained} for later incremental collection
+     * @param previous the root of previous collection result to reuse retained data from, may be {@code null}
+     * @since 2.0.20
+     */
+    @SuppressWarnings("unchecked")
+    public DataPool(RepositorySystemSession session, boolean record, DependencyNode previous) {
         final RepositoryCache cache = session.getCache();
 
         internArtifactDescriptorDependencies = ConfigUtils.getBoolean(
@@ -188,26 +305,33 @@ public final class DataPool {
             artifactsPool = (InternPool<Artifact, Artifact>) cache.computeIfAbsent(
                     session,
                     ARTIFACT_POOL,
-                    () -> createPool(ConfigUtils.getString(session, WEAK, CONFIG_PROP_COLLECTOR_POOL_ARTIFACT)));
+                    () -> createPool(
+                            session, ConfigUtils.getString(session, WEAK, CONFIG_PROP_COLLECTOR_POOL_ARTIFACT)));
             dependenciesPool = (InternPool<Dependency, Dependency>) cache.computeIfAbsent(
                     session,
                     DEPENDENCY_POOL,
-                    () -> createPool(ConfigUtils.getString(session, WEAK, CONFIG_PROP_COLLECTOR_POOL_DEPENDENCY)));
+                    () -> createPool(
+                            session, ConfigUtils.getString(session, WEAK, CONFIG_PROP_COLLECTOR_POOL_DEPENDENCY)));
             descriptorsPool = (InternPool<DescriptorKey, Descriptor>) cache.computeIfAbsent(
                     session,
                     DESCRIPTORS,
-                    () -> createPool(ConfigUtils.getString(session, HARD, CONFIG_PROP_COLLECTOR_POOL_DESCRIPTOR)));
+                    () -> createPool(
+                            session, ConfigUtils.getString(session, HARD, CONFIG_PROP_COLLECTOR_POOL_DESCRIPTOR)));
             dependencyListsPool = (InternPool<List<Dependency>, List<Dependency>>) cache.computeIfAbsent(
                     session,
                     DEPENDENCY_LISTS_POOL,
                     () -> createPool(
+                            session,
                             ConfigUtils.getString(session, HARD, CONFIG_PROP_COLLECTOR_POOL_DEPENDENCY_LISTS)));
         } else {
-            artifactsPool = createPool(ConfigUtils.getString(session, WEAK, CONFIG_PROP_COLLECTOR_POOL_ARTIFACT));
-            dependenciesPool = createPool(ConfigUtils.getString(session, WEAK, CONFIG_PROP_COLLECTOR_POOL_DEPENDENCY));
-            descriptorsPool = createPool(ConfigUtils.getString(session, HARD, CONFIG_PROP_COLLECTOR_POOL_DESCRIPTOR));
-            dependencyListsPool =
-                    createPool(ConfigUtils.getString(session, HARD, CONFIG_PROP_COLLECTOR_POOL_DEPENDENCY_LISTS));
+            artifactsPool =
+                    createPool(session, ConfigUtils.getString(session, WEAK, CONFIG_PROP_COLLECTOR_POOL_ARTIFACT));
+            dependenciesPool =
+                    createPool(session, ConfigUtils.getString(session, WEAK, CONFIG_PROP_COLLECTOR_POOL_DEPENDENCY));
+            descriptorsPool =
+                    createPool(session, ConfigUtils.getString(session, HARD, CONFIG_PROP_COLLECTOR_POOL_DESCRIPTOR));
+            dependencyListsPool = createPool(
+                    session, ConfigUtils.getString(session, HARD, CONFIG_PROP_COLLECTOR_POOL_DEPENDENCY_LISTS));
         }
 
         this.artifacts = artifactsPool;
@@ -216,7 +340,86 @@ public final class DataPool {
         this.dependencyLists = dependencyListsPool;
 
         this.constraints = new ConcurrentHashMap<>(256);
+        if (cache != null
+                && ConfigUtils.getBoolean(
+                        session,
+                        DEFAULT_COLLECTOR_POOL_CACHE_CONSTRAINTS,
+                        CONFIG_PROP_COLLECTOR_POOL_CACHE_CONSTRAINTS)) {
+            this.cachedConstraints = (ConcurrentHashMap<Object, Constraint>)
+                    cache.computeIfAbsent(session, CONSTRAINTS, () -> new ConcurrentHashMap<>(256));
+        } else {
+            this.cachedConstraints = null;
+        }
+        this.nodes = new ConcurrentHashMap<>(256);
+        this.repositoryLists = new ConcurrentHashMap<>();
+        if (ConfigUtils.getBoolean(
+                session, DEFAULT_COLLECTOR_POOL_MEMOIZE_DERIVATIONS, CONFIG_PROP_COLLECTOR_POOL_MEMOIZE_DERIVATIONS)) {
+            this.derivations = new ConcurrentHashMap<>(256);
+            this.derived = new ConcurrentHashMap<>(256);
+        } else {
+            this.derivations = null;
+            this.derived = null;
+        }
+
+        Snapshot snapshot = previous != null ? (Snapshot) previous.getData().get(SNAPSHOT) : null;
+        if (snapshot != null) {
+            this.constraints.putAll(snapshot.constraints);
+        }
+        if (record || snapshot != null) {
+            this.recordedDescriptors = new ConcurrentHashMap<>(256);
+            if (snapshot != null) {
+                this.recordedDescriptors.putAll(snapshot.descriptors);
+            }
+        } else {
+            this.recordedDescriptors = null;
+        }
+    }
+
+    /**
+     * Creates a data pool for one collection of a batch, that shares interning pools, constraints and memoized
+     * derivations with the pool of the batch, and with pools of other collections of the batch. The node cache is
+     * not shared, as collected child nodes are specific to the graph they were collected for, and are later modified
+     * by graph transformation.
+     *
+     * @param batch the pool of the batch, created for the session of the batch
+     * @param record whether to record descriptors and constraints so they can be {@link #retain(DependencyNode)
+     *               retained} for later incremental collection
+     * @since 2.0.20
+     */
+    public DataPool(DataPool batch, boolean record) {
+        this.internArtifactDescriptorDependencies = batch.internArtifactDescriptorDependencies;
+        this.internArtifactDescriptorManagedDependencies = batch.internArtifactDescriptorManagedDependencies;
+        this.artifacts = batch.artifacts;
+        this.dependencies = batch.dependencies;
+        this.descriptors = batch.descriptors;
+        this.dependencyLists = batch.dependencyLists;
+        this.constraints = batch.constraints;
+        this.cachedConstraints = batch.cachedConstraints;
+        this.derivations = batch.derivations;
+        this.derived = batch.derived;
+        this.repositoryLists = batch.repositoryLists;
         this.nodes = new ConcurrentHashMap<>(256);
+        this.recordedDescriptors = record ? new ConcurrentHashMap<>(256) : null;
+    }
+
+    /**
+     * Retains recorded descriptors and constraints on given (root) node, to be picked up by a later incremental
+     * collection. Only data that cannot change between collections is retained: data originating from workspace,
+     * descriptors of snapshot artifacts and version ranges are not, as these are expected to change (ie. a new
+     * snapshot or release being deployed to a remote repository). Does nothing if this pool is not recording.
+     *
+     * @since 2.0.20
+     */
+    public void retain(DependencyNode root) {
+        if (recordedDescriptors != null) {
+            Map<Object, Constraint> retainedConstraints = new HashMap<>(constraints.size());
+            for (Map.Entry<Object, Constraint> entry : constraints.entrySet()) {
+                if (entry.getValue().isStable(((ConstraintKey) entry.getKey()).artifact)) {
+                    retainedConstraints.put(entry.getKey(), entry.getValue());
+                }
+            }
+            root.setData(SNAPSHOT, new Snapshot(new HashMap<>(recordedDescriptors), retainedConstraints));
+        }
     }
 
     public Artifact intern(Artifact artifact) {
@@ -227,12 +430,32 @@ public final class DataPool {
         return dependencies.intern(dependency, dependency);
     }
 
+    /**
+     * Interns given list of remote repositories, so equal lists of (possibly many) nodes share one instance.
+     *
+     * @since 2.0.20
+     */
+    public List<RemoteRepository> internRepositories(List<RemoteRepository> repositories) {
+        if (repositories.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<RemoteRepository> interned = repositoryLists.putIfAbsent(repositories, repositories);
+        return interned != null ? interned : repositories;
+    }
+
     public DescriptorKey toKey(ArtifactDescriptorRequest request) {
         return new DescriptorKey(request.getArtifact());
     }
 
     public ArtifactDescriptorResult getDescriptor(DescriptorKey key, ArtifactDescriptorRequest request) {
         Descriptor descriptor = descriptors.get(key);
+        if (recordedDescriptors != null) {
+            if (descriptor == null) {
+                descriptor = recordedDescriptors.get(key);
+            } else {
+                record(key, descriptor);
+            }
+        }
         if (descriptor != null) {
             return descriptor.toResult(request);
         }
@@ -246,7 +469,19 @@ public final class DataPool {
         if (internArtifactDescriptorManagedDependencies) {
             result.setManagedDependencies(intern(result.getManagedDependencies()));
         }
-        descriptors.intern(key, new GoodDescriptor(result));
+        GoodDescriptor descriptor = new GoodDescriptor(result);
+        descriptors.intern(key, descriptor);
+        if (recordedDescriptors != null) {
+            record(key, descriptor);
+        }
+    }
+
+    private void record(DescriptorKey key, Descriptor descriptor) {
+        if (descriptor instanceof GoodDescriptor
+                && !((GoodDescriptor) descriptor).fromWorkspace
+                && !key.artifact.isSnapshot()) {
+            recordedDescriptors.putIfAbsent(key, descriptor);
+        }
     }
 
     public void putDescriptor(DescriptorKey key, ArtifactDescriptorException e) {
@@ -263,6 +498,13 @@ public final class DataPool {
 
     public VersionRangeResult getConstraint(Object key, VersionRangeRequest request) {
         Constraint constraint = constraints.get(key);
+        if (constraint == null && cachedConstraints != null) {
+            constraint = cachedConstraints.get(key);
+            if (constraint != null) {
+                // so it is retained as well
+                constraints.putIfAbsent(key, constraint);
+            }
+        }
         if (constraint != null) {
             return constraint.toResult(request);
         }
@@ -270,7 +512,11 @@ public final class DataPool {
     }
 
     public void putConstraint(Object key, VersionRangeResult result) {
-        constraints.put(key, new Constraint(result));
+        Constraint constraint = new Constraint(result);
+        constraints.put(key, constraint);
+        if (cachedConstraints != null && result.getExceptions().isEmpty() && !constraint.fromWorkspace()) {
+            cachedConstraints.put(key, constraint);
+        }
     }
 
     public Object toKey(
@@ -283,6 +529,44 @@ public final class DataPool {
         return new GraphKey(artifact, repositories, selector, manager, traverser, filter);
     }
 
+    /**
+     * Derives child of given dependency selector, manager, traverser or version filter for given context, reusing
+     * the result of an earlier equal derivation, if any.
+     *
+     * @param type the type of derived instance, used to tell apart derivations of instances implementing several
+     *             of these types
+     * @param parent the parent instance, may be {@code null}
+     * @param context the collection context to derive child for
+     * @param derivation the derivation to invoke if not memoized
+     * @return the derived child, or {@code null} if parent was {@code null}
+     * @since 2.0.20
+     */
+    public <T> T derive(
+            Class<T> type,
+            T parent,
+            DependencyCollectionContext context,
+            BiFunction<? super T, DependencyCollectionContext, ? extends T> derivation) {
+        if (parent == null) {
+            return null;
+        } else if (derivations == null || context.getDependency() == null) {
+            return derivation.apply(parent, context);
+        }
+        DerivationKey key = new DerivationKey(type, parent, context.getDependency(), context.getManagedDependencies());
+        Object child = derivations.get(key);
+        if (child == null) {
+            child = derivation.apply(parent, context);
+            if (child == null) {
+                return null;
+            }
+            Object canonical = derived.putIfAbsent(child, child);
+            if (canonical != null) {
+                child = canonical;
+            }
+            derivations.putIfAbsent(key, child);
+        }
+        return type.cast(child);
+    }
+
     public List<DependencyNode> getChildren(Object key) {
         return nodes.get(key);
     }
@@ -291,6 +575,29 @@ public final class DataPool {
         nodes.put(key, children);
     }
 
+    /**
+     * Returns the statistics (hits, misses, demotions, promotions and size) of "adaptive" pools, keyed by pool name.
+     *
+     * @since 2.0.20
+     */
+    public Map<String, Long> getStatistics() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        statistics(result, "artifact", artifacts);
+        statistics(result, "dependency", dependencies);
+        statistics(result, "descriptor", descriptors);
+        statistics(result, "dependencyLists", dependencyLists);
+        return result;
+    }
+
+    private static void statistics(Map<String, Long> result, String name, InternPool<?, ?> pool) {
+        if (pool instanceof AdaptiveInternPool) {
+            ((AdaptiveInternPool<?, ?>) pool)
+                    .statistics()
+                    .forEach(
+                            (key, value) -> result.put(DataPool.class.getSimpleName() + "." + name + "." + key, value));
+        }
+    }
+
     public static final class DescriptorKey {
         private final Artifact artifact;
         private final int hashCode;
@@ -341,6 +648,8 @@ public final class DataPool {
 
         final List<Dependency> managedDependencies;
 
+        final boolean fromWorkspace;
+
         GoodDescriptor(ArtifactDescriptorResult result) {
             artifact = result.getArtifact();
             relocations = result.getRelocations();
@@ -348,6 +657,7 @@ public final class DataPool {
             dependencies = result.getDependencies();
             managedDependencies = result.getManagedDependencies();
             repositories = result.getRepositories();
+            fromWorkspace = result.getRepository() instanceof WorkspaceRepository;
         }
 
         public ArtifactDescriptorResult toResult(ArtifactDescriptorRequest request) {
@@ -386,6 +696,26 @@ public final class DataPool {
             }
         }
 
+        boolean fromWorkspace() {
+            for (VersionRepo vr : repositories) {
+                if (vr.repo instanceof WorkspaceRepository) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Whether this constraint cannot change between collections: it is not a range, nor a snapshot, and does not
+         * originate from workspace.
+         */
+        boolean isStable(Artifact artifact) {
+            return versionConstraint != null
+                    && versionConstraint.getRange() == null
+                    && !artifact.isSnapshot()
+                    && !fromWorkspace();
+        }
+
         VersionRangeResult toResult(VersionRangeRequest request) {
             VersionRangeResult result = new VersionRangeResult(request);
             for (VersionRepo vr : repositories) {
@@ -408,6 +738,26 @@ public final class DataPool {
         }
     }
 
+    /**
+     * Data retained from a collection, see {@link #retain(DependencyNode)}.
+     */
+    private static final class Snapshot {
+        final Map<DescriptorKey, Descriptor> descriptors;
+
+        final Map<Object, Constraint> constraints;
+
+        Snapshot(Map<DescriptorKey, Descriptor> descriptors, Map<Object, Constraint> constraints) {
+            this.descriptors = descriptors;
+            this.constraints = constraints;
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + "{descriptors=" + descriptors.size() + ", constraints="
+                    + constraints.size() + "}";
+        }
+    }
+
     static final class ConstraintKey {
         private final Artifact artifact;
 
@@ -466,6 +816,51 @@ public final class DataPool {
         }
     }
 
+    /**
+     * Key of a derivation: managed dependencies are compared by identity, as they are interned (see
+     * {@link #CONFIG_PROP_COLLECTOR_POOL_INTERN_ARTIFACT_DESCRIPTOR_MANAGED_DEPENDENCIES}), and hashing potentially
+     * huge lists is what memoization tries to avoid.
+     */
+    static final class DerivationKey {
+        private final Class<?> type;
+
+        private final Object parent;
+
+        private final Dependency dependency;
+
+        private final List<Dependency> managedDependencies;
+
+        private final int hashCode;
+
+        DerivationKey(Class<?> type, Object parent, Dependency dependency, List<Dependency> managedDependencies) {
+            this.type = type;
+            this.parent = parent;
+            this.dependency = dependency;
+            this.managedDependencies = managedDependencies;
+
+            hashCode = Objects.hash(type, parent, dependency, System.identityHashCode(managedDependencies));
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            } else if (!(obj instanceof DerivationKey)) {
+                return false;
+            }
+            DerivationKey that = (DerivationKey) obj;
+            return type == that.type
+                    && managedDependencies == that.managedDependencies
+                    && parent.equals(that.parent)
+                    && dependency.equals(that.dependency);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
     static final class GraphKey {
         private final Artifact artifact;
 
@@ -520,21 +915,49 @@ public final class DataPool {
         }
     }
 
-    private static <K, V> InternPool<K, V> createPool(String type) {
+    private static <K, V> InternPool<K, V> createPool(RepositorySystemSession session, String type) {
         if (HARD.equals(type)) {
             return new HardInternPool<>();
         } else if (WEAK.equals(type)) {
             return new WeakInternPool<>();
+        } else if (ADAPTIVE.equals(type)) {
+            return new AdaptiveInternPool<>(
+                    ConfigUtils.getFloat(
+                            session,
+                            DEFAULT_COLLECTOR_POOL_ADAPTIVE_THRESHOLD,
+                            CONFIG_PROP_COLLECTOR_POOL_ADAPTIVE_THRESHOLD),
+                    DataPool::heapOccupancy);
         } else {
             throw new IllegalArgumentException("Unknown object pool type: '" + type + "'");
         }
     }
 
+    /**
+     * Returns the highest occupancy (used after last collection / max) of heap memory pools, or 0 if unknown.
+     */
+    private static double heapOccupancy() {
+        double occupancy = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isCollectionUsageThresholdSupported()) {
+                MemoryUsage usage = pool.getCollectionUsage();
+                if (usage != null && usage.getMax() > 0) {
+                    occupancy = Math.max(occupancy, (double) usage.getUsed() / usage.getMax());
+                }
+            }
+        }
+        return occupancy;
+    }
+
     public static final String HARD = "hard";
 
     public static final String WEAK = "weak";
 
-    private interface InternPool<K, V> {
+    /**
+     * @since 2.0.20
+     */
+    public static final String ADAPTIVE = "adaptive";
+
+    interface InternPool<K, V> {
         V get(K key);
 
         V intern(K key, V value);
@@ -583,4 +1006,239 @@ public final class DataPool {
             return (V) result[0];
         }
     }
+
+    /**
+     * Pool that holds entries (keys and values) by hard references as long as heap has headroom. When heap occupancy
+     * exceeds the threshold, entries not accessed since previous check are demoted to soft references, and entries
+     * cleared by garbage collector are dropped. Demoted entries accessed while there is headroom are promoted back.
+     * Keys are demoted along with values, as pools mostly intern instances by themselves (key and value being the
+     * same instance), that would be otherwise still strongly reachable from map. Visible for testing.
+     */
+    static final class AdaptiveInternPool<K, V> implements InternPool<K, V> {
+        private static final int CHECK_INTERVAL_OPS = 1024;
+
+        private static final long CHECK_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+        private final ConcurrentHashMap<KeyRef<K>, Slot<K, V>> map = new ConcurrentHashMap<>(256);
+
+        private final float threshold;
+
+        private final DoubleSupplier occupancy;
+
+        private final Function<Object, Reference<Object>> demotion;
+
+        private final AtomicLong ops = new AtomicLong();
+
+        private final AtomicLong lastCheck = new AtomicLong(System.nanoTime());
+
+        private volatile int generation;
+
+        private volatile boolean pressure;
+
+        final LongAdder hits = new LongAdder();
+
+        final LongAdder misses = new LongAdder();
+
+        final LongAdder demotions = new LongAdder();
+
+        final LongAdder promotions = new LongAdder();
+
+        AdaptiveInternPool(float threshold, DoubleSupplier occupancy) {
+            this(threshold, occupancy, SoftReference::new);
+        }
+
+        /**
+         * Creates pool demoting entries to references created by given function, visible for testing.
+         */
+        AdaptiveInternPool(float threshold, DoubleSupplier occupancy, Function<Object, Reference<Object>> demotion) {
+            this.threshold = threshold;
+            this.occupancy = occupancy;
+            this.demotion = demotion;
+        }
+
+        @Override
+        public V get(K key) {
+            tick();
+            Slot<K, V> slot = map.get(new KeyRef<>(key));
+            V value = slot != null ? slot.get(this) : null;
+            (value != null ? hits : misses).increment();
+            return value;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V intern(K key, V value) {
+            V pooled = get(key);
+            if (pooled != null) {
+                return pooled;
+            }
+            Object[] result = new Object[1];
+            map.compute(new KeyRef<>(key), (k, existing) -> {
+                if (existing != null) {
+                    V v = existing.get(this);
+                    if (v != null) {
+                        result[0] = v;
+                        return existing;
+                    }
+                }
+                KeyRef<K> ref = existing != null ? existing.key : k;
+                ref.promote(key);
+                result[0] = value;
+                return new Slot<>(ref, value, generation);
+            });
+            return (V) result[0];
+        }
+
+        private void tick() {
+            if (ops.incrementAndGet() % CHECK_INTERVAL_OPS == 0) {
+                long now = System.nanoTime();
+                long last = lastCheck.get();
+                if (now - last >= CHECK_INTERVAL_NANOS && lastCheck.compareAndSet(last, now)) {
+                    adapt();
+                }
+            }
+        }
+
+        /**
+         * Checks heap occupancy, and if above threshold, demotes cold entries and drops cleared ones.
+         */
+        void adapt() {
+            int cold = generation++;
+            pressure = occupancy.getAsDouble() > threshold;
+            if (pressure) {
+                for (Map.Entry<KeyRef<K>, Slot<K, V>> entry : map.entrySet()) {
+                    Slot<K, V> slot = entry.getValue();
+                    if (slot.isCleared()) {
+                        map.remove(entry.getKey(), slot);
+                    } else if (slot.lastUsed < cold && slot.demote(demotion)) {
+                        demotions.increment();
+                    }
+                }
+            }
+        }
+
+        int size() {
+            return map.size();
+        }
+
+        Map<String, Long> statistics() {
+            Map<String, Long> result = new LinkedHashMap<>();
+            result.put("hits", hits.sum());
+            result.put("misses", misses.sum());
+            result.put("demotions", demotions.sum());
+            result.put("promotions", promotions.sum());
+            result.put("size", (long) map.size());
+            return result;
+        }
+
+        /**
+         * Holder of a hard or demoted reference, that keeps the hash code of referent.
+         */
+        private static class Ref<T> {
+            private volatile T hard;
+
+            private volatile Reference<T> demoted;
+
+            Ref(T referent) {
+                this.hard = referent;
+            }
+
+            T get() {
+                T referent = hard;
+                if (referent == null) {
+                    Reference<T> ref = demoted;
+                    referent = ref != null ? ref.get() : null;
+                }
+                return referent;
+            }
+
+            @SuppressWarnings("unchecked")
+            void demote(Function<Object, Reference<Object>> demotion) {
+                T referent = hard;
+                if (referent != null) {
+                    demoted = (Reference<T>) (Reference<?>) demotion.apply(referent);
+                    hard = null;
+                }
+            }
+
+            void promote(T referent) {
+                hard = referent;
+                demoted = null;
+            }
+
+            boolean isHard() {
+                return hard != null;
+            }
+        }
+
+        /**
+         * Map key, equal to other keys having equal referents. Once cleared, it is equal only to itself.
+         */
+        private static final class KeyRef<K> extends Ref<K> {
+            private final int hash;
+
+            KeyRef(K key) {
+                super(key);
+                this.hash = key.hashCode();
+            }
+
+            @Override
+            public boolean equals(Object obj) {
+                if (this == obj) {
+                    return true;
+                } else if (!(obj instanceof KeyRef) || hash != ((KeyRef<?>) obj).hash) {
+                    return false;
+                }
+                K key = get();
+                return key != null && key.equals(((KeyRef<?>) obj).get());
+            }
+
+            @Override
+            public int hashCode() {
+                return hash;
+            }
+        }
+
+        private static final class Slot<K, V> {
+            private final KeyRef<K> key;
+
+            private final Ref<V> value;
+
+            private volatile int lastUsed;
+
+            Slot(KeyRef<K> key, V value, int generation) {
+                this.key = key;
+                this.value = new Ref<>(value);
+                this.lastUsed = generation;
+            }
+
+            V get(AdaptiveInternPool<?, V> pool) {
+                lastUsed = pool.generation;
+                if (value.isHard()) {
+                    return value.get();
+                }
+                K k = key.get();
+                V v = value.get();
+                if (k != null && v != null && !pool.pressure) {
+                    key.promote(k);
+                    value.promote(v);
+                    pool.promotions.increment();
+                }
+                return k != null ? v : null;
+            }
+
+            boolean demote(Function<Object, Reference<Object>> demotion) {
+                if (value.isHard()) {
+                    key.demote(demotion);
+                    value.demote(demotion);
+                    return true;
+                }
+                return false;
+            }
+
+            boolean isCleared() {
+                return key.get() == null || value.get() == null;
+            }
+        }
+    }
 }
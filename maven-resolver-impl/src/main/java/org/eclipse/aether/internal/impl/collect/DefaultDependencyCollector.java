@@ -22,6 +22,14 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.eclipse.aether.ConfigurationProperties;
@@ -29,8 +37,16 @@ import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.collection.CollectRequest;
 import org.eclipse.aether.collection.CollectResult;
 import org.eclipse.aether.collection.DependencyCollectionException;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.graph.DependencyVisitor;
 import org.eclipse.aether.impl.DependencyCollector;
+import org.eclipse.aether.repository.RemoteRepository;
 import org.eclipse.aether.util.ConfigUtils;
+import org.eclipse.aether.util.graph.lockfile.DependencyLockfile;
+import org.eclipse.aether.util.graph.visitor.TreeDependencyVisitor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import static java.util.Objects.requireNonNull;
 
@@ -60,6 +76,22 @@ public class DefaultDependencyCollector implements DependencyCollector {
     public static final String DEFAULT_COLLECTOR_IMPL =
             org.eclipse.aether.internal.impl.collect.bf.BfDependencyCollector.NAME;
 
+    /**
+     * The path of dependency lockfile (see {@link DependencyLockfile}). If set, the lockfile exists and it matches the
+     * collect request, the collection result is reconstructed from the lockfile, without reading artifact descriptors,
+     * resolving version ranges or checking for updates. Otherwise, dependencies are collected as usual. Lockfile
+     * applies to single collect requests only, not to batches. The lockfile is read once per session, unless it
+     * is modified. Checksums recorded in lockfile are verified by the "lockfile" trusted checksums source, see
+     * {@link org.eclipse.aether.internal.impl.checksum.LockfileTrustedChecksumsSource}.
+     *
+     * @since 2.0.20
+     * @configurationSource {@link RepositorySystemSession#getConfigProperties()}
+     * @configurationType {@link java.lang.String}
+     */
+    public static final String CONFIG_PROP_LOCKFILE = CONFIG_PROPS_PREFIX + "lockfile";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DefaultDependencyCollector.class);
+
     private final Map<String, DependencyCollectorDelegate> delegates;
 
     @Inject
@@ -70,12 +102,96 @@ public class DefaultDependencyCollector implements DependencyCollector {
     @Override
     public CollectResult collectDependencies(RepositorySystemSession session, CollectRequest request)
             throws DependencyCollectionException {
+        return collectDependencies(session, request, null);
+    }
+
+    @Override
+    public CollectResult collectDependencies(
+            RepositorySystemSession session, CollectRequest request, CollectResult previous)
+            throws DependencyCollectionException {
+        CollectResult locked = collectLocked(session, request);
+        if (locked != null) {
+            return locked;
+        }
+        return getDelegate(session).collectDependencies(session, request, previous);
+    }
+
+    @Override
+    public List<CollectResult> collectDependencies(
+            RepositorySystemSession session, Collection<? extends CollectRequest> requests) {
+        return getDelegate(session).collectDependencies(session, requests);
+    }
+
+    private DependencyCollectorDelegate getDelegate(RepositorySystemSession session) {
         String delegateName = ConfigUtils.getString(session, DEFAULT_COLLECTOR_IMPL, CONFIG_PROP_COLLECTOR_IMPL);
         DependencyCollectorDelegate delegate = delegates.get(delegateName);
         if (delegate == null) {
             throw new IllegalArgumentException(
                     "Unknown collector impl: '" + delegateName + "', known implementations are " + delegates.keySet());
         }
-        return delegate.collectDependencies(session, request);
+        return delegate;
+    }
+
+    /**
+     * Returns the result reconstructed from configured lockfile, or {@code null} if there is no lockfile matching the
+     * request.
+     */
+    private CollectResult collectLocked(RepositorySystemSession session, CollectRequest request) {
+        String lockfile = ConfigUtils.getString(session, null, CONFIG_PROP_LOCKFILE);
+        if (lockfile == null) {
+            return null;
+        }
+        Path path = Paths.get(lockfile);
+        if (!Files.isRegularFile(path)) {
+            LOGGER.debug("Dependency lockfile {} does not exist, collecting dependencies", path);
+            return null;
+        }
+        try {
+            DependencyLockfile lock = DependencyLockfile.read(session, path);
+            if (!lock.matches(request)) {
+                LOGGER.debug("Dependency lockfile {} does not match the request, collecting dependencies", path);
+                return null;
+            }
+            DependencyNode root = lock.getRoot();
+            useRequestRepositories(root, request.getRepositories());
+            CollectResult result = new CollectResult(request);
+            result.setRoot(root);
+            return result;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Failed to use dependency lockfile {}, collecting dependencies", path, e);
+            return null;
+        }
+    }
+
+    /**
+     * Replaces the locked repositories of nodes with the repositories of request having same id, as those carry the
+     * session specific setup (like mirrors, authentication and policies).
+     */
+    private static void useRequestRepositories(DependencyNode root, List<RemoteRepository> repositories) {
+        Map<String, RemoteRepository> byId = new HashMap<>();
+        for (RemoteRepository repository : repositories) {
+            byId.putIfAbsent(repository.getId(), repository);
+        }
+        root.accept(new TreeDependencyVisitor(new DependencyVisitor() {
+            @Override
+            public boolean visitEnter(DependencyNode node) {
+                if (!(node instanceof DefaultDependencyNode)
+                        || node.getRepositories().isEmpty()) {
+                    return true;
+                }
+                List<RemoteRepository> nodeRepositories =
+                        new ArrayList<>(node.getRepositories().size());
+                for (RemoteRepository repository : node.getRepositories()) {
+                    nodeRepositories.add(byId.getOrDefault(repository.getId(), repository));
+                }
+                ((DefaultDependencyNode) node).setRepositories(nodeRepositories);
+                return true;
+            }
+
+            @Override
+            public boolean visitLeave(DependencyNode node) {
+                return true;
+            }
+        }));
     }
 }
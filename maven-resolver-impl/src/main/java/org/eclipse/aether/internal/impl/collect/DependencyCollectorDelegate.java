@@ -25,6 +25,8 @@ import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.aether.DefaultRepositorySystemSession;
@@ -36,6 +38,7 @@ import org.eclipse.aether.collection.CollectRequest;
 import org.eclipse.aether.collection.CollectResult;
 import org.eclipse.aether.collection.DependencyCollectionChecker;
 import org.eclipse.aether.collection.DependencyCollectionException;
+import org.eclipse.aether.collection.DependencyCollectionListener;
 import org.eclipse.aether.collection.DependencyGraphTransformer;
 import org.eclipse.aether.collection.DependencyTraverser;
 import org.eclipse.aether.collection.VersionFilter;
@@ -61,6 +64,8 @@ import org.eclipse.aether.scope.SystemDependencyScope;
 import org.eclipse.aether.spi.artifact.decorator.ArtifactDecorator;
 import org.eclipse.aether.spi.artifact.decorator.ArtifactDecoratorFactory;
 import org.eclipse.aether.util.ConfigUtils;
+import org.eclipse.aether.util.concurrency.SmartExecutor;
+import org.eclipse.aether.util.concurrency.SmartExecutorUtils;
 import org.eclipse.aether.util.graph.transformer.TransformationContextKeys;
 import org.eclipse.aether.version.Version;
 import org.slf4j.Logger;
@@ -111,6 +116,54 @@ public abstract class DependencyCollectorDelegate implements DependencyCollector
 
     public static final int DEFAULT_MAX_RUNS = 5;
 
+    /**
+     * Whether collection results should retain the read artifact descriptors and resolved version ranges, so they
+     * can be reused by incremental collection, see
+     * {@link org.eclipse.aether.RepositorySystem#collectDependencies(RepositorySystemSession, CollectRequest,
+     * CollectResult)}. Retained data is held by root node of the result, hence it lives as long as the result.
+     * Results of incremental collections always retain data. Descriptors of snapshot artifacts and version ranges are
+     * not retained, as they may change between collections, and are read and resolved again.
+     *
+     * @since 2.0.20
+     * @configurationSource {@link RepositorySystemSession#getConfigProperties()}
+     * @configurationType {@link java.lang.Boolean}
+     * @configurationDefaultValue {@link #DEFAULT_INCREMENTAL}
+     */
+    public static final String CONFIG_PROP_INCREMENTAL = DefaultDependencyCollector.CONFIG_PROPS_PREFIX + "incremental";
+
+    public static final boolean DEFAULT_INCREMENTAL = false;
+
+    /**
+     * The maximum count of collections of a batch, see
+     * {@link org.eclipse.aether.RepositorySystem#collectDependencies(RepositorySystemSession, Collection)}, that are
+     * performed concurrently. Collections of a batch share read artifact descriptors, resolved version ranges and
+     * memoized derivations, regardless of this setting.
+     *
+     * @since 2.0.20
+     * @configurationSource {@link RepositorySystemSession#getConfigProperties()}
+     * @configurationType {@link java.lang.Integer}
+     * @configurationDefaultValue {@link #DEFAULT_BATCH_THREADS}
+     */
+    public static final String CONFIG_PROP_BATCH_THREADS =
+            DefaultDependencyCollector.CONFIG_PROPS_PREFIX + "batchThreads";
+
+    public static final int DEFAULT_BATCH_THREADS = 4;
+
+    /**
+     * Flag controlling whether collectors create compact dependency nodes, that keep less state per node than
+     * {@link DefaultDependencyNode}, and hence consume less heap with large graphs. Collected nodes are then not
+     * instances of {@link DefaultDependencyNode}, so code casting them to it should disable this flag.
+     *
+     * @since 2.0.20
+     * @configurationSource {@link RepositorySystemSession#getConfigProperties()}
+     * @configurationType {@link java.lang.Boolean}
+     * @configurationDefaultValue {@link #DEFAULT_COMPACT_NODES}
+     */
+    public static final String CONFIG_PROP_COMPACT_NODES =
+            DefaultDependencyCollector.CONFIG_PROPS_PREFIX + "compactNodes";
+
+    public static final boolean DEFAULT_COMPACT_NODES = true;
+
     protected final Logger logger = LoggerFactory.getLogger(getClass());
 
     protected final RemoteRepositoryManager remoteRepositoryManager;
@@ -134,13 +187,82 @@ public abstract class DependencyCollectorDelegate implements DependencyCollector
                 requireNonNull(artifactDecoratorFactories, "artifact decorator factories cannot be null");
     }
 
-    @SuppressWarnings("checkstyle:methodlength")
     @Override
     public final CollectResult collectDependencies(
             final RepositorySystemSession originalSession, final CollectRequest request)
             throws DependencyCollectionException {
+        return collectDependencies(originalSession, request, null);
+    }
+
+    @Override
+    public final CollectResult collectDependencies(
+            final RepositorySystemSession originalSession, final CollectRequest request, final CollectResult previous)
+            throws DependencyCollectionException {
         requireNonNull(originalSession, "session cannot be null");
         requireNonNull(request, "request cannot be null");
+        return collectDependencies(originalSession, request, previous, null);
+    }
+
+    @Override
+    public final List<CollectResult> collectDependencies(
+            final RepositorySystemSession session, final Collection<? extends CollectRequest> requests) {
+        requireNonNull(session, "session cannot be null");
+        requireNonNull(requests, "requests cannot be null");
+        if (requests.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        DataPool batch = new DataPool(session);
+        List<Future<CollectResult>> futures = new ArrayList<>(requests.size());
+        try (SmartExecutor executor = SmartExecutorUtils.smartExecutor(
+                session,
+                requests.size(),
+                ConfigUtils.getInteger(session, DEFAULT_BATCH_THREADS, CONFIG_PROP_BATCH_THREADS),
+                getClass().getSimpleName() + "-batch-")) {
+            for (CollectRequest request : requests) {
+                requireNonNull(request, "request cannot be null");
+                futures.add(executor.submit(() -> {
+                    try {
+                        return collectDependencies(session, request, null, batch);
+                    } catch (DependencyCollectionException e) {
+                        CollectResult result = e.getResult() != null ? e.getResult() : new CollectResult(request);
+                        if (result.getExceptions().isEmpty()) {
+                            result.addException(e);
+                        }
+                        return result;
+                    }
+                }));
+            }
+
+            List<CollectResult> results = new ArrayList<>(futures.size());
+            for (Future<CollectResult> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while collecting dependencies", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Performs the collection, with a data pool sharing data with other collections of the batch, if {@code batch}
+     * is not {@code null}.
+     */
+    @SuppressWarnings("checkstyle:methodlength")
+    private CollectResult collectDependencies(
+            final RepositorySystemSession originalSession,
+            final CollectRequest request,
+            final CollectResult previous,
+            final DataPool batch)
+            throws DependencyCollectionException {
 
         final InternalScopeManager scopeManager = (InternalScopeManager) originalSession.getScopeManager();
         final RepositorySystemSession setUpSession = setUpSession(originalSession, request, scopeManager);
@@ -160,8 +282,12 @@ public abstract class DependencyCollectorDelegate implements DependencyCollector
                     "Invalid configuration: '" + CONFIG_PROP_MAX_RUNS
                             + "' configuration must be equal or grater than 1");
         }
+        final boolean record = previous != null
+                || ConfigUtils.getBoolean(originalSession, DEFAULT_INCREMENTAL, CONFIG_PROP_INCREMENTAL);
+        final DependencyNode previousRoot = previous != null ? previous.getRoot() : null;
 
         CollectResult result = null;
+        DataPool pool = null;
 
         boolean finished = false;
         while (!finished) {
@@ -244,11 +370,15 @@ public abstract class DependencyCollectorDelegate implements DependencyCollector
             }
 
             result.setRoot(node);
+            if (request.getCollectionListener() != null) {
+                request.getCollectionListener().collectionStarted(node);
+            }
 
             boolean traverse = root == null || depTraverser == null || depTraverser.traverseDependency(root);
             String errorPath = null;
+            pool = null;
             if (traverse && !dependencies.isEmpty()) {
-                DataPool pool = new DataPool(session);
+                pool = batch != null ? new DataPool(batch, record) : new DataPool(session, record, previousRoot);
 
                 DefaultDependencyCollectionContext context = new DefaultDependencyCollectionContext(
                         session, request.getRootArtifact(), root, managedDependencies);
@@ -305,6 +435,13 @@ public abstract class DependencyCollectorDelegate implements DependencyCollector
             finished = dependencyCollectionChecker.isSatisfactory(session, request, result);
         }
 
+        if (pool != null) {
+            stats.putAll(pool.getStatistics());
+            if (result.getRoot() != null) {
+                pool.retain(result.getRoot());
+            }
+        }
+
         stats.put(getClass().getSimpleName() + ".runs", runs.get());
         if (logger.isDebugEnabled()) {
             logger.debug("Dependency collection stats {}", stats);
@@ -313,6 +450,17 @@ public abstract class DependencyCollectorDelegate implements DependencyCollector
         return result;
     }
 
+    /**
+     * Adds child to parent node, and notifies {@link CollectRequest#getCollectionListener()}, if any.
+     */
+    protected static void addChild(CollectRequest request, DependencyNode parent, DependencyNode child) {
+        parent.getChildren().add(child);
+        DependencyCollectionListener listener = request.getCollectionListener();
+        if (listener != null) {
+            listener.nodeCollected(parent, child);
+        }
+    }
+
     /**
      * Creates child {@link RequestTrace} instance from passed in {@link RequestTrace} and parameters by creating
      * {@link CollectStepDataImpl} instance out of passed in data. Caller must ensure that passed in parameters are
@@ -429,6 +577,70 @@ public abstract class DependencyCollectorDelegate implements DependencyCollector
         return child;
     }
 
+    /**
+     * Creates a {@link CompactDependencyNode} if {@code compact} is {@code true}, a {@link DefaultDependencyNode}
+     * otherwise.
+     *
+     * @see #CONFIG_PROP_COMPACT_NODES
+     * @since 2.0.20
+     */
+    @SuppressWarnings("checkstyle:parameternumber")
+    protected static DependencyNode createDependencyNode(
+            boolean compact,
+            List<Artifact> relocations,
+            PremanagedDependency preManaged,
+            VersionRangeResult rangeResult,
+            Version version,
+            Dependency d,
+            Collection<Artifact> aliases,
+            List<RemoteRepository> repos,
+            String requestContext) {
+        if (!compact) {
+            return createDependencyNode(
+                    relocations, preManaged, rangeResult, version, d, aliases, repos, requestContext);
+        }
+        CompactDependencyNode child = new CompactDependencyNode(d);
+        preManaged.applyTo(child);
+        child.setRelocations(relocations);
+        child.setVersionConstraint(rangeResult.getVersionConstraint());
+        child.setVersion(version);
+        child.setAliases(aliases);
+        child.setRepositories(repos);
+        child.setRequestContext(requestContext);
+        return child;
+    }
+
+    /**
+     * Creates a {@link CompactDependencyNode} if {@code compact} is {@code true}, a {@link DefaultDependencyNode}
+     * otherwise, sharing children of cycle node.
+     *
+     * @see #CONFIG_PROP_COMPACT_NODES
+     * @since 2.0.20
+     */
+    @SuppressWarnings("checkstyle:parameternumber")
+    protected static DependencyNode createDependencyNode(
+            boolean compact,
+            List<Artifact> relocations,
+            PremanagedDependency preManaged,
+            VersionRangeResult rangeResult,
+            Version version,
+            Dependency d,
+            ArtifactDescriptorResult descriptorResult,
+            DependencyNode cycleNode) {
+        DependencyNode child = createDependencyNode(
+                compact,
+                relocations,
+                preManaged,
+                rangeResult,
+                version,
+                d,
+                descriptorResult.getAliases(),
+                cycleNode.getRepositories(),
+                cycleNode.getRequestContext());
+        child.setChildren(cycleNode.getChildren());
+        return child;
+    }
+
     protected static ArtifactDescriptorRequest createArtifactDescriptorRequest(
             String requestContext, RequestTrace requestTrace, List<RemoteRepository> repositories, Dependency d) {
         ArtifactDescriptorRequest descriptorRequest = new ArtifactDescriptorRequest();
@@ -523,10 +735,7 @@ public abstract class DependencyCollectorDelegate implements DependencyCollector
         ArtifactDescriptorResult descriptorResult = pool.getDescriptor(key, descriptorRequest);
         if (descriptorResult == null) {
             try {
-                descriptorResult = descriptorReader.readArtifactDescriptor(session, descriptorRequest);
-                for (ArtifactDecorator decorator : Utils.getArtifactDecorators(session, artifactDecoratorFactories)) {
-                    descriptorResult.setArtifact(decorator.decorateArtifact(descriptorResult));
-                }
+                descriptorResult = readArtifactDescriptor(session, descriptorRequest);
                 pool.putDescriptor(key, descriptorResult);
             } catch (ArtifactDescriptorException e) {
                 results.addException(d, e, nodes);
@@ -539,6 +748,30 @@ public abstract class DependencyCollectorDelegate implements DependencyCollector
         return descriptorResult;
     }
 
+    /**
+     * Reads the artifact descriptor, bypassing the pool: consults the persistent descriptor cache (if enabled) first,
+     * and applies the artifact decorators.
+     *
+     * @since 2.0.20
+     */
+    protected ArtifactDescriptorResult readArtifactDescriptor(
+            RepositorySystemSession session, ArtifactDescriptorRequest descriptorRequest)
+            throws ArtifactDescriptorException {
+        PersistentDescriptorCache persistentCache = PersistentDescriptorCache.get(session);
+        ArtifactDescriptorResult descriptorResult =
+                persistentCache != null ? persistentCache.get(session, descriptorRequest) : null;
+        if (descriptorResult == null) {
+            descriptorResult = descriptorReader.readArtifactDescriptor(session, descriptorRequest);
+            if (persistentCache != null) {
+                persistentCache.put(session, descriptorResult);
+            }
+        }
+        for (ArtifactDecorator decorator : Utils.getArtifactDecorators(session, artifactDecoratorFactories)) {
+            descriptorResult.setArtifact(decorator.decorateArtifact(descriptorResult));
+        }
+        return descriptorResult;
+    }
+
     /**
      * Helper class used during collection.
      */
@@ -0,0 +1,677 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.eclipse.aether.internal.impl.collect;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.aether.Keys;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.Exclusion;
+import org.eclipse.aether.repository.ArtifactRepository;
+import org.eclipse.aether.repository.LocalArtifactRequest;
+import org.eclipse.aether.repository.LocalArtifactResult;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.repository.RepositoryKeyFunction;
+import org.eclipse.aether.repository.RepositoryPolicy;
+import org.eclipse.aether.repository.WorkspaceReader;
+import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
+import org.eclipse.aether.resolution.ArtifactDescriptorResult;
+import org.eclipse.aether.util.ConfigUtils;
+import org.eclipse.aether.util.DirectoryUtils;
+import org.eclipse.aether.util.StringDigestUtil;
+import org.eclipse.aether.util.artifact.ArtifactIdUtils;
+import org.eclipse.aether.util.repository.RepositoryIdHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Internal helper class for collector implementations: an optional, persistent (cross JVM) artifact descriptor cache
+ * living in local repository.
+ * <p>
+ * The store is a single append-only file, that is memory mapped and indexed when opened. Entries are keyed by artifact
+ * coordinates, request context and repository keys, and each entry records the last modified timestamp and size of
+ * the POM file present in local repository at the time it was written. Entries whose POM changed (or is not present
+ * anymore) are ignored. New entries are appended to store when session ends. Only release artifacts not provided by
+ * workspace are cached, and only descriptors without relocations, exceptions and non-string properties.
+ * <p>
+ * Descriptors depend on more than the POM: profiles may be activated by properties, by the running JDK and by the OS.
+ * Hence, entry keys are also prefixed with a fingerprint of the JDK version and OS of running JVM, and of the values
+ * of properties configured as affecting descriptors (see {@link #CONFIG_PROP_PROPERTIES}). Other properties are not
+ * part of fingerprint, as they commonly change with every build (like environment variables of CI builds), while they
+ * do not change descriptors. Sessions differing in fingerprint do not share entries.
+ * <p>
+ * When opened store exceeds its configured maximum size, it is compacted: superseded entries are dropped, and if
+ * still too large, only the most recently written entries (of any fingerprint) are kept. The compacted store replaces
+ * the old one, entries appended concurrently by other processes during compaction may be lost.
+ * <p>
+ * Note: the validation covers the POM file only, not the parent POMs or imported BOMs used while building the
+ * descriptor. For release artifacts these are expected to be immutable.
+ *
+ * @since 2.0.20
+ */
+public final class PersistentDescriptorCache implements Closeable {
+    public static final String CONFIG_PROPS_PREFIX =
+            DefaultDependencyCollector.CONFIG_PROPS_PREFIX + "descriptorCache.";
+
+    /**
+     * Flag enabling persistent artifact descriptor cache, that is shared across JVM invocations and is stored in local
+     * repository. Dependency collectors consult this cache before invoking artifact descriptor reader.
+     *
+     * @since 2.0.20
+     * @configurationSource {@link RepositorySystemSession#getConfigProperties()}
+     * @configurationType {@link java.lang.Boolean}
+     * @configurationDefaultValue {@link #DEFAULT_ENABLED}
+     */
+    public static final String CONFIG_PROP_ENABLED = CONFIG_PROPS_PREFIX + "enabled";
+
+    public static final boolean DEFAULT_ENABLED = false;
+
+    /**
+     * The location of the directory where persistent descriptor cache is stored. If relative path, it is resolved
+     * from local repository root.
+     *
+     * @since 2.0.20
+     * @configurationSource {@link RepositorySystemSession#getConfigProperties()}
+     * @configurationType {@link java.lang.String}
+     * @configurationDefaultValue {@link #DEFAULT_BASEDIR}
+     */
+    public static final String CONFIG_PROP_BASEDIR = CONFIG_PROPS_PREFIX + "basedir";
+
+    public static final String DEFAULT_BASEDIR = ".descriptors";
+
+    /**
+     * The maximum size of persistent descriptor cache store in bytes. If the store is larger when opened, it is
+     * compacted to half of this size.
+     *
+     * @since 2.0.20
+     * @configurationSource {@link RepositorySystemSession#getConfigProperties()}
+     * @configurationType {@link java.lang.Long}
+     * @configurationDefaultValue {@link #DEFAULT_MAX_SIZE}
+     */
+    public static final String CONFIG_PROP_MAX_SIZE = CONFIG_PROPS_PREFIX + "maxSize";
+
+    public static final long DEFAULT_MAX_SIZE = 64L * 1024L * 1024L;
+
+    /**
+     * Comma separated list of names of properties that affect artifact descriptors, typically those activating
+     * profiles. Values of these properties (user properties take precedence over system properties) are part of the
+     * fingerprint of cached entries, along with the JDK version and OS of running JVM.
+     *
+     * @since 2.0.20
+     * @configurationSource {@link RepositorySystemSession#getConfigProperties()}
+     * @configurationType {@link java.lang.String}
+     */
+    public static final String CONFIG_PROP_PROPERTIES = CONFIG_PROPS_PREFIX + "properties";
+
+    /**
+     * The JVM properties profile activation by JDK and OS depends on.
+     */
+    private static final List<String> JVM_PROPERTIES =
+            Collections.unmodifiableList(Arrays.asList("java.version", "os.name", "os.arch", "os.version"));
+
+    static final String STORE_FILE_NAME = "descriptors.bin";
+
+    private static final int MAGIC = 0x52444331; // RDC1
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int HEADER_SIZE = 8;
+
+    private static final Object KEY = Keys.of(PersistentDescriptorCache.class, "instance");
+
+    private static final RepositoryKeyFunction REPOSITORY_KEY_FUNCTION =
+            RepositoryIdHelper.getRepositoryKeyFunction(RepositoryIdHelper.RepositoryKeyType.NID_HURL.name());
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PersistentDescriptorCache.class);
+
+    private final Path storeFile;
+
+    /**
+     * Fingerprint of session and JVM state descriptors may depend on, prefix of all keys.
+     */
+    private final String fingerprint;
+
+    private final ByteBuffer mapped;
+
+    /**
+     * Entry key -> offset of entry payload within {@link #mapped}.
+     */
+    private final Map<String, Integer> index;
+
+    /**
+     * Entries created during this session, waiting to be appended to store.
+     */
+    private final Map<String, byte[]> pending;
+
+    private PersistentDescriptorCache(Path storeFile, String fingerprint, long maxSize) throws IOException {
+        this.storeFile = storeFile;
+        this.fingerprint = fingerprint;
+        this.index = new HashMap<>();
+        this.pending = new ConcurrentHashMap<>();
+        ByteBuffer buffer = load(storeFile, index);
+        if (buffer.capacity() > maxSize) {
+            compact(storeFile, maxSize / 2);
+            index.clear();
+            buffer = load(storeFile, index);
+        }
+        this.mapped = buffer;
+    }
+
+    /**
+     * Returns the session bound instance of persistent descriptor cache, or {@code null} if it is not enabled.
+     */
+    public static PersistentDescriptorCache get(RepositorySystemSession session) {
+        requireNonNull(session, "session cannot be null");
+        if (!ConfigUtils.getBoolean(session, DEFAULT_ENABLED, CONFIG_PROP_ENABLED)) {
+            return null;
+        }
+        return (PersistentDescriptorCache) session.getData().computeIfAbsent(KEY, () -> {
+            try {
+                Path basedir = DirectoryUtils.resolveDirectory(session, DEFAULT_BASEDIR, CONFIG_PROP_BASEDIR, true);
+                PersistentDescriptorCache cache = new PersistentDescriptorCache(
+                        basedir.resolve(STORE_FILE_NAME),
+                        fingerprint(session),
+                        ConfigUtils.getLong(session, DEFAULT_MAX_SIZE, CONFIG_PROP_MAX_SIZE));
+                session.addOnSessionEndedHandler(cache::close);
+                return cache;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Returns the fingerprint of JVM properties profile activation by JDK and OS depends on, and of configured
+     * properties affecting descriptors.
+     */
+    static String fingerprint(RepositorySystemSession session) {
+        StringBuilder state = new StringBuilder(256);
+        for (String name : JVM_PROPERTIES) {
+            state.append(name).append('=').append(System.getProperty(name)).append('\n');
+        }
+        state.append('\u0000');
+        for (String name : new TreeSet<>(ConfigUtils.parseCommaSeparatedUniqueNames(
+                ConfigUtils.getString(session, "", CONFIG_PROP_PROPERTIES)))) {
+            String value = session.getUserProperties().get(name);
+            if (value == null) {
+                value = session.getSystemProperties().get(name);
+            }
+            state.append(name).append('=').append(value).append('\n');
+        }
+        return StringDigestUtil.sha1(state.toString());
+    }
+
+    /**
+     * Returns the cached descriptor for given request, or {@code null} if not cached, or cached entry is stale.
+     */
+    public ArtifactDescriptorResult get(RepositorySystemSession session, ArtifactDescriptorRequest request) {
+        PomStamp stamp = pomStamp(session, request);
+        if (stamp == null) {
+            return null;
+        }
+        String key = toKey(fingerprint, request);
+        try {
+            byte[] entry = pending.get(key);
+            DataInputStream in;
+            if (entry != null) {
+                in = new DataInputStream(new ByteArrayInputStream(entry));
+            } else {
+                Integer offset = index.get(key);
+                if (offset == null) {
+                    return null;
+                }
+                ByteBuffer buffer = mapped.duplicate();
+                buffer.position(offset);
+                byte[] bytes = new byte[buffer.getInt()];
+                buffer.get(bytes);
+                in = new DataInputStream(new ByteArrayInputStream(bytes));
+            }
+            in.readUTF(); // key
+            if (in.readLong() != stamp.lastModified || in.readLong() != stamp.size) {
+                return null;
+            }
+            return readResult(in, request);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.debug("Failed to read cached descriptor of {}", request.getArtifact(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Stores the descriptor into cache, if applicable.
+     */
+    public void put(RepositorySystemSession session, ArtifactDescriptorResult result) {
+        ArtifactDescriptorRequest request = result.getRequest();
+        if (!isCacheable(result)) {
+            return;
+        }
+        PomStamp stamp = pomStamp(session, request);
+        if (stamp == null) {
+            return;
+        }
+        String key = toKey(fingerprint, request);
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeUTF(key);
+            out.writeLong(stamp.lastModified);
+            out.writeLong(stamp.size);
+            writeResult(out, result);
+            out.flush();
+            pending.put(key, bytes.toByteArray());
+        } catch (IOException | RuntimeException e) {
+            LOGGER.debug("Failed to cache descriptor of {}", request.getArtifact(), e);
+        }
+    }
+
+    /**
+     * Appends new entries to the store.
+     */
+    @Override
+    public void close() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(
+                        storeFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.READ);
+                FileLock lock = channel.lock()) {
+            if (channel.size() < HEADER_SIZE) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                header.putInt(MAGIC).putInt(FORMAT_VERSION).flip();
+                channel.truncate(0);
+                writeFully(channel, header, 0);
+            }
+            long position = channel.size();
+            for (Map.Entry<String, byte[]> entry : pending.entrySet()) {
+                // the key is part of payload
+                ByteBuffer buffer = ByteBuffer.allocate(4 + entry.getValue().length);
+                buffer.putInt(entry.getValue().length).put(entry.getValue()).flip();
+                position += writeFully(channel, buffer, position);
+            }
+            channel.force(false);
+            pending.clear();
+        } catch (IOException e) {
+            LOGGER.warn("Failed to write persistent descriptor cache {}", storeFile, e);
+        }
+    }
+
+    private static int writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        int written = 0;
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer, position + written);
+        }
+        return written;
+    }
+
+    private static ByteBuffer load(Path storeFile, Map<String, Integer> index) throws IOException {
+        if (!Files.isRegularFile(storeFile)) {
+            return ByteBuffer.allocate(0);
+        }
+        try (FileChannel channel = FileChannel.open(storeFile, StandardOpenOption.READ);
+                FileLock lock = channel.lock(0, Long.MAX_VALUE, true)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                return ByteBuffer.allocate(0);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                LOGGER.debug("Ignoring persistent descriptor cache {} of unknown format", storeFile);
+                return ByteBuffer.allocate(0);
+            }
+            index(buffer, index);
+            return buffer;
+        }
+    }
+
+    /**
+     * Indexes entries of buffer positioned after header, last entry of a key wins.
+     */
+    private static void index(ByteBuffer buffer, Map<String, Integer> index) throws IOException {
+        while (buffer.remaining() >= 4) {
+            int offset = buffer.position();
+            int length = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                break; // truncated entry
+            }
+            byte[] bytes = new byte[Math.min(length, 2 + 65535 * 3)];
+            buffer.duplicate().get(bytes, 0, Math.min(length, bytes.length));
+            String key = new DataInputStream(new ByteArrayInputStream(bytes)).readUTF();
+            index.put(key, offset);
+            buffer.position(buffer.position() + length);
+        }
+    }
+
+    /**
+     * Rewrites the store keeping only the latest entries, most recently written first, that fit into given size. The
+     * store is replaced (not truncated), as other processes may have it mapped.
+     */
+    private static void compact(Path storeFile, long size) {
+        Path compacted = storeFile.resolveSibling(storeFile.getFileName() + ".compact");
+        try (FileChannel channel = FileChannel.open(storeFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                FileLock lock = channel.lock()) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            Map<String, Integer> index = new HashMap<>();
+            if (buffer.getInt() == MAGIC && buffer.getInt() == FORMAT_VERSION) {
+                index(buffer, index);
+            }
+            List<Integer> offsets = new ArrayList<>(index.values());
+            offsets.sort(Collections.reverseOrder());
+            List<Integer> kept = new ArrayList<>();
+            long total = HEADER_SIZE;
+            for (Integer offset : offsets) {
+                total += 4 + buffer.getInt(offset);
+                if (total > size) {
+                    break;
+                }
+                kept.add(offset);
+            }
+            Collections.reverse(kept);
+            try (FileChannel out = FileChannel.open(
+                    compacted,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE)) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                header.putInt(MAGIC).putInt(FORMAT_VERSION).flip();
+                long position = writeFully(out, header, 0);
+                for (Integer offset : kept) {
+                    ByteBuffer entry = buffer.duplicate();
+                    entry.position(offset).limit(offset + 4 + buffer.getInt(offset));
+                    position += writeFully(out, entry, position);
+                }
+                out.force(false);
+            }
+            Files.move(compacted, storeFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            LOGGER.debug("Compacted persistent descriptor cache {} to {} entries", storeFile, kept.size());
+        } catch (IOException e) {
+            LOGGER.warn("Failed to compact persistent descriptor cache {}", storeFile, e);
+        } finally {
+            try {
+                Files.deleteIfExists(compacted);
+            } catch (IOException e) {
+                // ignore
+            }
+        }
+    }
+
+    private static String toKey(String fingerprint, ArtifactDescriptorRequest request) {
+        StringBuilder key = new StringBuilder(192);
+        key.append(fingerprint).append('|');
+        key.append(ArtifactIdUtils.toId(request.getArtifact()));
+        key.append('|').append(request.getRequestContext());
+        for (RemoteRepository repository : request.getRepositories()) {
+            key.append('|').append(REPOSITORY_KEY_FUNCTION.apply(repository, request.getRequestContext()));
+        }
+        return key.toString();
+    }
+
+    private static PomStamp pomStamp(RepositorySystemSession session, ArtifactDescriptorRequest request) {
+        Artifact artifact = request.getArtifact();
+        if (artifact.isSnapshot()) {
+            return null;
+        }
+        Artifact pomArtifact =
+                new DefaultArtifact(artifact.getGroupId(), artifact.getArtifactId(), "", "pom", artifact.getVersion());
+        WorkspaceReader workspaceReader = session.getWorkspaceReader();
+        if (workspaceReader != null && workspaceReader.findArtifact(pomArtifact) != null) {
+            return null;
+        }
+        LocalArtifactResult localResult = session.getLocalRepositoryManager()
+                .find(
+                        session,
+                        new LocalArtifactRequest(pomArtifact, request.getRepositories(), request.getRequestContext()));
+        Path pom = localResult.getPath();
+        if (pom == null || !localResult.isAvailable()) {
+            return null;
+        }
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(pom, BasicFileAttributes.class);
+            return new PomStamp(attributes.lastModifiedTime().toMillis(), attributes.size());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static boolean isCacheable(ArtifactDescriptorResult result) {
+        if (!result.getExceptions().isEmpty() || !result.getRelocations().isEmpty()) {
+            return false;
+        }
+        for (Object value : result.getProperties().values()) {
+            if (!(value instanceof String)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeResult(DataOutputStream out, ArtifactDescriptorResult result) throws IOException {
+        writeArtifact(out, result.getArtifact());
+        ArtifactRepository repository = result.getRepository();
+        writeString(out, repository != null ? repository.getId() : null);
+        writeArtifacts(out, result.getAliases());
+        writeDependencies(out, result.getDependencies());
+        writeDependencies(out, result.getManagedDependencies());
+        out.writeInt(result.getRepositories().size());
+        for (RemoteRepository remoteRepository : result.getRepositories()) {
+            writeRepository(out, remoteRepository);
+        }
+        out.writeInt(result.getProperties().size());
+        for (Map.Entry<String, Object> entry : result.getProperties().entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeUTF((String) entry.getValue());
+        }
+    }
+
+    private static ArtifactDescriptorResult readResult(DataInputStream in, ArtifactDescriptorRequest request)
+            throws IOException {
+        ArtifactDescriptorResult result = new ArtifactDescriptorResult(request);
+        result.setArtifact(readArtifact(in));
+        String repositoryId = readString(in);
+        if (repositoryId != null) {
+            for (RemoteRepository repository : request.getRepositories()) {
+                if (repositoryId.equals(repository.getId())) {
+                    result.setRepository(repository);
+                    break;
+                }
+            }
+        }
+        result.setAliases(readArtifacts(in));
+        result.setDependencies(readDependencies(in));
+        result.setManagedDependencies(readDependencies(in));
+        int repositories = in.readInt();
+        List<RemoteRepository> remoteRepositories = new ArrayList<>(repositories);
+        for (int i = 0; i < repositories; i++) {
+            remoteRepositories.add(readRepository(in));
+        }
+        result.setRepositories(remoteRepositories);
+        int properties = in.readInt();
+        if (properties > 0) {
+            Map<String, Object> props = new LinkedHashMap<>(properties);
+            for (int i = 0; i < properties; i++) {
+                props.put(in.readUTF(), in.readUTF());
+            }
+            result.setProperties(props);
+        }
+        return result;
+    }
+
+    private static void writeArtifact(DataOutputStream out, Artifact artifact) throws IOException {
+        out.writeUTF(artifact.getGroupId());
+        out.writeUTF(artifact.getArtifactId());
+        out.writeUTF(artifact.getClassifier());
+        out.writeUTF(artifact.getExtension());
+        out.writeUTF(artifact.getVersion());
+        Map<String, String> properties = artifact.getProperties();
+        out.writeInt(properties.size());
+        for (Map.Entry<String, String> entry : properties.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeUTF(entry.getValue());
+        }
+    }
+
+    private static Artifact readArtifact(DataInputStream in) throws IOException {
+        String groupId = in.readUTF();
+        String artifactId = in.readUTF();
+        String classifier = in.readUTF();
+        String extension = in.readUTF();
+        String version = in.readUTF();
+        int size = in.readInt();
+        Map<String, String> properties = size > 0 ? new HashMap<>(size) : null;
+        for (int i = 0; i < size; i++) {
+            properties.put(in.readUTF(), in.readUTF());
+        }
+        return new DefaultArtifact(groupId, artifactId, classifier, extension, version, properties, (Path) null);
+    }
+
+    private static void writeArtifacts(DataOutputStream out, Collection<Artifact> artifacts) throws IOException {
+        out.writeInt(artifacts.size());
+        for (Artifact artifact : artifacts) {
+            writeArtifact(out, artifact);
+        }
+    }
+
+    private static List<Artifact> readArtifacts(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        if (size == 0) {
+            return Collections.emptyList();
+        }
+        List<Artifact> artifacts = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            artifacts.add(readArtifact(in));
+        }
+        return artifacts;
+    }
+
+    private static void writeDependencies(DataOutputStream out, List<Dependency> dependencies) throws IOException {
+        out.writeInt(dependencies.size());
+        for (Dependency dependency : dependencies) {
+            writeArtifact(out, dependency.getArtifact());
+            out.writeUTF(dependency.getScope());
+            Boolean optional = dependency.getOptional();
+            out.writeByte(optional == null ? -1 : optional ? 1 : 0);
+            out.writeInt(dependency.getExclusions().size());
+            for (Exclusion exclusion : dependency.getExclusions()) {
+                out.writeUTF(exclusion.getGroupId());
+                out.writeUTF(exclusion.getArtifactId());
+                out.writeUTF(exclusion.getClassifier());
+                out.writeUTF(exclusion.getExtension());
+            }
+        }
+    }
+
+    private static List<Dependency> readDependencies(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        if (size == 0) {
+            return Collections.emptyList();
+        }
+        List<Dependency> dependencies = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Artifact artifact = readArtifact(in);
+            String scope = in.readUTF();
+            byte optional = in.readByte();
+            int exclusionCount = in.readInt();
+            List<Exclusion> exclusions = new ArrayList<>(exclusionCount);
+            for (int j = 0; j < exclusionCount; j++) {
+                exclusions.add(new Exclusion(in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF()));
+            }
+            dependencies.add(new Dependency(artifact, scope, optional < 0 ? null : optional == 1, exclusions));
+        }
+        return dependencies;
+    }
+
+    private static void writeRepository(DataOutputStream out, RemoteRepository repository) throws IOException {
+        out.writeUTF(repository.getId());
+        out.writeUTF(repository.getContentType());
+        out.writeUTF(repository.getUrl());
+        writePolicy(out, repository.getPolicy(false));
+        writePolicy(out, repository.getPolicy(true));
+        out.writeBoolean(repository.isRepositoryManager());
+    }
+
+    private static RemoteRepository readRepository(DataInputStream in) throws IOException {
+        return new RemoteRepository.Builder(in.readUTF(), in.readUTF(), in.readUTF())
+                .setReleasePolicy(readPolicy(in))
+                .setSnapshotPolicy(readPolicy(in))
+                .setRepositoryManager(in.readBoolean())
+                .build();
+    }
+
+    private static void writePolicy(DataOutputStream out, RepositoryPolicy policy) throws IOException {
+        out.writeBoolean(policy.isEnabled());
+        out.writeUTF(policy.getArtifactUpdatePolicy());
+        out.writeUTF(policy.getMetadataUpdatePolicy());
+        out.writeUTF(policy.getChecksumPolicy());
+    }
+
+    private static RepositoryPolicy readPolicy(DataInputStream in) throws IOException {
+        return new RepositoryPolicy(in.readBoolean(), in.readUTF(), in.readUTF(), in.readUTF());
+    }
+
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        out.writeBoolean(string != null);
+        if (string != null) {
+            out.writeUTF(string);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static final class PomStamp {
+        private final long lastModified;
+
+        private final long size;
+
+        private PomStamp(long lastModified, long size) {
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+    }
+}
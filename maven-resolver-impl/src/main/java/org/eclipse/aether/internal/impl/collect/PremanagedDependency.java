@@ -153,4 +153,20 @@ public class PremanagedDependency {
             child.setData(DependencyManagerUtils.NODE_DATA_PREMANAGED_PROPERTIES, premanagedProperties);
         }
     }
+
+    /**
+     * Same as {@link #applyTo(DefaultDependencyNode)}, for compact nodes.
+     *
+     * @since 2.0.20
+     */
+    public void applyTo(CompactDependencyNode child) {
+        child.setManagedBits(managedBits);
+        if (premanagedState) {
+            child.setData(DependencyManagerUtils.NODE_DATA_PREMANAGED_VERSION, premanagedVersion);
+            child.setData(DependencyManagerUtils.NODE_DATA_PREMANAGED_SCOPE, premanagedScope);
+            child.setData(DependencyManagerUtils.NODE_DATA_PREMANAGED_OPTIONAL, premanagedOptional);
+            child.setData(DependencyManagerUtils.NODE_DATA_PREMANAGED_EXCLUSIONS, premanagedExclusions);
+            child.setData(DependencyManagerUtils.NODE_DATA_PREMANAGED_PROPERTIES, premanagedProperties);
+        }
+    }
 }
@@ -27,16 +27,22 @@ import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -51,7 +57,6 @@ import org.eclipse.aether.collection.DependencyManager;
 import org.eclipse.aether.collection.DependencySelector;
 import org.eclipse.aether.collection.DependencyTraverser;
 import org.eclipse.aether.collection.VersionFilter;
-import org.eclipse.aether.graph.DefaultDependencyNode;
 import org.eclipse.aether.graph.Dependency;
 import org.eclipse.aether.graph.DependencyNode;
 import org.eclipse.aether.impl.ArtifactDescriptorReader;
@@ -67,6 +72,7 @@ import org.eclipse.aether.repository.RemoteRepository;
 import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
 import org.eclipse.aether.resolution.ArtifactDescriptorResult;
 import org.eclipse.aether.resolution.VersionRangeRequest;
+import org.eclipse.aether.resolution.VersionRangeResolutionException;
 import org.eclipse.aether.resolution.VersionRangeResult;
 import org.eclipse.aether.spi.artifact.decorator.ArtifactDecoratorFactory;
 import org.eclipse.aether.util.ConfigUtils;
@@ -74,6 +80,7 @@ import org.eclipse.aether.util.artifact.ArtifactIdUtils;
 import org.eclipse.aether.util.concurrency.SmartExecutor;
 import org.eclipse.aether.util.concurrency.SmartExecutorUtils;
 import org.eclipse.aether.util.graph.manager.DependencyManagerUtils;
+import org.eclipse.aether.util.graph.transformer.ConflictResolver;
 import org.eclipse.aether.version.Version;
 
 import static org.eclipse.aether.internal.impl.collect.DefaultDependencyCycle.find;
@@ -133,6 +140,104 @@ public class BfDependencyCollector extends DependencyCollectorDelegate {
      */
     public static final int DEFAULT_THREADS = 5;
 
+    /**
+     * Flag controlling whether dependencies are processed level by level, where each level (all nodes on same depth)
+     * is prepared concurrently (descriptor waiting, node creation, selector, manager, traverser and filter derivation)
+     * and then merged into the graph in deterministic order. The resulting graph is same as in non-parallel mode.
+     *
+     * @since 2.0.20
+     * @configurationSource {@link RepositorySystemSession#getConfigProperties()}
+     * @configurationType {@link java.lang.Boolean}
+     * @configurationDefaultValue {@link #DEFAULT_LEVEL_PARALLEL}
+     */
+    public static final String CONFIG_PROP_LEVEL_PARALLEL = CONFIG_PROPS_PREFIX + "levelParallel";
+
+    public static final boolean DEFAULT_LEVEL_PARALLEL = false;
+
+    /**
+     * The count of threads to be used when processing graph levels in parallel.
+     *
+     * @since 2.0.20
+     * @configurationSource {@link RepositorySystemSession#getConfigProperties()}
+     * @configurationType {@link java.lang.Integer}
+     * @configurationDefaultValue {@link #DEFAULT_LEVEL_THREADS}
+     */
+    public static final String CONFIG_PROP_LEVEL_THREADS = CONFIG_PROPS_PREFIX + "levelThreads";
+
+    /**
+     * The default value for {@link #CONFIG_PROP_LEVEL_THREADS}, the count of available processors.
+     *
+     * @since 2.0.20
+     */
+    public static final int DEFAULT_LEVEL_THREADS = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The maximum count of descriptor resolutions that are dispatched ahead of their processing and not yet
+     * consumed. Resolutions beyond this window are held back, and dispatched in order of their depth in graph as
+     * processing progresses, keeping heap use and speculative requests bounded on huge graphs. Values less than 1
+     * mean unbounded window (all resolutions are dispatched immediately).
+     *
+     * @since 2.0.20
+     * @configurationSource {@link RepositorySystemSession#getConfigProperties()}
+     * @configurationType {@link java.lang.Integer}
+     * @configurationDefaultValue {@link #DEFAULT_PREFETCH_WINDOW}
+     */
+    public static final String CONFIG_PROP_PREFETCH_WINDOW = CONFIG_PROPS_PREFIX + "prefetchWindow";
+
+    public static final int DEFAULT_PREFETCH_WINDOW = 256;
+
+    /**
+     * Flag controlling whether transitive dependencies that are guaranteed conflict losers are pruned eagerly, before
+     * their descriptors are resolved. A transitive dependency is guaranteed loser if it has same
+     * {@code G:A:C:E} as a direct dependency and does not carry a version range: with Maven conflict resolution
+     * semantics (both "nearest" and "highest" version selection strategies, Java scope and simple optionality
+     * selection) the direct dependency always wins, and its scope and optionality are kept as is. Pruned dependencies
+     * are left out of the collected (dirty) graph with their subtrees, while the resolved graph is same. Hence, this
+     * mode is ignored when conflict resolver is verbose, and when the graph transformer of session is not a
+     * {@link ConflictResolver} with the selectors above (possibly chained with dependency context refiners).
+     *
+     * @since 2.0.20
+     * @configurationSource {@link RepositorySystemSession#getConfigProperties()}
+     * @configurationType {@link java.lang.Boolean}
+     * @configurationDefaultValue {@link #DEFAULT_EAGER_PRUNING}
+     */
+    public static final String CONFIG_PROP_EAGER_PRUNING = CONFIG_PROPS_PREFIX + "eagerPruning";
+
+    public static final boolean DEFAULT_EAGER_PRUNING = false;
+
+    /**
+     * Flag controlling whether descriptors of dependencies enqueued together (direct dependencies of root, or children
+     * of an expanded node) are handed over to
+     * {@link ArtifactDescriptorReader#prefetchArtifactDescriptors(RepositorySystemSession, java.util.Collection)} as
+     * one batch, letting the reader group the work shared by them. The batch only covers dependencies without version
+     * range whose descriptor is not cached yet. It is executed by the first per dependency resolution it covers, while
+     * the others await it, so descriptors are read only once the reader was prepared for them.
+     *
+     * @since 2.0.20
+     * @configurationSource {@link RepositorySystemSession#getConfigProperties()}
+     * @configurationType {@link java.lang.Boolean}
+     * @configurationDefaultValue {@link #DEFAULT_PREFETCH_DESCRIPTORS}
+     */
+    public static final String CONFIG_PROP_PREFETCH_DESCRIPTORS = CONFIG_PROPS_PREFIX + "prefetchDescriptors";
+
+    public static final boolean DEFAULT_PREFETCH_DESCRIPTORS = true;
+
+    /**
+     * Flag controlling whether version ranges of dependencies enqueued together (direct dependencies of root, or
+     * children of an expanded node) are resolved as one batch using
+     * {@link VersionRangeResolver#resolveVersionRanges(RepositorySystemSession, java.util.Collection)}. The batch only
+     * covers ranges not resolved yet. It is executed by the first per dependency resolution it covers, while the others
+     * await it, and all of them use its results, instead of resolving the ranges again.
+     *
+     * @since 2.0.20
+     * @configurationSource {@link RepositorySystemSession#getConfigProperties()}
+     * @configurationType {@link java.lang.Boolean}
+     * @configurationDefaultValue {@link #DEFAULT_PREFETCH_VERSION_RANGES}
+     */
+    public static final String CONFIG_PROP_PREFETCH_VERSION_RANGES = CONFIG_PROPS_PREFIX + "prefetchVersionRanges";
+
+    public static final boolean DEFAULT_PREFETCH_VERSION_RANGES = true;
+
     @Inject
     public BfDependencyCollector(
             RemoteRepositoryManager remoteRepositoryManager,
@@ -174,13 +279,29 @@ public class BfDependencyCollector extends DependencyCollectorDelegate {
         }
 
         try (DependencyResolutionSkipper skipper = skipperSupplier.get();
-                ParallelDescriptorResolver parallelDescriptorResolver =
-                        new ParallelDescriptorResolver(SmartExecutorUtils.smartExecutor(
+                ParallelDescriptorResolver parallelDescriptorResolver = new ParallelDescriptorResolver(
+                        SmartExecutorUtils.smartExecutor(
                                 session,
                                 null, // we don't know ahead of time; we want global executor
                                 ConfigUtils.getInteger(session, DEFAULT_THREADS, CONFIG_PROP_THREADS),
-                                getClass().getSimpleName() + "-"))) {
-            Args args = new Args(session, pool, context, versionContext, request, skipper, parallelDescriptorResolver);
+                                getClass().getSimpleName() + "-"),
+                        ConfigUtils.getInteger(session, DEFAULT_PREFETCH_WINDOW, CONFIG_PROP_PREFETCH_WINDOW))) {
+            DependencyPruner pruner = null;
+            if (ConfigUtils.getBoolean(session, DEFAULT_EAGER_PRUNING, CONFIG_PROP_EAGER_PRUNING)) {
+                if (ConflictResolver.getVerbosity(session) != ConflictResolver.Verbosity.NONE) {
+                    logger.debug("Collector eager pruning ignored, as conflict resolver is verbose");
+                } else if (!DependencyPruner.supports(session.getDependencyGraphTransformer())) {
+                    logger.debug(
+                            "Collector eager pruning ignored, as graph transformer {} does not use Maven conflict"
+                                    + " resolution",
+                            session.getDependencyGraphTransformer());
+                } else {
+                    logger.debug("Collector eager pruning enabled");
+                    pruner = new DependencyPruner();
+                }
+            }
+            Args args = new Args(
+                    session, pool, context, versionContext, request, skipper, pruner, parallelDescriptorResolver);
 
             DependencySelector rootDepSelector = session.getDependencySelector() != null
                     ? session.getDependencySelector().deriveChildSelector(context)
@@ -196,6 +317,7 @@ public class BfDependencyCollector extends DependencyCollectorDelegate {
                     : null;
 
             List<DependencyNode> parents = Collections.singletonList(node);
+            List<DependencyProcessingContext> rootContexts = new ArrayList<>(dependencies.size());
             for (Dependency dependency : dependencies) {
                 if (rootDepSelector != null && !rootDepSelector.selectDependency(dependency)) {
                     continue;
@@ -214,13 +336,28 @@ public class BfDependencyCollector extends DependencyCollectorDelegate {
                         dependency,
                         PremanagedDependency.create(rootDepManager, dependency, false, args.premanagedState));
                 processingContext.withDependency(processingContext.premanagedDependency.getManagedDependency());
-                resolveArtifactDescriptorAsync(args, processingContext, results);
+                if (args.pruner != null) {
+                    args.pruner.addDirect(processingContext.dependency);
+                }
+                rootContexts.add(processingContext);
+            }
+            Map<DependencyProcessingContext, Batch> rootBatches = prefetch(args, rootContexts);
+            for (DependencyProcessingContext processingContext : rootContexts) {
+                resolveArtifactDescriptorAsync(args, processingContext, results, rootBatches.get(processingContext));
                 args.dependencyProcessingQueue.add(processingContext);
             }
 
-            while (!args.dependencyProcessingQueue.isEmpty()) {
-                processDependency(
-                        args, results, args.dependencyProcessingQueue.remove(), Collections.emptyList(), false);
+            if (ConfigUtils.getBoolean(session, DEFAULT_LEVEL_PARALLEL, CONFIG_PROP_LEVEL_PARALLEL)) {
+                processLevels(args, results);
+            } else {
+                while (!args.dependencyProcessingQueue.isEmpty()) {
+                    processDependency(
+                            args, results, args.dependencyProcessingQueue.remove(), Collections.emptyList(), false);
+                }
+            }
+
+            if (pruner != null) {
+                logger.debug("Collector pruned {} dependencies", pruner.getPrunedCount());
             }
 
             if (args.interruptedException.get() != null) {
@@ -230,6 +367,50 @@ public class BfDependencyCollector extends DependencyCollectorDelegate {
         }
     }
 
+    /**
+     * Processes the queue level by level: all dependencies of one level are prepared concurrently, and then applied
+     * to the graph sequentially, in the order they were enqueued. As applying a level enqueues the next level, the
+     * processing order (and hence the resulting graph) is same as when queue is processed sequentially.
+     */
+    private void processLevels(Args args, Results results) {
+        try (SmartExecutor executor = SmartExecutorUtils.smartExecutor(
+                args.session,
+                null,
+                ConfigUtils.getInteger(args.session, DEFAULT_LEVEL_THREADS, CONFIG_PROP_LEVEL_THREADS),
+                getClass().getSimpleName() + "-level-")) {
+            while (!args.dependencyProcessingQueue.isEmpty()) {
+                List<DependencyProcessingContext> level = new ArrayList<>(args.dependencyProcessingQueue);
+                args.dependencyProcessingQueue.clear();
+                List<Future<PreparedDependency>> prepared = new ArrayList<>(level.size());
+                for (DependencyProcessingContext context : level) {
+                    prepared.add(executor.submit(
+                            () -> prepareDependency(args, context, Collections.emptyList(), false, true)));
+                }
+                for (Future<PreparedDependency> future : prepared) {
+                    if (Thread.interrupted()) {
+                        args.interruptedException.set(new InterruptedException());
+                    }
+                    if (args.interruptedException.get() != null) {
+                        return;
+                    }
+                    try {
+                        applyDependency(args, results, future.get());
+                    } catch (InterruptedException e) {
+                        args.interruptedException.set(e);
+                        return;
+                    } catch (ExecutionException e) {
+                        if (e.getCause() instanceof RuntimeException) {
+                            throw (RuntimeException) e.getCause();
+                        } else if (e.getCause() instanceof Error) {
+                            throw (Error) e.getCause();
+                        }
+                        throw new IllegalStateException(e.getCause());
+                    }
+                }
+            }
+        }
+    }
+
     @SuppressWarnings("checkstyle:parameternumber")
     private void processDependency(
             Args args,
@@ -243,8 +424,25 @@ public class BfDependencyCollector extends DependencyCollectorDelegate {
         if (args.interruptedException.get() != null) {
             return;
         }
+        applyDependency(args, results, prepareDependency(args, context, relocations, disableVersionManagement, false));
+    }
+
+    /**
+     * Prepares the processing of given dependency: waits for its descriptors, creates the nodes and derives all that
+     * is needed to recurse into children. This step does not touch any state that is shared across dependencies being
+     * processed (graph, skipper, node cache), hence it can be executed concurrently for whole level of dependencies.
+     * If {@code eager}, the child processing contexts are created ahead as well.
+     */
+    private PreparedDependency prepareDependency(
+            Args args,
+            DependencyProcessingContext context,
+            List<Artifact> relocations,
+            boolean disableVersionManagement,
+            boolean eager) {
         Dependency dependency = context.dependency;
         PremanagedDependency preManaged = context.premanagedDependency;
+        PreparedDependency prepared =
+                new PreparedDependency(context, dependency, relocations, disableVersionManagement);
 
         boolean noDescriptor = isLackingDescriptor(args.session, dependency.getArtifact());
         boolean traverse =
@@ -257,8 +455,8 @@ public class BfDependencyCollector extends DependencyCollectorDelegate {
             resolutionResult = resolutionResultFuture.get();
             rangeResult = resolutionResult.rangeResult;
         } catch (Exception e) {
-            results.addException(dependency, e, context.parents);
-            return;
+            prepared.failure = e;
+            return prepared;
         }
 
         Set<Version> versions = resolutionResult.descriptors.keySet();
@@ -272,56 +470,36 @@ public class BfDependencyCollector extends DependencyCollectorDelegate {
 
                 int cycleEntry = find(context.parents, d.getArtifact());
                 if (cycleEntry >= 0) {
-                    results.addCycle(context.parents, cycleEntry, d);
                     DependencyNode cycleNode = context.parents.get(cycleEntry);
                     if (cycleNode.getDependency() != null) {
-                        DefaultDependencyNode child = createDependencyNode(
-                                relocations, preManaged, rangeResult, version, d, descriptorResult, cycleNode);
-                        context.getParent().getChildren().add(child);
+                        DependencyNode child = createDependencyNode(
+                                args.compactNodes,
+                                relocations,
+                                preManaged,
+                                rangeResult,
+                                version,
+                                d,
+                                descriptorResult,
+                                cycleNode);
+                        prepared.versions.add(new PreparedVersion(cycleEntry, d, child, true));
                         continue;
                     }
                 }
 
                 if (!descriptorResult.getRelocations().isEmpty()) {
-                    if (context.depSelector == null || context.depSelector.selectDependency(d)) {
-                        boolean disableVersionManagementSubsequently = originalArtifact
-                                        .getGroupId()
-                                        .equals(d.getArtifact().getGroupId())
-                                && originalArtifact
-                                        .getArtifactId()
-                                        .equals(d.getArtifact().getArtifactId());
-
-                        PremanagedDependency premanagedDependency = PremanagedDependency.create(
-                                context.depManager, d, disableVersionManagementSubsequently, args.premanagedState);
-                        DependencyProcessingContext relocatedContext = new DependencyProcessingContext(
-                                context.depSelector,
-                                context.depManager,
-                                context.depTraverser,
-                                context.verFilter,
-                                context.trace,
-                                context.repositories,
-                                descriptorResult.getManagedDependencies(),
-                                context.parents,
-                                d,
-                                premanagedDependency);
-
-                        relocatedContext.withDependency(premanagedDependency.getManagedDependency());
-                        resolveArtifactDescriptorAsync(args, relocatedContext, results);
-                        processDependency(
-                                args,
-                                results,
-                                relocatedContext,
-                                descriptorResult.getRelocations(),
-                                disableVersionManagementSubsequently);
-                    }
-                    return;
+                    PreparedVersion relocation = new PreparedVersion(cycleEntry, d, null, false);
+                    relocation.originalArtifact = originalArtifact;
+                    relocation.descriptorResult = descriptorResult;
+                    prepared.versions.add(relocation);
+                    return prepared;
                 } else {
                     d = args.pool.intern(d.setArtifact(args.pool.intern(d.getArtifact())));
 
-                    List<RemoteRepository> repos =
-                            getRemoteRepositories(rangeResult.getRepository(version), context.repositories);
+                    List<RemoteRepository> repos = args.pool.internRepositories(
+                            getRemoteRepositories(rangeResult.getRepository(version), context.repositories));
 
-                    DefaultDependencyNode child = createDependencyNode(
+                    DependencyNode child = createDependencyNode(
+                            args.compactNodes,
                             relocations,
                             preManaged,
                             rangeResult,
@@ -331,24 +509,26 @@ public class BfDependencyCollector extends DependencyCollectorDelegate {
                             repos,
                             args.request.getRequestContext());
 
-                    context.getParent().getChildren().add(child);
+                    PreparedVersion preparedVersion = new PreparedVersion(cycleEntry, d, child, false);
+                    preparedVersion.descriptorResult = descriptorResult;
 
                     boolean recurse =
                             traverse && !descriptorResult.getDependencies().isEmpty();
                     DependencyProcessingContext parentContext = context.withDependency(d);
                     if (recurse) {
-                        doRecurse(args, parentContext, descriptorResult, child, results, disableVersionManagement);
-                    } else if (!args.skipper.skipResolution(child, parentContext.parents)) {
-                        List<DependencyNode> parents = new ArrayList<>(parentContext.parents.size() + 1);
-                        parents.addAll(parentContext.parents);
-                        parents.add(child);
-                        args.skipper.cache(child, parents);
+                        preparedVersion.recursion = prepareRecurse(
+                                args, parentContext, d, descriptorResult, child, disableVersionManagement);
+                        if (eager) {
+                            preparedVersion.recursion.childContexts();
+                        }
                     }
+                    prepared.versions.add(preparedVersion);
                 }
             } else {
-                List<RemoteRepository> repos =
-                        getRemoteRepositories(rangeResult.getRepository(version), context.repositories);
-                DefaultDependencyNode child = createDependencyNode(
+                List<RemoteRepository> repos = args.pool.internRepositories(
+                        getRemoteRepositories(rangeResult.getRepository(version), context.repositories));
+                DependencyNode child = createDependencyNode(
+                        args.compactNodes,
                         relocations,
                         preManaged,
                         rangeResult,
@@ -357,32 +537,107 @@ public class BfDependencyCollector extends DependencyCollectorDelegate {
                         null,
                         repos,
                         args.request.getRequestContext());
-                context.getParent().getChildren().add(child);
+                prepared.versions.add(new PreparedVersion(-1, d, child, false));
+            }
+        }
+        return prepared;
+    }
+
+    /**
+     * Applies prepared dependency to the graph. This step must be invoked in same order as dependencies were
+     * enqueued, to keep the resulting graph deterministic.
+     */
+    private void applyDependency(Args args, Results results, PreparedDependency prepared) {
+        DependencyProcessingContext context = prepared.context;
+        if (prepared.failure != null) {
+            results.addException(prepared.dependency, prepared.failure, context.parents);
+            return;
+        }
+
+        for (PreparedVersion version : prepared.versions) {
+            Dependency d = version.dependency;
+            if (version.cycleEntry >= 0) {
+                results.addCycle(context.parents, version.cycleEntry, d);
+            }
+            if (version.cycle) {
+                addChild(args.request, context.getParent(), version.child);
+                continue;
+            }
+
+            if (version.child == null) {
+                // relocation
+                ArtifactDescriptorResult descriptorResult = version.descriptorResult;
+                Artifact originalArtifact = version.originalArtifact;
+                if (context.depSelector == null || context.depSelector.selectDependency(d)) {
+                    boolean disableVersionManagementSubsequently =
+                            originalArtifact.getGroupId().equals(d.getArtifact().getGroupId())
+                                    && originalArtifact
+                                            .getArtifactId()
+                                            .equals(d.getArtifact().getArtifactId());
+
+                    PremanagedDependency premanagedDependency = PremanagedDependency.create(
+                            context.depManager, d, disableVersionManagementSubsequently, args.premanagedState);
+                    DependencyProcessingContext relocatedContext = new DependencyProcessingContext(
+                            context.depSelector,
+                            context.depManager,
+                            context.depTraverser,
+                            context.verFilter,
+                            context.trace,
+                            context.repositories,
+                            descriptorResult.getManagedDependencies(),
+                            context.parents,
+                            d,
+                            premanagedDependency);
+
+                    relocatedContext.withDependency(premanagedDependency.getManagedDependency());
+                    resolveArtifactDescriptorAsync(args, relocatedContext, results, null);
+                    processDependency(
+                            args,
+                            results,
+                            relocatedContext,
+                            descriptorResult.getRelocations(),
+                            disableVersionManagementSubsequently);
+                }
+                return;
+            }
+
+            addChild(args.request, context.getParent(), version.child);
+            if (version.descriptorResult == null) {
+                continue;
+            }
+            if (version.recursion != null) {
+                doRecurse(args, version.recursion, results);
+            } else if (!args.skipper.skipResolution(version.child, context.parents)) {
+                List<DependencyNode> parents = new ArrayList<>(context.parents.size() + 1);
+                parents.addAll(context.parents);
+                parents.add(version.child);
+                args.skipper.cache(version.child, parents);
             }
         }
     }
 
     @SuppressWarnings("checkstyle:parameternumber")
-    private void doRecurse(
+    private Recursion prepareRecurse(
             Args args,
             DependencyProcessingContext parentContext,
+            Dependency dependency,
             ArtifactDescriptorResult descriptorResult,
-            DefaultDependencyNode child,
-            Results results,
+            DependencyNode child,
             boolean disableVersionManagement) {
-        DefaultDependencyCollectionContext context = args.collectionContext.get();
-        args.collectionContext.compareAndSet(
-                context, context.set(parentContext.dependency, descriptorResult.getManagedDependencies()));
-        context = args.collectionContext.get();
-
-        DependencySelector childSelector =
-                parentContext.depSelector != null ? parentContext.depSelector.deriveChildSelector(context) : null;
-        DependencyManager childManager =
-                parentContext.depManager != null ? parentContext.depManager.deriveChildManager(context) : null;
-        DependencyTraverser childTraverser =
-                parentContext.depTraverser != null ? parentContext.depTraverser.deriveChildTraverser(context) : null;
-        VersionFilter childFilter =
-                parentContext.verFilter != null ? parentContext.verFilter.deriveChildFilter(context) : null;
+        DefaultDependencyCollectionContext context =
+                args.collectionContext.get().set(dependency, descriptorResult.getManagedDependencies());
+
+        DependencySelector childSelector = args.pool.derive(
+                DependencySelector.class, parentContext.depSelector, context, DependencySelector::deriveChildSelector);
+        DependencyManager childManager = args.pool.derive(
+                DependencyManager.class, parentContext.depManager, context, DependencyManager::deriveChildManager);
+        DependencyTraverser childTraverser = args.pool.derive(
+                DependencyTraverser.class,
+                parentContext.depTraverser,
+                context,
+                DependencyTraverser::deriveChildTraverser);
+        VersionFilter childFilter = args.pool.derive(
+                VersionFilter.class, parentContext.verFilter, context, VersionFilter::deriveChildFilter);
 
         final List<RemoteRepository> childRepos = args.ignoreRepos
                 ? parentContext.repositories
@@ -390,58 +645,125 @@ public class BfDependencyCollector extends DependencyCollectorDelegate {
                         args.session, parentContext.repositories, descriptorResult.getRepositories(), true);
 
         Object key = args.pool.toKey(
-                parentContext.dependency.getArtifact(),
-                childRepos,
+                dependency.getArtifact(), childRepos, childSelector, childManager, childTraverser, childFilter);
+
+        return new Recursion(
+                args,
+                parentContext,
+                descriptorResult,
+                child,
+                disableVersionManagement,
                 childSelector,
                 childManager,
                 childTraverser,
-                childFilter);
+                childFilter,
+                childRepos,
+                key);
+    }
 
-        List<DependencyNode> children = args.pool.getChildren(key);
+    private void doRecurse(Args args, Recursion recursion, Results results) {
+        DependencyNode child = recursion.child;
+        List<DependencyNode> children = args.pool.getChildren(recursion.key);
         if (children == null) {
-            boolean skipResolution = args.skipper.skipResolution(child, parentContext.parents);
+            boolean skipResolution = args.skipper.skipResolution(child, recursion.parentParents);
             if (!skipResolution) {
-                List<DependencyNode> parents = new ArrayList<>(parentContext.parents.size() + 1);
-                parents.addAll(parentContext.parents);
-                parents.add(child);
-                for (Dependency dependency : descriptorResult.getDependencies()) {
-                    if (childSelector != null && !childSelector.selectDependency(dependency)) {
-                        continue;
+                List<DependencyProcessingContext> childContexts = new ArrayList<>();
+                for (DependencyProcessingContext processingContext : recursion.childContexts()) {
+                    if (args.pruner == null
+                            || !args.pruner.prune(processingContext.dependency, processingContext.parents.size())) {
+                        childContexts.add(processingContext);
                     }
-                    RequestTrace childTrace = collectStepTrace(
-                            parentContext.trace, args.request.getRequestContext(), parents, dependency);
-                    PremanagedDependency premanagedDependency = PremanagedDependency.create(
-                            childManager, dependency, disableVersionManagement, args.premanagedState);
-                    DependencyProcessingContext processingContext = new DependencyProcessingContext(
-                            childSelector,
-                            childManager,
-                            childTraverser,
-                            childFilter,
-                            childTrace,
-                            childRepos,
-                            descriptorResult.getManagedDependencies(),
-                            parents,
-                            dependency,
-                            premanagedDependency);
-                    // resolve descriptors ahead for managed dependency
-                    processingContext.withDependency(processingContext.premanagedDependency.getManagedDependency());
-                    resolveArtifactDescriptorAsync(args, processingContext, results);
+                }
+                Map<DependencyProcessingContext, Batch> batches = prefetch(args, childContexts);
+                for (DependencyProcessingContext processingContext : childContexts) {
+                    resolveArtifactDescriptorAsync(args, processingContext, results, batches.get(processingContext));
                     args.dependencyProcessingQueue.add(processingContext);
                 }
-                args.pool.putChildren(key, child.getChildren());
-                args.skipper.cache(child, parents);
+                args.pool.putChildren(recursion.key, child.getChildren());
+                args.skipper.cache(child, recursion.parents);
             }
         } else {
             child.setChildren(children);
         }
     }
 
-    private void resolveArtifactDescriptorAsync(Args args, DependencyProcessingContext context, Results results) {
+    /**
+     * Hands over descriptors and version ranges of dependencies enqueued together to descriptor reader and version
+     * range resolver, as batches, see {@link #CONFIG_PROP_PREFETCH_DESCRIPTORS} and
+     * {@link #CONFIG_PROP_PREFETCH_VERSION_RANGES}. Returns the batch covering each of given contexts (if any), that
+     * per dependency resolution of the context must await, instead of repeating the work of batch.
+     */
+    private Map<DependencyProcessingContext, Batch> prefetch(Args args, List<DependencyProcessingContext> contexts) {
+        if ((!args.prefetchDescriptors && !args.prefetchVersionRanges) || contexts.size() < 2) {
+            return Collections.emptyMap();
+        }
+        Map<DependencyProcessingContext, Batch> batches = new IdentityHashMap<>();
+        List<ArtifactDescriptorRequest> descriptorRequests = new ArrayList<>(contexts.size());
+        List<VersionRangeRequest> rangeRequests = new ArrayList<>();
+        List<DependencyProcessingContext> rangeContexts = new ArrayList<>();
+        List<DependencyProcessingContext> descriptorContexts = new ArrayList<>();
+        for (DependencyProcessingContext context : contexts) {
+            Artifact artifact = context.dependency.getArtifact();
+            String version = artifact.getVersion();
+            if (version.startsWith("[") || version.startsWith("(")) {
+                if (args.prefetchVersionRanges) {
+                    VersionRangeRequest rangeRequest = createVersionRangeRequest(
+                            args.request.getRequestContext(), context.trace, context.repositories, context.dependency);
+                    if (args.pool.getConstraint(args.pool.toKey(rangeRequest), rangeRequest) == null) {
+                        rangeRequests.add(rangeRequest);
+                        rangeContexts.add(context);
+                    }
+                }
+            } else if (args.prefetchDescriptors && !isLackingDescriptor(args.session, artifact)) {
+                ArtifactDescriptorRequest descriptorRequest = createArtifactDescriptorRequest(
+                        args.request.getRequestContext(), context.trace, context.repositories, context.dependency);
+                if (args.pool.getDescriptor(args.pool.toKey(descriptorRequest), descriptorRequest) == null) {
+                    descriptorRequests.add(descriptorRequest);
+                    descriptorContexts.add(context);
+                }
+            }
+        }
+        if (rangeRequests.size() > 1) {
+            Batch rangeBatch = new Batch(() -> {
+                Map<Object, VersionRangeResult> rangeResults = new HashMap<>();
+                try {
+                    for (VersionRangeResult rangeResult :
+                            versionRangeResolver.resolveVersionRanges(args.session, rangeRequests)) {
+                        Object key = args.pool.toKey(rangeResult.getRequest());
+                        // failures are reported by per dependency resolution
+                        if (rangeResult.getExceptions().isEmpty()) {
+                            args.pool.putConstraint(key, rangeResult);
+                        }
+                        rangeResults.put(key, rangeResult);
+                    }
+                } catch (RuntimeException e) {
+                    logger.debug("Failed to prefetch version ranges", e);
+                }
+                return rangeResults;
+            });
+            rangeContexts.forEach(context -> batches.put(context, rangeBatch));
+        }
+        if (descriptorRequests.size() > 1) {
+            Batch descriptorBatch = new Batch(() -> {
+                try {
+                    descriptorReader.prefetchArtifactDescriptors(args.session, descriptorRequests);
+                } catch (RuntimeException e) {
+                    logger.debug("Failed to prefetch artifact descriptors", e);
+                }
+                return Collections.emptyMap();
+            });
+            descriptorContexts.forEach(context -> batches.put(context, descriptorBatch));
+        }
+        return batches;
+    }
+
+    private void resolveArtifactDescriptorAsync(
+            Args args, DependencyProcessingContext context, Results results, Batch batch) {
         Dependency dependency = context.dependency;
-        args.resolver.resolveDescriptors(dependency.getArtifact(), () -> {
+        args.resolver.resolveDescriptors(dependency.getArtifact(), context.parents.size(), () -> {
             VersionRangeRequest rangeRequest = createVersionRangeRequest(
                     args.request.getRequestContext(), context.trace, context.repositories, dependency);
-            VersionRangeResult rangeResult = cachedResolveRangeResult(rangeRequest, args.pool, args.session);
+            VersionRangeResult rangeResult = resolveVersionRange(args, rangeRequest, batch);
             List<? extends Version> versions =
                     filterVersions(dependency, rangeResult, context.verFilter, args.versionContext);
 
@@ -465,6 +787,28 @@ public class BfDependencyCollector extends DependencyCollectorDelegate {
         });
     }
 
+    /**
+     * Awaits given batch (if any) and returns the range result resolved by it, if it covered given request, or
+     * resolves it otherwise.
+     */
+    private VersionRangeResult resolveVersionRange(Args args, VersionRangeRequest rangeRequest, Batch batch)
+            throws VersionRangeResolutionException, InterruptedException {
+        if (batch != null) {
+            try {
+                VersionRangeResult rangeResult = batch.await().get(args.pool.toKey(rangeRequest));
+                if (rangeResult != null) {
+                    if (!rangeResult.getExceptions().isEmpty()) {
+                        throw new VersionRangeResolutionException(rangeResult);
+                    }
+                    return rangeResult;
+                }
+            } catch (ExecutionException e) {
+                logger.debug("Failed to prefetch", e.getCause());
+            }
+        }
+        return cachedResolveRangeResult(rangeRequest, args.pool, args.session);
+    }
+
     private ArtifactDescriptorResult resolveDescriptorForVersion(
             Args args, DependencyProcessingContext context, Results results, Dependency dependency, Version version) {
         Artifact original = dependency.getArtifact();
@@ -486,35 +830,167 @@ public class BfDependencyCollector extends DependencyCollectorDelegate {
                         context.parents);
     }
 
+    /**
+     * Resolves descriptors ahead of their processing. At most "window" resolutions are dispatched and not yet
+     * consumed at any time, others are held back and dispatched by their BFS depth (and submission order) as slots
+     * free up, so speculative work and heap stay bounded. Results are evicted once consumed by all their requesters.
+     */
     static class ParallelDescriptorResolver implements Closeable {
         private final SmartExecutor smartExecutor;
 
+        private final int window;
+
         /**
-         * Artifact ID -> Future of DescriptorResolutionResult
+         * Artifact ID -> Entry, guarded by this instance
          */
-        private final Map<String, Future<DescriptorResolutionResult>> results = new ConcurrentHashMap<>(256);
+        private final Map<String, Entry> results = new HashMap<>(256);
 
-        ParallelDescriptorResolver(SmartExecutor smartExecutor) {
+        /**
+         * Entries not yet dispatched, guarded by this instance
+         */
+        private final PriorityQueue<Entry> pending = new PriorityQueue<>(
+                Comparator.comparingInt((Entry e) -> e.depth).thenComparingLong(e -> e.sequence));
+
+        private long sequence;
+
+        private int dispatched;
+
+        ParallelDescriptorResolver(SmartExecutor smartExecutor, int window) {
             this.smartExecutor = smartExecutor;
+            this.window = window;
         }
 
-        void resolveDescriptors(Artifact artifact, Callable<DescriptorResolutionResult> callable) {
-            results.computeIfAbsent(ArtifactIdUtils.toId(artifact), key -> smartExecutor.submit(callable));
+        void resolveDescriptors(Artifact artifact, int depth, Callable<DescriptorResolutionResult> callable) {
+            Entry toDispatch = null;
+            synchronized (this) {
+                String id = ArtifactIdUtils.toId(artifact);
+                Entry entry = results.get(id);
+                if (entry == null) {
+                    entry = new Entry(new FutureTask<>(callable), depth, sequence++);
+                    results.put(id, entry);
+                    if (window > 0 && dispatched >= window) {
+                        pending.add(entry);
+                    } else {
+                        toDispatch = dispatch(entry);
+                    }
+                }
+                entry.refs++;
+            }
+            if (toDispatch != null) {
+                smartExecutor.submit(toDispatch.task);
+            }
         }
 
-        void cacheVersionRangeDescriptor(Artifact artifact, DescriptorResolutionResult resolutionResult) {
-            results.computeIfAbsent(
-                    ArtifactIdUtils.toId(artifact), key -> CompletableFuture.completedFuture(resolutionResult));
+        synchronized void cacheVersionRangeDescriptor(Artifact artifact, DescriptorResolutionResult resolutionResult) {
+            results.computeIfAbsent(ArtifactIdUtils.toId(artifact), key -> new Entry(resolutionResult));
         }
 
+        /**
+         * Returns the future result and consumes one request for it. If resolution was not dispatched yet, it is
+         * executed by calling thread.
+         */
         Future<DescriptorResolutionResult> find(Artifact artifact) {
-            return results.get(ArtifactIdUtils.toId(artifact));
+            Entry entry;
+            Entry toDispatch = null;
+            boolean steal = false;
+            synchronized (this) {
+                String id = ArtifactIdUtils.toId(artifact);
+                entry = results.get(id);
+                if (entry == null) {
+                    return null;
+                }
+                if (entry.task != null && !entry.dispatched) {
+                    pending.remove(entry);
+                    entry.dispatched = true;
+                    steal = true;
+                }
+                if (--entry.refs <= 0) {
+                    results.remove(id);
+                    if (entry.counted) {
+                        dispatched--;
+                        Entry next = pending.poll();
+                        if (next != null) {
+                            toDispatch = dispatch(next);
+                        }
+                    }
+                }
+            }
+            if (toDispatch != null) {
+                smartExecutor.submit(toDispatch.task);
+            }
+            if (steal) {
+                entry.task.run();
+            }
+            return entry.future;
+        }
+
+        private Entry dispatch(Entry entry) {
+            entry.dispatched = true;
+            entry.counted = true;
+            dispatched++;
+            return entry;
+        }
+
+        /**
+         * Visible for testing.
+         */
+        synchronized int size() {
+            return results.size();
         }
 
         @Override
         public void close() {
             smartExecutor.close();
         }
+
+        private static final class Entry {
+            final FutureTask<DescriptorResolutionResult> task;
+
+            final Future<DescriptorResolutionResult> future;
+
+            final int depth;
+
+            final long sequence;
+
+            int refs;
+
+            boolean dispatched;
+
+            boolean counted;
+
+            Entry(FutureTask<DescriptorResolutionResult> task, int depth, long sequence) {
+                this.task = task;
+                this.future = task;
+                this.depth = depth;
+                this.sequence = sequence;
+            }
+
+            Entry(DescriptorResolutionResult result) {
+                this.task = null;
+                this.future = CompletableFuture.completedFuture(result);
+                this.depth = 0;
+                this.sequence = -1;
+                this.dispatched = true;
+            }
+        }
+    }
+
+    /**
+     * Work done ahead for dependencies enqueued together. It is not dispatched by itself: the first per dependency
+     * resolution awaiting it executes it, the others wait for its completion. Yields the version range results it
+     * resolved, keyed by data pool key (none for descriptor batches).
+     */
+    static final class Batch {
+        final FutureTask<Map<Object, VersionRangeResult>> task;
+
+        Batch(Callable<Map<Object, VersionRangeResult>> callable) {
+            this.task = new FutureTask<>(callable);
+        }
+
+        Map<Object, VersionRangeResult> await() throws InterruptedException, ExecutionException {
+            task.run();
+            return task.get();
+        }
     }
 
     static class DescriptorResolutionResult {
@@ -554,6 +1030,158 @@ public class BfDependencyCollector extends DependencyCollectorDelegate {
         }
     }
 
+    /**
+     * The outcome of {@link #prepareDependency(Args, DependencyProcessingContext, List, boolean, boolean)}.
+     */
+    static final class PreparedDependency {
+        final DependencyProcessingContext context;
+
+        final Dependency dependency;
+
+        final List<Artifact> relocations;
+
+        final boolean disableVersionManagement;
+
+        final List<PreparedVersion> versions = new ArrayList<>(1);
+
+        Exception failure;
+
+        PreparedDependency(
+                DependencyProcessingContext context,
+                Dependency dependency,
+                List<Artifact> relocations,
+                boolean disableVersionManagement) {
+            this.context = context;
+            this.dependency = dependency;
+            this.relocations = relocations;
+            this.disableVersionManagement = disableVersionManagement;
+        }
+    }
+
+    /**
+     * One version of prepared dependency: either a cycle, a relocation (no child) or a plain child node.
+     */
+    static final class PreparedVersion {
+        final int cycleEntry;
+
+        final Dependency dependency;
+
+        final DependencyNode child;
+
+        final boolean cycle;
+
+        Artifact originalArtifact;
+
+        ArtifactDescriptorResult descriptorResult;
+
+        Recursion recursion;
+
+        PreparedVersion(int cycleEntry, Dependency dependency, DependencyNode child, boolean cycle) {
+            this.cycleEntry = cycleEntry;
+            this.dependency = dependency;
+            this.child = child;
+            this.cycle = cycle;
+        }
+    }
+
+    /**
+     * Everything derived from parent to be able to recurse into children of a node.
+     */
+    final class Recursion {
+        final Args args;
+
+        final DependencyProcessingContext parentContext;
+
+        final List<DependencyNode> parentParents;
+
+        final ArtifactDescriptorResult descriptorResult;
+
+        final DependencyNode child;
+
+        final boolean disableVersionManagement;
+
+        final DependencySelector childSelector;
+
+        final DependencyManager childManager;
+
+        final DependencyTraverser childTraverser;
+
+        final VersionFilter childFilter;
+
+        final List<RemoteRepository> childRepos;
+
+        final Object key;
+
+        final List<DependencyNode> parents;
+
+        private List<DependencyProcessingContext> childContexts;
+
+        @SuppressWarnings("checkstyle:parameternumber")
+        Recursion(
+                Args args,
+                DependencyProcessingContext parentContext,
+                ArtifactDescriptorResult descriptorResult,
+                DependencyNode child,
+                boolean disableVersionManagement,
+                DependencySelector childSelector,
+                DependencyManager childManager,
+                DependencyTraverser childTraverser,
+                VersionFilter childFilter,
+                List<RemoteRepository> childRepos,
+                Object key) {
+            this.args = args;
+            this.parentContext = parentContext;
+            this.parentParents = parentContext.parents;
+            this.descriptorResult = descriptorResult;
+            this.child = child;
+            this.disableVersionManagement = disableVersionManagement;
+            this.childSelector = childSelector;
+            this.childManager = childManager;
+            this.childTraverser = childTraverser;
+            this.childFilter = childFilter;
+            this.childRepos = childRepos;
+            this.key = key;
+            this.parents = new ArrayList<>(parentParents.size() + 1);
+            this.parents.addAll(parentParents);
+            this.parents.add(child);
+        }
+
+        /**
+         * The processing contexts of children, lazily created, as they are not needed if node cache is hit.
+         */
+        List<DependencyProcessingContext> childContexts() {
+            if (childContexts == null) {
+                List<DependencyProcessingContext> contexts =
+                        new ArrayList<>(descriptorResult.getDependencies().size());
+                for (Dependency dependency : descriptorResult.getDependencies()) {
+                    if (childSelector != null && !childSelector.selectDependency(dependency)) {
+                        continue;
+                    }
+                    RequestTrace childTrace = collectStepTrace(
+                            parentContext.trace, args.request.getRequestContext(), parents, dependency);
+                    PremanagedDependency premanagedDependency = PremanagedDependency.create(
+                            childManager, dependency, disableVersionManagement, args.premanagedState);
+                    DependencyProcessingContext processingContext = new DependencyProcessingContext(
+                            childSelector,
+                            childManager,
+                            childTraverser,
+                            childFilter,
+                            childTrace,
+                            childRepos,
+                            descriptorResult.getManagedDependencies(),
+                            parents,
+                            dependency,
+                            premanagedDependency);
+                    // resolve descriptors ahead for managed dependency
+                    processingContext.withDependency(processingContext.premanagedDependency.getManagedDependency());
+                    contexts.add(processingContext);
+                }
+                childContexts = contexts;
+            }
+            return childContexts;
+        }
+    }
+
     static class Args {
 
         final RepositorySystemSession session;
@@ -562,6 +1190,8 @@ public class BfDependencyCollector extends DependencyCollectorDelegate {
 
         final boolean premanagedState;
 
+        final boolean compactNodes;
+
         final DataPool pool;
 
         final Queue<DependencyProcessingContext> dependencyProcessingQueue = new ArrayDeque<>(128);
@@ -574,10 +1204,17 @@ public class BfDependencyCollector extends DependencyCollectorDelegate {
 
         final DependencyResolutionSkipper skipper;
 
+        final DependencyPruner pruner;
+
         final ParallelDescriptorResolver resolver;
 
+        final boolean prefetchDescriptors;
+
+        final boolean prefetchVersionRanges;
+
         final AtomicReference<InterruptedException> interruptedException;
 
+        @SuppressWarnings("checkstyle:parameternumber")
         Args(
                 RepositorySystemSession session,
                 DataPool pool,
@@ -585,16 +1222,23 @@ public class BfDependencyCollector extends DependencyCollectorDelegate {
                 DefaultVersionFilterContext versionContext,
                 CollectRequest request,
                 DependencyResolutionSkipper skipper,
+                DependencyPruner pruner,
                 ParallelDescriptorResolver resolver) {
             this.session = session;
             this.request = request;
             this.ignoreRepos = session.isIgnoreArtifactDescriptorRepositories();
             this.premanagedState = ConfigUtils.getBoolean(session, false, DependencyManagerUtils.CONFIG_PROP_VERBOSE);
+            this.compactNodes = ConfigUtils.getBoolean(session, DEFAULT_COMPACT_NODES, CONFIG_PROP_COMPACT_NODES);
             this.pool = pool;
             this.collectionContext = new AtomicReference<>(collectionContext);
             this.versionContext = versionContext;
             this.skipper = skipper;
+            this.pruner = pruner;
             this.resolver = resolver;
+            this.prefetchDescriptors =
+                    ConfigUtils.getBoolean(session, DEFAULT_PREFETCH_DESCRIPTORS, CONFIG_PROP_PREFETCH_DESCRIPTORS);
+            this.prefetchVersionRanges = ConfigUtils.getBoolean(
+                    session, DEFAULT_PREFETCH_VERSION_RANGES, CONFIG_PROP_PREFETCH_VERSION_RANGES);
             this.interruptedException = new AtomicReference<>(null);
         }
     }
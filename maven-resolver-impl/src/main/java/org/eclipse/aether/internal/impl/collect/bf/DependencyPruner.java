@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.eclipse.aether.internal.impl.collect.bf;
+
+import java.util.BitSet;
+
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.collection.DependencyGraphTransformer;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.internal.impl.scope.ManagedDependencyContextRefiner;
+import org.eclipse.aether.internal.impl.scope.ManagedScopeSelector;
+import org.eclipse.aether.util.artifact.ArtifactSymbolTable;
+import org.eclipse.aether.util.graph.transformer.ChainedDependencyGraphTransformer;
+import org.eclipse.aether.util.graph.transformer.ConfigurableVersionSelector;
+import org.eclipse.aether.util.graph.transformer.ConflictResolver;
+import org.eclipse.aether.util.graph.transformer.JavaDependencyContextRefiner;
+import org.eclipse.aether.util.graph.transformer.JavaScopeSelector;
+import org.eclipse.aether.util.graph.transformer.NearestVersionSelector;
+import org.eclipse.aether.util.graph.transformer.NoopDependencyGraphTransformer;
+import org.eclipse.aether.util.graph.transformer.SimpleOptionalitySelector;
+
+/**
+ * A pruner that determines whether a dependency is a guaranteed conflict loser, before its descriptor is resolved.
+ * Internal helper for {@link BfDependencyCollector}, its {@link #supports(DependencyGraphTransformer)} check is also
+ * used by pipelined dependency resolution.
+ * <p>
+ * With conflict resolution semantics of Maven ("nearest" and "highest" strategies of
+ * {@code ConfigurableVersionSelector}, {@code JavaScopeSelector} and {@code SimpleOptionalitySelector}), a direct
+ * dependency of root always wins its conflict group, and its scope and optionality are kept as is. Hence, a transitive
+ * dependency having same {@code G:A:C:E} as some direct dependency cannot affect the resolved graph, unless it carries
+ * a version range (a hard constraint, that may cause backtracking), and it can be left out along with its subtree.
+ * Not thread-safe, is used only while applying dependencies to the graph.
+ *
+ * @since 2.0.20
+ */
+public final class DependencyPruner {
+    private final ArtifactSymbolTable keySymbols = ArtifactSymbolTable.versionless();
+
+    private final BitSet direct = new BitSet();
+
+    private int pruned;
+
+    /**
+     * Checks whether given graph transformer applies conflict resolution semantics of Maven, that pruning relies on:
+     * it must be a {@link ConflictResolver} (possibly chained with context refiners) using "nearest" or "highest"
+     * version selection, Java (or managed) scope selection and simple optionality selection.
+     *
+     * @param transformer The graph transformer of session, may be {@code null}.
+     * @return {@code true} if pruned dependencies cannot affect the graph resolved by given transformer.
+     */
+    public static boolean supports(DependencyGraphTransformer transformer) {
+        return countConflictResolvers(transformer) == 1;
+    }
+
+    /**
+     * Returns the count of supported conflict resolvers in given transformer, or -1 if it contains other transformer
+     * that may affect conflict resolution.
+     */
+    private static int countConflictResolvers(DependencyGraphTransformer transformer) {
+        if (transformer instanceof ChainedDependencyGraphTransformer) {
+            int count = 0;
+            for (DependencyGraphTransformer chained :
+                    ((ChainedDependencyGraphTransformer) transformer).getTransformers()) {
+                int chainedCount = countConflictResolvers(chained);
+                if (chainedCount < 0) {
+                    return -1;
+                }
+                count += chainedCount;
+            }
+            return count;
+        } else if (transformer instanceof ConflictResolver) {
+            return supports((ConflictResolver) transformer) ? 1 : -1;
+        } else if (transformer instanceof JavaDependencyContextRefiner
+                || transformer instanceof ManagedDependencyContextRefiner
+                || transformer instanceof NoopDependencyGraphTransformer) {
+            return 0;
+        }
+        return -1;
+    }
+
+    private static boolean supports(ConflictResolver conflictResolver) {
+        ConflictResolver.VersionSelector versionSelector = conflictResolver.getVersionSelector();
+        boolean nearestOrHighest;
+        if (versionSelector != null && versionSelector.getClass() == ConfigurableVersionSelector.class) {
+            // dynamically configured strategy is either "nearest" or "highest"
+            ConfigurableVersionSelector.SelectionStrategy strategy =
+                    ((ConfigurableVersionSelector) versionSelector).getSelectionStrategy();
+            nearestOrHighest = strategy == null
+                    || strategy.getClass() == ConfigurableVersionSelector.Nearest.class
+                    || strategy.getClass() == ConfigurableVersionSelector.Highest.class;
+        } else {
+            nearestOrHighest = versionSelector instanceof NearestVersionSelector;
+        }
+        ConflictResolver.ScopeSelector scopeSelector = conflictResolver.getScopeSelector();
+        return nearestOrHighest
+                && (scopeSelector instanceof JavaScopeSelector || scopeSelector instanceof ManagedScopeSelector)
+                && conflictResolver.getOptionalitySelector() instanceof SimpleOptionalitySelector;
+    }
+
+    /**
+     * Registers a direct dependency of root.
+     */
+    void addDirect(Dependency dependency) {
+        direct.set(keySymbols.symbol(dependency.getArtifact()));
+    }
+
+    /**
+     * Checks whether given (managed) dependency can be pruned.
+     *
+     * @param dependency The dependency to check.
+     * @param depth The depth the dependency node would have, direct dependencies of root have depth 1.
+     * @return {@code true} if dependency is guaranteed conflict loser and can be left out.
+     */
+    boolean prune(Dependency dependency, int depth) {
+        if (depth <= 1) {
+            return false;
+        }
+        Artifact artifact = dependency.getArtifact();
+        String version = artifact.getVersion();
+        if (version.startsWith("[") || version.startsWith("(")) {
+            return false;
+        }
+        int symbol = keySymbols.lookup(artifact);
+        if (symbol >= 0 && direct.get(symbol)) {
+            pruned++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the count of pruned dependencies.
+     */
+    int getPrunedCount() {
+        return pruned;
+    }
+}
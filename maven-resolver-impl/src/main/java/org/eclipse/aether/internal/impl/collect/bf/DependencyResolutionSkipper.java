@@ -19,16 +19,16 @@
 package org.eclipse.aether.internal.impl.collect.bf;
 
 import java.io.Closeable;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.function.Function;
 
 import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.graph.DependencyNode;
 import org.eclipse.aether.util.artifact.ArtifactIdUtils;
+import org.eclipse.aether.util.artifact.ArtifactSymbolTable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -71,7 +71,7 @@ abstract class DependencyResolutionSkipper implements Closeable {
      * Note: type is specialized for testing purposes.
      */
     public static DefaultDependencyResolutionSkipper defaultGACESkipper() {
-        return new DefaultDependencyResolutionSkipper(ArtifactIdUtils::toVersionlessId);
+        return new DefaultDependencyResolutionSkipper(ArtifactSymbolTable.versionless());
     }
 
     /**
@@ -80,7 +80,7 @@ abstract class DependencyResolutionSkipper implements Closeable {
      * Note: type is specialized for testing purposes.
      */
     public static DefaultDependencyResolutionSkipper defaultGACEVSkipper() {
-        return new DefaultDependencyResolutionSkipper(ArtifactIdUtils::toId);
+        return new DefaultDependencyResolutionSkipper(ArtifactSymbolTable.versioned());
     }
 
     /**
@@ -109,7 +109,7 @@ abstract class DependencyResolutionSkipper implements Closeable {
     }
 
     /**
-     * Default implementation with selectable key function. Visible for testing.
+     * Default implementation with selectable key symbol table. Visible for testing.
      */
     static final class DefaultDependencyResolutionSkipper extends DependencyResolutionSkipper {
         private static final Logger LOGGER = LoggerFactory.getLogger(DependencyResolutionSkipper.class);
@@ -118,9 +118,9 @@ abstract class DependencyResolutionSkipper implements Closeable {
         private final CacheManager cacheManager;
         private final CoordinateManager coordinateManager;
 
-        private DefaultDependencyResolutionSkipper(Function<Artifact, String> keyFunction) {
+        private DefaultDependencyResolutionSkipper(ArtifactSymbolTable keySymbols) {
             this.results = new LinkedHashMap<>(256);
-            this.cacheManager = new CacheManager(keyFunction);
+            this.cacheManager = new CacheManager(keySymbols);
             this.coordinateManager = new CoordinateManager();
         }
 
@@ -234,25 +234,25 @@ abstract class DependencyResolutionSkipper implements Closeable {
             private final Map<Artifact, DependencyNode> winners;
 
             /**
-             * versionLessId -> Artifact, only cache winners
+             * artifact -> key symbols (GACE or GACEV is what makes sense primarily)
              */
-            private final Map<String, Artifact> winnerGAs;
+            private final ArtifactSymbolTable keySymbols;
 
             /**
-             * artifact -> key function (GACE or GACEV is what makes sense primarily)
+             * key symbol -> Artifact, only cache winners
              */
-            private final Function<Artifact, String> keyFunction;
+            private Artifact[] winnerGAs;
 
-            private CacheManager(Function<Artifact, String> keyFunction) {
+            private CacheManager(ArtifactSymbolTable keySymbols) {
                 this.winners = new HashMap<>(256);
-                this.winnerGAs = new HashMap<>(256);
-                this.keyFunction = requireNonNull(keyFunction);
+                this.keySymbols = requireNonNull(keySymbols);
+                this.winnerGAs = new Artifact[256];
             }
 
             boolean isVersionConflict(DependencyNode node) {
-                String ga = keyFunction.apply(node.getArtifact());
-                if (winnerGAs.containsKey(ga)) {
-                    Artifact result = winnerGAs.get(ga);
+                int ga = keySymbols.lookup(node.getArtifact());
+                if (ga >= 0 && ga < winnerGAs.length && winnerGAs[ga] != null) {
+                    Artifact result = winnerGAs[ga];
                     return !node.getArtifact().getVersion().equals(result.getVersion());
                 }
 
@@ -261,7 +261,11 @@ abstract class DependencyResolutionSkipper implements Closeable {
 
             void cacheWinner(DependencyNode node) {
                 winners.put(node.getArtifact(), node);
-                winnerGAs.put(keyFunction.apply(node.getArtifact()), node.getArtifact());
+                int ga = keySymbols.symbol(node.getArtifact());
+                if (ga >= winnerGAs.length) {
+                    winnerGAs = Arrays.copyOf(winnerGAs, Math.max(ga + 1, winnerGAs.length * 2));
+                }
+                winnerGAs[ga] = node.getArtifact();
             }
 
             boolean isDuplicate(DependencyNode node) {
@@ -270,7 +274,10 @@ abstract class DependencyResolutionSkipper implements Closeable {
         }
 
         private static final class CoordinateManager {
-            private final Map<Integer, AtomicInteger> sequenceGen = new HashMap<>(256);
+            /**
+             * depth -> last sequence
+             */
+            private int[] sequenceGen = new int[32];
 
             /**
              * Dependency node -> Coordinate
@@ -287,9 +294,10 @@ abstract class DependencyResolutionSkipper implements Closeable {
             }
 
             Coordinate createCoordinate(DependencyNode node, int depth) {
-                int seq = sequenceGen
-                        .computeIfAbsent(depth, k -> new AtomicInteger())
-                        .incrementAndGet();
+                if (depth >= sequenceGen.length) {
+                    sequenceGen = Arrays.copyOf(sequenceGen, Math.max(depth + 1, sequenceGen.length * 2));
+                }
+                int seq = ++sequenceGen[depth];
                 Coordinate coordinate = new Coordinate(depth, seq);
                 coordinateMap.put(node, coordinate);
                 return coordinate;
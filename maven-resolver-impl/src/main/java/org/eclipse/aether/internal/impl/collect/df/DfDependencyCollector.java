@@ -22,9 +22,16 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.aether.RepositorySystemSession;
@@ -44,11 +51,13 @@ import org.eclipse.aether.impl.RemoteRepositoryManager;
 import org.eclipse.aether.impl.VersionRangeResolver;
 import org.eclipse.aether.internal.impl.collect.DataPool;
 import org.eclipse.aether.internal.impl.collect.DefaultDependencyCollectionContext;
+import org.eclipse.aether.internal.impl.collect.DefaultDependencyCollector;
 import org.eclipse.aether.internal.impl.collect.DefaultDependencyCycle;
 import org.eclipse.aether.internal.impl.collect.DefaultVersionFilterContext;
 import org.eclipse.aether.internal.impl.collect.DependencyCollectorDelegate;
 import org.eclipse.aether.internal.impl.collect.PremanagedDependency;
 import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactDescriptorException;
 import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
 import org.eclipse.aether.resolution.ArtifactDescriptorResult;
 import org.eclipse.aether.resolution.VersionRangeRequest;
@@ -70,6 +79,24 @@ import org.eclipse.aether.version.Version;
 public class DfDependencyCollector extends DependencyCollectorDelegate {
     public static final String NAME = "df";
 
+    private static final String CONFIG_PROPS_PREFIX = DefaultDependencyCollector.CONFIG_PROPS_PREFIX + NAME + ".";
+
+    /**
+     * The count of threads to explore the dependency graph with, ahead of collection. If greater than 1, the graph is
+     * first explored in parallel: subtrees are forked onto a work-stealing pool, each task having its own path, and
+     * version ranges and artifact descriptors are resolved into the data pool. The graph is then built by the usual
+     * sequential depth-first traversal, that finds the data already pooled, hence the result (including sibling order,
+     * cycles and exceptions) is same as of sequential collection. Value 1 disables exploration.
+     *
+     * @since 2.0.20
+     * @configurationSource {@link RepositorySystemSession#getConfigProperties()}
+     * @configurationType {@link java.lang.Integer}
+     * @configurationDefaultValue {@link #DEFAULT_THREADS}
+     */
+    public static final String CONFIG_PROP_THREADS = CONFIG_PROPS_PREFIX + "threads";
+
+    public static final int DEFAULT_THREADS = 1;
+
     @Inject
     public DfDependencyCollector(
             RemoteRepositoryManager remoteRepositoryManager,
@@ -99,22 +126,36 @@ public class DfDependencyCollector extends DependencyCollectorDelegate {
 
         Args args = new Args(session, pool, nodes, context, versionContext, request);
 
-        process(
-                args,
-                trace,
-                results,
-                dependencies,
-                repositories,
-                session.getDependencySelector() != null
-                        ? session.getDependencySelector().deriveChildSelector(context)
-                        : null,
-                session.getDependencyManager() != null
-                        ? session.getDependencyManager().deriveChildManager(context)
-                        : null,
-                session.getDependencyTraverser() != null
-                        ? session.getDependencyTraverser().deriveChildTraverser(context)
-                        : null,
-                session.getVersionFilter() != null ? session.getVersionFilter().deriveChildFilter(context) : null);
+        DependencySelector depSelector = session.getDependencySelector() != null
+                ? session.getDependencySelector().deriveChildSelector(context)
+                : null;
+        DependencyManager depManager = session.getDependencyManager() != null
+                ? session.getDependencyManager().deriveChildManager(context)
+                : null;
+        DependencyTraverser depTraverser = session.getDependencyTraverser() != null
+                ? session.getDependencyTraverser().deriveChildTraverser(context)
+                : null;
+        VersionFilter verFilter =
+                session.getVersionFilter() != null ? session.getVersionFilter().deriveChildFilter(context) : null;
+
+        int threads = ConfigUtils.getInteger(session, DEFAULT_THREADS, CONFIG_PROP_THREADS);
+        if (threads > 1 && !dependencies.isEmpty()) {
+            explore(
+                    threads,
+                    new Explorer(
+                            args,
+                            ConcurrentHashMap.newKeySet(),
+                            trace,
+                            Collections.singletonList(node),
+                            dependencies,
+                            repositories,
+                            depSelector,
+                            depManager,
+                            depTraverser,
+                            verFilter));
+        }
+
+        process(args, trace, results, dependencies, repositories, depSelector, depManager, depTraverser, verFilter);
 
         if (args.interruptedException.get() != null) {
             throw new DependencyCollectionException(
@@ -231,9 +272,16 @@ public class DfDependencyCollector extends DependencyCollectorDelegate {
                     results.addCycle(args.nodes.nodes, cycleEntry, d);
                     DependencyNode cycleNode = args.nodes.get(cycleEntry);
                     if (cycleNode.getDependency() != null) {
-                        DefaultDependencyNode child = createDependencyNode(
-                                relocations, preManaged, rangeResult, version, d, descriptorResult, cycleNode);
-                        node.getChildren().add(child);
+                        DependencyNode child = createDependencyNode(
+                                args.compactNodes,
+                                relocations,
+                                preManaged,
+                                rangeResult,
+                                version,
+                                d,
+                                descriptorResult,
+                                cycleNode);
+                        addChild(args.request, node, child);
                         continue;
                     }
                 }
@@ -261,10 +309,11 @@ public class DfDependencyCollector extends DependencyCollectorDelegate {
                 } else {
                     d = args.pool.intern(d.setArtifact(args.pool.intern(d.getArtifact())));
 
-                    List<RemoteRepository> repos =
-                            getRemoteRepositories(rangeResult.getRepository(version), repositories);
+                    List<RemoteRepository> repos = args.pool.internRepositories(
+                            getRemoteRepositories(rangeResult.getRepository(version), repositories));
 
-                    DefaultDependencyNode child = createDependencyNode(
+                    DependencyNode child = createDependencyNode(
+                            args.compactNodes,
                             relocations,
                             preManaged,
                             rangeResult,
@@ -274,7 +323,7 @@ public class DfDependencyCollector extends DependencyCollectorDelegate {
                             repos,
                             args.request.getRequestContext());
 
-                    node.getChildren().add(child);
+                    addChild(args.request, node, child);
 
                     boolean recurse =
                             traverse && !descriptorResult.getDependencies().isEmpty();
@@ -295,8 +344,10 @@ public class DfDependencyCollector extends DependencyCollectorDelegate {
                 }
             } else {
                 DependencyNode node = args.nodes.top();
-                List<RemoteRepository> repos = getRemoteRepositories(rangeResult.getRepository(version), repositories);
-                DefaultDependencyNode child = createDependencyNode(
+                List<RemoteRepository> repos = args.pool.internRepositories(
+                        getRemoteRepositories(rangeResult.getRepository(version), repositories));
+                DependencyNode child = createDependencyNode(
+                        args.compactNodes,
                         relocations,
                         preManaged,
                         rangeResult,
@@ -305,7 +356,7 @@ public class DfDependencyCollector extends DependencyCollectorDelegate {
                         null,
                         repos,
                         args.request.getRequestContext());
-                node.getChildren().add(child);
+                addChild(args.request, node, child);
             }
         }
     }
@@ -322,15 +373,19 @@ public class DfDependencyCollector extends DependencyCollectorDelegate {
             VersionFilter verFilter,
             Dependency d,
             ArtifactDescriptorResult descriptorResult,
-            DefaultDependencyNode child) {
+            DependencyNode child) {
         DefaultDependencyCollectionContext context = args.collectionContext.get();
         args.collectionContext.compareAndSet(context, context.set(d, descriptorResult.getManagedDependencies()));
         context = args.collectionContext.get();
 
-        DependencySelector childSelector = depSelector != null ? depSelector.deriveChildSelector(context) : null;
-        DependencyManager childManager = depManager != null ? depManager.deriveChildManager(context) : null;
-        DependencyTraverser childTraverser = depTraverser != null ? depTraverser.deriveChildTraverser(context) : null;
-        VersionFilter childFilter = verFilter != null ? verFilter.deriveChildFilter(context) : null;
+        DependencySelector childSelector = args.pool.derive(
+                DependencySelector.class, depSelector, context, DependencySelector::deriveChildSelector);
+        DependencyManager childManager =
+                args.pool.derive(DependencyManager.class, depManager, context, DependencyManager::deriveChildManager);
+        DependencyTraverser childTraverser = args.pool.derive(
+                DependencyTraverser.class, depTraverser, context, DependencyTraverser::deriveChildTraverser);
+        VersionFilter childFilter =
+                args.pool.derive(VersionFilter.class, verFilter, context, VersionFilter::deriveChildFilter);
 
         final List<RemoteRepository> childRepos = args.ignoreRepos
                 ? repositories
@@ -363,16 +418,233 @@ public class DfDependencyCollector extends DependencyCollectorDelegate {
         }
     }
 
+    /**
+     * Runs the exploration on a work-stealing pool of given parallelism, and waits for it to finish. Pool threads use
+     * context class loader of caller, as descriptor readers and resolvers may rely on it. Interruption is left to
+     * collection to report.
+     */
+    private void explore(int threads, Explorer explorer) {
+        ClassLoader tccl = Thread.currentThread().getContextClassLoader();
+        ForkJoinPool forkJoinPool = new ForkJoinPool(
+                threads,
+                pool -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                    thread.setContextClassLoader(tccl);
+                    return thread;
+                },
+                null,
+                false);
+        try {
+            forkJoinPool.submit(explorer).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.debug("Parallel exploration of dependency graph failed", e.getCause());
+        } finally {
+            forkJoinPool.shutdownNow();
+        }
+    }
+
+    /**
+     * Task exploring the dependencies of a node: it follows the steps of {@link #processDependency} (selection,
+     * management, version ranges, descriptors, relocations and cycles), but builds no graph, and forks a subtask for
+     * every child whose subtree was not explored yet. Descriptor failures are not pooled, but are kept aside for the
+     * collection to report them when it runs into them; other failures are left for the collection to run into again.
+     */
+    private final class Explorer extends RecursiveAction {
+        private final Args args;
+
+        private final Set<Object> explored;
+
+        private final RequestTrace trace;
+
+        private final List<DependencyNode> path;
+
+        private final List<Dependency> dependencies;
+
+        private final List<RemoteRepository> repositories;
+
+        private final DependencySelector depSelector;
+
+        private final DependencyManager depManager;
+
+        private final DependencyTraverser depTraverser;
+
+        private final VersionFilter verFilter;
+
+        @SuppressWarnings("checkstyle:parameternumber")
+        Explorer(
+                Args args,
+                Set<Object> explored,
+                RequestTrace trace,
+                List<DependencyNode> path,
+                List<Dependency> dependencies,
+                List<RemoteRepository> repositories,
+                DependencySelector depSelector,
+                DependencyManager depManager,
+                DependencyTraverser depTraverser,
+                VersionFilter verFilter) {
+            this.args = args;
+            this.explored = explored;
+            this.trace = trace;
+            this.path = path;
+            this.dependencies = dependencies;
+            this.repositories = repositories;
+            this.depSelector = depSelector;
+            this.depManager = depManager;
+            this.depTraverser = depTraverser;
+            this.verFilter = verFilter;
+        }
+
+        @Override
+        protected void compute() {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            List<Explorer> subtasks = new ArrayList<>();
+            for (Dependency dependency : dependencies) {
+                try {
+                    explore(dependency, false, subtasks);
+                } catch (RuntimeException e) {
+                    logger.debug("Failed to explore {}", dependency, e);
+                }
+            }
+            invokeAll(subtasks);
+        }
+
+        private void explore(Dependency dependency, boolean disableVersionManagement, List<Explorer> subtasks) {
+            if (depSelector != null && !depSelector.selectDependency(dependency)) {
+                return;
+            }
+            String requestContext = args.request.getRequestContext();
+            RequestTrace stepTrace = collectStepTrace(trace, requestContext, path, dependency);
+            dependency = PremanagedDependency.create(
+                            depManager, dependency, disableVersionManagement, args.premanagedState)
+                    .getManagedDependency();
+            if (isLackingDescriptor(args.session, dependency.getArtifact())) {
+                return;
+            }
+            boolean traverse = depTraverser == null || depTraverser.traverseDependency(dependency);
+
+            List<? extends Version> versions;
+            try {
+                VersionRangeResult rangeResult = cachedResolveRangeResult(
+                        createVersionRangeRequest(requestContext, stepTrace, repositories, dependency),
+                        args.pool,
+                        args.session);
+                versions = filterVersions(
+                        dependency, rangeResult, verFilter, new DefaultVersionFilterContext(args.session));
+            } catch (VersionRangeResolutionException e) {
+                return;
+            }
+
+            for (Version version : versions) {
+                Artifact originalArtifact = dependency.getArtifact().setVersion(version.toString());
+                Dependency d = dependency.setArtifact(originalArtifact);
+                ArtifactDescriptorResult descriptorResult =
+                        explore(createArtifactDescriptorRequest(requestContext, stepTrace, repositories, d));
+                if (descriptorResult == null) {
+                    continue;
+                }
+                d = d.setArtifact(descriptorResult.getArtifact());
+                if (DefaultDependencyCycle.find(path, d.getArtifact()) >= 0) {
+                    continue;
+                }
+                if (!descriptorResult.getRelocations().isEmpty()) {
+                    explore(
+                            d,
+                            originalArtifact.getGroupId().equals(d.getArtifact().getGroupId())
+                                    && originalArtifact
+                                            .getArtifactId()
+                                            .equals(d.getArtifact().getArtifactId()),
+                            subtasks);
+                    return;
+                }
+                if (traverse && !descriptorResult.getDependencies().isEmpty()) {
+                    DefaultDependencyCollectionContext context =
+                            args.collectionContext.get().set(d, descriptorResult.getManagedDependencies());
+                    DependencySelector childSelector = args.pool.derive(
+                            DependencySelector.class, depSelector, context, DependencySelector::deriveChildSelector);
+                    DependencyManager childManager = args.pool.derive(
+                            DependencyManager.class, depManager, context, DependencyManager::deriveChildManager);
+                    DependencyTraverser childTraverser = args.pool.derive(
+                            DependencyTraverser.class,
+                            depTraverser,
+                            context,
+                            DependencyTraverser::deriveChildTraverser);
+                    VersionFilter childFilter =
+                            args.pool.derive(VersionFilter.class, verFilter, context, VersionFilter::deriveChildFilter);
+                    List<RemoteRepository> childRepos = args.ignoreRepos
+                            ? repositories
+                            : remoteRepositoryManager.aggregateRepositories(
+                                    args.session, repositories, descriptorResult.getRepositories(), true);
+                    Object key = args.pool.toKey(
+                            d.getArtifact(), childRepos, childSelector, childManager, childTraverser, childFilter);
+                    if (explored.add(key)) {
+                        List<DependencyNode> childPath = new ArrayList<>(path.size() + 1);
+                        childPath.addAll(path);
+                        childPath.add(new DefaultDependencyNode(d));
+                        subtasks.add(new Explorer(
+                                args,
+                                explored,
+                                stepTrace,
+                                childPath,
+                                descriptorResult.getDependencies(),
+                                childRepos,
+                                childSelector,
+                                childManager,
+                                childTraverser,
+                                childFilter));
+                    }
+                }
+            }
+        }
+
+        /**
+         * Returns the pooled descriptor, or reads and pools it; returns {@code null} if descriptor is not available.
+         */
+        private ArtifactDescriptorResult explore(ArtifactDescriptorRequest descriptorRequest) {
+            DataPool.DescriptorKey key = args.pool.toKey(descriptorRequest);
+            ArtifactDescriptorResult descriptorResult = args.pool.getDescriptor(key, descriptorRequest);
+            if (descriptorResult == null) {
+                if (args.exploredFailures.containsKey(key)) {
+                    return null;
+                }
+                try {
+                    descriptorResult = readArtifactDescriptor(args.session, descriptorRequest);
+                    args.pool.putDescriptor(key, descriptorResult);
+                } catch (ArtifactDescriptorException e) {
+                    args.exploredFailures.putIfAbsent(key, e);
+                    return null;
+                }
+            } else if (descriptorResult == DataPool.NO_DESCRIPTOR) {
+                return null;
+            }
+            return descriptorResult;
+        }
+    }
+
     private ArtifactDescriptorResult getArtifactDescriptorResult(
             Args args,
             Results results,
             boolean noDescriptor,
             Dependency d,
             ArtifactDescriptorRequest descriptorRequest) {
-        return noDescriptor
-                ? new ArtifactDescriptorResult(descriptorRequest)
-                : resolveCachedArtifactDescriptor(
-                        args.pool, descriptorRequest, args.session, d, results, args.nodes.nodes);
+        if (noDescriptor) {
+            return new ArtifactDescriptorResult(descriptorRequest);
+        }
+        if (!args.exploredFailures.isEmpty()) {
+            DataPool.DescriptorKey key = args.pool.toKey(descriptorRequest);
+            ArtifactDescriptorException failure = args.exploredFailures.remove(key);
+            if (failure != null) {
+                // reported where sequential collection runs into it first, then pooled as usual
+                results.addException(d, failure, args.nodes.nodes);
+                args.pool.putDescriptor(key, failure);
+                return null;
+            }
+        }
+        return resolveCachedArtifactDescriptor(
+                args.pool, descriptorRequest, args.session, d, results, args.nodes.nodes);
     }
 
     static class Args {
@@ -383,6 +655,8 @@ public class DfDependencyCollector extends DependencyCollectorDelegate {
 
         final boolean premanagedState;
 
+        final boolean compactNodes;
+
         final DataPool pool;
 
         final NodeStack nodes;
@@ -395,6 +669,11 @@ public class DfDependencyCollector extends DependencyCollectorDelegate {
 
         final AtomicReference<InterruptedException> interruptedException;
 
+        /**
+         * Descriptors that failed to be read during exploration, not reported yet.
+         */
+        final Map<DataPool.DescriptorKey, ArtifactDescriptorException> exploredFailures;
+
         Args(
                 RepositorySystemSession session,
                 DataPool pool,
@@ -406,11 +685,13 @@ public class DfDependencyCollector extends DependencyCollectorDelegate {
             this.request = request;
             this.ignoreRepos = session.isIgnoreArtifactDescriptorRepositories();
             this.premanagedState = ConfigUtils.getBoolean(session, false, DependencyManagerUtils.CONFIG_PROP_VERBOSE);
+            this.compactNodes = ConfigUtils.getBoolean(session, DEFAULT_COMPACT_NODES, CONFIG_PROP_COMPACT_NODES);
             this.pool = pool;
             this.nodes = nodes;
             this.collectionContext = new AtomicReference<>(collectionContext);
             this.versionContext = versionContext;
             this.interruptedException = new AtomicReference<>(null);
+            this.exploredFailures = new ConcurrentHashMap<>();
         }
     }
 }
@@ -20,17 +20,28 @@ package org.eclipse.aether.internal.impl;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.eclipse.aether.AbstractRepositoryListener;
 import org.eclipse.aether.DefaultRepositorySystemSession;
 import org.eclipse.aether.RepositoryEvent;
 import org.eclipse.aether.RepositoryEvent.EventType;
 import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.SyncContext;
 import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.artifact.ArtifactProperties;
 import org.eclipse.aether.artifact.DefaultArtifact;
@@ -66,8 +77,13 @@ import org.eclipse.aether.spi.connector.MetadataDownload;
 import org.eclipse.aether.spi.connector.filter.RemoteRepositoryFilter;
 import org.eclipse.aether.spi.connector.filter.RemoteRepositoryFilterSource;
 import org.eclipse.aether.spi.io.PathProcessorSupport;
+import org.eclipse.aether.spi.synccontext.SyncContextFactory;
+import org.eclipse.aether.transfer.AbstractTransferListener;
 import org.eclipse.aether.transfer.ArtifactNotFoundException;
 import org.eclipse.aether.transfer.ArtifactTransferException;
+import org.eclipse.aether.transfer.TransferCancelledException;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.eclipse.aether.transfer.TransferResource;
 import org.eclipse.aether.util.repository.SimpleResolutionErrorPolicy;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -1004,4 +1020,211 @@ public class DefaultArtifactResolverTest {
         // message should contain present=true, available=false, filter message
         assertTrue(ex.getMessage().contains("gid:aid:ext:ver (present, but unavailable): REFUSED"));
     }
+
+    @Test
+    void testLocalArtifactAvailableResolvedWithoutLocking() throws Exception {
+        List<Artifact> locked = new ArrayList<>();
+        SyncContextFactory syncContextFactory = (session, shared) -> new SyncContext() {
+            @Override
+            public void acquire(Collection<? extends Artifact> artifacts, Collection<? extends Metadata> metadatas) {
+                locked.addAll(artifacts);
+            }
+
+            @Override
+            public void close() {}
+        };
+        resolver = new DefaultArtifactResolver(
+                new PathProcessorSupport(),
+                new StubRepositoryEventDispatcher(),
+                new StubVersionResolver(),
+                new StaticUpdateCheckManager(true),
+                repositoryConnectorProvider,
+                new StubRemoteRepositoryManager(),
+                syncContextFactory,
+                new DefaultOfflineController(),
+                Collections.emptyMap(),
+                remoteRepositoryFilterManager);
+        RemoteRepository repository = new RemoteRepository.Builder("id", "default", "file:///").build();
+        TestFileUtils.writeString(
+                new File(lrm.getRepository().getBasedir(), lrm.getPathForLocalArtifact(artifact)), "artifact");
+        Artifact remote = new DefaultArtifact("gid", "aid2", "", "ext", "ver");
+        connector.setExpectGet(remote);
+
+        List<ArtifactResult> results = resolver.resolveArtifacts(
+                session,
+                Arrays.asList(
+                        new ArtifactRequest(artifact, Collections.singletonList(repository), ""),
+                        new ArtifactRequest(remote, Collections.singletonList(repository), "")));
+
+        assertEquals(2, results.size());
+        assertEquals(artifact, results.get(0).getArtifact().setFile(null));
+        assertEquals(remote, results.get(1).getArtifact().setFile(null));
+        assertFalse(locked.isEmpty());
+        assertTrue(locked.stream().allMatch(remote::equals), locked.toString());
+
+        locked.clear();
+        session.setConfigProperty(DefaultArtifactResolver.CONFIG_PROP_OPTIMISTIC_LOCAL, false);
+        resolver.resolveArtifact(session, new ArtifactRequest(artifact, Collections.singletonList(repository), ""));
+        assertEquals(Collections.singletonList(artifact), locked);
+    }
+
+    @Test
+    void testHedgedDownloadFromNextRepository() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        RecordingRepositoryConnector slow = new RecordingRepositoryConnector() {
+            @Override
+            public void get(
+                    Collection<? extends ArtifactDownload> artifactDownloads,
+                    Collection<? extends MetadataDownload> metadataDownloads) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                    for (ArtifactDownload download : artifactDownloads) {
+                        download.getListener()
+                                .transferStarted(new TransferEvent.Builder(
+                                                DefaultArtifactResolverTest.this.session,
+                                                new TransferResource(null, null, null, null, null, null))
+                                        .setType(TransferEvent.EventType.STARTED)
+                                        .build());
+                    }
+                } catch (TransferCancelledException e) {
+                    artifactDownloads.forEach(d -> d.setException(new ArtifactTransferException(artifact, null, e)));
+                    cancelled.countDown();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+        connector = new RecordingRepositoryConnector(session);
+        RemoteRepository slowRepository = new RemoteRepository.Builder("slow", "default", "file:///slow").build();
+        RemoteRepository fastRepository = new RemoteRepository.Builder("fast", "default", "file:///fast").build();
+        resolver = new DefaultArtifactResolver(
+                new PathProcessorSupport(),
+                new StubRepositoryEventDispatcher(),
+                (s, r) -> new VersionResult(r).setVersion(r.getArtifact().getVersion()),
+                new StaticUpdateCheckManager(true),
+                (s, r) -> r.getId().equals("slow") ? slow : connector,
+                new StubRemoteRepositoryManager(),
+                new StubSyncContextFactory(),
+                new DefaultOfflineController(),
+                Collections.emptyMap(),
+                remoteRepositoryFilterManager);
+        session.setConfigProperty(DefaultArtifactResolver.CONFIG_PROP_HEDGING, true);
+        session.setConfigProperty(DefaultArtifactResolver.CONFIG_PROP_HEDGING_MIN_DELAY, 50);
+        connector.setExpectGet(artifact);
+
+        try {
+            ArtifactResult result = resolver.resolveArtifact(
+                    session, new ArtifactRequest(artifact, Arrays.asList(slowRepository, fastRepository), ""));
+
+            assertEquals(fastRepository, result.getRepository());
+            assertEquals(artifact, result.getArtifact().setFile(null));
+            assertTrue(result.getExceptions().isEmpty());
+            connector.assertSeenExpected();
+        } finally {
+            release.countDown();
+        }
+        assertTrue(cancelled.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testHedgedDownloadsFromHangingRepository() throws Exception {
+        // more concurrent resolutions than the (former) shared hedging pool had threads
+        int resolutions = 16;
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(resolutions);
+        RecordingRepositoryConnector hanging = new RecordingRepositoryConnector() {
+            @Override
+            public void get(
+                    Collection<? extends ArtifactDownload> artifactDownloads,
+                    Collection<? extends MetadataDownload> metadataDownloads) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                    for (ArtifactDownload download : artifactDownloads) {
+                        TestFileUtils.writeString(download.getPath().toFile(), "hanging");
+                        download.getListener()
+                                .transferSucceeded(new TransferEvent.Builder(
+                                                DefaultArtifactResolverTest.this.session,
+                                                new TransferResource("hanging", null, null, null, null, null))
+                                        .setType(TransferEvent.EventType.SUCCEEDED)
+                                        .build());
+                    }
+                } catch (InterruptedException | IOException e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    finished.countDown();
+                }
+            }
+        };
+        RemoteRepository hangingRepository =
+                new RemoteRepository.Builder("hanging", "default", "file:///hanging").build();
+        RemoteRepository fastRepository = new RemoteRepository.Builder("fast", "default", "file:///fast").build();
+        List<RepositoryEvent> lateEvents = Collections.synchronizedList(new ArrayList<>());
+        session.setRepositoryListener(new AbstractRepositoryListener() {
+            @Override
+            public void artifactDownloaded(RepositoryEvent event) {
+                if (hangingRepository.equals(event.getRepository())) {
+                    lateEvents.add(event);
+                }
+            }
+        });
+        List<TransferEvent> lateTransferEvents = Collections.synchronizedList(new ArrayList<>());
+        session.setTransferListener(new AbstractTransferListener() {
+            @Override
+            public void transferSucceeded(TransferEvent event) {
+                lateTransferEvents.add(event);
+            }
+        });
+        resolver = new DefaultArtifactResolver(
+                new PathProcessorSupport(),
+                new StubRepositoryEventDispatcher(),
+                (s, r) -> new VersionResult(r).setVersion(r.getArtifact().getVersion()),
+                new StaticUpdateCheckManager(true),
+                (s, r) -> r.getId().equals("hanging") ? hanging : new RecordingRepositoryConnector(s),
+                new StubRemoteRepositoryManager(),
+                new StubSyncContextFactory(),
+                new DefaultOfflineController(),
+                Collections.emptyMap(),
+                remoteRepositoryFilterManager);
+        session.setConfigProperty(DefaultArtifactResolver.CONFIG_PROP_HEDGING, true);
+        session.setConfigProperty(DefaultArtifactResolver.CONFIG_PROP_HEDGING_MIN_DELAY, 50);
+
+        ExecutorService executor = Executors.newFixedThreadPool(resolutions);
+        try {
+            List<Future<ArtifactResult>> futures = new ArrayList<>();
+            for (int i = 0; i < resolutions; i++) {
+                Artifact a = new DefaultArtifact("gid", "aid" + i, "", "ext", "ver");
+                futures.add(executor.submit(() -> resolver.resolveArtifact(
+                        session, new ArtifactRequest(a, Arrays.asList(hangingRepository, fastRepository), ""))));
+            }
+            List<ArtifactResult> results = new ArrayList<>();
+            for (Future<ArtifactResult> future : futures) {
+                results.add(future.get(5, TimeUnit.SECONDS));
+            }
+
+            release.countDown();
+            assertTrue(finished.await(10, TimeUnit.SECONDS));
+            for (ArtifactResult result : results) {
+                assertEquals(fastRepository, result.getRepository());
+                Path path = result.getArtifact().getPath();
+                assertEquals(result.getArtifact().toString(), TestFileUtils.readString(path.toFile()));
+                for (int i = 0; i < 100 && hasStaging(path); i++) {
+                    Thread.sleep(10L);
+                }
+                assertFalse(hasStaging(path), "staged download of superseded transfer was left behind");
+            }
+            assertTrue(lateEvents.isEmpty(), "superseded downloads emitted events after resolution returned");
+            assertTrue(lateTransferEvents.stream()
+                    .noneMatch(e -> e.getResource().getRepositoryId().equals("hanging")));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static boolean hasStaging(Path path) throws IOException {
+        try (Stream<Path> siblings = Files.list(path.getParent())) {
+            return siblings.anyMatch(p -> p.getFileName().toString().startsWith(".hedging-"));
+        }
+    }
 }
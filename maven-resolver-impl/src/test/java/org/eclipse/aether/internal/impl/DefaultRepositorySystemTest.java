@@ -18,11 +18,25 @@
  */
 package org.eclipse.aether.internal.impl;
 
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
+import org.eclipse.aether.ConfigurationProperties;
 import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.collection.CollectResult;
+import org.eclipse.aether.collection.DependencyCollectionListener;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
 import org.eclipse.aether.impl.ArtifactResolver;
 import org.eclipse.aether.impl.DependencyCollector;
 import org.eclipse.aether.impl.Deployer;
@@ -34,15 +48,29 @@ import org.eclipse.aether.internal.test.util.TestUtils;
 import org.eclipse.aether.repository.Authentication;
 import org.eclipse.aether.repository.Proxy;
 import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.resolution.DependencyRequest;
+import org.eclipse.aether.util.graph.transformer.ChainedDependencyGraphTransformer;
+import org.eclipse.aether.util.graph.transformer.ConfigurableVersionSelector;
+import org.eclipse.aether.util.graph.transformer.ConflictResolver;
+import org.eclipse.aether.util.graph.transformer.JavaDependencyContextRefiner;
+import org.eclipse.aether.util.graph.transformer.JavaScopeDeriver;
+import org.eclipse.aether.util.graph.transformer.JavaScopeSelector;
+import org.eclipse.aether.util.graph.transformer.SimpleOptionalitySelector;
 import org.eclipse.aether.util.repository.AuthenticationBuilder;
 import org.eclipse.aether.util.repository.DefaultAuthenticationSelector;
 import org.eclipse.aether.util.repository.DefaultMirrorSelector;
 import org.eclipse.aether.util.repository.DefaultProxySelector;
+import org.eclipse.aether.util.version.GenericVersionScheme;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class DefaultRepositorySystemTest {
 
@@ -130,4 +158,201 @@ public class DefaultRepositorySystemTest {
         assertSame(proxy, deployRepo.getProxy());
         assertSame(auth, deployRepo.getAuthentication());
     }
+
+    @Test
+    void testPipelinedResolveDependencies() throws Exception {
+        List<String> prefetched = Collections.synchronizedList(new ArrayList<>());
+        system = newSystem(newPrefetchingArtifactResolver(prefetched), newPipelinedDependencyCollector());
+        session.setDependencyGraphTransformer(new ChainedDependencyGraphTransformer(
+                new ConflictResolver(
+                        new ConfigurableVersionSelector(),
+                        new JavaScopeSelector(),
+                        new SimpleOptionalitySelector(),
+                        new JavaScopeDeriver()),
+                new JavaDependencyContextRefiner()));
+        session.setConfigProperty(DefaultRepositorySystem.CONFIG_PROP_PIPELINED, true);
+        session.setConfigProperty(DefaultRepositorySystem.CONFIG_PROP_SPECULATION_BUDGET, 1);
+
+        CollectRequest collectRequest = new CollectRequest();
+        collectRequest.setRootArtifact(new DefaultArtifact("gid:root:1"));
+        List<DependencyNode> collected = new ArrayList<>();
+        DependencyCollectionListener listener = (parent, node) -> collected.add(node);
+        collectRequest.setCollectionListener(listener);
+        system.resolveDependencies(session, new DependencyRequest(collectRequest, null));
+
+        // direct "a" is certain (fetched once), direct "b" with range is speculative and uses up the budget, though
+        // its fetch may be skipped if not started before collection ended
+        assertEquals(1, prefetched.stream().filter("a"::equals).count());
+        assertFalse(prefetched.contains("c"));
+        assertFalse(prefetched.contains("d"));
+        assertEquals(5, collected.size());
+        assertSame(listener, collectRequest.getCollectionListener());
+    }
+
+    @Test
+    void testPipelinedResolveDependenciesWithoutMavenConflictResolution() throws Exception {
+        List<String> prefetched = Collections.synchronizedList(new ArrayList<>());
+        system = newSystem(newPrefetchingArtifactResolver(prefetched), newPipelinedDependencyCollector());
+        session.setDependencyGraphTransformer((node, context) -> node);
+        session.setConfigProperty(DefaultRepositorySystem.CONFIG_PROP_PIPELINED, true);
+        session.setConfigProperty(DefaultRepositorySystem.CONFIG_PROP_SPECULATION_BUDGET, 0);
+
+        CollectRequest collectRequest = new CollectRequest();
+        collectRequest.setRootArtifact(new DefaultArtifact("gid:root:1"));
+        system.resolveDependencies(session, new DependencyRequest(collectRequest, null));
+
+        // direct "a" is not certain to survive unknown conflict resolution, hence is speculative as well
+        assertEquals(Collections.emptyList(), prefetched);
+    }
+
+    @Test
+    void testPipelineThreadsMustAllowPipelining() throws Exception {
+        system = newSystem(newPrefetchingArtifactResolver(new ArrayList<>()), newPipelinedDependencyCollector());
+        session.setConfigProperty(DefaultRepositorySystem.CONFIG_PROP_PIPELINED, true);
+        session.setConfigProperty(DefaultRepositorySystem.CONFIG_PROP_PIPELINE_THREADS, 1);
+
+        CollectRequest collectRequest = new CollectRequest();
+        collectRequest.setRootArtifact(new DefaultArtifact("gid:root:1"));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> system.resolveDependencies(session, new DependencyRequest(collectRequest, null)));
+    }
+
+    private static ArtifactResolver newPrefetchingArtifactResolver(List<String> prefetched) throws Exception {
+        ArtifactResolver artifactResolver = mock(ArtifactResolver.class);
+        when(artifactResolver.resolveArtifact(any(), any())).thenAnswer(invocation -> {
+            ArtifactRequest request = invocation.getArgument(1);
+            prefetched.add(request.getArtifact().getArtifactId());
+            return new ArtifactResult(request);
+        });
+        when(artifactResolver.resolveArtifacts(any(), any())).thenReturn(Collections.emptyList());
+        return artifactResolver;
+    }
+
+    private static DependencyCollector newPipelinedDependencyCollector() throws Exception {
+        DependencyCollector dependencyCollector = mock(DependencyCollector.class);
+        when(dependencyCollector.collectDependencies(any(), any(CollectRequest.class)))
+                .thenAnswer(invocation -> {
+                    CollectRequest request = invocation.getArgument(1);
+                    DependencyCollectionListener listener = request.getCollectionListener();
+                    DefaultDependencyNode root = new DefaultDependencyNode(request.getRootArtifact());
+                    listener.collectionStarted(root);
+                    DefaultDependencyNode a = newNode("gid:a:1", "1");
+                    DefaultDependencyNode b = newNode("gid:b:1", "[1,2)");
+                    listener.nodeCollected(root, a);
+                    listener.nodeCollected(root, b);
+                    listener.nodeCollected(a, newNode("gid:c:1", "1"));
+                    listener.nodeCollected(a, newNode("gid:a:1", "1"));
+                    listener.nodeCollected(a, newNode("gid:d:1", "1"));
+                    CollectResult result = new CollectResult(request);
+                    result.setRoot(root);
+                    return result;
+                });
+        return dependencyCollector;
+    }
+
+    @Test
+    void testResolveArtifactsAsync() throws Exception {
+        ArtifactResolver artifactResolver = mock(ArtifactResolver.class);
+        CountDownLatch slow = new CountDownLatch(1);
+        when(artifactResolver.resolveArtifact(any(), any())).thenAnswer(invocation -> {
+            ArtifactRequest request = invocation.getArgument(1);
+            ArtifactResult result = new ArtifactResult(request);
+            switch (request.getArtifact().getArtifactId()) {
+                case "slow":
+                    assertTrue(slow.await(10, TimeUnit.SECONDS));
+                    break;
+                case "missing":
+                    result.addException(null, new IllegalStateException("missing"));
+                    throw new ArtifactResolutionException(Collections.singletonList(result));
+                default:
+            }
+            result.setArtifact(request.getArtifact().setPath(Paths.get("a.jar")));
+            return result;
+        });
+        system = newSystem(artifactResolver, mock(DependencyCollector.class));
+        session.setConfigProperty(DefaultRepositorySystem.CONFIG_PROP_ASYNC_THREADS, 3);
+
+        List<CompletableFuture<ArtifactResult>> futures = system.resolveArtifactsAsync(
+                session,
+                Arrays.asList(
+                        new ArtifactRequest(new DefaultArtifact("gid:slow:1"), null, null),
+                        new ArtifactRequest(new DefaultArtifact("gid:fast:1"), null, null),
+                        new ArtifactRequest(new DefaultArtifact("gid:missing:1"), null, null)));
+        assertEquals(3, futures.size());
+
+        // fast one completes while slow one is still in progress
+        ArtifactResult fast = futures.get(1).get(10, TimeUnit.SECONDS);
+        assertEquals("fast", fast.getArtifact().getArtifactId());
+        assertFalse(futures.get(0).isDone());
+        ExecutionException e =
+                assertThrows(ExecutionException.class, () -> futures.get(2).get(10, TimeUnit.SECONDS));
+        assertInstanceOf(ArtifactResolutionException.class, e.getCause());
+        slow.countDown();
+        assertTrue(futures.get(0).get(10, TimeUnit.SECONDS).isResolved());
+    }
+
+    @Test
+    void testResolveArtifactsAsyncDoesNotBlockWithVirtualThreads() throws Exception {
+        ArtifactResolver artifactResolver = mock(ArtifactResolver.class);
+        CountDownLatch release = new CountDownLatch(1);
+        when(artifactResolver.resolveArtifact(any(), any())).thenAnswer(invocation -> {
+            ArtifactRequest request = invocation.getArgument(1);
+            assertTrue(release.await(10, TimeUnit.SECONDS));
+            ArtifactResult result = new ArtifactResult(request);
+            result.setArtifact(request.getArtifact().setPath(Paths.get("a.jar")));
+            return result;
+        });
+        system = newSystem(artifactResolver, mock(DependencyCollector.class));
+        session.setConfigProperty(ConfigurationProperties.REPOSITORY_SYSTEM_VIRTUAL_THREADS, true);
+        session.setConfigProperty(DefaultRepositorySystem.CONFIG_PROP_ASYNC_THREADS, 2);
+        List<ArtifactRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            requests.add(new ArtifactRequest(new DefaultArtifact("gid:aid" + i + ":1"), null, null));
+        }
+
+        try {
+            // more requests than threads: returns while none of them can complete
+            List<CompletableFuture<ArtifactResult>> futures = CompletableFuture.supplyAsync(
+                            () -> system.resolveArtifactsAsync(session, requests))
+                    .get(5, TimeUnit.SECONDS);
+            assertEquals(requests.size(), futures.size());
+            assertTrue(futures.stream().noneMatch(CompletableFuture::isDone));
+
+            release.countDown();
+            for (CompletableFuture<ArtifactResult> future : futures) {
+                assertTrue(future.get(10, TimeUnit.SECONDS).isResolved());
+            }
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private DefaultRepositorySystem newSystem(
+            ArtifactResolver artifactResolver, DependencyCollector dependencyCollector) {
+        return new DefaultRepositorySystem(
+                new StubVersionResolver(),
+                new StubVersionRangeResolver(),
+                artifactResolver,
+                mock(MetadataResolver.class),
+                new StubArtifactDescriptorReader(),
+                dependencyCollector,
+                mock(Installer.class),
+                mock(Deployer.class),
+                mock(LocalRepositoryProvider.class),
+                new StubSyncContextFactory(),
+                new DefaultRemoteRepositoryManager(
+                        new DefaultUpdatePolicyAnalyzer(),
+                        new DefaultChecksumPolicyProvider(),
+                        new DefaultRepositoryKeyFunctionFactory()),
+                new DefaultRepositorySystemLifecycle(),
+                Collections.emptyMap(),
+                new DefaultRepositorySystemValidator(Collections.emptyList()));
+    }
+
+    private static DefaultDependencyNode newNode(String coords, String constraint) throws Exception {
+        DefaultDependencyNode node = new DefaultDependencyNode(new Dependency(new DefaultArtifact(coords), "compile"));
+        node.setVersionConstraint(new GenericVersionScheme().parseVersionConstraint(constraint));
+        return node;
+    }
 }
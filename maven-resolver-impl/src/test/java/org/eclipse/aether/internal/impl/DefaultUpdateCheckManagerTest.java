@@ -576,6 +576,78 @@ public class DefaultUpdateCheckManagerTest {
         assertNull(check.getException());
     }
 
+    @Test
+    void testCheckArtifactNotFoundInNegativeLookupIndex() {
+        artifact.getFile().delete();
+        session.setConfigProperty(DefaultUpdateCheckManager.CONFIG_PROP_NEGATIVE_LOOKUP_INDEX, true);
+        session.setResolutionErrorPolicy(new SimpleResolutionErrorPolicy(true, false));
+
+        UpdateCheck<Artifact, ArtifactTransferException> check = newArtifactCheck();
+        check.setException(new ArtifactNotFoundException(artifact, repository));
+        manager.touchArtifact(session, check);
+        resetSessionData(session);
+        // the index alone is enough to answer the check
+        new File(artifact.getFile().getPath() + ".lastUpdated").delete();
+
+        check = newArtifactCheck().setArtifactPolicy(RepositoryPolicy.UPDATE_POLICY_DAILY);
+        manager.checkArtifact(session, check);
+        assertFalse(check.isRequired());
+        assertInstanceOf(ArtifactNotFoundException.class, check.getException());
+        assertTrue(check.getException().isFromCache());
+
+        // the index is persistent
+        manager = new DefaultUpdateCheckManager(
+                new TrackingFileManagerSupplier().get(), new DefaultUpdatePolicyAnalyzer(), new DefaultPathProcessor());
+        check = newArtifactCheck().setArtifactPolicy(RepositoryPolicy.UPDATE_POLICY_DAILY);
+        manager.checkArtifact(session, check);
+        assertFalse(check.isRequired());
+        assertInstanceOf(ArtifactNotFoundException.class, check.getException());
+
+        // update policy is respected
+        check = newArtifactCheck().setArtifactPolicy(RepositoryPolicy.UPDATE_POLICY_ALWAYS);
+        manager.checkArtifact(session, check);
+        assertTrue(check.isRequired());
+        assertNull(check.getException());
+
+        // found items are removed from index
+        check = newArtifactCheck();
+        manager.touchArtifact(session, check);
+        resetSessionData(session);
+        manager = new DefaultUpdateCheckManager(
+                new TrackingFileManagerSupplier().get(), new DefaultUpdatePolicyAnalyzer(), new DefaultPathProcessor());
+        check = newArtifactCheck().setArtifactPolicy(RepositoryPolicy.UPDATE_POLICY_DAILY);
+        manager.checkArtifact(session, check);
+        assertTrue(check.isRequired());
+        assertNull(check.getException());
+    }
+
+    @Test
+    void testCheckMetadataNotFoundInNegativeLookupIndex() {
+        metadata.getFile().delete();
+        session.setConfigProperty(DefaultUpdateCheckManager.CONFIG_PROP_NEGATIVE_LOOKUP_INDEX, true);
+        session.setResolutionErrorPolicy(new SimpleResolutionErrorPolicy(true, false));
+
+        UpdateCheck<Metadata, MetadataTransferException> check = newMetadataCheck();
+        check.setException(new MetadataNotFoundException(metadata, repository));
+        manager.touchMetadata(session, check);
+        resetSessionData(session);
+        // the index alone is enough to answer the check
+        new File(metadata.getFile().getParent(), "resolver-status.properties").delete();
+
+        check = newMetadataCheck().setMetadataPolicy(RepositoryPolicy.UPDATE_POLICY_DAILY);
+        manager.checkMetadata(session, check);
+        assertFalse(check.isRequired());
+        assertInstanceOf(MetadataNotFoundException.class, check.getException());
+        assertTrue(check.getException().isFromCache());
+
+        // disabled index falls back to tracking files
+        session.setConfigProperty(DefaultUpdateCheckManager.CONFIG_PROP_NEGATIVE_LOOKUP_INDEX, false);
+        check = newMetadataCheck().setMetadataPolicy(RepositoryPolicy.UPDATE_POLICY_DAILY);
+        manager.checkMetadata(session, check);
+        assertTrue(check.isRequired());
+        assertNull(check.getException());
+    }
+
     @Test
     void testCheckArtifactErrorFromRepoCachingEnabled() {
         artifact.getFile().delete();
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.eclipse.aether.internal.impl.checksum;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.internal.impl.collect.DefaultDependencyCollector;
+import org.eclipse.aether.internal.test.util.TestUtils;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.spi.connector.checksum.ChecksumAlgorithmFactory;
+import org.eclipse.aether.util.graph.lockfile.DependencyLockfile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LockfileTrustedChecksumsSourceTest {
+    private final Artifact locked = new DefaultArtifact("gid:a:1");
+
+    private final Artifact notLocked = new DefaultArtifact("gid:b:1");
+
+    private final RemoteRepository repository =
+            new RemoteRepository.Builder("repo", "default", "https://example.com").build();
+
+    private final List<ChecksumAlgorithmFactory> checksums =
+            Arrays.asList(new Sha1ChecksumAlgorithmFactory(), new Sha256ChecksumAlgorithmFactory());
+
+    private final LockfileTrustedChecksumsSource source = new LockfileTrustedChecksumsSource();
+
+    @TempDir
+    private Path tempDir;
+
+    private DefaultRepositorySystemSession session;
+
+    private Path lockfile;
+
+    @BeforeEach
+    void before() throws Exception {
+        Path file = tempDir.resolve("a.jar");
+        Files.write(file, "hello".getBytes(StandardCharsets.UTF_8));
+        DefaultDependencyNode root = new DefaultDependencyNode(new DefaultArtifact("gid:root:1"));
+        root.setChildren(
+                Collections.singletonList(new DefaultDependencyNode(new Dependency(locked.setPath(file), "compile"))));
+        lockfile = tempDir.resolve("dependencies.lock");
+        try (OutputStream out = Files.newOutputStream(lockfile)) {
+            DependencyLockfile.of(new CollectRequest(), root).write(out);
+        }
+
+        session = TestUtils.newSession();
+        session.setConfigProperty(LockfileTrustedChecksumsSource.CONFIG_PROP_ENABLED, true);
+        session.setConfigProperty(DefaultDependencyCollector.CONFIG_PROP_LOCKFILE, lockfile.toString());
+    }
+
+    @Test
+    void notEnabled() {
+        session.setConfigProperty(LockfileTrustedChecksumsSource.CONFIG_PROP_ENABLED, null);
+        assertNull(source.getTrustedArtifactChecksums(session, locked, repository, checksums));
+    }
+
+    @Test
+    void lockedChecksums() {
+        Map<String, String> trusted = source.getTrustedArtifactChecksums(session, locked, repository, checksums);
+        assertEquals(
+                Collections.singletonMap(
+                        Sha256ChecksumAlgorithmFactory.NAME,
+                        "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824"),
+                trusted);
+        assertEquals(
+                Collections.emptyMap(), source.getTrustedArtifactChecksums(session, notLocked, repository, checksums));
+        assertEquals(
+                Collections.emptyMap(),
+                source.getTrustedArtifactChecksums(
+                        session, locked, repository, Collections.singletonList(new Sha1ChecksumAlgorithmFactory())));
+    }
+
+    @Test
+    void noLockfile() throws Exception {
+        Files.delete(lockfile);
+        assertEquals(
+                Collections.emptyMap(), source.getTrustedArtifactChecksums(session, locked, repository, checksums));
+        session.setConfigProperty(DefaultDependencyCollector.CONFIG_PROP_LOCKFILE, null);
+        assertEquals(
+                Collections.emptyMap(), source.getTrustedArtifactChecksums(session, locked, repository, checksums));
+    }
+
+    @Test
+    void noWriter() {
+        assertNull(source.getTrustedArtifactChecksumsWriter(session));
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.eclipse.aether.internal.impl.collect;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.internal.test.util.TestVersion;
+import org.eclipse.aether.internal.test.util.TestVersionConstraint;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.util.graph.manager.DependencyManagerUtils;
+import org.eclipse.aether.version.Version;
+import org.eclipse.aether.version.VersionConstraint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares footprint of collected graphs made of {@link DefaultDependencyNode} and {@link CompactDependencyNode}.
+ * Dependencies, versions and repositories are created upfront, so the bytes allocated per operation reported by GC
+ * profiler ({@code gc.alloc.rate.norm}) are the footprint of nodes of the graph (and their collections).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 1, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 2, time = 2, timeUnit = TimeUnit.SECONDS)
+public class CompactDependencyNodeJMHBenchmark {
+    private static final int NODES = 10_000;
+
+    private static final int FAN_OUT = 8;
+
+    /**
+     * Whether premanaged state is recorded on nodes, as in verbose mode.
+     */
+    @Param({"false", "true"})
+    public boolean premanagedState;
+
+    private List<Dependency> dependencies;
+
+    private List<VersionConstraint> constraints;
+
+    private List<RemoteRepository> repositories;
+
+    @Setup
+    public void setup() {
+        dependencies = new ArrayList<>(NODES);
+        constraints = new ArrayList<>(NODES);
+        for (int i = 0; i < NODES; i++) {
+            String version = "1." + i;
+            dependencies.add(new Dependency(new DefaultArtifact("gid:aid" + i + ":" + version), "compile"));
+            constraints.add(new TestVersionConstraint(new TestVersion(version)));
+        }
+        repositories = Collections.singletonList(
+                new RemoteRepository.Builder("central", "default", "https://repo.maven.apache.org/maven2/").build());
+    }
+
+    public static void main(String... args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                        .include(CompactDependencyNodeJMHBenchmark.class.getSimpleName())
+                        .addProfiler(GCProfiler.class)
+                        .build())
+                .run();
+    }
+
+    @Benchmark
+    public DependencyNode defaultNodes() {
+        DefaultDependencyNode root = new DefaultDependencyNode((Dependency) null);
+        List<DependencyNode> nodes = new ArrayList<>(NODES);
+        for (int i = 0; i < NODES; i++) {
+            DefaultDependencyNode node = new DefaultDependencyNode(dependencies.get(i));
+            node.setVersionConstraint(constraints.get(i));
+            node.setVersion(constraints.get(i).getVersion());
+            node.setRepositories(repositories);
+            node.setRequestContext("project");
+            node.setManagedBits(DependencyNode.MANAGED_VERSION);
+            if (premanagedState) {
+                premanaged(node);
+            }
+            link(root, nodes, node, i);
+        }
+        return root;
+    }
+
+    @Benchmark
+    public DependencyNode compactNodes() {
+        DefaultDependencyNode root = new DefaultDependencyNode((Dependency) null);
+        List<DependencyNode> nodes = new ArrayList<>(NODES);
+        for (int i = 0; i < NODES; i++) {
+            CompactDependencyNode node = new CompactDependencyNode(dependencies.get(i));
+            node.setVersionConstraint(constraints.get(i));
+            node.setVersion(constraints.get(i).getVersion());
+            node.setRepositories(repositories);
+            node.setRequestContext("project");
+            node.setManagedBits(DependencyNode.MANAGED_VERSION);
+            if (premanagedState) {
+                premanaged(node);
+            }
+            link(root, nodes, node, i);
+        }
+        return root;
+    }
+
+    private static void premanaged(DependencyNode node) {
+        Version version = node.getVersion();
+        node.setData(DependencyManagerUtils.NODE_DATA_PREMANAGED_VERSION, version.toString());
+        node.setData(DependencyManagerUtils.NODE_DATA_PREMANAGED_SCOPE, "compile");
+        node.setData(DependencyManagerUtils.NODE_DATA_PREMANAGED_OPTIONAL, Boolean.FALSE);
+        node.setData(DependencyManagerUtils.NODE_DATA_PREMANAGED_EXCLUSIONS, Collections.emptyList());
+        node.setData(DependencyManagerUtils.NODE_DATA_PREMANAGED_PROPERTIES, Collections.emptyMap());
+    }
+
+    /**
+     * Builds a tree with given fan-out: most nodes end up as leaves, as in real graphs.
+     */
+    private static void link(DependencyNode root, List<DependencyNode> nodes, DependencyNode node, int index) {
+        DependencyNode parent = index < FAN_OUT ? root : nodes.get(index / FAN_OUT - 1);
+        parent.getChildren().add(node);
+        nodes.add(node);
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.eclipse.aether.internal.impl.collect;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.util.graph.visitor.PreorderDependencyNodeConsumerVisitor;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompactDependencyNodeTest {
+    private static CompactDependencyNode newNode(String coords) {
+        return new CompactDependencyNode(new Dependency(new DefaultArtifact(coords), "compile"));
+    }
+
+    @Test
+    void testDefaults() {
+        CompactDependencyNode node = newNode("gid:aid:1");
+        assertEquals("gid:aid:jar:1", node.getArtifact().toString());
+        assertEquals("compile", node.getDependency().getScope());
+        assertTrue(node.getChildren().isEmpty());
+        assertTrue(node.getRelocations().isEmpty());
+        assertTrue(node.getAliases().isEmpty());
+        assertTrue(node.getRepositories().isEmpty());
+        assertTrue(node.getData().isEmpty());
+        assertEquals("", node.getRequestContext());
+        assertEquals(0, node.getManagedBits());
+        assertNull(node.getVersion());
+        assertNull(node.getVersionConstraint());
+    }
+
+    @Test
+    void testChildren() {
+        CompactDependencyNode node = newNode("gid:aid:1");
+        List<DependencyNode> children = node.getChildren();
+        assertSame(children, node.getChildren());
+        DependencyNode child = newNode("gid:child:1");
+        children.add(child);
+        assertEquals(Collections.singletonList(child), node.getChildren());
+        assertEquals(1, children.size());
+
+        // lists set as children are shared, not copied
+        List<DependencyNode> shared = new ArrayList<>();
+        CompactDependencyNode other = newNode("gid:other:1");
+        other.setChildren(shared);
+        node.setChildren(shared);
+        node.getChildren().add(child);
+        assertSame(shared, other.getChildren());
+        assertEquals(1, other.getChildren().size());
+
+        node.setChildren(null);
+        assertTrue(node.getChildren().isEmpty());
+    }
+
+    @Test
+    void testData() {
+        CompactDependencyNode node = newNode("gid:aid:1");
+        node.setData("a", "1");
+        node.setData("b", "2");
+        node.setData("a", "3");
+        assertEquals(2, node.getData().size());
+        assertEquals("3", node.getData().get("a"));
+        assertEquals("2", node.getData().get("b"));
+        assertThrows(UnsupportedOperationException.class, () -> ((Map<?, ?>) node.getData()).clear());
+
+        node.setData("a", null);
+        assertEquals(Collections.singletonMap("b", "2"), node.getData());
+        node.setData("b", null);
+        assertTrue(node.getData().isEmpty());
+
+        Map<Object, Object> data = new HashMap<>();
+        data.put("c", "4");
+        node.setData(data);
+        data.put("d", "5");
+        assertEquals(Collections.singletonMap("c", "4"), node.getData());
+        node.setData(null);
+        assertTrue(node.getData().isEmpty());
+    }
+
+    @Test
+    void testLabels() {
+        CompactDependencyNode node = newNode("gid:aid:1");
+        List<Artifact> relocations = Collections.singletonList(new DefaultArtifact("gid:old:1"));
+        List<Artifact> aliases = Collections.singletonList(new DefaultArtifact("gid:alias:1"));
+        node.setRelocations(relocations);
+        node.setAliases(aliases);
+        assertEquals(relocations, node.getRelocations());
+        assertEquals(aliases, node.getAliases());
+        node.setRelocations(null);
+        assertTrue(node.getRelocations().isEmpty());
+        assertEquals(aliases, node.getAliases());
+    }
+
+    @Test
+    void testAttributes() {
+        CompactDependencyNode node = newNode("gid:aid:1");
+        node.setArtifact(new DefaultArtifact("gid:aid:2"));
+        node.setScope("test");
+        node.setOptional(true);
+        assertEquals("gid:aid:jar:2", node.getDependency().getArtifact().toString());
+        assertSame(node.getDependency().getArtifact(), node.getArtifact());
+        assertEquals("test", node.getDependency().getScope());
+        assertTrue(node.getDependency().isOptional());
+
+        node.setManagedBits(DependencyNode.MANAGED_VERSION | DependencyNode.MANAGED_SCOPE);
+        assertEquals(DependencyNode.MANAGED_VERSION | DependencyNode.MANAGED_SCOPE, node.getManagedBits());
+
+        List<RemoteRepository> repositories =
+                Collections.singletonList(new RemoteRepository.Builder("id", "default", "file:///").build());
+        node.setRepositories(repositories);
+        assertSame(repositories, node.getRepositories());
+        node.setRequestContext("ctx");
+        assertEquals("ctx", node.getRequestContext());
+        node.setRequestContext(null);
+        assertEquals("", node.getRequestContext());
+    }
+
+    @Test
+    void testAccept() {
+        CompactDependencyNode node = newNode("gid:aid:1");
+        node.getChildren().add(newNode("gid:child:1"));
+        DefaultDependencyNode root = new DefaultDependencyNode(new DefaultArtifact("gid:root:1"));
+        root.getChildren().add(node);
+        List<String> visited = new ArrayList<>();
+        root.accept(new PreorderDependencyNodeConsumerVisitor(
+                n -> visited.add(n.getArtifact().getArtifactId())));
+        assertEquals(Arrays.asList("root", "aid", "child"), visited);
+    }
+}
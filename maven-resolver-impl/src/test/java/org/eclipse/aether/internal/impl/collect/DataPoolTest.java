@@ -18,17 +18,31 @@
  */
 package org.eclipse.aether.internal.impl.collect;
 
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
 
+import org.eclipse.aether.DefaultRepositoryCache;
+import org.eclipse.aether.DefaultRepositorySystemSession;
 import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.collection.DependencyCollectionContext;
+import org.eclipse.aether.graph.DefaultDependencyNode;
 import org.eclipse.aether.graph.Dependency;
 import org.eclipse.aether.internal.test.util.TestUtils;
 import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.repository.WorkspaceRepository;
 import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
 import org.eclipse.aether.resolution.ArtifactDescriptorResult;
 import org.eclipse.aether.resolution.VersionRangeRequest;
+import org.eclipse.aether.resolution.VersionRangeResult;
+import org.eclipse.aether.util.version.GenericVersionScheme;
 import org.junit.jupiter.api.Test;
 
+import static java.util.Collections.singletonList;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class DataPoolTest {
@@ -75,4 +89,206 @@ public class DataPoolTest {
         Object key2 = pool.toKey(request);
         assertEquals(key1, key2);
     }
+
+    @Test
+    void testAdaptivePoolDemotesColdEntriesUnderPressure() {
+        double[] occupancy = {0.5};
+        DataPool.AdaptiveInternPool<String, Object> pool = new DataPool.AdaptiveInternPool<>(0.75f, () -> occupancy[0]);
+        Object hot = new Object();
+        Object cold = new Object();
+        assertSame(hot, pool.intern("hot", hot));
+        assertSame(cold, pool.intern("cold", cold));
+        assertSame(hot, pool.intern("hot", new Object()));
+
+        // headroom: nothing is demoted
+        pool.adapt();
+        assertEquals(0L, pool.demotions.sum());
+
+        // pressure: entries not used since previous check are demoted
+        occupancy[0] = 0.9;
+        assertSame(hot, pool.get("hot"));
+        pool.adapt();
+        assertEquals(1L, pool.demotions.sum());
+        // demoted but still reachable, not promoted while under pressure
+        assertSame(cold, pool.get("cold"));
+        assertEquals(0L, pool.promotions.sum());
+
+        // headroom again: promoted on access
+        occupancy[0] = 0.5;
+        pool.adapt();
+        assertSame(cold, pool.get("cold"));
+        assertEquals(1L, pool.promotions.sum());
+
+        assertNull(pool.get("missing"));
+        assertEquals(4L, pool.hits.sum());
+        assertEquals(3L, pool.misses.sum());
+        assertEquals(2, pool.size());
+    }
+
+    @Test
+    void testAdaptivePoolDemotedSelfInternedEntryIsCollectable() throws InterruptedException {
+        double[] occupancy = {0.9};
+        DataPool.AdaptiveInternPool<DefaultArtifact, DefaultArtifact> pool =
+                new DataPool.AdaptiveInternPool<>(0.75f, () -> occupancy[0], WeakReference::new);
+        DefaultArtifact artifact = new DefaultArtifact("gid:aid:1");
+        assertSame(artifact, pool.intern(artifact, artifact));
+        WeakReference<DefaultArtifact> probe = new WeakReference<>(artifact);
+
+        // first check marks the generation, second one demotes the (cold) entry, key included
+        pool.adapt();
+        pool.adapt();
+        assertEquals(1L, pool.demotions.sum());
+
+        artifact = null;
+        for (int i = 0; i < 50 && probe.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10L);
+        }
+        assertNull(probe.get(), "self interned entry is still strongly reachable from pool");
+
+        pool.adapt();
+        assertEquals(0, pool.size());
+        assertNull(pool.get(new DefaultArtifact("gid:aid:1")));
+    }
+
+    @Test
+    void testAdaptivePoolStatistics() {
+        DefaultRepositorySystemSession session = TestUtils.newSession();
+        session.setCache(null);
+        session.setConfigProperty(DataPool.CONFIG_PROP_COLLECTOR_POOL_ARTIFACT, DataPool.ADAPTIVE);
+        DataPool pool = new DataPool(session);
+        DefaultArtifact artifact = new DefaultArtifact("gid:aid:1");
+        assertSame(artifact, pool.intern(artifact));
+        assertSame(artifact, pool.intern(new DefaultArtifact("gid:aid:1")));
+        assertEquals(Long.valueOf(1L), pool.getStatistics().get("DataPool.artifact.hits"));
+        assertEquals(Long.valueOf(1L), pool.getStatistics().get("DataPool.artifact.size"));
+        assertFalse(pool.getStatistics().containsKey("DataPool.descriptor.hits"));
+    }
+
+    @Test
+    void testDeriveMemoizesAndSharesDerivedInstances() {
+        DefaultRepositorySystemSession session = TestUtils.newSession();
+        DataPool pool = new DataPool(session);
+        List<Dependency> managed =
+                Collections.singletonList(new Dependency(new DefaultArtifact("gid:mgd:1"), "compile"));
+        DefaultDependencyCollectionContext context = new DefaultDependencyCollectionContext(session, null, null, null)
+                .set(new Dependency(new DefaultArtifact("gid:aid:1"), "compile"), managed);
+        AtomicInteger derivations = new AtomicInteger();
+        BiFunction<String, DependencyCollectionContext, String> derivation = (parent, ctx) -> {
+            derivations.incrementAndGet();
+            return parent + ":" + ctx.getArtifact().getArtifactId();
+        };
+
+        String child = pool.derive(String.class, "parent", context, derivation);
+        assertEquals("parent:aid", child);
+        assertSame(child, pool.derive(String.class, new String("parent"), context, derivation));
+        assertEquals(1, derivations.get());
+
+        // different managed dependencies instance: derived again, but equal result is shared
+        DefaultDependencyCollectionContext other = context.set(context.getDependency(), new ArrayList<>(managed));
+        assertSame(child, pool.derive(String.class, "parent", other, derivation));
+        assertEquals(2, derivations.get());
+
+        assertNull(pool.derive(String.class, null, context, derivation));
+    }
+
+    @Test
+    void testDeriveNotMemoizedIfDisabled() {
+        DefaultRepositorySystemSession session = TestUtils.newSession();
+        session.setConfigProperty(DataPool.CONFIG_PROP_COLLECTOR_POOL_MEMOIZE_DERIVATIONS, false);
+        DataPool pool = new DataPool(session);
+        DefaultDependencyCollectionContext context = new DefaultDependencyCollectionContext(session, null, null, null)
+                .set(new Dependency(new DefaultArtifact("gid:aid:1"), "compile"), Collections.emptyList());
+        AtomicInteger derivations = new AtomicInteger();
+        BiFunction<String, DependencyCollectionContext, String> derivation = (parent, ctx) -> {
+            derivations.incrementAndGet();
+            return parent;
+        };
+        pool.derive(String.class, "parent", context, derivation);
+        pool.derive(String.class, "parent", context, derivation);
+        assertEquals(2, derivations.get());
+    }
+
+    @Test
+    void testConstraintsCachedAcrossCollections() throws Exception {
+        DefaultRepositorySystemSession session = TestUtils.newSession();
+        session.setCache(new DefaultRepositoryCache());
+        RemoteRepository remote = new RemoteRepository.Builder("id", "default", "file:///").build();
+        GenericVersionScheme versionScheme = new GenericVersionScheme();
+
+        VersionRangeRequest request =
+                new VersionRangeRequest(new DefaultArtifact("gid:aid:[1,2]"), singletonList(remote), null);
+        VersionRangeResult result = new VersionRangeResult(request);
+        result.setVersionConstraint(versionScheme.parseVersionConstraint("[1,2]"));
+        result.addVersion(versionScheme.parseVersion("1"));
+        result.setRepository(versionScheme.parseVersion("1"), remote);
+
+        VersionRangeRequest workspaceRequest =
+                new VersionRangeRequest(new DefaultArtifact("gid:ws:[1,2]"), singletonList(remote), null);
+        VersionRangeResult workspaceResult = new VersionRangeResult(workspaceRequest);
+        workspaceResult.setVersionConstraint(versionScheme.parseVersionConstraint("[1,2]"));
+        workspaceResult.addVersion(versionScheme.parseVersion("2"));
+        workspaceResult.setRepository(versionScheme.parseVersion("2"), new WorkspaceRepository());
+
+        VersionRangeRequest failedRequest =
+                new VersionRangeRequest(new DefaultArtifact("gid:failed:[1,2]"), singletonList(remote), null);
+        VersionRangeResult failedResult = new VersionRangeResult(failedRequest);
+        failedResult.setVersionConstraint(versionScheme.parseVersionConstraint("[1,2]"));
+        failedResult.addException(new IOException("unreachable"));
+
+        DataPool pool = new DataPool(session);
+        pool.putConstraint(pool.toKey(request), result);
+        pool.putConstraint(pool.toKey(workspaceRequest), workspaceResult);
+        pool.putConstraint(pool.toKey(failedRequest), failedResult);
+        assertNotNull(pool.getConstraint(pool.toKey(workspaceRequest), workspaceRequest));
+        assertNotNull(pool.getConstraint(pool.toKey(failedRequest), failedRequest));
+
+        DataPool next = new DataPool(session);
+        VersionRangeResult cached = next.getConstraint(next.toKey(request), request);
+        assertNotNull(cached);
+        assertEquals(result.getVersions(), cached.getVersions());
+        assertEquals(remote, cached.getRepository(versionScheme.parseVersion("1")));
+        assertNull(next.getConstraint(next.toKey(workspaceRequest), workspaceRequest));
+        assertNull(next.getConstraint(next.toKey(failedRequest), failedRequest));
+
+        session.setConfigProperty(DataPool.CONFIG_PROP_COLLECTOR_POOL_CACHE_CONSTRAINTS, false);
+        DataPool disabled = new DataPool(session);
+        assertNull(disabled.getConstraint(disabled.toKey(request), request));
+    }
+
+    @Test
+    void testRetainSkipsSnapshotsAndRanges() throws Exception {
+        DefaultRepositorySystemSession session = TestUtils.newSession();
+        RemoteRepository remote = new RemoteRepository.Builder("id", "default", "file:///").build();
+        GenericVersionScheme versionScheme = new GenericVersionScheme();
+
+        DataPool pool = new DataPool(session, true, null);
+        ArtifactDescriptorRequest release = new ArtifactDescriptorRequest(new DefaultArtifact("gid:aid:1"), null, null);
+        ArtifactDescriptorRequest snapshot =
+                new ArtifactDescriptorRequest(new DefaultArtifact("gid:aid:2-SNAPSHOT"), null, null);
+        pool.putDescriptor(pool.toKey(release), new ArtifactDescriptorResult(release));
+        pool.putDescriptor(pool.toKey(snapshot), new ArtifactDescriptorResult(snapshot));
+
+        VersionRangeRequest fixed =
+                new VersionRangeRequest(new DefaultArtifact("gid:aid:1"), singletonList(remote), null);
+        VersionRangeResult fixedResult = new VersionRangeResult(fixed);
+        fixedResult.setVersionConstraint(versionScheme.parseVersionConstraint("1"));
+        fixedResult.addVersion(versionScheme.parseVersion("1"));
+        VersionRangeRequest range =
+                new VersionRangeRequest(new DefaultArtifact("gid:aid:[1,2)"), singletonList(remote), null);
+        VersionRangeResult rangeResult = new VersionRangeResult(range);
+        rangeResult.setVersionConstraint(versionScheme.parseVersionConstraint("[1,2)"));
+        rangeResult.addVersion(versionScheme.parseVersion("1"));
+        pool.putConstraint(pool.toKey(fixed), fixedResult);
+        pool.putConstraint(pool.toKey(range), rangeResult);
+
+        DefaultDependencyNode root = new DefaultDependencyNode((Dependency) null);
+        pool.retain(root);
+
+        DataPool next = new DataPool(session, false, root);
+        assertNotNull(next.getDescriptor(next.toKey(release), release));
+        assertNull(next.getDescriptor(next.toKey(snapshot), snapshot));
+        assertNotNull(next.getConstraint(next.toKey(fixed), fixed));
+        assertNull(next.getConstraint(next.toKey(range), range));
+    }
 }
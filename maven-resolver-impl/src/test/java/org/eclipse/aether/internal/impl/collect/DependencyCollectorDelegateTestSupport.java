@@ -19,7 +19,11 @@
 package org.eclipse.aether.internal.impl.collect;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.aether.DefaultRepositorySystemSession;
@@ -31,6 +35,7 @@ import org.eclipse.aether.collection.CollectRequest;
 import org.eclipse.aether.collection.CollectResult;
 import org.eclipse.aether.collection.DependencyCollectionContext;
 import org.eclipse.aether.collection.DependencyCollectionException;
+import org.eclipse.aether.collection.DependencyCollectionListener;
 import org.eclipse.aether.collection.DependencyManagement;
 import org.eclipse.aether.collection.DependencyManager;
 import org.eclipse.aether.graph.DefaultDependencyNode;
@@ -47,6 +52,7 @@ import org.eclipse.aether.resolution.ArtifactDescriptorException;
 import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
 import org.eclipse.aether.resolution.ArtifactDescriptorResult;
 import org.eclipse.aether.util.artifact.ArtifactIdUtils;
+import org.eclipse.aether.util.graph.lockfile.DependencyLockfile;
 import org.eclipse.aether.util.graph.manager.ClassicDependencyManager;
 import org.eclipse.aether.util.graph.manager.DefaultDependencyManager;
 import org.eclipse.aether.util.graph.manager.DependencyManagerUtils;
@@ -59,6 +65,7 @@ import org.eclipse.aether.util.graph.transformer.SimpleOptionalitySelector;
 import org.eclipse.aether.util.graph.version.HighestVersionFilter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
@@ -351,6 +358,159 @@ public abstract class DependencyCollectorDelegateTestSupport {
         assertEquals(root2, dep(result.getRoot(), 1));
     }
 
+    @Test
+    void testCollectionListener() throws DependencyCollectionException {
+        Dependency root1 = newDep("gid:aid:ext:ver", "compile");
+        Dependency root2 = newDep("gid:aid2:ext:ver", "compile");
+        List<DependencyNode> roots = new ArrayList<>();
+        List<DependencyNode[]> collected = new ArrayList<>();
+        CollectRequest request = new CollectRequest(Arrays.asList(root1, root2), null, singletonList(repository));
+        request.setCollectionListener(new DependencyCollectionListener() {
+            @Override
+            public void collectionStarted(DependencyNode root) {
+                roots.add(root);
+            }
+
+            @Override
+            public void nodeCollected(DependencyNode parent, DependencyNode node) {
+                collected.add(new DependencyNode[] {parent, node});
+            }
+        });
+        CollectResult result = collector.collectDependencies(session, request);
+
+        assertEquals(singletonList(result.getRoot()), roots);
+        assertEquals(3, collected.size());
+        for (DependencyNode[] edge : collected) {
+            assertTrue(edge[0].getChildren().contains(edge[1]), edge[0] + " -> " + edge[1]);
+        }
+        assertSame(result.getRoot(), collected.get(0)[0]);
+        assertSame(path(result.getRoot(), 0), collected.get(0)[1]);
+        assertSame(
+                path(result.getRoot(), 0, 0),
+                collected.stream()
+                        .filter(e -> e[0] == path(result.getRoot(), 0))
+                        .findFirst()
+                        .orElseThrow(AssertionError::new)[1]);
+    }
+
+    @Test
+    void testIncrementalCollection() throws DependencyCollectionException {
+        IniArtifactDescriptorReader reader = newReader("");
+        List<Artifact> reads = Collections.synchronizedList(new ArrayList<>());
+        collector = setupCollector(new ArtifactDescriptorReader() {
+            @Override
+            public ArtifactDescriptorResult readArtifactDescriptor(
+                    RepositorySystemSession session, ArtifactDescriptorRequest request)
+                    throws ArtifactDescriptorException {
+                reads.add(request.getArtifact());
+                return reader.readArtifactDescriptor(session, request);
+            }
+        });
+        session.setCache(null);
+        session.setConfigProperty(DependencyCollectorDelegate.CONFIG_PROP_INCREMENTAL, true);
+
+        CollectRequest request = new CollectRequest(
+                singletonList(newDep("gid:aid:ext:ver", "compile")), null, singletonList(repository));
+        CollectResult previous = collector.collectDependencies(session, request);
+        assertEquals(2, reads.size());
+
+        reads.clear();
+        CollectRequest changed = new CollectRequest(
+                Arrays.asList(newDep("gid:aid:ext:ver", "compile"), newDep("gid:aid2:ext:9", "compile")),
+                null,
+                singletonList(repository));
+        CollectResult result = collector.collectDependencies(session, changed, previous);
+        assertEquals(singletonList(new DefaultArtifact("gid:aid2:ext:9")), reads);
+
+        reads.clear();
+        CollectResult full = collector.collectDependencies(session, changed);
+        assertEquals(3, reads.size());
+        assertEqualSubtree(full.getRoot(), result.getRoot());
+
+        // results of incremental collection retain data as well
+        reads.clear();
+        collector.collectDependencies(session, changed, result);
+        assertTrue(reads.isEmpty(), String.valueOf(reads));
+    }
+
+    @Test
+    void testLockfile(@TempDir Path tempDir) throws Exception {
+        CollectRequest request = new CollectRequest(newDep("gid:aid:ext:ver", "compile"), singletonList(repository));
+        CollectResult result = collector.collectDependencies(session, request);
+        Path lockfile = tempDir.resolve("dependencies.lock");
+        try (OutputStream out = Files.newOutputStream(lockfile)) {
+            DependencyLockfile.of(request, result.getRoot()).write(out);
+        }
+
+        AtomicInteger reads = new AtomicInteger();
+        IniArtifactDescriptorReader reader = newReader("");
+        DefaultDependencyCollector lockingCollector = new DefaultDependencyCollector(Collections.singletonMap(
+                DefaultDependencyCollector.DEFAULT_COLLECTOR_IMPL, setupCollector((session, descriptorRequest) -> {
+                    reads.incrementAndGet();
+                    return reader.readArtifactDescriptor(session, descriptorRequest);
+                })));
+        session.setConfigProperty(DefaultDependencyCollector.CONFIG_PROP_LOCKFILE, lockfile.toString());
+
+        CollectResult locked = lockingCollector.collectDependencies(session, request);
+        assertEquals(0, reads.get());
+        assertEqualSubtree(result.getRoot(), locked.getRoot());
+        assertSame(repository, path(locked.getRoot(), 0).getRepositories().get(0));
+
+        CollectRequest changed = new CollectRequest(newDep("gid:aid2:ext:ver", "compile"), singletonList(repository));
+        CollectResult collected = lockingCollector.collectDependencies(session, changed);
+        assertTrue(reads.get() > 0);
+        assertEquals(changed.getRoot(), collected.getRoot().getDependency());
+    }
+
+    @Test
+    void testBatchCollection() throws DependencyCollectionException {
+        IniArtifactDescriptorReader reader = newReader("");
+        List<Artifact> reads = Collections.synchronizedList(new ArrayList<>());
+        collector = setupCollector(new ArtifactDescriptorReader() {
+            @Override
+            public ArtifactDescriptorResult readArtifactDescriptor(
+                    RepositorySystemSession session, ArtifactDescriptorRequest request)
+                    throws ArtifactDescriptorException {
+                reads.add(request.getArtifact());
+                return reader.readArtifactDescriptor(session, request);
+            }
+        });
+        session.setCache(null);
+        session.setConfigProperty(DependencyCollectorDelegate.CONFIG_PROP_BATCH_THREADS, 1);
+
+        CollectRequest first = new CollectRequest(
+                singletonList(newDep("gid:aid:ext:ver", "compile")), null, singletonList(repository));
+        CollectRequest second = new CollectRequest(
+                Arrays.asList(newDep("gid:aid:ext:ver", "compile"), newDep("gid:aid2:ext:9", "compile")),
+                null,
+                singletonList(repository));
+        CollectRequest failing = new CollectRequest(newDep("missing:description:ext:ver"), singletonList(repository));
+        List<CollectRequest> requests = Arrays.asList(first, second, failing);
+
+        List<CollectResult> results = collector.collectDependencies(session, requests);
+        assertEquals(3, results.size());
+        // descriptors read by first collection are not read again by the second one
+        assertEquals(5, reads.size(), String.valueOf(reads));
+        assertEquals(5, new HashSet<>(reads).size(), String.valueOf(reads));
+
+        assertSame(failing, results.get(2).getRequest());
+        assertEquals(1, results.get(2).getExceptions().size());
+        assertInstanceOf(
+                ArtifactDescriptorException.class,
+                results.get(2).getExceptions().get(0));
+
+        session.setConfigProperty(DependencyCollectorDelegate.CONFIG_PROP_BATCH_THREADS, 3);
+        List<CollectResult> concurrent = collector.collectDependencies(session, requests);
+        for (int i = 0; i < 2; i++) {
+            CollectResult single = collector.collectDependencies(session, requests.get(i));
+            assertSame(requests.get(i), results.get(i).getRequest());
+            assertTrue(results.get(i).getExceptions().isEmpty());
+            assertEqualSubtree(single.getRoot(), results.get(i).getRoot());
+            assertEqualSubtree(single.getRoot(), concurrent.get(i).getRoot());
+        }
+        assertEquals(1, concurrent.get(2).getExceptions().size());
+    }
+
     @Test
     void testArtifactDescriptorResolutionNotRestrictedToRepoHostingSelectedVersion() throws Exception {
         RemoteRepository repo2 = new RemoteRepository.Builder("test", "default", "file:///").build();
@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.eclipse.aether.internal.impl.collect;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.Exclusion;
+import org.eclipse.aether.internal.test.util.TestLocalRepositoryManager;
+import org.eclipse.aether.internal.test.util.TestUtils;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
+import org.eclipse.aether.resolution.ArtifactDescriptorResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PersistentDescriptorCacheTest {
+    private static final List<RemoteRepository> REPOSITORIES = Collections.singletonList(
+            new RemoteRepository.Builder("central", "default", "https://repo.maven.apache.org/maven2/").build());
+
+    private TestLocalRepositoryManager localRepositoryManager;
+
+    private Path pom;
+
+    @BeforeEach
+    void setup() throws IOException {
+        localRepositoryManager = new TestLocalRepositoryManager();
+        pom = localRepositoryManager
+                .getRepository()
+                .getBasePath()
+                .resolve(localRepositoryManager.getPathForLocalArtifact(new DefaultArtifact("gid:aid:pom:1.0")));
+        Files.createDirectories(pom.getParent());
+        Files.write(pom, "<project/>".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private DefaultRepositorySystemSession newSession() {
+        DefaultRepositorySystemSession session = TestUtils.newSession();
+        session.setLocalRepositoryManager(localRepositoryManager);
+        session.setConfigProperty(PersistentDescriptorCache.CONFIG_PROP_ENABLED, true);
+        return session;
+    }
+
+    private DefaultRepositorySystemSession newSession(int profile) {
+        DefaultRepositorySystemSession session = newSession();
+        session.setConfigProperty(PersistentDescriptorCache.CONFIG_PROP_PROPERTIES, "profile");
+        session.setUserProperty("profile", Integer.toString(profile));
+        return session;
+    }
+
+    private ArtifactDescriptorRequest newRequest() {
+        return new ArtifactDescriptorRequest(new DefaultArtifact("gid:aid:1.0"), REPOSITORIES, "project");
+    }
+
+    private ArtifactDescriptorResult newResult(ArtifactDescriptorRequest request) {
+        ArtifactDescriptorResult result = new ArtifactDescriptorResult(request);
+        result.setArtifact(request.getArtifact());
+        result.addDependency(new Dependency(
+                new DefaultArtifact("gid:dep:3"),
+                "compile",
+                null,
+                Collections.singletonList(new Exclusion("gid", "excluded", "*", "*"))));
+        result.addDependency(new Dependency(new DefaultArtifact("gid:opt:3"), "runtime", true));
+        result.addManagedDependency(new Dependency(new DefaultArtifact("gid:mdep:3"), "test"));
+        result.addRepository(new RemoteRepository.Builder("test", "default", "http://localhost").build());
+        result.addAlias(new DefaultArtifact("gid:alias:4"));
+        return result;
+    }
+
+    @Test
+    void disabledByDefault() {
+        assertNull(PersistentDescriptorCache.get(TestUtils.newSession()));
+    }
+
+    @Test
+    void roundTripAcrossSessions() {
+        ArtifactDescriptorRequest request = newRequest();
+        ArtifactDescriptorResult result = newResult(request);
+
+        DefaultRepositorySystemSession session = newSession();
+        PersistentDescriptorCache cache = PersistentDescriptorCache.get(session);
+        assertNotNull(cache);
+        assertNull(cache.get(session, request));
+        cache.put(session, result);
+        assertNotNull(cache.get(session, request));
+        cache.close();
+
+        DefaultRepositorySystemSession other = newSession();
+        PersistentDescriptorCache reopened = PersistentDescriptorCache.get(other);
+        assertNotSame(cache, reopened);
+        ArtifactDescriptorResult cached = reopened.get(other, request);
+        assertNotNull(cached);
+        assertSame(request, cached.getRequest());
+        assertEquals(result.getArtifact(), cached.getArtifact());
+        assertEquals(result.getDependencies(), cached.getDependencies());
+        assertEquals(result.getManagedDependencies(), cached.getManagedDependencies());
+        assertEquals(result.getRepositories(), cached.getRepositories());
+        assertEquals(result.getAliases(), cached.getAliases());
+
+        // different repositories: different key
+        ArtifactDescriptorRequest otherRequest =
+                new ArtifactDescriptorRequest(request.getArtifact(), Collections.emptyList(), "project");
+        assertNull(reopened.get(other, otherRequest));
+    }
+
+    @Test
+    void invalidatedByPomChange() throws IOException {
+        ArtifactDescriptorRequest request = newRequest();
+        DefaultRepositorySystemSession session = newSession();
+        PersistentDescriptorCache cache = PersistentDescriptorCache.get(session);
+        cache.put(session, newResult(request));
+        cache.close();
+
+        Files.setLastModifiedTime(
+                pom, FileTime.fromMillis(Files.getLastModifiedTime(pom).toMillis() + 10_000L));
+
+        DefaultRepositorySystemSession other = newSession();
+        assertNull(PersistentDescriptorCache.get(other).get(other, request));
+    }
+
+    @Test
+    void notCachedWithoutLocalPom() throws IOException {
+        Files.delete(pom);
+        ArtifactDescriptorRequest request = newRequest();
+        DefaultRepositorySystemSession session = newSession();
+        PersistentDescriptorCache cache = PersistentDescriptorCache.get(session);
+        cache.put(session, newResult(request));
+        assertNull(cache.get(session, request));
+    }
+
+    @Test
+    void notSharedAcrossDifferentProperties() {
+        ArtifactDescriptorRequest request = newRequest();
+        DefaultRepositorySystemSession session = newSession();
+        session.setConfigProperty(PersistentDescriptorCache.CONFIG_PROP_PROPERTIES, "activate");
+        session.setUserProperty("activate", "profile");
+        session.setSystemProperty("env.BUILD_NUMBER", "1");
+        PersistentDescriptorCache cache = PersistentDescriptorCache.get(session);
+        cache.put(session, newResult(request));
+        cache.close();
+
+        DefaultRepositorySystemSession other = newSession();
+        other.setConfigProperty(PersistentDescriptorCache.CONFIG_PROP_PROPERTIES, "activate");
+        assertNull(PersistentDescriptorCache.get(other).get(other, request));
+
+        // properties not affecting descriptors do not matter
+        DefaultRepositorySystemSession same = newSession();
+        same.setConfigProperty(PersistentDescriptorCache.CONFIG_PROP_PROPERTIES, "activate");
+        same.setSystemProperty("activate", "profile");
+        same.setSystemProperty("env.BUILD_NUMBER", "2");
+        assertNotNull(PersistentDescriptorCache.get(same).get(same, request));
+    }
+
+    @Test
+    void compactedWhenExceedingMaxSize() throws IOException {
+        ArtifactDescriptorRequest request = newRequest();
+        for (int i = 0; i < 10; i++) {
+            DefaultRepositorySystemSession session = newSession(i);
+            PersistentDescriptorCache cache = PersistentDescriptorCache.get(session);
+            cache.put(session, newResult(request));
+            cache.close();
+        }
+        Path store = localRepositoryManager
+                .getRepository()
+                .getBasePath()
+                .resolve(PersistentDescriptorCache.DEFAULT_BASEDIR)
+                .resolve(PersistentDescriptorCache.STORE_FILE_NAME);
+        long size = Files.size(store);
+        DefaultRepositorySystemSession session = newSession(9);
+        session.setConfigProperty(PersistentDescriptorCache.CONFIG_PROP_MAX_SIZE, size - 1);
+
+        PersistentDescriptorCache cache = PersistentDescriptorCache.get(session);
+        assertTrue(Files.size(store) <= size / 2, "store was not compacted");
+        assertNotNull(cache.get(session, request));
+        cache.close();
+        // most recently written entries of other fingerprints are kept, oldest ones are dropped
+        DefaultRepositorySystemSession recent = newSession(8);
+        assertNotNull(PersistentDescriptorCache.get(recent).get(recent, request));
+        DefaultRepositorySystemSession oldest = newSession(0);
+        assertNull(PersistentDescriptorCache.get(oldest).get(oldest, request));
+    }
+}
@@ -19,24 +19,48 @@
 package org.eclipse.aether.internal.impl.collect.bf;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.eclipse.aether.DefaultRepositoryCache;
+import org.eclipse.aether.RepositoryException;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.artifact.DefaultArtifact;
 import org.eclipse.aether.collection.CollectRequest;
 import org.eclipse.aether.collection.CollectResult;
 import org.eclipse.aether.collection.DependencyCollectionException;
 import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
 import org.eclipse.aether.graph.Exclusion;
 import org.eclipse.aether.impl.ArtifactDescriptorReader;
+import org.eclipse.aether.internal.impl.IniArtifactDescriptorReader;
 import org.eclipse.aether.internal.impl.StubRemoteRepositoryManager;
 import org.eclipse.aether.internal.impl.StubVersionRangeResolver;
 import org.eclipse.aether.internal.impl.collect.DependencyCollectorDelegate;
 import org.eclipse.aether.internal.impl.collect.DependencyCollectorDelegateTestSupport;
 import org.eclipse.aether.internal.test.util.DependencyGraphParser;
+import org.eclipse.aether.internal.test.util.TestUtils;
+import org.eclipse.aether.resolution.ArtifactDescriptorException;
+import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
+import org.eclipse.aether.resolution.ArtifactDescriptorResult;
+import org.eclipse.aether.resolution.VersionRangeRequest;
+import org.eclipse.aether.resolution.VersionRangeResolutionException;
+import org.eclipse.aether.resolution.VersionRangeResult;
 import org.eclipse.aether.util.graph.manager.TransitiveDependencyManager;
 import org.eclipse.aether.util.graph.selector.ExclusionDependencySelector;
+import org.eclipse.aether.util.graph.transformer.ChainedDependencyGraphTransformer;
+import org.eclipse.aether.util.graph.transformer.ConfigurableVersionSelector;
+import org.eclipse.aether.util.graph.transformer.ConflictResolver;
+import org.eclipse.aether.util.graph.transformer.JavaDependencyContextRefiner;
+import org.eclipse.aether.util.graph.transformer.JavaScopeDeriver;
+import org.eclipse.aether.util.graph.transformer.JavaScopeSelector;
+import org.eclipse.aether.util.graph.transformer.SimpleOptionalitySelector;
+import org.eclipse.aether.util.graph.visitor.PreorderDependencyNodeConsumerVisitor;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * UT for {@link BfDependencyCollector}.
@@ -98,4 +122,256 @@ public class BfWithSkipperDependencyCollectorTest extends DependencyCollectorDel
         // skipped
         assertEquals(0, path(result.getRoot(), 1).getChildren().size());
     }
+
+    @Test
+    void testEagerPruning() throws RepositoryException {
+        IniArtifactDescriptorReader reader = newReader("pruning/");
+        List<Artifact> reads = Collections.synchronizedList(new ArrayList<>());
+        collector = setupCollector((session, request) -> {
+            reads.add(request.getArtifact());
+            return reader.readArtifactDescriptor(session, request);
+        });
+        CollectRequest request = new CollectRequest(
+                Arrays.asList(newDep("gid:a:ext:1", "compile"), newDep("gid:c:ext:1", "compile")),
+                null,
+                Collections.singletonList(repository));
+
+        CollectResult full = collector.collectDependencies(session, request);
+        assertEquals(2, path(full.getRoot(), 0).getChildren().size());
+        assertEquals(1, path(full.getRoot(), 0, 0).getChildren().size());
+
+        // pruning relies on Maven conflict resolution, not known without graph transformer
+        session.setConfigProperty(BfDependencyCollector.CONFIG_PROP_EAGER_PRUNING, true);
+        reads.clear();
+        collector.collectDependencies(session, request);
+        assertTrue(reads.contains(new DefaultArtifact("gid:c:ext:2")));
+
+        // nor with custom conflict resolution
+        session.setDependencyGraphTransformer(new ChainedDependencyGraphTransformer(
+                new ConflictResolver(
+                        new ConfigurableVersionSelector(),
+                        new JavaScopeSelector(),
+                        new SimpleOptionalitySelector(),
+                        new JavaScopeDeriver()),
+                (node, context) -> node));
+        reads.clear();
+        collector.collectDependencies(session, request);
+        assertTrue(reads.contains(new DefaultArtifact("gid:c:ext:2")));
+
+        session.setDependencyGraphTransformer(new ChainedDependencyGraphTransformer(
+                new ConflictResolver(
+                        new ConfigurableVersionSelector(),
+                        new JavaScopeSelector(),
+                        new SimpleOptionalitySelector(),
+                        new JavaScopeDeriver()),
+                new JavaDependencyContextRefiner()));
+        reads.clear();
+        CollectResult pruned = collector.collectDependencies(session, request);
+        assertEquals(0, pruned.getExceptions().size());
+        // transitive gid:c is pruned both as duplicate and as version conflict loser, never reading c:2
+        assertEquals(1, path(pruned.getRoot(), 0).getChildren().size());
+        assertEquals(0, path(pruned.getRoot(), 0, 0).getChildren().size());
+        assertEquals(3, reads.size());
+        assertFalse(reads.contains(new DefaultArtifact("gid:c:ext:2")));
+
+        // resolved graphs are same
+        assertEquals(resolve(full.getRoot()), resolve(pruned.getRoot()));
+
+        // verbose conflict resolution needs the losers
+        session.setConfigProperty(ConflictResolver.CONFIG_PROP_VERBOSE, true);
+        CollectResult verbose = collector.collectDependencies(session, request);
+        assertEquals(2, path(verbose.getRoot(), 0).getChildren().size());
+    }
+
+    @Test
+    void testPrefetchArtifactDescriptors() throws DependencyCollectionException {
+        IniArtifactDescriptorReader reader = newReader("pruning/");
+        List<List<Artifact>> batches = Collections.synchronizedList(new ArrayList<>());
+        collector = setupCollector(new ArtifactDescriptorReader() {
+            @Override
+            public ArtifactDescriptorResult readArtifactDescriptor(
+                    RepositorySystemSession session, ArtifactDescriptorRequest request)
+                    throws ArtifactDescriptorException {
+                return reader.readArtifactDescriptor(session, request);
+            }
+
+            @Override
+            public void prefetchArtifactDescriptors(
+                    RepositorySystemSession session, Collection<? extends ArtifactDescriptorRequest> requests) {
+                List<Artifact> batch = new ArrayList<>();
+                requests.forEach(r -> batch.add(r.getArtifact()));
+                batches.add(batch);
+            }
+        });
+        // direct executor, to have deterministic order, and no descriptors cached across collections
+        session.setConfigProperty(BfDependencyCollector.CONFIG_PROP_THREADS, 1);
+        session.setCache(null);
+        CollectRequest request = new CollectRequest(
+                Arrays.asList(newDep("gid:a:ext:1", "compile"), newDep("gid:c:ext:1", "compile")),
+                null,
+                Collections.singletonList(repository));
+
+        CollectResult result = collector.collectDependencies(session, request);
+        assertEquals(0, result.getExceptions().size());
+        // children of gid:a are gid:b and already read gid:c, that leaves no batch
+        assertEquals(
+                Collections.singletonList(
+                        Arrays.asList(new DefaultArtifact("gid:a:ext:1"), new DefaultArtifact("gid:c:ext:1"))),
+                batches);
+
+        batches.clear();
+        session.setConfigProperty(BfDependencyCollector.CONFIG_PROP_PREFETCH_DESCRIPTORS, false);
+        collector.collectDependencies(session, request);
+        assertEquals(Collections.emptyList(), batches);
+    }
+
+    @Test
+    void testPrefetchedDescriptorsAwaited() throws DependencyCollectionException {
+        IniArtifactDescriptorReader reader = newReader("pruning/");
+        AtomicBoolean prefetched = new AtomicBoolean();
+        List<Artifact> early = Collections.synchronizedList(new ArrayList<>());
+        collector = setupCollector(new ArtifactDescriptorReader() {
+            @Override
+            public ArtifactDescriptorResult readArtifactDescriptor(
+                    RepositorySystemSession session, ArtifactDescriptorRequest request)
+                    throws ArtifactDescriptorException {
+                if (!prefetched.get()) {
+                    early.add(request.getArtifact());
+                }
+                return reader.readArtifactDescriptor(session, request);
+            }
+
+            @Override
+            public void prefetchArtifactDescriptors(
+                    RepositorySystemSession session, Collection<? extends ArtifactDescriptorRequest> requests) {
+                try {
+                    // slow batch: per dependency resolutions are dispatched meanwhile
+                    Thread.sleep(200);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                prefetched.set(true);
+            }
+        });
+        session.setConfigProperty(BfDependencyCollector.CONFIG_PROP_THREADS, 4);
+        session.setCache(null);
+        CollectRequest request = new CollectRequest(
+                Arrays.asList(newDep("gid:a:ext:1", "compile"), newDep("gid:c:ext:1", "compile")),
+                null,
+                Collections.singletonList(repository));
+
+        CollectResult result = collector.collectDependencies(session, request);
+        assertEquals(0, result.getExceptions().size());
+        // per dependency reads awaited the batch
+        assertTrue(prefetched.get());
+        assertEquals(Collections.emptyList(), early);
+    }
+
+    @Test
+    void testPrefetchVersionRanges() throws DependencyCollectionException {
+        List<List<Artifact>> batches = Collections.synchronizedList(new ArrayList<>());
+        List<Artifact> resolved = Collections.synchronizedList(new ArrayList<>());
+        collector = new BfDependencyCollector(
+                new StubRemoteRepositoryManager(),
+                newReader(""),
+                new StubVersionRangeResolver() {
+                    @Override
+                    public VersionRangeResult resolveVersionRange(
+                            RepositorySystemSession session, VersionRangeRequest request)
+                            throws VersionRangeResolutionException {
+                        resolved.add(request.getArtifact());
+                        return super.resolveVersionRange(session, request);
+                    }
+
+                    @Override
+                    public List<VersionRangeResult> resolveVersionRanges(
+                            RepositorySystemSession session, Collection<? extends VersionRangeRequest> requests) {
+                        List<Artifact> batch = new ArrayList<>();
+                        requests.forEach(r -> batch.add(r.getArtifact()));
+                        batches.add(batch);
+                        return super.resolveVersionRanges(session, requests);
+                    }
+                },
+                Collections.emptyMap());
+        // direct executor, to have deterministic order
+        session.setConfigProperty(BfDependencyCollector.CONFIG_PROP_THREADS, 1);
+        session.setCache(new DefaultRepositoryCache());
+        Dependency bid = newDep("transitiveDepsUseRangesDirtyTree:bid:ext:[1,2)", "compile");
+        Dependency cid = newDep("transitiveDepsUseRangesDirtyTree:cid:ext:[1,3]", "compile");
+        CollectRequest request =
+                new CollectRequest(Arrays.asList(bid, cid), null, Collections.singletonList(repository));
+
+        CollectResult result = collector.collectDependencies(session, request);
+        assertEquals(0, result.getExceptions().size());
+        assertEquals(Collections.singletonList(Arrays.asList(bid.getArtifact(), cid.getArtifact())), batches);
+        // results of batch were used
+        assertEquals(1, Collections.frequency(resolved, bid.getArtifact()));
+
+        // and are cached across collections
+        batches.clear();
+        resolved.clear();
+        collector.collectDependencies(session, request);
+        assertEquals(Collections.emptyList(), batches);
+        assertFalse(resolved.contains(bid.getArtifact()));
+    }
+
+    @Test
+    void testPrefetchedVersionRangesAwaited() throws DependencyCollectionException {
+        List<Artifact> resolved = Collections.synchronizedList(new ArrayList<>());
+        ThreadLocal<Boolean> inBatch = ThreadLocal.withInitial(() -> false);
+        collector = new BfDependencyCollector(
+                new StubRemoteRepositoryManager(),
+                newReader(""),
+                new StubVersionRangeResolver() {
+                    @Override
+                    public VersionRangeResult resolveVersionRange(
+                            RepositorySystemSession session, VersionRangeRequest request)
+                            throws VersionRangeResolutionException {
+                        if (!inBatch.get()) {
+                            resolved.add(request.getArtifact());
+                        }
+                        return super.resolveVersionRange(session, request);
+                    }
+
+                    @Override
+                    public List<VersionRangeResult> resolveVersionRanges(
+                            RepositorySystemSession session, Collection<? extends VersionRangeRequest> requests) {
+                        inBatch.set(true);
+                        try {
+                            // slow batch: per dependency resolutions are dispatched meanwhile
+                            Thread.sleep(200);
+                            return super.resolveVersionRanges(session, requests);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new IllegalStateException(e);
+                        } finally {
+                            inBatch.set(false);
+                        }
+                    }
+                },
+                Collections.emptyMap());
+        session.setConfigProperty(BfDependencyCollector.CONFIG_PROP_THREADS, 4);
+        session.setCache(null);
+        Dependency bid = newDep("transitiveDepsUseRangesDirtyTree:bid:ext:[1,2)", "compile");
+        Dependency cid = newDep("transitiveDepsUseRangesDirtyTree:cid:ext:[1,3]", "compile");
+        CollectRequest request =
+                new CollectRequest(Arrays.asList(bid, cid), null, Collections.singletonList(repository));
+
+        CollectResult result = collector.collectDependencies(session, request);
+        assertEquals(0, result.getExceptions().size());
+        // per dependency resolutions awaited the batch and used its results
+        assertEquals(Collections.emptyList(), resolved);
+    }
+
+    private List<String> resolve(DependencyNode root) throws RepositoryException {
+        new ConflictResolver(
+                        new ConfigurableVersionSelector(),
+                        new JavaScopeSelector(),
+                        new SimpleOptionalitySelector(),
+                        new JavaScopeDeriver())
+                .transformGraph(root, TestUtils.newTransformationContext(session));
+        List<String> nodes = new ArrayList<>();
+        root.accept(new PreorderDependencyNodeConsumerVisitor(node -> nodes.add(node.getDependency() + "")));
+        return nodes;
+    }
 }
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.eclipse.aether.internal.impl.collect.bf;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.internal.impl.collect.bf.BfDependencyCollector.DescriptorResolutionResult;
+import org.eclipse.aether.internal.impl.collect.bf.BfDependencyCollector.ParallelDescriptorResolver;
+import org.eclipse.aether.resolution.VersionRangeRequest;
+import org.eclipse.aether.resolution.VersionRangeResult;
+import org.eclipse.aether.util.concurrency.SmartExecutorUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelDescriptorResolverTest {
+    private final List<String> started = new ArrayList<>();
+
+    private Callable<DescriptorResolutionResult> callable(Artifact artifact) {
+        return () -> {
+            synchronized (started) {
+                started.add(artifact.getArtifactId());
+            }
+            return new DescriptorResolutionResult(artifact, new VersionRangeResult(new VersionRangeRequest()));
+        };
+    }
+
+    @Test
+    void windowAndDepthOrder() throws Exception {
+        Artifact a = new DefaultArtifact("g:a:1");
+        Artifact b = new DefaultArtifact("g:b:1");
+        Artifact c = new DefaultArtifact("g:c:1");
+        Artifact d = new DefaultArtifact("g:d:1");
+        // direct executor: dispatched resolutions run right away
+        try (ParallelDescriptorResolver resolver =
+                new ParallelDescriptorResolver(SmartExecutorUtils.newSmartExecutor(1, 1, "test-"), 1)) {
+            resolver.resolveDescriptors(a, 1, callable(a));
+            resolver.resolveDescriptors(b, 3, callable(b));
+            resolver.resolveDescriptors(c, 2, callable(c));
+            resolver.resolveDescriptors(d, 3, callable(d));
+            assertEquals(Arrays.asList("a"), started);
+
+            // consuming a frees the slot for shallowest pending: c
+            assertSame(a, resolver.find(a).get().artifact);
+            assertEquals(Arrays.asList("a", "c"), started);
+
+            // d is not dispatched yet: executed by caller, window stays full
+            assertSame(d, resolver.find(d).get().artifact);
+            assertEquals(Arrays.asList("a", "c", "d"), started);
+
+            assertSame(c, resolver.find(c).get().artifact);
+            assertEquals(Arrays.asList("a", "c", "d", "b"), started);
+            assertSame(b, resolver.find(b).get().artifact);
+            assertEquals(0, resolver.size());
+        }
+    }
+
+    @Test
+    void evictedWhenConsumedByAllRequesters() throws Exception {
+        Artifact a = new DefaultArtifact("g:a:1");
+        try (ParallelDescriptorResolver resolver =
+                new ParallelDescriptorResolver(SmartExecutorUtils.newSmartExecutor(null, 2, "test-"), 0)) {
+            resolver.resolveDescriptors(a, 1, callable(a));
+            resolver.resolveDescriptors(a, 2, callable(a));
+            assertNotNull(resolver.find(a).get());
+            assertEquals(1, resolver.size());
+            assertNotNull(resolver.find(a).get());
+            assertEquals(0, resolver.size());
+            assertNull(resolver.find(a));
+            assertEquals(Arrays.asList("a"), started);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.eclipse.aether.internal.impl.collect.df;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.aether.RequestTrace;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.collection.CollectResult;
+import org.eclipse.aether.collection.CollectStepData;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.impl.ArtifactDescriptorReader;
+import org.eclipse.aether.internal.impl.IniArtifactDescriptorReader;
+import org.eclipse.aether.internal.impl.StubRemoteRepositoryManager;
+import org.eclipse.aether.internal.impl.StubVersionRangeResolver;
+import org.eclipse.aether.internal.impl.collect.DependencyCollectorDelegate;
+import org.eclipse.aether.internal.impl.collect.DependencyCollectorDelegateTestSupport;
+import org.eclipse.aether.util.graph.visitor.DependencyGraphDumper;
+import org.eclipse.aether.util.graph.visitor.TreeDependencyVisitor;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * UT for {@link DfDependencyCollector} with parallel exploration.
+ */
+public class DfParallelDependencyCollectorTest extends DependencyCollectorDelegateTestSupport {
+    @Override
+    protected DependencyCollectorDelegate setupCollector(ArtifactDescriptorReader artifactDescriptorReader) {
+        session.setConfigProperty(DfDependencyCollector.CONFIG_PROP_THREADS, 4);
+
+        return new DfDependencyCollector(
+                new StubRemoteRepositoryManager(),
+                artifactDescriptorReader,
+                new StubVersionRangeResolver(),
+                Collections.emptyMap());
+    }
+
+    @Override
+    protected String getTransitiveDepsUseRangesDirtyTreeResource() {
+        return "transitiveDepsUseRangesDirtyTreeResult_DF.txt";
+    }
+
+    @Override
+    protected String getTransitiveDepsUseRangesAndRelocationDirtyTreeResource() {
+        return "transitiveDepsUseRangesAndRelocationDirtyTreeResult_DF.txt";
+    }
+
+    private static List<String> dump(DependencyNode root) {
+        List<String> lines = new ArrayList<>();
+        root.accept(new TreeDependencyVisitor(new DependencyGraphDumper(lines::add)));
+        return lines;
+    }
+
+    @Test
+    void testSameResultAsSequential() throws Exception {
+        Set<Thread> readers = ConcurrentHashMap.newKeySet();
+        IniArtifactDescriptorReader reader = newReader("cycle-big/");
+        collector = setupCollector((session, request) -> {
+            readers.add(Thread.currentThread());
+            return reader.readArtifactDescriptor(session, request);
+        });
+        CollectRequest request =
+                new CollectRequest(newDep("1:2:pom:5.50-SNAPSHOT"), Collections.singletonList(repository));
+        CollectResult parallel = collector.collectDependencies(session, request);
+
+        // descriptors (except the one of root) were read by exploration
+        assertTrue(readers.stream().anyMatch(t -> t != Thread.currentThread()));
+
+        session.setConfigProperty(DfDependencyCollector.CONFIG_PROP_THREADS, 1);
+        CollectResult sequential = setupCollector(reader).collectDependencies(session, request);
+        assertEquals(dump(sequential.getRoot()), dump(parallel.getRoot()));
+        assertEquals(sequential.getCycles().toString(), parallel.getCycles().toString());
+        assertEquals(sequential.getExceptions().size(), parallel.getExceptions().size());
+    }
+
+    @Test
+    void testExplorationKeepsContextClassLoaderAndTrace() throws Exception {
+        List<ClassLoader> loaders = Collections.synchronizedList(new ArrayList<>());
+        List<RequestTrace> traces = Collections.synchronizedList(new ArrayList<>());
+        Thread caller = Thread.currentThread();
+        IniArtifactDescriptorReader reader = newReader("cycle-big/");
+        collector = setupCollector((session, request) -> {
+            if (Thread.currentThread() != caller) {
+                loaders.add(Thread.currentThread().getContextClassLoader());
+                traces.add(request.getTrace());
+            }
+            return reader.readArtifactDescriptor(session, request);
+        });
+        ClassLoader old = Thread.currentThread().getContextClassLoader();
+        ClassLoader tccl = new URLClassLoader(new URL[0], old);
+        Thread.currentThread().setContextClassLoader(tccl);
+        try {
+            collector.collectDependencies(
+                    session,
+                    new CollectRequest(newDep("1:2:pom:5.50-SNAPSHOT"), Collections.singletonList(repository)));
+        } finally {
+            Thread.currentThread().setContextClassLoader(old);
+        }
+
+        assertFalse(loaders.isEmpty());
+        assertTrue(loaders.stream().allMatch(l -> l == tccl));
+        // every step of path has its own trace
+        for (RequestTrace trace : traces) {
+            int steps = 0;
+            for (RequestTrace t = trace; t != null; t = t.getParent()) {
+                if (t.getData() instanceof CollectStepData) {
+                    steps++;
+                }
+            }
+            assertEquals(((CollectStepData) trace.getData()).getPath().size(), steps);
+        }
+    }
+}
@@ -89,6 +89,7 @@ import org.eclipse.aether.internal.impl.SimpleLocalRepositoryManagerFactory;
 import org.eclipse.aether.internal.impl.TrackingFileManager;
 import org.eclipse.aether.internal.impl.TrackingFileManagerSupplier;
 import org.eclipse.aether.internal.impl.checksum.DefaultChecksumAlgorithmFactorySelector;
+import org.eclipse.aether.internal.impl.checksum.LockfileTrustedChecksumsSource;
 import org.eclipse.aether.internal.impl.checksum.Md5ChecksumAlgorithmFactory;
 import org.eclipse.aether.internal.impl.checksum.Sha1ChecksumAlgorithmFactory;
 import org.eclipse.aether.internal.impl.checksum.Sha256ChecksumAlgorithmFactory;
@@ -655,6 +656,7 @@ public class RepositorySystemSupplier implements Supplier<RepositorySystem> {
                         getLocalPathComposer(),
                         getRepositorySystemLifecycle(),
                         getPathProcessor()));
+        result.put(LockfileTrustedChecksumsSource.NAME, new LockfileTrustedChecksumsSource());
         return result;
     }
 
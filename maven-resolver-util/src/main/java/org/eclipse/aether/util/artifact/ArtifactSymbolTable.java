@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.eclipse.aether.util.artifact;
+
+import java.util.Arrays;
+
+import org.eclipse.aether.artifact.Artifact;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A symbol table that maps artifact coordinates to dense {@code int} symbols, starting at {@code 0}. Two artifacts
+ * get the same symbol if they have equal {@code groupId}, {@code artifactId}, {@code extension} and
+ * {@code classifier} (and {@code version}, if table is created with {@link #versioned()}). This is the same
+ * equivalence as comparing {@link ArtifactIdUtils#toVersionlessId(Artifact)} or {@link ArtifactIdUtils#toId(Artifact)}
+ * strings, but without building and hashing those strings, and the dense symbols allow callers to use plain arrays
+ * instead of hash maps.
+ * <p>
+ * Instances are meant to be short-lived (ie. one per collection or graph transformation) and are <em>not</em>
+ * thread-safe.
+ *
+ * @since 2.0.20
+ */
+public final class ArtifactSymbolTable {
+    private static final int EMPTY = -1;
+
+    private final boolean versioned;
+
+    private int[] slots;
+
+    private int[] hashes;
+
+    private Artifact[] artifacts;
+
+    private int size;
+
+    private ArtifactSymbolTable(boolean versioned) {
+        this.versioned = versioned;
+        this.slots = new int[256];
+        Arrays.fill(slots, EMPTY);
+        this.hashes = new int[128];
+        this.artifacts = new Artifact[128];
+    }
+
+    /**
+     * Creates a table keyed by {@code groupId:artifactId:extension:classifier}.
+     */
+    public static ArtifactSymbolTable versionless() {
+        return new ArtifactSymbolTable(false);
+    }
+
+    /**
+     * Creates a table keyed by {@code groupId:artifactId:extension:classifier:version}.
+     */
+    public static ArtifactSymbolTable versioned() {
+        return new ArtifactSymbolTable(true);
+    }
+
+    /**
+     * Returns the symbol of given artifact, assigning a new one if artifact coordinates were not seen yet.
+     *
+     * @param artifact the artifact, must not be {@code null}
+     * @return the symbol, never negative
+     */
+    public int symbol(Artifact artifact) {
+        requireNonNull(artifact, "artifact cannot be null");
+        int hash = hash(artifact);
+        int mask = slots.length - 1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            int symbol = slots[i];
+            if (symbol == EMPTY) {
+                symbol = add(artifact, hash);
+                slots[i] = symbol;
+                if (size * 2 > slots.length) {
+                    rehash();
+                }
+                return symbol;
+            } else if (hashes[symbol] == hash && matches(artifacts[symbol], artifact)) {
+                return symbol;
+            }
+        }
+    }
+
+    /**
+     * Returns the symbol of given artifact, or {@code -1} if artifact coordinates were not seen yet.
+     *
+     * @param artifact the artifact, must not be {@code null}
+     * @return the symbol or {@code -1}
+     */
+    public int lookup(Artifact artifact) {
+        requireNonNull(artifact, "artifact cannot be null");
+        int hash = hash(artifact);
+        int mask = slots.length - 1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            int symbol = slots[i];
+            if (symbol == EMPTY) {
+                return EMPTY;
+            } else if (hashes[symbol] == hash && matches(artifacts[symbol], artifact)) {
+                return symbol;
+            }
+        }
+    }
+
+    /**
+     * Returns the first artifact that got assigned given symbol.
+     *
+     * @param symbol the symbol
+     * @return the artifact, never {@code null}
+     * @throws IndexOutOfBoundsException if symbol was not assigned by this table
+     */
+    public Artifact artifact(int symbol) {
+        if (symbol < 0 || symbol >= size) {
+            throw new IndexOutOfBoundsException("Unknown symbol " + symbol);
+        }
+        return artifacts[symbol];
+    }
+
+    /**
+     * Returns the count of assigned symbols, all symbols are less than this value.
+     */
+    public int size() {
+        return size;
+    }
+
+    private int add(Artifact artifact, int hash) {
+        if (size == artifacts.length) {
+            artifacts = Arrays.copyOf(artifacts, size * 2);
+            hashes = Arrays.copyOf(hashes, size * 2);
+        }
+        artifacts[size] = artifact;
+        hashes[size] = hash;
+        return size++;
+    }
+
+    private void rehash() {
+        int[] newSlots = new int[slots.length * 2];
+        Arrays.fill(newSlots, EMPTY);
+        int mask = newSlots.length - 1;
+        for (int symbol = 0; symbol < size; symbol++) {
+            int i = hashes[symbol] & mask;
+            while (newSlots[i] != EMPTY) {
+                i = (i + 1) & mask;
+            }
+            newSlots[i] = symbol;
+        }
+        slots = newSlots;
+    }
+
+    private int hash(Artifact artifact) {
+        int hash = artifact.getArtifactId().hashCode();
+        hash = hash * 31 + artifact.getGroupId().hashCode();
+        hash = hash * 31 + artifact.getExtension().hashCode();
+        hash = hash * 31 + artifact.getClassifier().hashCode();
+        if (versioned) {
+            hash = hash * 31 + artifact.getVersion().hashCode();
+        }
+        // spread bits, as slots are indexed by low bits
+        return hash ^ (hash >>> 16);
+    }
+
+    private boolean matches(Artifact a1, Artifact a2) {
+        return a1 == a2
+                || (a1.getArtifactId().equals(a2.getArtifactId())
+                        && a1.getGroupId().equals(a2.getGroupId())
+                        && a1.getExtension().equals(a2.getExtension())
+                        && a1.getClassifier().equals(a2.getClassifier())
+                        && (!versioned || a1.getVersion().equals(a2.getVersion())));
+    }
+}
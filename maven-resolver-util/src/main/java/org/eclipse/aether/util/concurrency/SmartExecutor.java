@@ -18,8 +18,10 @@
  */
 package org.eclipse.aether.util.concurrency;
 
+import java.util.Queue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
@@ -140,75 +142,77 @@ public interface SmartExecutor extends AutoCloseable {
 
     /**
      * Limited executor, where the actual goal is to protect accessed resource, like when virtual threads
-     * are being used, so the "pool" itself does not provide any kind of back-pressure.
+     * are being used, so the "pool" itself does not provide any kind of back-pressure. Submissions never block
+     * the caller: tasks exceeding the limit are queued, and dispatched as running tasks complete.
      */
     class Limited implements SmartExecutor {
         private final SmartExecutor executor;
         private final Semaphore semaphore;
+        private final Queue<Runnable> queue;
 
         Limited(SmartExecutor executor, int limit) {
             this.executor = executor;
             this.semaphore = new Semaphore(limit);
+            this.queue = new ConcurrentLinkedQueue<>();
         }
 
         @Override
         public void submit(Runnable runnable) {
-            try {
-                semaphore.acquire();
+            ClassLoader tccl = Thread.currentThread().getContextClassLoader();
+            queue.add(() -> {
+                ClassLoader old = Thread.currentThread().getContextClassLoader();
+                Thread.currentThread().setContextClassLoader(tccl);
                 try {
-                    executor.submit(() -> {
-                        try {
-                            runnable.run();
-                        } finally {
-                            semaphore.release();
-                        }
-                    });
-                } catch (RejectedExecutionException e) {
-                    try {
-                        runnable.run();
-                    } catch (RuntimeException | Error t) {
-                        // swallow to match async submit() semantics where exceptions
-                        // are captured by the Future; callers like RunnableErrorForwarder
-                        // already record the error before re-throwing
-                    } finally {
-                        semaphore.release();
-                    }
+                    runnable.run();
+                } catch (RuntimeException | Error t) {
+                    // swallow to match async submit() semantics where exceptions
+                    // are captured by the Future; callers like RunnableErrorForwarder
+                    // already record the error before re-throwing
+                } finally {
+                    Thread.currentThread().setContextClassLoader(old);
                 }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
+            });
+            dispatch();
         }
 
         @Override
         public <T> Future<T> submit(Callable<T> callable) {
-            try {
-                semaphore.acquire();
-                CompletableFuture<T> future = new CompletableFuture<>();
+            CompletableFuture<T> future = new CompletableFuture<>();
+            submit(() -> {
+                try {
+                    future.complete(callable.call());
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            });
+            return future;
+        }
+
+        /**
+         * Dispatches queued tasks while there are permits available. Invoked on submission, and by every task once
+         * it completes, so a queued task is never left behind while a permit is available. Tasks rejected by delegate
+         * give back their permit and are executed by caller, as {@link Pooled} does.
+         */
+        private void dispatch() {
+            while (!queue.isEmpty() && semaphore.tryAcquire()) {
+                Runnable task = queue.poll();
+                if (task == null) {
+                    semaphore.release();
+                    continue;
+                }
                 try {
                     executor.submit(() -> {
                         try {
-                            future.complete(callable.call());
-                        } catch (Exception e) {
-                            future.completeExceptionally(e);
+                            task.run();
                         } finally {
                             semaphore.release();
+                            dispatch();
                         }
                     });
                 } catch (RejectedExecutionException e) {
-                    try {
-                        future.complete(callable.call());
-                    } catch (Exception ex) {
-                        future.completeExceptionally(ex);
-                    } finally {
-                        semaphore.release();
-                    }
+                    semaphore.release();
+                    task.run();
                 }
-                return future;
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                CompletableFuture<T> failed = new CompletableFuture<>();
-                failed.completeExceptionally(e);
-                return failed;
             }
         }
 
@@ -18,10 +18,16 @@
  */
 package org.eclipse.aether.util.concurrency;
 
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Function;
 
+import org.eclipse.aether.ConfigurationProperties;
 import org.eclipse.aether.Keys;
 import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.util.ConfigUtils;
 
 import static java.util.Objects.requireNonNull;
 
@@ -35,8 +41,22 @@ import static java.util.Objects.requireNonNull;
 public final class SmartExecutorUtils {
     private static final SmartExecutor DIRECT = new SmartExecutor.Direct();
 
+    /**
+     * Factory of virtual thread per task executors, or {@code null} if running Java does not support them.
+     */
+    private static final Function<String, ExecutorService> VIRTUAL_EXECUTOR_FACTORY = virtualExecutorFactory();
+
     private SmartExecutorUtils() {}
 
+    /**
+     * Returns {@code true} if running Java supports virtual threads.
+     *
+     * @since 2.0.20
+     */
+    public static boolean isVirtualThreadsSupported() {
+        return VIRTUAL_EXECUTOR_FACTORY != null;
+    }
+
     /**
      * Returns a smart executor for given parameters. If {@code tasks} is known (non-null), it must be greater than 0.
      * The {@code maxConcurrentTasks} also must be greater than 0. The {@code namePrefix} must be non-null.
@@ -56,6 +76,23 @@ public final class SmartExecutorUtils {
      * @param namePrefix the thread name prefixes, must not be {@code null).}
      */
     public static SmartExecutor newSmartExecutor(Integer tasks, int maxConcurrentTasks, String namePrefix) {
+        return newSmartExecutor(tasks, maxConcurrentTasks, namePrefix, false);
+    }
+
+    /**
+     * Returns a smart executor for given parameters, same as {@link #newSmartExecutor(Integer, int, String)} but
+     * if {@code virtualThreads} is {@code true} and running Java supports them, the returned pooled executor will use
+     * a virtual thread per task, and will bound concurrency to {@code maxConcurrentTasks} using a semaphore. If
+     * running Java does not support virtual threads, platform threads are used.
+     *
+     * @param tasks the amount of tasks, if known, {@code null} otherwise
+     * @param maxConcurrentTasks the maximum concurrency caller wants
+     * @param namePrefix the thread name prefixes, must not be {@code null).}
+     * @param virtualThreads whether virtual threads should be used, if supported
+     * @since 2.0.20
+     */
+    public static SmartExecutor newSmartExecutor(
+            Integer tasks, int maxConcurrentTasks, String namePrefix, boolean virtualThreads) {
         if (maxConcurrentTasks < 1) {
             throw new IllegalArgumentException("maxConcurrentTasks must be > 0");
         }
@@ -75,6 +112,10 @@ public final class SmartExecutorUtils {
             }
             poolSize = maxConcurrentTasks;
         }
+        if (virtualThreads && VIRTUAL_EXECUTOR_FACTORY != null) {
+            return new SmartExecutor.Limited(
+                    new SmartExecutor.Pooled(VIRTUAL_EXECUTOR_FACTORY.apply(namePrefix)), poolSize);
+        }
         return new SmartExecutor.Pooled(Executors.newFixedThreadPool(poolSize, new WorkerThreadFactory(namePrefix)));
     }
 
@@ -88,17 +129,48 @@ public final class SmartExecutorUtils {
      * change the actual threads doing IO (HTTP) was {@code callerThreadCount x maxConcurrentTask} per JVM/Maven process.
      * Now, the {@code maxConcurrentTask} becomes global limit, and hence can be upped without unexpected "explosion"
      * in increasing build threading or anything.
+     * <p>
+     * If session has {@link ConfigurationProperties#REPOSITORY_SYSTEM_VIRTUAL_THREADS} enabled, and running Java
+     * supports them, virtual threads are used.
      */
     public static SmartExecutor smartExecutor(
             RepositorySystemSession session, Integer tasks, int maxConcurrentTasks, String namePrefix) {
+        boolean virtualThreads = ConfigUtils.getBoolean(
+                session,
+                ConfigurationProperties.DEFAULT_REPOSITORY_SYSTEM_VIRTUAL_THREADS,
+                ConfigurationProperties.REPOSITORY_SYSTEM_VIRTUAL_THREADS);
         if (tasks == null && maxConcurrentTasks > 1) {
             return (SmartExecutor) session.getData().computeIfAbsent(Keys.of(SmartExecutor.class, namePrefix), () -> {
-                SmartExecutor smartExecutor = newSmartExecutor(null, maxConcurrentTasks, namePrefix);
+                SmartExecutor smartExecutor = newSmartExecutor(null, maxConcurrentTasks, namePrefix, virtualThreads);
                 session.addOnSessionEndedHandler(smartExecutor::close);
                 return new SmartExecutor.NonClosing(smartExecutor);
             });
         } else {
-            return newSmartExecutor(tasks, maxConcurrentTasks, namePrefix);
+            return newSmartExecutor(tasks, maxConcurrentTasks, namePrefix, virtualThreads);
+        }
+    }
+
+    /**
+     * Discovers virtual threads support using reflection, as resolver is built for Java 8.
+     */
+    private static Function<String, ExecutorService> virtualExecutorFactory() {
+        try {
+            Method ofVirtual = Thread.class.getMethod("ofVirtual");
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Method name = builderClass.getMethod("name", String.class, long.class);
+            Method factory = builderClass.getMethod("factory");
+            Method newThreadPerTaskExecutor =
+                    Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return namePrefix -> {
+                try {
+                    Object builder = name.invoke(ofVirtual.invoke(null), namePrefix, 0L);
+                    return (ExecutorService) newThreadPerTaskExecutor.invoke(null, factory.invoke(builder));
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException("Could not create virtual thread executor", e);
+                }
+            };
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
         }
     }
 }
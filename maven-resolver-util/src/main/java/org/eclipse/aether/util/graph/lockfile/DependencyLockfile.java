@@ -0,0 +1,342 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.eclipse.aether.util.graph.lockfile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.aether.Keys;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.graph.DependencyVisitor;
+import org.eclipse.aether.graph.Exclusion;
+import org.eclipse.aether.util.StringDigestUtil;
+import org.eclipse.aether.util.artifact.ArtifactIdUtils;
+import org.eclipse.aether.util.graph.visitor.DependencyGraphReader;
+import org.eclipse.aether.util.graph.visitor.DependencyGraphWriter;
+import org.eclipse.aether.util.graph.visitor.TreeDependencyVisitor;
+import org.eclipse.aether.util.version.GenericVersionScheme;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A dependency lockfile: the fully resolved dependency graph of a collect request, along with the fingerprint of the
+ * request and the checksums of resolved artifacts. The graph (coordinates, scopes, versions, repositories and so on)
+ * is kept in format of {@link DependencyGraphWriter}.
+ * <p>
+ * The fingerprint covers the root, the direct and the managed dependencies and the request context of the request;
+ * the lockfile {@link #matches(CollectRequest) matches} a request only if all these are same as they were when the
+ * lockfile was created. Remote repositories are not part of fingerprint, hence lockfile stays valid when they change
+ * (for example when a mirror is configured), but changes in configuration affecting collection (like dependency
+ * selectors) are not detected either.
+ * <p>
+ * Checksums are recorded (as SHA-256, keyed by artifact id) only for artifacts having a file, that is, if lockfile was
+ * created from a graph whose artifacts were resolved.
+ *
+ * @since 2.0.20
+ */
+public final class DependencyLockfile {
+    private static final int MAGIC = 0x52444c31; // RDL1
+
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * The algorithm of recorded checksums.
+     */
+    public static final String CHECKSUM_ALGORITHM = "SHA-256";
+
+    private static final Object LOCKFILES = Keys.of(DependencyLockfile.class, "lockfiles");
+
+    private final String fingerprint;
+
+    private final Map<String, String> checksums;
+
+    private final byte[] graph;
+
+    private DependencyLockfile(String fingerprint, Map<String, String> checksums, byte[] graph) {
+        this.fingerprint = fingerprint;
+        this.checksums = Collections.unmodifiableMap(checksums);
+        this.graph = graph;
+    }
+
+    /**
+     * Creates a lockfile of given request and its (preferably resolved) dependency graph.
+     *
+     * @param request the collect request the graph was collected for, must not be {@code null}
+     * @param root the root of the dependency graph, must not be {@code null}
+     * @return the lockfile, never {@code null}
+     * @throws IOException if an artifact file could not be read
+     */
+    public static DependencyLockfile of(CollectRequest request, DependencyNode root) throws IOException {
+        requireNonNull(request, "request cannot be null");
+        requireNonNull(root, "root cannot be null");
+        Map<String, String> checksums = new TreeMap<>();
+        IOException[] failure = new IOException[1];
+        root.accept(new TreeDependencyVisitor(new DependencyVisitor() {
+            @Override
+            public boolean visitEnter(DependencyNode node) {
+                Artifact artifact = node.getArtifact();
+                if (failure[0] == null && artifact != null && artifact.getPath() != null) {
+                    try {
+                        checksums.putIfAbsent(ArtifactIdUtils.toId(artifact), checksum(artifact.getPath()));
+                    } catch (IOException e) {
+                        failure[0] = e;
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            public boolean visitLeave(DependencyNode node) {
+                return true;
+            }
+        }));
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+        ByteArrayOutputStream graph = new ByteArrayOutputStream(4096);
+        new DependencyGraphWriter(graph).write(root);
+        return new DependencyLockfile(fingerprint(request), checksums, graph.toByteArray());
+    }
+
+    /**
+     * Reads a lockfile written by {@link #write(OutputStream)}. The input is not closed.
+     *
+     * @param in the input, must not be {@code null}
+     * @return the lockfile, never {@code null}
+     * @throws IOException if reading failed, or input is not a lockfile of supported format
+     */
+    public static DependencyLockfile read(InputStream in) throws IOException {
+        requireNonNull(in, "in cannot be null");
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a dependency lockfile");
+        }
+        int formatVersion = data.readInt();
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IOException("Unsupported dependency lockfile format version " + formatVersion);
+        }
+        String fingerprint = data.readUTF();
+        int checksumCount = data.readInt();
+        Map<String, String> checksums = new TreeMap<>();
+        for (int i = 0; i < checksumCount; i++) {
+            checksums.put(data.readUTF(), data.readUTF());
+        }
+        byte[] graph = new byte[data.readInt()];
+        data.readFully(graph);
+        return new DependencyLockfile(fingerprint, checksums, graph);
+    }
+
+    /**
+     * Reads the lockfile at given path, reusing the lockfile read earlier within given session if the file was not
+     * modified since (as told by its last modification time and size).
+     *
+     * @param session the session to cache read lockfile in, must not be {@code null}
+     * @param path the path of lockfile, must not be {@code null}
+     * @return the lockfile, never {@code null}
+     * @throws IOException if file could not be read, or it is not a lockfile of supported format
+     */
+    @SuppressWarnings("unchecked")
+    public static DependencyLockfile read(RepositorySystemSession session, Path path) throws IOException {
+        requireNonNull(session, "session cannot be null");
+        requireNonNull(path, "path cannot be null");
+        Map<Path, Cached> lockfiles = (Map<Path, Cached>)
+                session.getData().computeIfAbsent(LOCKFILES, () -> new ConcurrentHashMap<Path, Cached>());
+        Path key = path.toAbsolutePath().normalize();
+        BasicFileAttributes attributes = Files.readAttributes(key, BasicFileAttributes.class);
+        Cached cached = lockfiles.get(key);
+        if (cached == null || !cached.isCurrent(attributes)) {
+            DependencyLockfile lockfile;
+            try (InputStream in = Files.newInputStream(key)) {
+                lockfile = read(in);
+            }
+            cached = new Cached(attributes, lockfile);
+            lockfiles.put(key, cached);
+        }
+        return cached.lockfile;
+    }
+
+    /**
+     * Writes this lockfile. The output is flushed but not closed.
+     *
+     * @param out the output, must not be {@code null}
+     * @throws IOException if writing failed
+     */
+    public void write(OutputStream out) throws IOException {
+        requireNonNull(out, "out cannot be null");
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(FORMAT_VERSION);
+        data.writeUTF(fingerprint);
+        data.writeInt(checksums.size());
+        for (Map.Entry<String, String> entry : checksums.entrySet()) {
+            data.writeUTF(entry.getKey());
+            data.writeUTF(entry.getValue());
+        }
+        data.writeInt(graph.length);
+        data.write(graph);
+        data.flush();
+    }
+
+    /**
+     * Returns {@code true} if this lockfile was created for a request having same root, direct and managed
+     * dependencies and request context as given request.
+     *
+     * @param request the request, must not be {@code null}
+     * @return {@code true} if locked graph can be used as result of given request
+     */
+    public boolean matches(CollectRequest request) {
+        return fingerprint.equals(fingerprint(requireNonNull(request, "request cannot be null")));
+    }
+
+    /**
+     * Returns the fingerprint of the request this lockfile was created for.
+     *
+     * @return the fingerprint, never {@code null}
+     */
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Returns the SHA-256 checksums (hex encoded) of resolved artifacts, keyed by artifact id (see
+     * {@link ArtifactIdUtils#toId(Artifact)}). These are verified when resolving artifacts, if the "lockfile" trusted
+     * checksums source and the trusted checksums artifact resolver post processor are enabled.
+     *
+     * @return the checksums, never {@code null}
+     */
+    public Map<String, String> getChecksums() {
+        return checksums;
+    }
+
+    /**
+     * Returns the root of locked dependency graph. Each invocation returns a new graph, that is materialized lazily
+     * (see {@link DependencyGraphReader}), and whose artifacts have no files. Versions are parsed using
+     * {@link GenericVersionScheme}.
+     *
+     * @return the root node, never {@code null}
+     * @throws IOException if locked graph is corrupted
+     */
+    public DependencyNode getRoot() throws IOException {
+        return new DependencyGraphReader().read(graph);
+    }
+
+    /**
+     * Calculates the fingerprint of given request.
+     *
+     * @param request the request, must not be {@code null}
+     * @return the fingerprint, never {@code null}
+     */
+    public static String fingerprint(CollectRequest request) {
+        requireNonNull(request, "request cannot be null");
+        StringBuilder sb = new StringBuilder(1024);
+        if (request.getRoot() != null) {
+            sb.append("root=");
+            append(sb, request.getRoot());
+        } else if (request.getRootArtifact() != null) {
+            sb.append("rootArtifact=");
+            append(sb, request.getRootArtifact());
+        }
+        sb.append("\ncontext=").append(request.getRequestContext());
+        append(sb, "\ndependency=", request.getDependencies());
+        append(sb, "\nmanaged=", request.getManagedDependencies());
+        return StringDigestUtil.sha1(sb.toString());
+    }
+
+    private static void append(StringBuilder sb, String prefix, List<Dependency> dependencies) {
+        for (Dependency dependency : dependencies) {
+            sb.append(prefix);
+            append(sb, dependency);
+        }
+    }
+
+    private static void append(StringBuilder sb, Dependency dependency) {
+        append(sb, dependency.getArtifact());
+        sb.append(' ').append(dependency.getScope()).append(' ').append(dependency.getOptional());
+        for (Exclusion exclusion : dependency.getExclusions()) {
+            sb.append(" !")
+                    .append(exclusion.getGroupId())
+                    .append(':')
+                    .append(exclusion.getArtifactId())
+                    .append(':')
+                    .append(exclusion.getExtension())
+                    .append(':')
+                    .append(exclusion.getClassifier());
+        }
+    }
+
+    private static void append(StringBuilder sb, Artifact artifact) {
+        sb.append(ArtifactIdUtils.toId(artifact));
+        if (!artifact.getProperties().isEmpty()) {
+            sb.append(new TreeMap<>(artifact.getProperties()));
+        }
+    }
+
+    private static final class Cached {
+        private final FileTime lastModified;
+
+        private final long size;
+
+        private final DependencyLockfile lockfile;
+
+        private Cached(BasicFileAttributes attributes, DependencyLockfile lockfile) {
+            this.lastModified = attributes.lastModifiedTime();
+            this.size = attributes.size();
+            this.lockfile = lockfile;
+        }
+
+        private boolean isCurrent(BasicFileAttributes attributes) {
+            return lastModified.equals(attributes.lastModifiedTime()) && size == attributes.size();
+        }
+    }
+
+    private static String checksum(Path path) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(CHECKSUM_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Not supported digest algorithm: " + CHECKSUM_ALGORITHM, e);
+        }
+        byte[] buffer = new byte[8192];
+        try (InputStream in = Files.newInputStream(path)) {
+            for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return StringDigestUtil.toHexString(digest.digest());
+    }
+}
@@ -22,6 +22,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Objects;
 
 import org.eclipse.aether.artifact.Artifact;
@@ -100,6 +101,9 @@ import static java.util.Objects.requireNonNull;
  * <li>The field {@code managedLocalPaths} is <em>intentionally left out of hash/equals</em>.</li>
  * <li>Each dependency "derives" an instance with its own context to process second-level
  *     dependencies and so on.</li>
+ * <li>Rules recorded by the path are also accumulated into persistent maps that share structure with the
+ *     maps of the parent manager, so deriving a child costs proportionally to the rules recorded by the
+ *     parent, and lookups do not need to walk the path.</li>
  * </ul>
  *
  * @since 2.0.0
@@ -135,6 +139,24 @@ public abstract class AbstractDependencyManager implements DependencyManager {
     /** System dependency scope handler, may be null if no system scope is defined. */
     protected final SystemDependencyScope systemDependencyScope;
 
+    /** Managed version rules recorded by the path (nearest to root wins). */
+    private final PersistentMap<Key, String> inheritedVersions;
+
+    /** Managed scope rules recorded by the path (nearest to root wins). */
+    private final PersistentMap<Key, String> inheritedScopes;
+
+    /** Managed optional flags recorded by the path (nearest to root wins). */
+    private final PersistentMap<Key, Boolean> inheritedOptionals;
+
+    /** Managed local paths recorded by the path (nearest to root wins). */
+    private final PersistentMap<Key, String> inheritedLocalPaths;
+
+    /** Managed exclusions recorded by the path, merged in root to parent order. */
+    private final PersistentMap<Key, Collection<Exclusion>> inheritedExclusions;
+
+    /** Rules of this manager folded into what it inherited, lazily computed once, and shared by all children. */
+    private volatile Inherited folded;
+
     /** Pre-computed hash code (excludes managedLocalPaths). */
     private final int hashCode;
 
@@ -186,6 +208,23 @@ public abstract class AbstractDependencyManager implements DependencyManager {
         // nullable: if using scope manager, but there is no system scope defined
         this.systemDependencyScope = systemDependencyScope;
 
+        // the last path element is the parent: fold its own rules into what it inherited
+        AbstractDependencyManager parent = path.isEmpty() ? null : path.get(path.size() - 1);
+        if (parent == null) {
+            this.inheritedVersions = PersistentMap.empty();
+            this.inheritedScopes = PersistentMap.empty();
+            this.inheritedOptionals = PersistentMap.empty();
+            this.inheritedLocalPaths = PersistentMap.empty();
+            this.inheritedExclusions = PersistentMap.empty();
+        } else {
+            Inherited inherited = parent.fold();
+            this.inheritedVersions = inherited.versions;
+            this.inheritedScopes = inherited.scopes;
+            this.inheritedOptionals = inherited.optionals;
+            this.inheritedLocalPaths = inherited.localPaths;
+            this.inheritedExclusions = inherited.exclusions;
+        }
+
         // exclude managedLocalPaths
         this.hashCode = Objects.hash(path, depth, managedVersions, managedScopes, managedOptionals, managedExclusions);
     }
@@ -197,76 +236,92 @@ public abstract class AbstractDependencyManager implements DependencyManager {
             MMap<Key, String> managedLocalPaths,
             MMap<Key, Holder<Collection<Exclusion>>> managedExclusions);
 
-    private boolean containsManagedVersion(Key key, MMap<Key, String> managedVersions) {
-        for (AbstractDependencyManager ancestor : path) {
-            if (ancestor.managedVersions != null && ancestor.managedVersions.containsKey(key)) {
-                return true;
+    /**
+     * Returns the rules inherited by children of this manager: its own rules folded into what it inherited. Computed
+     * once per manager (racy, but computations are idempotent), as siblings all inherit the very same rules.
+     */
+    private Inherited fold() {
+        Inherited result = folded;
+        if (result == null) {
+            result = new Inherited(
+                    inherit(inheritedVersions, managedVersions),
+                    inherit(inheritedScopes, managedScopes),
+                    inherit(inheritedOptionals, managedOptionals),
+                    inherit(inheritedLocalPaths, managedLocalPaths),
+                    inheritExclusions(inheritedExclusions, managedExclusions));
+            folded = result;
+        }
+        return result;
+    }
+
+    private static <V> PersistentMap<Key, V> inherit(PersistentMap<Key, V> inherited, MMap<Key, V> own) {
+        PersistentMap<Key, V> result = inherited;
+        if (own != null) {
+            for (Map.Entry<Key, V> entry : own.delegate.entrySet()) {
+                result = result.putIfAbsent(entry.getKey(), entry.getValue());
             }
         }
-        return managedVersions != null && managedVersions.containsKey(key);
+        return result;
     }
 
-    private String getManagedVersion(Key key) {
-        for (AbstractDependencyManager ancestor : path) {
-            if (ancestor.managedVersions != null && ancestor.managedVersions.containsKey(key)) {
-                return ancestor.managedVersions.get(key);
+    private static PersistentMap<Key, Collection<Exclusion>> inheritExclusions(
+            PersistentMap<Key, Collection<Exclusion>> inherited, MMap<Key, Holder<Collection<Exclusion>>> own) {
+        PersistentMap<Key, Collection<Exclusion>> result = inherited;
+        if (own != null) {
+            for (Map.Entry<Key, Holder<Collection<Exclusion>>> entry : own.delegate.entrySet()) {
+                Collection<Exclusion> exclusions = result.get(entry.getKey());
+                if (exclusions != null) {
+                    ArrayList<Exclusion> merged = new ArrayList<>(exclusions);
+                    merged.addAll(entry.getValue().value);
+                    exclusions = merged;
+                } else {
+                    exclusions = entry.getValue().value;
+                }
+                result = result.put(entry.getKey(), exclusions);
             }
         }
-        if (depth == 1 && managedVersions != null && managedVersions.containsKey(key)) {
-            return managedVersions.get(key);
+        return result;
+    }
+
+    private boolean containsManagedVersion(Key key, MMap<Key, String> managedVersions) {
+        return inheritedVersions.containsKey(key) || (managedVersions != null && managedVersions.containsKey(key));
+    }
+
+    private String getManagedVersion(Key key) {
+        String version = inheritedVersions.get(key);
+        if (version == null && depth == 1 && managedVersions != null) {
+            version = managedVersions.get(key);
         }
-        return null;
+        return version;
     }
 
     private boolean containsManagedScope(Key key, MMap<Key, String> managedScopes) {
-        for (AbstractDependencyManager ancestor : path) {
-            if (ancestor.managedScopes != null && ancestor.managedScopes.containsKey(key)) {
-                return true;
-            }
-        }
-        return managedScopes != null && managedScopes.containsKey(key);
+        return inheritedScopes.containsKey(key) || (managedScopes != null && managedScopes.containsKey(key));
     }
 
     private String getManagedScope(Key key) {
-        for (AbstractDependencyManager ancestor : path) {
-            if (ancestor.managedScopes != null && ancestor.managedScopes.containsKey(key)) {
-                return ancestor.managedScopes.get(key);
-            }
+        String scope = inheritedScopes.get(key);
+        if (scope == null && depth == 1 && managedScopes != null) {
+            scope = managedScopes.get(key);
         }
-        if (depth == 1 && managedScopes != null && managedScopes.containsKey(key)) {
-            return managedScopes.get(key);
-        }
-        return null;
+        return scope;
     }
 
     private boolean containsManagedOptional(Key key, MMap<Key, Boolean> managedOptionals) {
-        for (AbstractDependencyManager ancestor : path) {
-            if (ancestor.managedOptionals != null && ancestor.managedOptionals.containsKey(key)) {
-                return true;
-            }
-        }
-        return managedOptionals != null && managedOptionals.containsKey(key);
+        return inheritedOptionals.containsKey(key) || (managedOptionals != null && managedOptionals.containsKey(key));
     }
 
     private Boolean getManagedOptional(Key key) {
-        for (AbstractDependencyManager ancestor : path) {
-            if (ancestor.managedOptionals != null && ancestor.managedOptionals.containsKey(key)) {
-                return ancestor.managedOptionals.get(key);
-            }
+        Boolean optional = inheritedOptionals.get(key);
+        if (optional == null && depth == 1 && managedOptionals != null) {
+            optional = managedOptionals.get(key);
         }
-        if (depth == 1 && managedOptionals != null && managedOptionals.containsKey(key)) {
-            return managedOptionals.get(key);
-        }
-        return null;
+        return optional;
     }
 
     private boolean containsManagedLocalPath(Key key, MMap<Key, String> managedLocalPaths) {
-        for (AbstractDependencyManager ancestor : path) {
-            if (ancestor.managedLocalPaths != null && ancestor.managedLocalPaths.containsKey(key)) {
-                return true;
-            }
-        }
-        return managedLocalPaths != null && managedLocalPaths.containsKey(key);
+        return inheritedLocalPaths.containsKey(key)
+                || (managedLocalPaths != null && managedLocalPaths.containsKey(key));
     }
 
     /**
@@ -277,15 +332,11 @@ public abstract class AbstractDependencyManager implements DependencyManager {
      * @return the managed local path, or null if not managed
      */
     private String getManagedLocalPath(Key key) {
-        for (AbstractDependencyManager ancestor : path) {
-            if (ancestor.managedLocalPaths != null && ancestor.managedLocalPaths.containsKey(key)) {
-                return ancestor.managedLocalPaths.get(key);
-            }
-        }
-        if (managedLocalPaths != null && managedLocalPaths.containsKey(key)) {
-            return managedLocalPaths.get(key);
+        String localPath = inheritedLocalPaths.get(key);
+        if (localPath == null && managedLocalPaths != null) {
+            localPath = managedLocalPaths.get(key);
         }
-        return null;
+        return localPath;
     }
 
     /**
@@ -297,16 +348,16 @@ public abstract class AbstractDependencyManager implements DependencyManager {
      * @return merged collection of exclusions, or null if none exist
      */
     private Collection<Exclusion> getManagedExclusions(Key key) {
-        ArrayList<Exclusion> result = new ArrayList<>();
-        for (AbstractDependencyManager ancestor : path) {
-            if (ancestor.managedExclusions != null && ancestor.managedExclusions.containsKey(key)) {
-                result.addAll(ancestor.managedExclusions.get(key).value);
-            }
-        }
-        if (managedExclusions != null && managedExclusions.containsKey(key)) {
-            result.addAll(managedExclusions.get(key).value);
+        Collection<Exclusion> inherited = inheritedExclusions.get(key);
+        Holder<Collection<Exclusion>> own = managedExclusions != null ? managedExclusions.get(key) : null;
+        if (own == null) {
+            return inherited;
+        } else if (inherited == null) {
+            return own.value;
         }
-        return result.isEmpty() ? null : result;
+        ArrayList<Exclusion> result = new ArrayList<>(inherited);
+        result.addAll(own.value);
+        return result;
     }
 
     @Override
@@ -532,6 +583,34 @@ public abstract class AbstractDependencyManager implements DependencyManager {
         return hashCode;
     }
 
+    /**
+     * Immutable set of rules inherited from the path.
+     */
+    private static final class Inherited {
+        private final PersistentMap<Key, String> versions;
+
+        private final PersistentMap<Key, String> scopes;
+
+        private final PersistentMap<Key, Boolean> optionals;
+
+        private final PersistentMap<Key, String> localPaths;
+
+        private final PersistentMap<Key, Collection<Exclusion>> exclusions;
+
+        private Inherited(
+                PersistentMap<Key, String> versions,
+                PersistentMap<Key, String> scopes,
+                PersistentMap<Key, Boolean> optionals,
+                PersistentMap<Key, String> localPaths,
+                PersistentMap<Key, Collection<Exclusion>> exclusions) {
+            this.versions = versions;
+            this.scopes = scopes;
+            this.optionals = optionals;
+            this.localPaths = localPaths;
+            this.exclusions = exclusions;
+        }
+    }
+
     /**
      * Key class for dependency management rules based on GACE coordinates.
      * GACE = Group, Artifact, Classifier, Extension (excludes version for management purposes).
@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.eclipse.aether.util.graph.manager;
+
+import java.util.function.BiConsumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Warning: this is a special map-like construct that suits only and should be used only in this package!
+ * It is an immutable hash array mapped trie (HAMT): "modifying" methods return a new map, that shares all
+ * unchanged trie nodes with the original one, hence deriving a map with {@code n} changes costs {@code O(n)}
+ * (times trie depth, that is at most 7) regardless of the map size. Neither keys nor values may be {@code null}.
+ *
+ * @param <K>
+ * @param <V>
+ */
+final class PersistentMap<K, V> {
+    private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(BitmapNode.EMPTY, 0);
+
+    /**
+     * Returns empty map.
+     */
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentMap<K, V> empty() {
+        return (PersistentMap<K, V>) EMPTY;
+    }
+
+    private final Node root;
+
+    private final int size;
+
+    private PersistentMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(K key) {
+        requireNonNull(key, "key cannot be null");
+        return (V) root.find(0, key.hashCode(), key);
+    }
+
+    /**
+     * Returns map having given mapping; if key is already mapped, the mapping is replaced.
+     */
+    PersistentMap<K, V> put(K key, V value) {
+        return put(key, value, true);
+    }
+
+    /**
+     * Returns map having given mapping only if key was not mapped yet, otherwise returns this instance.
+     */
+    PersistentMap<K, V> putIfAbsent(K key, V value) {
+        return put(key, value, false);
+    }
+
+    void forEach(BiConsumer<? super K, ? super V> action) {
+        root.forEach(action);
+    }
+
+    private PersistentMap<K, V> put(K key, V value, boolean replace) {
+        requireNonNull(key, "key cannot be null");
+        requireNonNull(value, "value cannot be null");
+        boolean[] added = new boolean[1];
+        Node newRoot = root.put(0, key.hashCode(), key, value, replace, added);
+        if (newRoot == root) {
+            return this;
+        }
+        return new PersistentMap<>(newRoot, added[0] ? size + 1 : size);
+    }
+
+    private abstract static class Node {
+        abstract Object find(int shift, int hash, Object key);
+
+        abstract Node put(int shift, int hash, Object key, Object value, boolean replace, boolean[] added);
+
+        @SuppressWarnings("rawtypes")
+        abstract void forEach(BiConsumer action);
+    }
+
+    /**
+     * Node with up to 32 slots, where presence of slots is encoded in bitmap. Array carries pairs of either
+     * {@code key, value} or {@code null, subNode}.
+     */
+    private static final class BitmapNode extends Node {
+        private static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        private final int bitmap;
+
+        private final Object[] array;
+
+        private BitmapNode(int bitmap, Object[] array) {
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key) {
+            int bit = 1 << ((hash >>> shift) & 31);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            int idx = 2 * Integer.bitCount(bitmap & (bit - 1));
+            Object k = array[idx];
+            if (k == null) {
+                return ((Node) array[idx + 1]).find(shift + 5, hash, key);
+            }
+            return key.equals(k) ? array[idx + 1] : null;
+        }
+
+        @Override
+        Node put(int shift, int hash, Object key, Object value, boolean replace, boolean[] added) {
+            int bit = 1 << ((hash >>> shift) & 31);
+            int idx = 2 * Integer.bitCount(bitmap & (bit - 1));
+            if ((bitmap & bit) != 0) {
+                Object k = array[idx];
+                Object v = array[idx + 1];
+                if (k == null) {
+                    Node node = ((Node) v).put(shift + 5, hash, key, value, replace, added);
+                    return node == v ? this : new BitmapNode(bitmap, with(array, idx + 1, node));
+                }
+                if (key.equals(k)) {
+                    return !replace || value == v ? this : new BitmapNode(bitmap, with(array, idx + 1, value));
+                }
+                added[0] = true;
+                Object[] newArray = with(array, idx, null);
+                newArray[idx + 1] = node(shift + 5, k, v, hash, key, value);
+                return new BitmapNode(bitmap, newArray);
+            }
+            added[0] = true;
+            Object[] newArray = new Object[array.length + 2];
+            System.arraycopy(array, 0, newArray, 0, idx);
+            newArray[idx] = key;
+            newArray[idx + 1] = value;
+            System.arraycopy(array, idx, newArray, idx + 2, array.length - idx);
+            return new BitmapNode(bitmap | bit, newArray);
+        }
+
+        @Override
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        void forEach(BiConsumer action) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (array[i] == null) {
+                    ((Node) array[i + 1]).forEach(action);
+                } else {
+                    action.accept(array[i], array[i + 1]);
+                }
+            }
+        }
+
+        private static Node node(int shift, Object k1, Object v1, int h2, Object k2, Object v2) {
+            int h1 = k1.hashCode();
+            if (h1 == h2) {
+                return new CollisionNode(h1, new Object[] {k1, v1, k2, v2});
+            }
+            boolean[] added = new boolean[1];
+            return EMPTY.put(shift, h1, k1, v1, false, added).put(shift, h2, k2, v2, false, added);
+        }
+    }
+
+    /**
+     * Node carrying pairs of {@code key, value} having same hash.
+     */
+    private static final class CollisionNode extends Node {
+        private final int hash;
+
+        private final Object[] array;
+
+        private CollisionNode(int hash, Object[] array) {
+            this.hash = hash;
+            this.array = array;
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key) {
+            if (hash == this.hash) {
+                for (int i = 0; i < array.length; i += 2) {
+                    if (key.equals(array[i])) {
+                        return array[i + 1];
+                    }
+                }
+            }
+            return null;
+        }
+
+        @Override
+        Node put(int shift, int hash, Object key, Object value, boolean replace, boolean[] added) {
+            if (hash != this.hash) {
+                // nest this node into a bitmap node at this level, and let it sort out the new key
+                return new BitmapNode(1 << ((this.hash >>> shift) & 31), new Object[] {null, this})
+                        .put(shift, hash, key, value, replace, added);
+            }
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    return !replace || value == array[i + 1]
+                            ? this
+                            : new CollisionNode(hash, with(array, i + 1, value));
+                }
+            }
+            added[0] = true;
+            Object[] newArray = new Object[array.length + 2];
+            System.arraycopy(array, 0, newArray, 0, array.length);
+            newArray[array.length] = key;
+            newArray[array.length + 1] = value;
+            return new CollisionNode(hash, newArray);
+        }
+
+        @Override
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        void forEach(BiConsumer action) {
+            for (int i = 0; i < array.length; i += 2) {
+                action.accept(array[i], array[i + 1]);
+            }
+        }
+    }
+
+    private static Object[] with(Object[] array, int idx, Object value) {
+        Object[] result = array.clone();
+        result[idx] = value;
+        return result;
+    }
+}
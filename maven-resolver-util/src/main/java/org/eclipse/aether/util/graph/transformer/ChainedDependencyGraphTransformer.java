@@ -18,6 +18,10 @@
  */
 package org.eclipse.aether.util.graph.transformer;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import org.eclipse.aether.RepositoryException;
 import org.eclipse.aether.collection.DependencyGraphTransformationContext;
 import org.eclipse.aether.collection.DependencyGraphTransformer;
@@ -63,6 +67,16 @@ public final class ChainedDependencyGraphTransformer implements DependencyGraphT
         return new ChainedDependencyGraphTransformer(transformer1, transformer2);
     }
 
+    /**
+     * Returns the chained transformers, in order of their application.
+     *
+     * @return the chained transformers, never {@code null}
+     * @since 2.0.20
+     */
+    public List<DependencyGraphTransformer> getTransformers() {
+        return Collections.unmodifiableList(Arrays.asList(transformers));
+    }
+
     @Override
     public DependencyNode transformGraph(DependencyNode node, DependencyGraphTransformationContext context)
             throws RepositoryException {
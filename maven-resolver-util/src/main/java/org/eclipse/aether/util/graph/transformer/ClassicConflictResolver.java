@@ -110,6 +110,26 @@ public final class ClassicConflictResolver extends ConflictResolver {
         this.scopeDeriver = requireNonNull(scopeDeriver, "scope deriver cannot be null");
     }
 
+    @Override
+    public ConflictResolver.VersionSelector getVersionSelector() {
+        return versionSelector;
+    }
+
+    @Override
+    public ConflictResolver.ScopeSelector getScopeSelector() {
+        return scopeSelector;
+    }
+
+    @Override
+    public ConflictResolver.OptionalitySelector getOptionalitySelector() {
+        return optionalitySelector;
+    }
+
+    @Override
+    public ConflictResolver.ScopeDeriver getScopeDeriver() {
+        return scopeDeriver;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public DependencyNode transformGraph(DependencyNode node, DependencyGraphTransformationContext context)
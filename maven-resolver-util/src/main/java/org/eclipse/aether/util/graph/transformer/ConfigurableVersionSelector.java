@@ -117,6 +117,17 @@ public class ConfigurableVersionSelector extends VersionSelector {
         this.selectionStrategy = requireNonNull(selectionStrategy, "selectionStrategy");
     }
 
+    /**
+     * Returns the selection strategy this selector uses always.
+     *
+     * @return the selection strategy, or {@code null} if strategy is configured dynamically, see
+     *         {@link #CONFIG_PROP_SELECTION_STRATEGY}
+     * @since 2.0.20
+     */
+    public SelectionStrategy getSelectionStrategy() {
+        return selectionStrategy;
+    }
+
     @Override
     public VersionSelector getInstance(DependencyNode root, DependencyGraphTransformationContext context)
             throws RepositoryException {
@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.eclipse.aether.util.graph.transformer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+import org.eclipse.aether.graph.DependencyNode;
+
+/**
+ * Compact representation of a dependency graph shared by {@link ConflictMarker} and {@link ConflictIdSorter}. Every
+ * distinct (by identity) node gets a dense {@code int} id in depth-first preorder, the root being {@code 0}, children
+ * are stored in compressed sparse row (CSR) arrays, and every node carries an {@code int} label, that is the index of
+ * its conflict id in {@link #keys} (or {@code -1} if node has no conflict id).
+ * <p>
+ * The marker stores the graph it built in the transformation context under {@link #KEY}, so the sorter can reuse it
+ * without hashing all the nodes again, as long as the {@link #conflictIds} map is still the one in the context, and
+ * the structure of the graph was not changed since (see {@link #matches(DependencyNode)}).
+ */
+final class ConflictGraph {
+    static final String KEY = ConflictGraph.class.getName();
+
+    /**
+     * The nodes, indexed by node id.
+     */
+    DependencyNode[] nodes;
+
+    /**
+     * The count of nodes.
+     */
+    int size;
+
+    /**
+     * The children of node {@code n} are {@code edges[edgeStart[n]]} to {@code edges[edgeStart[n + 1] - 1]}, in
+     * order of {@link DependencyNode#getChildren()}.
+     */
+    int[] edgeStart;
+
+    int[] edges;
+
+    /**
+     * The conflict id labels, indexed by node id.
+     */
+    int[] labels;
+
+    /**
+     * The conflict ids, indexed by label.
+     */
+    String[] keys;
+
+    /**
+     * The map of conflict ids this graph was labeled with.
+     */
+    Map<DependencyNode, String> conflictIds;
+
+    /**
+     * Builds the graph of nodes reachable from root, labeling each node (once, when first visited) with given function.
+     */
+    ConflictGraph(DependencyNode root, ToIntFunction<DependencyNode> labeler) {
+        NodeIndex index = new NodeIndex(256);
+        nodes = new DependencyNode[128];
+        labels = new int[128];
+        edgeStart = new int[129];
+        edges = new int[256];
+
+        int[] stackNodes = new int[64];
+        int[] stackPositions = new int[64];
+        int top = 0;
+        stackNodes[0] = visit(root, index, labeler);
+        while (top >= 0) {
+            int node = stackNodes[top];
+            int position = stackPositions[top];
+            List<DependencyNode> children = nodes[node].getChildren();
+            if (position >= children.size()) {
+                top--;
+                continue;
+            }
+            stackPositions[top]++;
+            DependencyNode child = children.get(position);
+            int id = index.get(child);
+            if (id < 0) {
+                id = visit(child, index, labeler);
+                if (++top >= stackNodes.length) {
+                    stackNodes = Arrays.copyOf(stackNodes, top * 2);
+                    stackPositions = Arrays.copyOf(stackPositions, top * 2);
+                }
+                stackNodes[top] = id;
+                stackPositions[top] = 0;
+            }
+            edges[edgeStart[node] + position] = id;
+        }
+    }
+
+    /**
+     * Checks whether the graph reachable from given root still has the structure this graph was built from: same root,
+     * and every node still has the same (by identity) children, in same order. This walks the recorded nodes and
+     * edges, but involves no hashing, so it is cheaper than building the graph again.
+     */
+    boolean matches(DependencyNode root) {
+        if (size == 0 || nodes[0] != root) {
+            return false;
+        }
+        for (int n = 0; n < size; n++) {
+            List<DependencyNode> children = nodes[n].getChildren();
+            int start = edgeStart[n];
+            if (children.size() != edgeStart[n + 1] - start) {
+                return false;
+            }
+            for (int i = 0; i < children.size(); i++) {
+                if (children.get(i) != nodes[edges[start + i]]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Builds the graph of nodes reachable from root, labeling them using given map of conflict ids.
+     */
+    static ConflictGraph of(DependencyNode root, Map<DependencyNode, String> conflictIds) {
+        Map<String, Integer> labels = new HashMap<>();
+        List<String> keys = new ArrayList<>();
+        ConflictGraph graph = new ConflictGraph(root, node -> {
+            String key = conflictIds.get(node);
+            if (key == null) {
+                return -1;
+            }
+            return labels.computeIfAbsent(key, k -> {
+                keys.add(k);
+                return keys.size() - 1;
+            });
+        });
+        graph.keys = keys.toArray(new String[0]);
+        graph.conflictIds = conflictIds;
+        return graph;
+    }
+
+    private int visit(DependencyNode node, NodeIndex index, ToIntFunction<DependencyNode> labeler) {
+        int id = size++;
+        if (id >= nodes.length) {
+            nodes = Arrays.copyOf(nodes, id * 2);
+            labels = Arrays.copyOf(labels, id * 2);
+            edgeStart = Arrays.copyOf(edgeStart, id * 2 + 1);
+        }
+        index.put(node, id);
+        nodes[id] = node;
+        labels[id] = labeler.applyAsInt(node);
+        int start = edgeStart[id];
+        int end = start + node.getChildren().size();
+        if (end > edges.length) {
+            edges = Arrays.copyOf(edges, Math.max(end, edges.length * 2));
+        }
+        edgeStart[id + 1] = end;
+        return id;
+    }
+
+    /**
+     * Open addressing identity hash table mapping nodes to their ids, without boxing.
+     */
+    private static final class NodeIndex {
+        private Object[] keys;
+
+        private int[] values;
+
+        private int size;
+
+        NodeIndex(int capacity) {
+            keys = new Object[capacity];
+            values = new int[capacity];
+        }
+
+        int get(Object key) {
+            int mask = keys.length - 1;
+            for (int i = System.identityHashCode(key) & mask; ; i = (i + 1) & mask) {
+                Object k = keys[i];
+                if (k == key) {
+                    return values[i];
+                } else if (k == null) {
+                    return -1;
+                }
+            }
+        }
+
+        void put(Object key, int value) {
+            if (++size * 2 > keys.length) {
+                Object[] oldKeys = keys;
+                int[] oldValues = values;
+                keys = new Object[oldKeys.length * 2];
+                values = new int[oldKeys.length * 2];
+                for (int i = 0; i < oldKeys.length; i++) {
+                    if (oldKeys[i] != null) {
+                        insert(oldKeys[i], oldValues[i]);
+                    }
+                }
+            }
+            insert(key, value);
+        }
+
+        private void insert(Object key, int value) {
+            int mask = keys.length - 1;
+            int i = System.identityHashCode(key) & mask;
+            while (keys[i] != null) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = value;
+        }
+    }
+}
@@ -19,12 +19,10 @@
 package org.eclipse.aether.util.graph.transformer;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.IdentityHashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -45,6 +43,10 @@ import static java.util.Objects.requireNonNull;
  * using the key {@link TransformationContextKeys#SORTED_CONFLICT_IDS}. In addition, the transformer will store a
  * {@code Collection<Collection<String>>} using the key {@link TransformationContextKeys#CYCLIC_CONFLICT_IDS} that
  * describes cycles among conflict ids.
+ * <p>
+ * If the conflict ids were calculated by {@link ConflictMarker} in the same context, the compact graph it built is
+ * reused instead of walking the graph again, hence the graph must not be modified in between (as conflict ids would be
+ * stale then anyway).
  */
 public final class ConflictIdSorter implements DependencyGraphTransformer {
 
@@ -67,103 +69,73 @@ public final class ConflictIdSorter implements DependencyGraphTransformer {
         Map<String, Object> stats = (Map<String, Object>) context.get(TransformationContextKeys.STATS);
         long time1 = System.nanoTime();
 
-        Map<String, ConflictId> ids = new LinkedHashMap<>(256);
-
-        ConflictId id = null;
-        String key = conflictIds.get(node);
-        if (key != null) {
-            id = new ConflictId(key, 0);
-            ids.put(key, id);
+        // reuse the graph of marker, unless conflict ids were replaced or the graph was changed since
+        ConflictGraph graph = (ConflictGraph) context.get(ConflictGraph.KEY);
+        if (graph == null || graph.conflictIds != conflictIds || !graph.matches(node)) {
+            graph = ConflictGraph.of(node, conflictIds);
         }
 
-        Map<DependencyNode, Boolean> visited = new IdentityHashMap<>(conflictIds.size());
+        ConflictIds ids = new ConflictIds(graph);
+
+        int id = ids.get(graph.labels[0], 0, true);
 
-        buildConflictIdDAG(ids, node, id, 0, visited, conflictIds);
+        ids.buildConflictIdDAG(0, id, 0);
+        ids.compact();
 
         long time2 = System.nanoTime();
 
-        int cycles = topoSortConflictIds(ids.values(), context);
+        int cycles = topoSortConflictIds(ids, context);
 
         if (stats != null) {
             long time3 = System.nanoTime();
             stats.put("ConflictIdSorter.graphTime", time2 - time1);
             stats.put("ConflictIdSorter.topsortTime", time3 - time2);
-            stats.put("ConflictIdSorter.conflictIdCount", ids.size());
+            stats.put("ConflictIdSorter.conflictIdCount", ids.size);
             stats.put("ConflictIdSorter.conflictIdCycleCount", cycles);
         }
 
         return node;
     }
 
-    private void buildConflictIdDAG(
-            Map<String, ConflictId> ids,
-            DependencyNode node,
-            ConflictId id,
-            int depth,
-            Map<DependencyNode, Boolean> visited,
-            Map<DependencyNode, String> conflictIds) {
-        if (visited.put(node, Boolean.TRUE) != null) {
-            return;
-        }
-
-        depth++;
+    private int topoSortConflictIds(ConflictIds ids, DependencyGraphTransformationContext context) {
+        List<String> sorted = new ArrayList<>(ids.size);
 
-        for (DependencyNode child : node.getChildren()) {
-            String key = conflictIds.get(child);
-            ConflictId childId = ids.get(key);
-            if (childId == null) {
-                childId = new ConflictId(key, depth);
-                ids.put(key, childId);
-            } else {
-                childId.pullup(depth);
-            }
-
-            if (id != null) {
-                id.add(childId);
-            }
-
-            buildConflictIdDAG(ids, child, childId, depth, visited, conflictIds);
-        }
-    }
-
-    private int topoSortConflictIds(Collection<ConflictId> conflictIds, DependencyGraphTransformationContext context) {
-        List<String> sorted = new ArrayList<>(conflictIds.size());
-
-        RootQueue roots = new RootQueue(conflictIds.size() / 2);
-        for (ConflictId id : conflictIds) {
-            if (id.inDegree <= 0) {
+        RootQueue roots = new RootQueue(ids.size / 2, ids.minDepths);
+        for (int id = 0; id < ids.size; id++) {
+            if (ids.inDegrees[id] <= 0) {
                 roots.add(id);
             }
         }
 
-        processRoots(sorted, roots);
+        processRoots(sorted, roots, ids);
 
-        boolean cycle = sorted.size() < conflictIds.size();
+        boolean cycle = sorted.size() < ids.size;
 
-        while (sorted.size() < conflictIds.size()) {
+        while (sorted.size() < ids.size) {
             // cycle -> deal gracefully with nodes still having positive in-degree
 
-            ConflictId nearest = null;
-            for (ConflictId id : conflictIds) {
-                if (id.inDegree <= 0) {
+            int nearest = -1;
+            for (int id = 0; id < ids.size; id++) {
+                if (ids.inDegrees[id] <= 0) {
                     continue;
                 }
-                if (nearest == null
-                        || id.minDepth < nearest.minDepth
-                        || (id.minDepth == nearest.minDepth && id.inDegree < nearest.inDegree)) {
+                if (nearest < 0
+                        || ids.minDepths[id] < ids.minDepths[nearest]
+                        || (ids.minDepths[id] == ids.minDepths[nearest]
+                                && ids.inDegrees[id] < ids.inDegrees[nearest])) {
                     nearest = id;
                 }
             }
 
-            nearest.inDegree = 0;
+            ids.inDegrees[nearest] = 0;
             roots.add(nearest);
 
-            processRoots(sorted, roots);
+            processRoots(sorted, roots, ids);
         }
 
         Collection<Collection<String>> cycles = Collections.emptySet();
         if (cycle) {
-            cycles = findCycles(conflictIds);
+            cycles = findCycles(ids);
         }
 
         context.put(TransformationContextKeys.SORTED_CONFLICT_IDS, sorted);
@@ -172,151 +144,308 @@ public final class ConflictIdSorter implements DependencyGraphTransformer {
         return cycles.size();
     }
 
-    private void processRoots(List<String> sorted, RootQueue roots) {
+    private void processRoots(List<String> sorted, RootQueue roots, ConflictIds ids) {
         while (!roots.isEmpty()) {
-            ConflictId root = roots.remove();
+            int root = roots.remove();
 
-            sorted.add(root.key);
+            sorted.add(ids.keys[root]);
 
-            for (ConflictId child : root.children) {
-                child.inDegree--;
-                if (child.inDegree == 0) {
+            for (int i = ids.edgeStart[root], end = ids.edgeStart[root + 1]; i < end; i++) {
+                int child = ids.edges[i];
+                ids.inDegrees[child]--;
+                if (ids.inDegrees[child] == 0) {
                     roots.add(child);
                 }
             }
         }
     }
 
-    private Collection<Collection<String>> findCycles(Collection<ConflictId> conflictIds) {
+    private Collection<Collection<String>> findCycles(ConflictIds ids) {
         Collection<Collection<String>> cycles = new HashSet<>();
 
-        Map<String, Integer> stack = new HashMap<>(128);
-        Map<ConflictId, Boolean> visited = new IdentityHashMap<>(conflictIds.size());
-        for (ConflictId id : conflictIds) {
-            findCycles(id, visited, stack, cycles);
+        // ids are dense, so stack positions and visited flags are indexed by them
+        int[] stack = new int[ids.size];
+        int[] stackDepths = new int[ids.size];
+        Arrays.fill(stackDepths, -1);
+        boolean[] visited = new boolean[ids.size];
+        for (int id = 0; id < ids.size; id++) {
+            findCycles(id, 0, ids, visited, stack, stackDepths, cycles);
         }
 
         return cycles;
     }
 
     private void findCycles(
-            ConflictId id,
-            Map<ConflictId, Boolean> visited,
-            Map<String, Integer> stack,
+            int id,
+            int stackSize,
+            ConflictIds ids,
+            boolean[] visited,
+            int[] stack,
+            int[] stackDepths,
             Collection<Collection<String>> cycles) {
-        Integer depth = stack.put(id.key, stack.size());
-        if (depth != null) {
-            stack.put(id.key, depth);
+        int depth = stackDepths[id];
+        if (depth >= 0) {
             Collection<String> cycle = new HashSet<>();
-            for (Map.Entry<String, Integer> entry : stack.entrySet()) {
-                if (entry.getValue() >= depth) {
-                    cycle.add(entry.getKey());
-                }
+            for (int i = depth; i < stackSize; i++) {
+                cycle.add(ids.keys[stack[i]]);
             }
             cycles.add(cycle);
         } else {
-            if (visited.put(id, Boolean.TRUE) == null) {
-                for (ConflictId childId : id.children) {
-                    findCycles(childId, visited, stack, cycles);
+            stackDepths[id] = stackSize;
+            stack[stackSize] = id;
+            if (!visited[id]) {
+                visited[id] = true;
+                for (int i = ids.edgeStart[id], end = ids.edgeStart[id + 1]; i < end; i++) {
+                    findCycles(ids.edges[i], stackSize + 1, ids, visited, stack, stackDepths, cycles);
                 }
             }
-            stack.remove(id.key);
+            stackDepths[id] = -1;
         }
     }
 
-    static final class ConflictId {
+    /**
+     * The conflict id DAG, where conflict ids are dense {@code int}s in order of discovery. While being built, the
+     * children of each id are kept in growable arrays (as depths are pulled up along them), once built they are
+     * compacted into CSR arrays, like {@link ConflictGraph} does with nodes.
+     */
+    private static final class ConflictIds {
+
+        private final ConflictGraph graph;
 
-        final String key;
+        private final boolean[] visited;
 
-        Collection<ConflictId> children = Collections.emptySet();
+        /**
+         * Maps the labels of graph to conflict ids, {@code -1} if not seen yet.
+         */
+        private final int[] idsByLabel;
 
-        int inDegree;
+        /**
+         * The conflict id of nodes without label, {@code -1} if not seen yet.
+         */
+        private int unlabeledId = -1;
 
-        int minDepth;
+        private final EdgeSet edgeSet = new EdgeSet(256);
 
-        ConflictId(String key, int depth) {
-            this.key = key;
-            this.minDepth = depth;
+        private int[][] children = new int[64][];
+
+        private int[] childCounts = new int[64];
+
+        int size;
+
+        String[] keys = new String[64];
+
+        int[] minDepths = new int[64];
+
+        int[] inDegrees = new int[64];
+
+        int[] edgeStart;
+
+        int[] edges;
+
+        ConflictIds(ConflictGraph graph) {
+            this.graph = graph;
+            this.visited = new boolean[graph.size];
+            this.idsByLabel = new int[graph.keys.length];
+            Arrays.fill(idsByLabel, -1);
         }
 
-        public void add(ConflictId child) {
-            if (children.isEmpty()) {
-                children = new HashSet<>();
+        /**
+         * Returns the conflict id of given graph label, creating it with given depth if not seen yet, or pulling it up
+         * to given depth otherwise. Label {@code -1} of root denotes no conflict id.
+         */
+        int get(int label, int depth, boolean root) {
+            int id = label >= 0 ? idsByLabel[label] : unlabeledId;
+            if (id < 0) {
+                if (label < 0 && root) {
+                    return -1;
+                }
+                id = add(label >= 0 ? graph.keys[label] : null, depth);
+                if (label >= 0) {
+                    idsByLabel[label] = id;
+                } else {
+                    unlabeledId = id;
+                }
+            } else {
+                pullup(id, depth);
             }
-            if (children.add(child)) {
-                child.inDegree++;
+            return id;
+        }
+
+        private int add(String key, int depth) {
+            int id = size++;
+            if (id >= keys.length) {
+                int length = keys.length * 2;
+                keys = Arrays.copyOf(keys, length);
+                minDepths = Arrays.copyOf(minDepths, length);
+                inDegrees = Arrays.copyOf(inDegrees, length);
+                children = Arrays.copyOf(children, length);
+                childCounts = Arrays.copyOf(childCounts, length);
             }
+            keys[id] = key;
+            minDepths[id] = depth;
+            return id;
         }
 
-        public void pullup(int depth) {
-            if (depth < minDepth) {
-                minDepth = depth;
+        void buildConflictIdDAG(int node, int id, int depth) {
+            if (visited[node]) {
+                return;
+            }
+            visited[node] = true;
+
+            depth++;
+
+            for (int i = graph.edgeStart[node], end = graph.edgeStart[node + 1]; i < end; i++) {
+                int child = graph.edges[i];
+                int childId = get(graph.labels[child], depth, false);
+
+                if (id >= 0) {
+                    addEdge(id, childId);
+                }
+
+                buildConflictIdDAG(child, childId, depth);
+            }
+        }
+
+        private void addEdge(int id, int childId) {
+            if (edgeSet.add(id, childId)) {
+                int[] array = children[id];
+                int count = childCounts[id];
+                if (array == null) {
+                    array = new int[4];
+                    children[id] = array;
+                } else if (count >= array.length) {
+                    array = Arrays.copyOf(array, count * 2);
+                    children[id] = array;
+                }
+                array[count] = childId;
+                childCounts[id] = count + 1;
+                inDegrees[childId]++;
+            }
+        }
+
+        private void pullup(int id, int depth) {
+            if (depth < minDepths[id]) {
+                minDepths[id] = depth;
                 depth++;
-                for (ConflictId child : children) {
-                    child.pullup(depth);
+                int[] array = children[id];
+                for (int i = 0, count = childCounts[id]; i < count; i++) {
+                    pullup(array[i], depth);
                 }
             }
         }
 
-        @Override
-        public boolean equals(Object obj) {
-            if (this == obj) {
-                return true;
-            } else if (!(obj instanceof ConflictId)) {
-                return false;
+        /**
+         * Compacts the children into CSR arrays, each id having its children sorted ascending.
+         */
+        void compact() {
+            edgeStart = new int[size + 1];
+            edges = new int[edgeSet.size];
+            int count = 0;
+            for (int id = 0; id < size; id++) {
+                edgeStart[id] = count;
+                if (childCounts[id] > 0) {
+                    System.arraycopy(children[id], 0, edges, count, childCounts[id]);
+                    Arrays.sort(edges, count, count + childCounts[id]);
+                    count += childCounts[id];
+                }
             }
-            ConflictId that = (ConflictId) obj;
-            return this.key.equals(that.key);
+            edgeStart[size] = count;
+            children = null;
+        }
+    }
+
+    /**
+     * Open addressing hash set of conflict id edges, each encoded into a {@code long}.
+     */
+    private static final class EdgeSet {
+
+        private static final long EMPTY = -1L;
+
+        private long[] table;
+
+        int size;
+
+        EdgeSet(int capacity) {
+            table = new long[capacity];
+            Arrays.fill(table, EMPTY);
         }
 
-        @Override
-        public int hashCode() {
-            return key.hashCode();
+        boolean add(int from, int to) {
+            long edge = ((long) from << 32) | to;
+            if (++size * 2 > table.length) {
+                long[] old = table;
+                table = new long[old.length * 2];
+                Arrays.fill(table, EMPTY);
+                for (long e : old) {
+                    if (e != EMPTY) {
+                        insert(e);
+                    }
+                }
+            }
+            if (!insert(edge)) {
+                size--;
+                return false;
+            }
+            return true;
         }
 
-        @Override
-        public String toString() {
-            return key + " @ " + minDepth + " <" + inDegree;
+        private boolean insert(long edge) {
+            int mask = table.length - 1;
+            int i = Long.hashCode(edge * 0x9E3779B97F4A7C15L) & mask;
+            while (table[i] != EMPTY) {
+                if (table[i] == edge) {
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+            table[i] = edge;
+            return true;
         }
     }
 
+    /**
+     * Queue of conflict ids having no (more) incoming edges, ordered by their minimal depth.
+     */
     static final class RootQueue {
 
+        private final int[] depths;
+
         private int nextOut;
 
         private int nextIn;
 
-        private ConflictId[] ids;
+        private int[] ids;
 
-        RootQueue(int capacity) {
-            ids = new ConflictId[capacity + 16];
+        RootQueue(int capacity, int[] depths) {
+            this.ids = new int[capacity + 16];
+            this.depths = depths;
         }
 
         boolean isEmpty() {
             return nextOut >= nextIn;
         }
 
-        void add(ConflictId id) {
+        void add(int id) {
             if (nextOut >= nextIn && nextOut > 0) {
                 nextIn -= nextOut;
                 nextOut = 0;
             }
             if (nextIn >= ids.length) {
-                ConflictId[] tmp = new ConflictId[ids.length + ids.length / 2 + 16];
+                int[] tmp = new int[ids.length + ids.length / 2 + 16];
                 System.arraycopy(ids, nextOut, tmp, 0, nextIn - nextOut);
                 ids = tmp;
                 nextIn -= nextOut;
                 nextOut = 0;
             }
             int i;
-            for (i = nextIn - 1; i >= nextOut && id.minDepth < ids[i].minDepth; i--) {
+            for (i = nextIn - 1; i >= nextOut && depths[id] < depths[ids[i]]; i--) {
                 ids[i + 1] = ids[i];
             }
             ids[i + 1] = id;
             nextIn++;
         }
 
-        ConflictId remove() {
+        int remove() {
             return ids[nextOut++];
         }
     }
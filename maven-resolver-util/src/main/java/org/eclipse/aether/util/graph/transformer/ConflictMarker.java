@@ -18,14 +18,9 @@
  */
 package org.eclipse.aether.util.graph.transformer;
 
-import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.IdentityHashMap;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Set;
 
 import org.eclipse.aether.RepositoryException;
 import org.eclipse.aether.artifact.Artifact;
@@ -33,6 +28,7 @@ import org.eclipse.aether.collection.DependencyGraphTransformationContext;
 import org.eclipse.aether.collection.DependencyGraphTransformer;
 import org.eclipse.aether.graph.Dependency;
 import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.util.artifact.ArtifactSymbolTable;
 
 import static java.util.Objects.requireNonNull;
 
@@ -59,209 +55,124 @@ public final class ConflictMarker implements DependencyGraphTransformer {
         Map<String, Object> stats = (Map<String, Object>) context.get(TransformationContextKeys.STATS);
         long time1 = System.nanoTime();
 
-        Map<DependencyNode, Boolean> nodes = new IdentityHashMap<>(1024);
-        Map<Key, ConflictGroup> groups = new HashMap<>(1024);
-
-        analyze(node, nodes, groups, new int[] {0});
+        Groups groups = new Groups();
+        ConflictGraph graph = new ConflictGraph(node, groups::analyze);
 
         long time2 = System.nanoTime();
 
-        Map<DependencyNode, String> conflictIds = mark(nodes.keySet(), groups);
+        Map<DependencyNode, String> conflictIds = mark(graph, groups);
 
         context.put(TransformationContextKeys.CONFLICT_IDS, conflictIds);
+        context.put(ConflictGraph.KEY, graph);
 
         if (stats != null) {
             long time3 = System.nanoTime();
             stats.put("ConflictMarker.analyzeTime", time2 - time1);
             stats.put("ConflictMarker.markTime", time3 - time2);
-            stats.put("ConflictMarker.nodeCount", nodes.size());
+            stats.put("ConflictMarker.nodeCount", graph.size);
         }
 
         return node;
     }
 
-    private void analyze(
-            DependencyNode node, Map<DependencyNode, Boolean> nodes, Map<Key, ConflictGroup> groups, int[] counter) {
-        if (nodes.put(node, Boolean.TRUE) != null) {
-            return;
-        }
-
-        Set<Key> keys = getKeys(node);
-        if (!keys.isEmpty()) {
-            ConflictGroup group = null;
-            boolean fixMappings = false;
-
-            for (Key key : keys) {
-                ConflictGroup g = groups.get(key);
-
-                if (group != g) {
-                    if (group == null) {
-                        Set<Key> newKeys = merge(g.keys, keys);
-                        if (newKeys == g.keys) {
-                            group = g;
-                            break;
-                        } else {
-                            group = new ConflictGroup(newKeys, counter[0]++);
-                            fixMappings = true;
-                        }
-                    } else if (g == null) {
-                        fixMappings = true;
-                    } else {
-                        Set<Key> newKeys = merge(g.keys, group.keys);
-                        if (newKeys == g.keys) {
-                            group = g;
-                            fixMappings = false;
-                            break;
-                        } else if (newKeys != group.keys) {
-                            group = new ConflictGroup(newKeys, counter[0]++);
-                            fixMappings = true;
-                        }
+    /**
+     * Replaces the key symbol labels of graph nodes with dense conflict group labels, and creates the conflict id map.
+     */
+    private Map<DependencyNode, String> mark(ConflictGraph graph, Groups groups) {
+        Map<DependencyNode, String> conflictIds = new IdentityHashMap<>(graph.size + 1);
+        int[] groupIndexes = new int[groups.symbols.size()];
+        Arrays.fill(groupIndexes, -1);
+        String[] ids = new String[16];
+        int count = 0;
+
+        for (int node = 0; node < graph.size; node++) {
+            int symbol = graph.labels[node];
+            if (symbol >= 0) {
+                int root = groups.find(symbol);
+                int index = groupIndexes[root];
+                if (index < 0) {
+                    index = count++;
+                    groupIndexes[root] = index;
+                    if (index >= ids.length) {
+                        ids = Arrays.copyOf(ids, ids.length * 2);
                     }
+                    ids[index] = String.valueOf(index).intern(); // interning it as is expected so in UT
                 }
-            }
-
-            if (group == null) {
-                group = new ConflictGroup(keys, counter[0]++);
-                fixMappings = true;
-            }
-            if (fixMappings) {
-                for (Key key : group.keys) {
-                    groups.put(key, group);
-                }
-            }
-        }
-
-        for (DependencyNode child : node.getChildren()) {
-            analyze(child, nodes, groups, counter);
-        }
-    }
-
-    private Set<Key> merge(Set<Key> keys1, Set<Key> keys2) {
-        int size1 = keys1.size();
-        int size2 = keys2.size();
-
-        if (size1 < size2) {
-            if (keys2.containsAll(keys1)) {
-                return keys2;
-            }
-        } else {
-            if (keys1.containsAll(keys2)) {
-                return keys1;
+                graph.labels[node] = index;
+                conflictIds.put(graph.nodes[node], ids[index]);
             }
         }
 
-        Set<Key> keys = new HashSet<>();
-        keys.addAll(keys1);
-        keys.addAll(keys2);
-        return keys;
+        graph.keys = Arrays.copyOf(ids, count);
+        graph.conflictIds = conflictIds;
+        return conflictIds;
     }
 
-    private Set<Key> getKeys(DependencyNode node) {
-        Set<Key> keys;
-
-        Dependency dependency = node.getDependency();
-
-        if (dependency == null) {
-            keys = Collections.emptySet();
-        } else {
-            Key key = toKey(dependency.getArtifact());
-
-            if (node.getRelocations().isEmpty() && node.getAliases().isEmpty()) {
-                keys = Collections.singleton(key);
-            } else {
-                keys = new HashSet<>();
-                keys.add(key);
-
-                for (Artifact relocation : node.getRelocations()) {
-                    key = toKey(relocation);
-                    keys.add(key);
-                }
-
-                for (Artifact alias : node.getAliases()) {
-                    key = toKey(alias);
-                    keys.add(key);
-                }
-            }
-        }
+    /**
+     * The versionless coordinate symbols, partitioned into conflict groups using union-find: nodes related by
+     * relocations or aliases unite their key symbols, and conflict groups are the resulting disjoint sets.
+     */
+    private static final class Groups {
 
-        return keys;
-    }
+        final ArtifactSymbolTable symbols = ArtifactSymbolTable.versionless();
 
-    private Map<DependencyNode, String> mark(Collection<DependencyNode> nodes, Map<Key, ConflictGroup> groups) {
-        Map<DependencyNode, String> conflictIds = new IdentityHashMap<>(nodes.size() + 1);
+        int[] parents = grow(new int[0], 256);
 
-        for (DependencyNode node : nodes) {
+        /**
+         * Unites the key symbols of given node, and returns the symbol of its artifact, or {@code -1} if node has no
+         * dependency.
+         */
+        int analyze(DependencyNode node) {
             Dependency dependency = node.getDependency();
-            if (dependency != null) {
-                Key key = toKey(dependency.getArtifact());
-                conflictIds.put(
-                        node, String.valueOf(groups.get(key).index).intern()); // interning it as is expected so in UT
+            if (dependency == null) {
+                return -1;
             }
-        }
-
-        return conflictIds;
-    }
-
-    private static Key toKey(Artifact artifact) {
-        return new Key(artifact);
-    }
-
-    static class ConflictGroup {
 
-        final Set<Key> keys;
-
-        final int index;
-
-        ConflictGroup(Set<Key> keys, int index) {
-            this.keys = keys;
-            this.index = index;
-        }
-
-        @Override
-        public String toString() {
-            return String.valueOf(keys);
+            int key = symbol(dependency.getArtifact());
+            for (Artifact relocation : node.getRelocations()) {
+                union(key, symbol(relocation));
+            }
+            for (Artifact alias : node.getAliases()) {
+                union(key, symbol(alias));
+            }
+            return key;
         }
-    }
-
-    static class Key {
-
-        private final Artifact artifact;
-        private final int hashCode;
 
-        Key(Artifact artifact) {
-            this.artifact = artifact;
-            this.hashCode = Objects.hash(
-                    artifact.getArtifactId(), artifact.getGroupId(), artifact.getExtension(), artifact.getClassifier());
+        private int symbol(Artifact artifact) {
+            int symbol = symbols.symbol(artifact);
+            if (symbol >= parents.length) {
+                parents = grow(parents, Math.max(symbol + 1, parents.length * 2));
+            }
+            return symbol;
         }
 
-        @Override
-        public boolean equals(Object obj) {
-            if (obj == this) {
-                return true;
-            } else if (!(obj instanceof Key)) {
-                return false;
+        /**
+         * Grows the array, making every new symbol its own parent.
+         */
+        private static int[] grow(int[] parents, int length) {
+            int[] result = Arrays.copyOf(parents, length);
+            for (int i = parents.length; i < length; i++) {
+                result[i] = i;
             }
-            Key that = (Key) obj;
-            return artifact.getArtifactId().equals(that.artifact.getArtifactId())
-                    && artifact.getGroupId().equals(that.artifact.getGroupId())
-                    && artifact.getExtension().equals(that.artifact.getExtension())
-                    && artifact.getClassifier().equals(that.artifact.getClassifier());
+            return result;
         }
 
-        @Override
-        public int hashCode() {
-            return hashCode;
+        int find(int symbol) {
+            while (parents[symbol] != symbol) {
+                parents[symbol] = parents[parents[symbol]];
+                symbol = parents[symbol];
+            }
+            return symbol;
         }
 
-        @Override
-        public String toString() {
-            return artifact.getGroupId()
-                    + ':'
-                    + artifact.getArtifactId()
-                    + ':'
-                    + artifact.getClassifier()
-                    + ':'
-                    + artifact.getExtension();
+        private void union(int symbol1, int symbol2) {
+            int root1 = find(symbol1);
+            int root2 = find(symbol2);
+            if (root1 < root2) {
+                parents[root2] = root1;
+            } else if (root2 < root1) {
+                parents[root1] = root2;
+            }
         }
     }
 }
@@ -257,6 +257,46 @@ public class ConflictResolver implements DependencyGraphTransformer {
         this.scopeDeriver = requireNonNull(scopeDeriver, "scope deriver cannot be null");
     }
 
+    /**
+     * Returns the version selector of this conflict resolver.
+     *
+     * @return the version selector, or {@code null} if subclass was created without hooks
+     * @since 2.0.20
+     */
+    public VersionSelector getVersionSelector() {
+        return versionSelector;
+    }
+
+    /**
+     * Returns the scope selector of this conflict resolver.
+     *
+     * @return the scope selector, or {@code null} if subclass was created without hooks
+     * @since 2.0.20
+     */
+    public ScopeSelector getScopeSelector() {
+        return scopeSelector;
+    }
+
+    /**
+     * Returns the optionality selector of this conflict resolver.
+     *
+     * @return the optionality selector, or {@code null} if subclass was created without hooks
+     * @since 2.0.20
+     */
+    public OptionalitySelector getOptionalitySelector() {
+        return optionalitySelector;
+    }
+
+    /**
+     * Returns the scope deriver of this conflict resolver.
+     *
+     * @return the scope deriver, or {@code null} if subclass was created without hooks
+     * @since 2.0.20
+     */
+    public ScopeDeriver getScopeDeriver() {
+        return scopeDeriver;
+    }
+
     @Override
     public DependencyNode transformGraph(DependencyNode node, DependencyGraphTransformationContext context)
             throws RepositoryException {
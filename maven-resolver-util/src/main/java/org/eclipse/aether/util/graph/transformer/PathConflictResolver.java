@@ -19,14 +19,21 @@
 package org.eclipse.aether.util.graph.transformer;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 import org.eclipse.aether.ConfigurationProperties;
@@ -111,6 +118,25 @@ public final class PathConflictResolver extends ConflictResolver {
 
     public static final boolean DEFAULT_SHOW_CYCLES_IN_STANDARD_VERBOSITY = false;
 
+    /**
+     * The count of threads to resolve conflict groups with. Values above 1 make conflict groups that cannot affect
+     * each other resolved concurrently, while groups that can affect each other are still resolved in topological
+     * order, so the result is identical to sequential resolution. Groups can affect each other if one is reachable
+     * from the other, if they have same groupId and artifactId, or if they have nodes whose parents (more than one)
+     * share same children list. Groups that merely have sibling nodes under the same parent are resolved concurrently,
+     * as their changes to the children of that parent commute. Parallel resolution requires the used version, scope
+     * and optionality selectors and scope deriver to be thread-safe, as all the ones provided by resolver are.
+     *
+     * @since 2.0.20
+     * @configurationSource {@link RepositorySystemSession#getConfigProperties()}
+     * @configurationType {@link java.lang.Integer}
+     * @configurationDefaultValue {@link #DEFAULT_PARALLELISM}
+     */
+    public static final String CONFIG_PROP_PARALLELISM = ConfigurationProperties.PREFIX_AETHER + "conflictResolver."
+            + ConflictResolver.PATH_CONFLICT_RESOLVER + ".parallelism";
+
+    public static final int DEFAULT_PARALLELISM = 1;
+
     private final ConflictResolver.VersionSelector versionSelector;
     private final ConflictResolver.ScopeSelector scopeSelector;
     private final ConflictResolver.ScopeDeriver scopeDeriver;
@@ -135,6 +161,26 @@ public final class PathConflictResolver extends ConflictResolver {
         this.scopeDeriver = requireNonNull(scopeDeriver, "scope deriver cannot be null");
     }
 
+    @Override
+    public ConflictResolver.VersionSelector getVersionSelector() {
+        return versionSelector;
+    }
+
+    @Override
+    public ConflictResolver.ScopeSelector getScopeSelector() {
+        return scopeSelector;
+    }
+
+    @Override
+    public ConflictResolver.OptionalitySelector getOptionalitySelector() {
+        return optionalitySelector;
+    }
+
+    @Override
+    public ConflictResolver.ScopeDeriver getScopeDeriver() {
+        return scopeDeriver;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public DependencyNode transformGraph(DependencyNode node, DependencyGraphTransformationContext context)
@@ -172,56 +218,13 @@ public final class PathConflictResolver extends ConflictResolver {
                 conflictIds,
                 node);
 
-        // loop over topographically sorted conflictIds
-        for (String conflictId : sortedConflictIds) {
-            // paths in given conflict group to consider
-            List<Path> paths = state.partitions.get(conflictId);
-            if (paths.isEmpty()) {
-                // this means that whole group "fall out of scope" (are all on loser branches); skip
-                continue;
-            }
-
-            // create conflict context for given conflictId
-            ConflictContext ctx = new ConflictContext(
-                    node,
-                    state.conflictIds,
-                    paths.stream().map(ConflictItem::new).collect(Collectors.toList()),
-                    conflictId);
-
-            // select winner (is done by VersionSelector)
-            state.versionSelector.selectVersion(ctx);
-            if (ctx.winner == null) {
-                throw new RepositoryException("conflict resolver did not select winner among " + ctx.items);
-            }
-            // select scope (no side effect between this and above operations)
-            state.scopeSelector.selectScope(ctx);
-            // select optionality (no side effect between this and above operations)
-            state.optionalitySelector.selectOptionality(ctx);
-
-            // we have a winner path
-            Path winnerPath = ctx.winner.path;
-
-            // mark conflictId as resolved with winner; sanity check
-            if (state.resolvedIds.containsKey(conflictId)) {
-                throw new RepositoryException("conflict resolver already have winner for conflictId=" + conflictId
-                        + ": " + state.resolvedIds);
-            }
-            state.resolvedIds.put(conflictId, winnerPath);
-
-            // loop over considered paths and apply selection results; note: node may remove itself from iterated list
-            for (Path path : new ArrayList<>(paths)) {
-                // apply selected properties scope/optional to winner (winner carries version; others are losers)
-                if (path == winnerPath) {
-                    path.scope = ctx.scope;
-                    path.optional = ctx.optional;
-                }
-
-                // reset children as inheritance may be affected by this node scope/optionality change
-                path.children.forEach(c -> c.pull(0));
-                // derive with new values from this to children only; observe winner flag
-                path.derive(1, path == winnerPath);
-                // push this node full level changes to DN graph
-                path.push(0);
+        int parallelism = ConfigUtils.getInteger(context.getSession(), DEFAULT_PARALLELISM, CONFIG_PROP_PARALLELISM);
+        if (parallelism > 1 && sortedConflictIds.size() > 1) {
+            new ParallelResolution(state, node, sortedConflictIds, parallelism).run();
+        } else {
+            // loop over topographically sorted conflictIds
+            for (String conflictId : sortedConflictIds) {
+                resolve(state, node, conflictId);
             }
         }
 
@@ -236,6 +239,252 @@ public final class PathConflictResolver extends ConflictResolver {
         return node;
     }
 
+    /**
+     * Resolves conflict group of given conflictId: selects the winner and applies the selection onto paths of the
+     * group and their direct children.
+     */
+    private static void resolve(State state, DependencyNode node, String conflictId) throws RepositoryException {
+        // paths in given conflict group to consider
+        List<Path> paths = state.partitions.get(conflictId);
+        if (paths == null || paths.isEmpty()) {
+            // this means that whole group "fall out of scope" (are all on loser branches), or is reachable only
+            // through cycles (hence has no paths); skip
+            return;
+        }
+
+        // create conflict context for given conflictId; items of same parent node must see same children list
+        IdentityHashMap<DependencyNode, List<DependencyNode>> siblings = new IdentityHashMap<>();
+        ConflictContext ctx = new ConflictContext(
+                node,
+                state.conflictIds,
+                paths.stream().map(p -> new ConflictItem(p, siblings)).collect(Collectors.toList()),
+                conflictId);
+
+        // select winner (is done by VersionSelector)
+        state.versionSelector.selectVersion(ctx);
+        if (ctx.winner == null) {
+            throw new RepositoryException("conflict resolver did not select winner among " + ctx.items);
+        }
+        // select scope (no side effect between this and above operations)
+        state.scopeSelector.selectScope(ctx);
+        // select optionality (no side effect between this and above operations)
+        state.optionalitySelector.selectOptionality(ctx);
+
+        // we have a winner path
+        Path winnerPath = ctx.winner.path;
+
+        // mark conflictId as resolved with winner; sanity check
+        if (state.resolvedIds.putIfAbsent(conflictId, winnerPath) != null) {
+            throw new RepositoryException(
+                    "conflict resolver already have winner for conflictId=" + conflictId + ": " + state.resolvedIds);
+        }
+
+        // loop over considered paths and apply selection results; note: node may remove itself from iterated list
+        for (Path path : new ArrayList<>(paths)) {
+            // apply selected properties scope/optional to winner (winner carries version; others are losers)
+            if (path == winnerPath) {
+                path.scope = ctx.scope;
+                path.optional = ctx.optional;
+            }
+
+            // reset children as inheritance may be affected by this node scope/optionality change
+            path.children.forEach(c -> c.pull(0));
+            // derive with new values from this to children only; observe winner flag
+            path.derive(1, path == winnerPath);
+            // push this node full level changes to DN graph
+            path.push(0);
+        }
+    }
+
+    /**
+     * Resolves conflict groups concurrently. Two groups may affect each other, hence are resolved in their
+     * topological order, if:
+     * <ul>
+     * <li>one is reachable from the other: winner selection of a group moves paths below losers out of scope, and
+     *     derives scope and optionality of children</li>
+     * <li>they have same groupId and artifactId: standard verbosity counts related (version range) siblings</li>
+     * <li>they have paths whose parent nodes share same children list (collector reuses children lists of same
+     *     nodes): conflict items are siblings by children list identity, and losers are swapped in place in it</li>
+     * </ul>
+     * Other mutations of shared structures (removal and swapping of losers in children of a single parent, partitions)
+     * commute, and are guarded by locks.
+     */
+    private static final class ParallelResolution {
+        private final State state;
+
+        private final DependencyNode node;
+
+        private final List<String> sortedConflictIds;
+
+        private final int parallelism;
+
+        /**
+         * Per group (by index in sorted conflictIds) the groups it may affect or be affected by.
+         */
+        private final BitSet[] related;
+
+        private final AtomicIntegerArray pending;
+
+        private final AtomicReference<Throwable> failure;
+
+        private CountDownLatch done;
+
+        private ForkJoinPool pool;
+
+        private ParallelResolution(State state, DependencyNode node, List<String> sortedConflictIds, int parallelism) {
+            this.state = state;
+            this.node = node;
+            this.sortedConflictIds = sortedConflictIds;
+            this.parallelism = parallelism;
+            this.related = related();
+            this.pending = new AtomicIntegerArray(related.length);
+            for (int i = 0; i < related.length; i++) {
+                pending.set(i, related[i].get(0, i).cardinality());
+            }
+            this.failure = new AtomicReference<>();
+        }
+
+        private BitSet[] related() {
+            int size = sortedConflictIds.size();
+            HashMap<String, Integer> indexes = new HashMap<>(size * 2);
+            for (int i = 0; i < size; i++) {
+                indexes.put(sortedConflictIds.get(i), i);
+            }
+            BitSet[] successors = new BitSet[size];
+            BitSet[] related = new BitSet[size];
+            for (int i = 0; i < size; i++) {
+                successors[i] = new BitSet();
+                related[i] = new BitSet();
+            }
+            HashMap<String, BitSet> gaFamilies = new HashMap<>();
+            IdentityHashMap<List<DependencyNode>, Family> listFamilies = new IdentityHashMap<>();
+            for (Map.Entry<String, List<Path>> partition : state.partitions.entrySet()) {
+                Integer index = indexes.get(partition.getKey());
+                if (index == null) {
+                    continue;
+                }
+                for (Path path : partition.getValue()) {
+                    Artifact artifact = path.dn.getArtifact();
+                    if (artifact != null) {
+                        gaFamilies
+                                .computeIfAbsent(
+                                        artifact.getGroupId() + ":" + artifact.getArtifactId(), k -> new BitSet())
+                                .set(index);
+                    }
+                    if (path.parent != null) {
+                        Integer parentIndex = indexes.get(path.parent.conflictId);
+                        if (parentIndex != null) {
+                            successors[parentIndex].set(index);
+                        }
+                        Family family = listFamilies.computeIfAbsent(path.parent.dn.getChildren(), k -> new Family());
+                        family.parents.put(path.parent.dn, Boolean.TRUE);
+                        family.members.set(index);
+                    }
+                }
+            }
+
+            // reachability: sorted order is topological except for cycles, so iterate until stable
+            BitSet[] reach = new BitSet[size];
+            for (int i = 0; i < size; i++) {
+                reach[i] = new BitSet();
+                reach[i].set(i);
+            }
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (int i = size - 1; i >= 0; i--) {
+                    int cardinality = reach[i].cardinality();
+                    for (int s = successors[i].nextSetBit(0); s >= 0; s = successors[i].nextSetBit(s + 1)) {
+                        reach[i].or(reach[s]);
+                    }
+                    changed |= cardinality != reach[i].cardinality();
+                }
+            }
+            for (int i = 0; i < size; i++) {
+                related[i].or(reach[i]);
+                for (int r = reach[i].nextSetBit(0); r >= 0; r = reach[i].nextSetBit(r + 1)) {
+                    related[r].set(i);
+                }
+            }
+            for (BitSet family : gaFamilies.values()) {
+                relate(related, family);
+            }
+            for (Family family : listFamilies.values()) {
+                if (family.parents.size() > 1) {
+                    relate(related, family.members);
+                }
+            }
+            return related;
+        }
+
+        private static void relate(BitSet[] related, BitSet family) {
+            if (family.cardinality() > 1) {
+                for (int i = family.nextSetBit(0); i >= 0; i = family.nextSetBit(i + 1)) {
+                    related[i].or(family);
+                }
+            }
+        }
+
+        private void run() throws RepositoryException {
+            done = new CountDownLatch(related.length);
+            pool = new ForkJoinPool(parallelism);
+            try {
+                // collect first: scheduled groups immediately start decrementing pending counts
+                List<Integer> roots = new ArrayList<>();
+                for (int i = 0; i < related.length; i++) {
+                    if (pending.get(i) == 0) {
+                        roots.add(i);
+                    }
+                }
+                roots.forEach(this::schedule);
+                done.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RepositoryException("Interrupted while resolving conflicts", e);
+            } finally {
+                pool.shutdownNow();
+            }
+            Throwable t = failure.get();
+            if (t instanceof RepositoryException) {
+                throw (RepositoryException) t;
+            } else if (t instanceof RuntimeException) {
+                throw (RuntimeException) t;
+            } else if (t instanceof Error) {
+                throw (Error) t;
+            } else if (t != null) {
+                throw new RepositoryException(t.getMessage(), t);
+            }
+        }
+
+        private void schedule(int index) {
+            pool.execute(() -> resolve(index));
+        }
+
+        private void resolve(int index) {
+            try {
+                if (failure.get() == null) {
+                    PathConflictResolver.resolve(state, node, sortedConflictIds.get(index));
+                }
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+            } finally {
+                BitSet dependants = related[index];
+                for (int i = dependants.nextSetBit(index + 1); i >= 0; i = dependants.nextSetBit(i + 1)) {
+                    if (pending.decrementAndGet(i) == 0) {
+                        schedule(i);
+                    }
+                }
+                done.countDown();
+            }
+        }
+
+        private static final class Family {
+            private final IdentityHashMap<DependencyNode, Boolean> parents = new IdentityHashMap<>();
+
+            private final BitSet members = new BitSet();
+        }
+    }
+
     /**
      * State of conflict resolution processing, to make this component (held in session) re-entrant by multiple threads.
      */
@@ -311,7 +560,7 @@ public final class PathConflictResolver extends ConflictResolver {
             this.optionalitySelector = optionalitySelector;
             this.conflictIds = conflictIds;
             this.partitions = new HashMap<>();
-            this.resolvedIds = new HashMap<>();
+            this.resolvedIds = new ConcurrentHashMap<>();
             this.root = build(node);
         }
 
@@ -497,9 +746,7 @@ public final class PathConflictResolver extends ConflictResolver {
                     switch (state.verbosity) {
                         case NONE:
                             // remove loser dn
-                            this.parent.children.remove(this);
-                            this.parent.dn.setChildren(new ArrayList<>(this.parent.dn.getChildren()));
-                            this.parent.dn.getChildren().remove(this.dn);
+                            detach();
                             this.children.clear();
                             break;
                         case STANDARD:
@@ -516,9 +763,7 @@ public final class PathConflictResolver extends ConflictResolver {
                             }
                             if (isRedundant) {
                                 // is redundant dn; remove dn
-                                this.parent.children.remove(this);
-                                this.parent.dn.setChildren(new ArrayList<>(this.parent.dn.getChildren()));
-                                this.parent.dn.getChildren().remove(this.dn);
+                                detach();
                                 this.children.clear();
                             } else {
                                 // copy loser dn; without children
@@ -526,11 +771,7 @@ public final class PathConflictResolver extends ConflictResolver {
                                 dnCopy.setChildren(Collections.emptyList());
 
                                 // swap it out in DN graph; in case of cycles this may happen more than once
-                                int idx = this.parent.dn.getChildren().indexOf(this.dn);
-                                if (idx >= 0) {
-                                    this.parent.dn.getChildren().set(idx, dnCopy);
-                                }
-                                this.dn = dnCopy;
+                                swap(dnCopy);
 
                                 this.children.clear();
                                 markLoser = true;
@@ -542,11 +783,7 @@ public final class PathConflictResolver extends ConflictResolver {
                             dnCopy.setChildren(new ArrayList<>(this.dn.getChildren()));
 
                             // swap it out in DN graph; in case of cycles this may happen more than once
-                            int idx = this.parent.dn.getChildren().indexOf(this.dn);
-                            if (idx >= 0) {
-                                this.parent.dn.getChildren().set(idx, dnCopy);
-                            }
-                            this.dn = dnCopy;
+                            swap(dnCopy);
 
                             markLoser = true;
                             break;
@@ -576,6 +813,36 @@ public final class PathConflictResolver extends ConflictResolver {
             }
         }
 
+        /**
+         * Removes this from parent, and its {@link DependencyNode} from parent node children.
+         */
+        private void detach() {
+            synchronized (this.parent) {
+                this.parent.children.remove(this);
+            }
+            DependencyNode parentDn = this.parent.dn;
+            synchronized (parentDn) {
+                parentDn.setChildren(new ArrayList<>(parentDn.getChildren()));
+                parentDn.getChildren().remove(this.dn);
+            }
+        }
+
+        /**
+         * Replaces {@link DependencyNode} of this with given copy, also in parent node children.
+         */
+        private void swap(DependencyNode dnCopy) {
+            synchronized (this.parent) {
+                DependencyNode parentDn = this.parent.dn;
+                synchronized (parentDn) {
+                    int idx = parentDn.getChildren().indexOf(this.dn);
+                    if (idx >= 0) {
+                        parentDn.getChildren().set(idx, dnCopy);
+                    }
+                }
+                this.dn = dnCopy;
+            }
+        }
+
         /**
          * Returns {@code true} if given artifactId is direct dependency on the path leading from this toward root.
          * For some reason "classic" conflict resolver removes these.
@@ -605,10 +872,12 @@ public final class PathConflictResolver extends ConflictResolver {
          */
         private int relatedSiblingsCount(Artifact artifact, Path parent) {
             String ga = artifact.getGroupId() + ":" + artifact.getArtifactId();
-            return Math.toIntExact(parent.children.stream()
-                    .map(n -> n.dn.getArtifact())
-                    .filter(a -> ga.equals(a.getGroupId() + ":" + a.getArtifactId()))
-                    .count());
+            synchronized (parent) {
+                return Math.toIntExact(parent.children.stream()
+                        .map(n -> n.dn.getArtifact())
+                        .filter(a -> ga.equals(a.getGroupId() + ":" + a.getArtifactId()))
+                        .count());
+            }
         }
 
         /**
@@ -616,7 +885,10 @@ public final class PathConflictResolver extends ConflictResolver {
          * from "this and below" as loser, to not be considered in subsequent winner selections.
          */
         private void moveOutOfScope() {
-            this.state.partitions.get(this.conflictId).remove(this);
+            List<Path> partition = this.state.partitions.get(this.conflictId);
+            synchronized (partition) {
+                partition.remove(this);
+            }
             for (Path child : this.children) {
                 child.moveOutOfScope();
             }
@@ -747,11 +1019,11 @@ public final class PathConflictResolver extends ConflictResolver {
         private final String scope;
         private final int optionalities;
 
-        private ConflictItem(Path path) {
+        private ConflictItem(Path path, Map<DependencyNode, List<DependencyNode>> siblings) {
             this.path = path;
             if (path.parent != null) {
                 DependencyNode parent = path.parent.dn;
-                this.parent = parent.getChildren();
+                this.parent = siblings.computeIfAbsent(parent, DependencyNode::getChildren);
                 this.artifact = parent.getArtifact();
             } else {
                 this.parent = null;
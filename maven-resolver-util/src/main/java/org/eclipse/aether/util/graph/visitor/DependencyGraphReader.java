@@ -0,0 +1,424 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.eclipse.aether.util.graph.visitor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.graph.Exclusion;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.util.version.GenericVersionScheme;
+import org.eclipse.aether.version.InvalidVersionSpecificationException;
+import org.eclipse.aether.version.VersionScheme;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reads dependency graphs written by {@link DependencyGraphWriter}. Reading is lazy: the input is scanned once to
+ * locate the records, but strings, artifacts, repositories and nodes are decoded only when first reached, and children
+ * of a node are materialized only when accessed. Hence, inspecting only the top of a large graph costs little.
+ * Distinct nodes of the written graph are distinct {@link DefaultDependencyNode} instances of the read graph, so its
+ * shape (shared subgraphs and cycles) is same as the shape of written graph. Versions and version constraints are
+ * parsed using the given {@link VersionScheme}.
+ * <p>
+ * The returned graph is not thread-safe until fully materialized (for example by visiting it), as materialization
+ * happens on access. Instances of this class are not thread-safe, and do not close the input.
+ *
+ * @since 2.0.20
+ */
+public final class DependencyGraphReader {
+    private final VersionScheme versionScheme;
+
+    /**
+     * Creates a reader using {@link GenericVersionScheme}.
+     */
+    public DependencyGraphReader() {
+        this(new GenericVersionScheme());
+    }
+
+    /**
+     * Creates a reader using given version scheme.
+     *
+     * @param versionScheme the version scheme to parse versions and version constraints with, must not be {@code null}
+     */
+    public DependencyGraphReader(VersionScheme versionScheme) {
+        this.versionScheme = requireNonNull(versionScheme, "versionScheme cannot be null");
+    }
+
+    /**
+     * Reads the remaining input, and returns the root of the graph it carries.
+     *
+     * @param in the input, must not be {@code null}
+     * @return the root node, never {@code null}
+     * @throws IOException if reading failed, or input does not carry a graph in supported format
+     */
+    public DependencyNode read(InputStream in) throws IOException {
+        requireNonNull(in, "in cannot be null");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+            bytes.write(buffer, 0, read);
+        }
+        return read(bytes.toByteArray());
+    }
+
+    /**
+     * Returns the root of the graph carried by given bytes.
+     *
+     * @param bytes the bytes, must not be {@code null}
+     * @return the root node, never {@code null}
+     * @throws IOException if bytes do not carry a graph in supported format
+     */
+    public DependencyNode read(byte[] bytes) throws IOException {
+        requireNonNull(bytes, "bytes cannot be null");
+        try {
+            Graph graph = new Graph(bytes);
+            if (graph.nodes.length == 0) {
+                throw new IOException("Dependency graph has no nodes");
+            }
+            return graph.node(0);
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("Truncated or corrupted dependency graph", e);
+        }
+    }
+
+    /**
+     * The graph being read: offsets of records, and records decoded so far.
+     */
+    private final class Graph {
+        private final byte[] bytes;
+
+        private int position;
+
+        private final int[] stringOffsets;
+
+        private final String[] strings;
+
+        private final int[] artifactOffsets;
+
+        private final Artifact[] artifacts;
+
+        private final int[] repositoryOffsets;
+
+        private final RemoteRepository[] repositories;
+
+        private final int[] nodeOffsets;
+
+        private final DefaultDependencyNode[] nodes;
+
+        Graph(byte[] bytes) throws IOException {
+            this.bytes = bytes;
+            if (bytes.length < 4 || readInt() != DependencyGraphWriter.MAGIC) {
+                throw new IOException("Not a dependency graph");
+            }
+            int formatVersion = readVarint();
+            if (formatVersion != DependencyGraphWriter.FORMAT_VERSION) {
+                throw new IOException("Unsupported dependency graph format version " + formatVersion);
+            }
+
+            stringOffsets = new int[readVarint()];
+            strings = new String[stringOffsets.length];
+            for (int i = 0; i < stringOffsets.length; i++) {
+                stringOffsets[i] = position;
+                int length = readVarint();
+                position += length;
+            }
+
+            artifactOffsets = new int[readVarint()];
+            artifacts = new Artifact[artifactOffsets.length];
+            for (int i = 0; i < artifactOffsets.length; i++) {
+                artifactOffsets[i] = position;
+                skip(5);
+                skip(2 * readVarint());
+            }
+
+            repositoryOffsets = new int[readVarint()];
+            repositories = new RemoteRepository[repositoryOffsets.length];
+            for (int i = 0; i < repositoryOffsets.length; i++) {
+                repositoryOffsets[i] = position;
+                skip(4);
+            }
+
+            nodeOffsets = new int[readVarint()];
+            nodes = new DefaultDependencyNode[nodeOffsets.length];
+            for (int i = 0; i < nodeOffsets.length; i++) {
+                nodeOffsets[i] = position;
+                int flags = readVarint();
+                skip(1);
+                if ((flags & DependencyGraphWriter.FLAG_DEPENDENCY) != 0) {
+                    skip(1);
+                    skip(4 * readVarint());
+                }
+                skip(readVarint()); // relocations
+                skip(readVarint()); // aliases
+                skip(3); // version, constraint, managed bits
+                skip(readVarint()); // repositories
+                skip(1); // request context
+                skip(2 * readVarint()); // data
+                skip(readVarint()); // children
+            }
+        }
+
+        DependencyNode node(int id) throws IOException {
+            DefaultDependencyNode node = nodes[id];
+            if (node != null) {
+                return node;
+            }
+            position = nodeOffsets[id];
+            int flags = readVarint();
+            Artifact artifact = artifact(readVarint() - 1);
+            if ((flags & DependencyGraphWriter.FLAG_DEPENDENCY) != 0) {
+                String scope = string(readVarint());
+                int exclusionCount = readVarint();
+                List<Exclusion> exclusions = new ArrayList<>(exclusionCount);
+                for (int i = 0; i < exclusionCount; i++) {
+                    exclusions.add(new Exclusion(
+                            string(readVarint()), string(readVarint()), string(readVarint()), string(readVarint())));
+                }
+                Boolean optional = (flags & DependencyGraphWriter.FLAG_OPTIONAL) == 0
+                        ? null
+                        : (flags & DependencyGraphWriter.FLAG_OPTIONAL_TRUE) != 0;
+                node = new DefaultDependencyNode(new Dependency(artifact, scope, optional, exclusions));
+            } else {
+                node = new DefaultDependencyNode(artifact);
+            }
+            node.setRelocations(artifacts());
+            node.setAliases(artifacts());
+            String version = string(readVarint());
+            String versionConstraint = string(readVarint());
+            try {
+                if (version != null) {
+                    node.setVersion(versionScheme.parseVersion(version));
+                }
+                if (versionConstraint != null) {
+                    node.setVersionConstraint(versionScheme.parseVersionConstraint(versionConstraint));
+                }
+            } catch (InvalidVersionSpecificationException e) {
+                throw new IOException("Invalid version of node " + id, e);
+            }
+            node.setManagedBits(readVarint());
+            int repositoryCount = readVarint();
+            List<RemoteRepository> nodeRepositories = new ArrayList<>(repositoryCount);
+            for (int i = 0; i < repositoryCount; i++) {
+                nodeRepositories.add(repository(readVarint()));
+            }
+            node.setRepositories(nodeRepositories);
+            node.setRequestContext(string(readVarint()));
+            int dataCount = readVarint();
+            for (int i = 0; i < dataCount; i++) {
+                node.setData(string(readVarint()), string(readVarint()));
+            }
+            int[] children = new int[readVarint()];
+            for (int i = 0; i < children.length; i++) {
+                children[i] = readVarint();
+            }
+            if (children.length > 0) {
+                node.setChildren(new Children(children));
+            }
+            nodes[id] = node;
+            return node;
+        }
+
+        private List<Artifact> artifacts() throws IOException {
+            int count = readVarint();
+            if (count == 0) {
+                return Collections.emptyList();
+            }
+            List<Artifact> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                result.add(artifact(readVarint()));
+            }
+            return result;
+        }
+
+        private Artifact artifact(int id) throws IOException {
+            if (id < 0) {
+                return null;
+            }
+            Artifact artifact = artifacts[id];
+            if (artifact == null) {
+                int saved = position;
+                position = artifactOffsets[id];
+                String groupId = string(readVarint());
+                String artifactId = string(readVarint());
+                String version = string(readVarint());
+                String classifier = string(readVarint());
+                String extension = string(readVarint());
+                int propertyCount = readVarint();
+                Map<String, String> properties = propertyCount > 0 ? new HashMap<>(propertyCount * 2) : null;
+                for (int i = 0; i < propertyCount; i++) {
+                    properties.put(string(readVarint()), string(readVarint()));
+                }
+                artifact = new DefaultArtifact(
+                        groupId, artifactId, classifier, extension, version, properties, (Path) null);
+                artifacts[id] = artifact;
+                position = saved;
+            }
+            return artifact;
+        }
+
+        private RemoteRepository repository(int id) throws IOException {
+            RemoteRepository repository = repositories[id];
+            if (repository == null) {
+                int saved = position;
+                position = repositoryOffsets[id];
+                repository = new RemoteRepository.Builder(
+                                string(readVarint()), string(readVarint()), string(readVarint()))
+                        .setRepositoryManager(readVarint() != 0)
+                        .build();
+                repositories[id] = repository;
+                position = saved;
+            }
+            return repository;
+        }
+
+        /**
+         * Returns string of given reference, that is index plus one, or {@code null} if reference is zero.
+         */
+        private String string(int reference) throws IOException {
+            if (reference == 0) {
+                return null;
+            }
+            String string = strings[reference - 1];
+            if (string == null) {
+                int saved = position;
+                position = stringOffsets[reference - 1];
+                int length = readVarint();
+                if (position + length > bytes.length) {
+                    throw new IOException("Truncated dependency graph");
+                }
+                string = new String(bytes, position, length, StandardCharsets.UTF_8);
+                strings[reference - 1] = string;
+                position = saved;
+            }
+            return string;
+        }
+
+        private void skip(int varints) throws IOException {
+            for (int i = 0; i < varints; i++) {
+                readVarint();
+            }
+        }
+
+        private int readInt() {
+            int value = 0;
+            for (int i = 0; i < 4; i++) {
+                value = (value << 8) | (bytes[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        private int readVarint() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                byte b = bytes[position++];
+                value |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed variable length integer at " + (position - 1));
+        }
+
+        /**
+         * Children of a node, materialized on access. Once modified, children are all materialized, and list
+         * behaves as an array list.
+         */
+        private final class Children extends AbstractList<DependencyNode> implements RandomAccess {
+            private int[] ids;
+
+            private DependencyNode[] children;
+
+            private ArrayList<DependencyNode> list;
+
+            Children(int[] ids) {
+                this.ids = ids;
+                this.children = new DependencyNode[ids.length];
+            }
+
+            @Override
+            public DependencyNode get(int index) {
+                if (list != null) {
+                    return list.get(index);
+                }
+                DependencyNode child = children[index];
+                if (child == null) {
+                    try {
+                        child = node(ids[index]);
+                    } catch (IOException e) {
+                        throw new IllegalStateException("Failed to read dependency graph", e);
+                    }
+                    children[index] = child;
+                }
+                return child;
+            }
+
+            @Override
+            public int size() {
+                return list != null ? list.size() : ids.length;
+            }
+
+            @Override
+            public DependencyNode set(int index, DependencyNode element) {
+                return materialized().set(index, element);
+            }
+
+            @Override
+            public void add(int index, DependencyNode element) {
+                materialized().add(index, element);
+                modCount++;
+            }
+
+            @Override
+            public DependencyNode remove(int index) {
+                DependencyNode removed = materialized().remove(index);
+                modCount++;
+                return removed;
+            }
+
+            private List<DependencyNode> materialized() {
+                if (list == null) {
+                    ArrayList<DependencyNode> materialized = new ArrayList<>(ids.length);
+                    for (int i = 0; i < ids.length; i++) {
+                        materialized.add(get(i));
+                    }
+                    list = materialized;
+                    ids = null;
+                    children = null;
+                }
+                return list;
+            }
+        }
+    }
+}
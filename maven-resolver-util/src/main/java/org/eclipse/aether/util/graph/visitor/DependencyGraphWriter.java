@@ -0,0 +1,328 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.eclipse.aether.util.graph.visitor;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.graph.Exclusion;
+import org.eclipse.aether.repository.RemoteRepository;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Writes dependency graphs in a compact, versioned binary format, that can be read back by
+ * {@link DependencyGraphReader}. Meant for build tools that persist or exchange collected graphs, as writing and
+ * reading a graph is much cheaper than collecting it again or dumping it as text.
+ * <p>
+ * The format consists of a header ({@link #MAGIC} and {@link #FORMAT_VERSION}), followed by a table of strings, a
+ * table of artifacts, a table of repositories and a table of nodes. Every distinct string, artifact and repository is
+ * stored only once, and referred to by its index, and every distinct (by identity) node is stored only once, so the
+ * shape of graph (shared subgraphs and cycles) is kept. All numbers are stored as unsigned variable length integers,
+ * nullable references as index plus one, zero meaning {@code null}. Node records carry the dependency, the artifact,
+ * relocations, aliases, version and version constraint (as strings), managed bits, repositories, request context,
+ * the indexes of children and those node data entries that have {@link String} key and value; other node data is
+ * not written. Repositories are written with their id, content type, URL and repository manager flag only.
+ * <p>
+ * Graph is indexed first, and then streamed to the output, without buffering the written bytes. Instances are not
+ * thread-safe, and do not close the output.
+ *
+ * @since 2.0.20
+ */
+public final class DependencyGraphWriter {
+    static final int MAGIC = 0x52444731; // RDG1
+
+    static final int FORMAT_VERSION = 1;
+
+    static final int FLAG_DEPENDENCY = 1;
+
+    static final int FLAG_OPTIONAL = 1 << 1;
+
+    static final int FLAG_OPTIONAL_TRUE = 1 << 2;
+
+    private final OutputStream out;
+
+    private final Map<DependencyNode, Integer> nodeIds = new IdentityHashMap<>();
+
+    private final List<DependencyNode> nodes = new ArrayList<>();
+
+    private final Map<String, Integer> stringIds = new HashMap<>();
+
+    private final List<String> strings = new ArrayList<>();
+
+    private final Map<Artifact, Integer> artifactIds = new HashMap<>();
+
+    private final List<Artifact> artifacts = new ArrayList<>();
+
+    private final Map<RemoteRepository, Integer> repositoryIds = new HashMap<>();
+
+    private final List<RemoteRepository> repositories = new ArrayList<>();
+
+    /**
+     * Creates a writer writing to given output.
+     *
+     * @param out the output, must not be {@code null}
+     */
+    public DependencyGraphWriter(OutputStream out) {
+        this.out = new BufferedOutputStream(requireNonNull(out, "out cannot be null"));
+    }
+
+    /**
+     * Writes the graph of nodes reachable from given root, and flushes the output.
+     *
+     * @param root the root of graph, must not be {@code null}
+     * @throws IOException if writing failed
+     */
+    public void write(DependencyNode root) throws IOException {
+        requireNonNull(root, "root cannot be null");
+        try {
+            index(root);
+
+            writeInt(MAGIC);
+            writeVarint(FORMAT_VERSION);
+
+            writeVarint(strings.size());
+            for (String string : strings) {
+                byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+                writeVarint(bytes.length);
+                out.write(bytes);
+            }
+
+            writeVarint(artifacts.size());
+            for (Artifact artifact : artifacts) {
+                writeString(artifact.getGroupId());
+                writeString(artifact.getArtifactId());
+                writeString(artifact.getVersion());
+                writeString(artifact.getClassifier());
+                writeString(artifact.getExtension());
+                writeStrings(artifact.getProperties());
+            }
+
+            writeVarint(repositories.size());
+            for (RemoteRepository repository : repositories) {
+                writeString(repository.getId());
+                writeString(repository.getContentType());
+                writeString(repository.getUrl());
+                writeVarint(repository.isRepositoryManager() ? 1 : 0);
+            }
+
+            writeVarint(nodes.size());
+            for (DependencyNode node : nodes) {
+                writeNode(node);
+            }
+            out.flush();
+        } finally {
+            nodeIds.clear();
+            nodes.clear();
+            stringIds.clear();
+            strings.clear();
+            artifactIds.clear();
+            artifacts.clear();
+            repositoryIds.clear();
+            repositories.clear();
+        }
+    }
+
+    /**
+     * Assigns ids to nodes in preorder (root being {@code 0}), and to strings, artifacts and repositories they refer.
+     */
+    private void index(DependencyNode root) {
+        ArrayList<DependencyNode> stack = new ArrayList<>();
+        stack.add(root);
+        while (!stack.isEmpty()) {
+            DependencyNode node = stack.remove(stack.size() - 1);
+            if (nodeIds.containsKey(node)) {
+                continue;
+            }
+            nodeIds.put(node, nodes.size());
+            nodes.add(node);
+
+            Dependency dependency = node.getDependency();
+            if (dependency != null) {
+                index(dependency.getArtifact());
+                index(dependency.getScope());
+                for (Exclusion exclusion : dependency.getExclusions()) {
+                    index(exclusion.getGroupId());
+                    index(exclusion.getArtifactId());
+                    index(exclusion.getClassifier());
+                    index(exclusion.getExtension());
+                }
+            } else if (node.getArtifact() != null) {
+                index(node.getArtifact());
+            }
+            node.getRelocations().forEach(this::index);
+            node.getAliases().forEach(this::index);
+            if (node.getVersion() != null) {
+                index(node.getVersion().toString());
+            }
+            if (node.getVersionConstraint() != null) {
+                index(node.getVersionConstraint().toString());
+            }
+            for (RemoteRepository repository : node.getRepositories()) {
+                if (!repositoryIds.containsKey(repository)) {
+                    repositoryIds.put(repository, repositories.size());
+                    repositories.add(repository);
+                    index(repository.getId());
+                    index(repository.getContentType());
+                    index(repository.getUrl());
+                }
+            }
+            index(node.getRequestContext());
+            for (Map.Entry<?, ?> entry : node.getData().entrySet()) {
+                if (entry.getKey() instanceof String && entry.getValue() instanceof String) {
+                    index((String) entry.getKey());
+                    index((String) entry.getValue());
+                }
+            }
+
+            List<DependencyNode> children = node.getChildren();
+            // reversed, so children are visited (and numbered) in their order
+            for (int i = children.size() - 1; i >= 0; i--) {
+                if (!nodeIds.containsKey(children.get(i))) {
+                    stack.add(children.get(i));
+                }
+            }
+        }
+    }
+
+    private void index(Artifact artifact) {
+        if (!artifactIds.containsKey(artifact)) {
+            artifactIds.put(artifact, artifacts.size());
+            artifacts.add(artifact);
+            index(artifact.getGroupId());
+            index(artifact.getArtifactId());
+            index(artifact.getVersion());
+            index(artifact.getClassifier());
+            index(artifact.getExtension());
+            artifact.getProperties().forEach((key, value) -> {
+                index(key);
+                index(value);
+            });
+        }
+    }
+
+    private void index(String string) {
+        if (string != null && !stringIds.containsKey(string)) {
+            stringIds.put(string, strings.size());
+            strings.add(string);
+        }
+    }
+
+    private void writeNode(DependencyNode node) throws IOException {
+        Dependency dependency = node.getDependency();
+        int flags = 0;
+        if (dependency != null) {
+            flags |= FLAG_DEPENDENCY;
+            Boolean optional = dependency.getOptional();
+            if (optional != null) {
+                flags |= FLAG_OPTIONAL;
+                if (optional) {
+                    flags |= FLAG_OPTIONAL_TRUE;
+                }
+            }
+        }
+        writeVarint(flags);
+
+        Artifact artifact = dependency != null ? dependency.getArtifact() : node.getArtifact();
+        writeVarint(artifact != null ? artifactIds.get(artifact) + 1 : 0);
+        if (dependency != null) {
+            writeString(dependency.getScope());
+            writeVarint(dependency.getExclusions().size());
+            for (Exclusion exclusion : dependency.getExclusions()) {
+                writeString(exclusion.getGroupId());
+                writeString(exclusion.getArtifactId());
+                writeString(exclusion.getClassifier());
+                writeString(exclusion.getExtension());
+            }
+        }
+        writeArtifacts(node.getRelocations());
+        writeArtifacts(node.getAliases());
+        writeString(node.getVersion() != null ? node.getVersion().toString() : null);
+        writeString(
+                node.getVersionConstraint() != null
+                        ? node.getVersionConstraint().toString()
+                        : null);
+        writeVarint(node.getManagedBits());
+        writeVarint(node.getRepositories().size());
+        for (RemoteRepository repository : node.getRepositories()) {
+            writeVarint(repositoryIds.get(repository));
+        }
+        writeString(node.getRequestContext());
+
+        Map<String, String> data = new TreeMap<>();
+        for (Map.Entry<?, ?> entry : node.getData().entrySet()) {
+            if (entry.getKey() instanceof String && entry.getValue() instanceof String) {
+                data.put((String) entry.getKey(), (String) entry.getValue());
+            }
+        }
+        writeStrings(data);
+
+        List<DependencyNode> children = node.getChildren();
+        writeVarint(children.size());
+        for (DependencyNode child : children) {
+            writeVarint(nodeIds.get(child));
+        }
+    }
+
+    private void writeArtifacts(Collection<? extends Artifact> artifacts) throws IOException {
+        writeVarint(artifacts.size());
+        for (Artifact artifact : artifacts) {
+            writeVarint(artifactIds.get(artifact));
+        }
+    }
+
+    private void writeStrings(Map<String, String> strings) throws IOException {
+        writeVarint(strings.size());
+        for (Map.Entry<String, String> entry : strings.entrySet()) {
+            writeString(entry.getKey());
+            writeString(entry.getValue());
+        }
+    }
+
+    private void writeString(String string) throws IOException {
+        writeVarint(string != null ? stringIds.get(string) + 1 : 0);
+    }
+
+    private void writeInt(int value) throws IOException {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+
+    private void writeVarint(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+}
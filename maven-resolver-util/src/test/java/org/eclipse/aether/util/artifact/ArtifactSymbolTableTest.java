@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.eclipse.aether.util.artifact;
+
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArtifactSymbolTableTest {
+
+    @Test
+    void testVersionless() {
+        ArtifactSymbolTable table = ArtifactSymbolTable.versionless();
+        Artifact a1 = new DefaultArtifact("gid:aid:jar:1");
+        Artifact a2 = new DefaultArtifact("gid:aid:jar:2");
+        Artifact b = new DefaultArtifact("gid:aid:jar:cls:1");
+
+        assertEquals(-1, table.lookup(a1));
+        assertEquals(0, table.symbol(a1));
+        assertEquals(0, table.symbol(a2));
+        assertEquals(0, table.lookup(a2));
+        assertEquals(1, table.symbol(b));
+        assertEquals(2, table.size());
+        assertSame(a1, table.artifact(0));
+        assertSame(b, table.artifact(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> table.artifact(2));
+    }
+
+    @Test
+    void testVersioned() {
+        ArtifactSymbolTable table = ArtifactSymbolTable.versioned();
+        Artifact a1 = new DefaultArtifact("gid:aid:jar:1");
+        Artifact a2 = new DefaultArtifact("gid:aid:jar:2");
+
+        assertEquals(0, table.symbol(a1));
+        assertEquals(1, table.symbol(a2));
+        assertEquals(0, table.symbol(new DefaultArtifact("gid:aid:jar:1")));
+        assertEquals(2, table.size());
+    }
+
+    @Test
+    void testDenseAcrossRehash() {
+        ArtifactSymbolTable table = ArtifactSymbolTable.versionless();
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, table.symbol(new DefaultArtifact("gid:aid" + i + ":1")));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            int symbol = table.lookup(new DefaultArtifact("gid:aid" + i + ":2"));
+            assertEquals(i, symbol);
+            assertEquals(
+                    ArtifactIdUtils.toVersionlessId(new DefaultArtifact("gid:aid" + i + ":2")),
+                    ArtifactIdUtils.toVersionlessId(table.artifact(symbol)));
+        }
+        assertEquals(10_000, table.size());
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.eclipse.aether.util.concurrency;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SmartExecutorUtilsTest {
+    @Test
+    void direct() {
+        assertInstanceOf(SmartExecutor.Direct.class, SmartExecutorUtils.newSmartExecutor(1, 10, "test-"));
+        assertInstanceOf(SmartExecutor.Direct.class, SmartExecutorUtils.newSmartExecutor(null, 1, "test-", true));
+    }
+
+    @Test
+    void virtual() {
+        try (SmartExecutor executor = SmartExecutorUtils.newSmartExecutor(null, 4, "test-", true)) {
+            if (SmartExecutorUtils.isVirtualThreadsSupported()) {
+                assertInstanceOf(SmartExecutor.Limited.class, executor);
+            } else {
+                assertInstanceOf(SmartExecutor.Pooled.class, executor);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void concurrencyIsBounded(boolean virtualThreads) throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Future<Integer>> futures = new ArrayList<>();
+        try (SmartExecutor executor = SmartExecutorUtils.newSmartExecutor(null, 3, "test-", virtualThreads)) {
+            for (int i = 0; i < 30; i++) {
+                int value = i;
+                futures.add(executor.submit(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    Thread.sleep(5);
+                    running.decrementAndGet();
+                    return value;
+                }));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                assertEquals(i, futures.get(i).get());
+            }
+        }
+        assertTrue(maxRunning.get() <= 3, "max running " + maxRunning.get());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void submitDoesNotBlockWhenLimitReached(boolean virtualThreads) throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+        try (SmartExecutor executor = SmartExecutorUtils.newSmartExecutor(null, 2, "test-", virtualThreads)) {
+            // would block on third submission if permits were acquired by submitting thread
+            for (int i = 0; i < 10; i++) {
+                int value = i;
+                futures.add(executor.submit(() -> {
+                    release.await();
+                    return value;
+                }));
+            }
+            assertTrue(futures.stream().noneMatch(Future::isDone));
+            release.countDown();
+            for (int i = 0; i < futures.size(); i++) {
+                assertEquals(i, futures.get(i).get(10, TimeUnit.SECONDS));
+            }
+        }
+    }
+
+    @Test
+    void limitedRunsRejectedTasksInline() throws Exception {
+        AtomicBoolean reject = new AtomicBoolean(true);
+        SmartExecutor delegate = new SmartExecutor.Direct() {
+            @Override
+            public void submit(Runnable runnable) {
+                if (reject.get()) {
+                    throw new RejectedExecutionException("rejected");
+                }
+                super.submit(runnable);
+            }
+        };
+        try (SmartExecutor executor = new SmartExecutor.Limited(delegate, 1)) {
+            AtomicInteger executed = new AtomicInteger();
+            for (int i = 0; i < 3; i++) {
+                executor.submit(executed::incrementAndGet);
+            }
+            assertEquals(3, executed.get());
+
+            // permit was given back: would stay queued forever otherwise
+            reject.set(false);
+            assertEquals(1, executor.submit(() -> 1).get(10, TimeUnit.SECONDS));
+        }
+    }
+}
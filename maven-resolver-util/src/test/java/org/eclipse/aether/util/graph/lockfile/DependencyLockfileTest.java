@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.eclipse.aether.util.graph.lockfile;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.graph.Exclusion;
+import org.eclipse.aether.internal.test.util.TestUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DependencyLockfileTest {
+
+    private static CollectRequest request(String... dependencies) {
+        CollectRequest request = new CollectRequest();
+        request.setRootArtifact(new DefaultArtifact("gid:root:1"));
+        for (String dependency : dependencies) {
+            request.addDependency(new Dependency(new DefaultArtifact(dependency), "compile"));
+        }
+        return request;
+    }
+
+    @Test
+    void fingerprint() {
+        assertEquals(
+                DependencyLockfile.fingerprint(request("gid:a:1")), DependencyLockfile.fingerprint(request("gid:a:1")));
+        assertNotEquals(
+                DependencyLockfile.fingerprint(request("gid:a:1")), DependencyLockfile.fingerprint(request("gid:a:2")));
+
+        CollectRequest managed = request("gid:a:1");
+        managed.addManagedDependency(new Dependency(new DefaultArtifact("gid:b:1"), "test"));
+        assertNotEquals(DependencyLockfile.fingerprint(request("gid:a:1")), DependencyLockfile.fingerprint(managed));
+
+        CollectRequest excluded = request();
+        excluded.addDependency(new Dependency(
+                new DefaultArtifact("gid:a:1"),
+                "compile",
+                false,
+                Collections.singletonList(new Exclusion("gid", "b", "", "jar"))));
+        assertNotEquals(DependencyLockfile.fingerprint(request("gid:a:1")), DependencyLockfile.fingerprint(excluded));
+    }
+
+    @Test
+    void roundTrip(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("a.jar");
+        Files.write(file, "hello".getBytes(StandardCharsets.UTF_8));
+        DefaultDependencyNode root = new DefaultDependencyNode(new DefaultArtifact("gid:root:1"));
+        DefaultDependencyNode a =
+                new DefaultDependencyNode(new Dependency(new DefaultArtifact("gid:a:1").setPath(file), "compile"));
+        DefaultDependencyNode b = new DefaultDependencyNode(new Dependency(new DefaultArtifact("gid:b:1"), "runtime"));
+        root.setChildren(Collections.singletonList(a));
+        a.setChildren(Collections.singletonList(b));
+
+        CollectRequest request = request("gid:a:1");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DependencyLockfile.of(request, root).write(out);
+        DependencyLockfile lockfile = DependencyLockfile.read(new ByteArrayInputStream(out.toByteArray()));
+
+        assertTrue(lockfile.matches(request));
+        assertFalse(lockfile.matches(request("gid:a:2")));
+        assertEquals(
+                Collections.singletonMap(
+                        "gid:a:jar:1", "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824"),
+                lockfile.getChecksums());
+
+        DependencyNode locked = lockfile.getRoot();
+        assertEquals(root.getArtifact(), locked.getArtifact());
+        DependencyNode lockedA = locked.getChildren().get(0);
+        assertEquals("gid:a:jar:1", lockedA.getArtifact().toString());
+        assertNull(lockedA.getArtifact().getPath());
+        assertEquals(b.getDependency(), lockedA.getChildren().get(0).getDependency());
+    }
+
+    @Test
+    void readCachedPerSession(@TempDir Path tempDir) throws IOException {
+        Path path = tempDir.resolve("dependencies.lock");
+        DefaultDependencyNode root = new DefaultDependencyNode(new DefaultArtifact("gid:root:1"));
+        try (OutputStream out = Files.newOutputStream(path)) {
+            DependencyLockfile.of(request("gid:a:1"), root).write(out);
+        }
+        RepositorySystemSession session = TestUtils.newSession();
+        DependencyLockfile lockfile = DependencyLockfile.read(session, path);
+        assertSame(lockfile, DependencyLockfile.read(session, path));
+        assertNotSame(lockfile, DependencyLockfile.read(TestUtils.newSession(), path));
+
+        try (OutputStream out = Files.newOutputStream(path)) {
+            DependencyLockfile.of(request("gid:a:2"), root).write(out);
+        }
+        Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis() + 10_000L));
+        DependencyLockfile modified = DependencyLockfile.read(session, path);
+        assertNotSame(lockfile, modified);
+        assertTrue(modified.matches(request("gid:a:2")));
+    }
+
+    @Test
+    void rejectInvalidInput() {
+        assertThrows(
+                IOException.class, () -> DependencyLockfile.read(new ByteArrayInputStream(new byte[] {1, 2, 3, 4})));
+    }
+}
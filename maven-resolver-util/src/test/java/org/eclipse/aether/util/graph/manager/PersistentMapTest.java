@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.eclipse.aether.util.graph.manager;
+
+import java.util.HashMap;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PersistentMapTest {
+    /**
+     * Key with given hash code, to exercise collisions.
+     */
+    private static final class HashKey {
+        private final String name;
+        private final int hash;
+
+        HashKey(String name, int hash) {
+            this.name = name;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof HashKey && name.equals(((HashKey) o).name);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    @Test
+    void putAndGet() {
+        PersistentMap<String, Integer> map = PersistentMap.empty();
+        for (int i = 0; i < 10_000; i++) {
+            map = map.put("key" + i, i);
+        }
+        assertEquals(10_000, map.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, map.get("key" + i));
+        }
+        assertNull(map.get("missing"));
+
+        HashMap<String, Integer> copy = new HashMap<>();
+        map.forEach(copy::put);
+        assertEquals(10_000, copy.size());
+        assertEquals(42, copy.get("key42"));
+    }
+
+    @Test
+    void immutability() {
+        PersistentMap<String, String> empty = PersistentMap.empty();
+        PersistentMap<String, String> one = empty.put("a", "1");
+        PersistentMap<String, String> two = one.put("b", "2");
+        PersistentMap<String, String> replaced = two.put("a", "3");
+
+        assertNull(empty.get("a"));
+        assertEquals(0, empty.size());
+        assertEquals("1", one.get("a"));
+        assertNull(one.get("b"));
+        assertEquals("1", two.get("a"));
+        assertEquals("3", replaced.get("a"));
+        assertEquals(2, replaced.size());
+
+        assertSame(two, two.putIfAbsent("a", "4"));
+        assertSame(two, two.put("a", two.get("a")));
+        assertEquals("1", two.putIfAbsent("a", "4").get("a"));
+    }
+
+    @Test
+    void collisions() {
+        HashKey a = new HashKey("a", 17);
+        HashKey b = new HashKey("b", 17);
+        HashKey c = new HashKey("c", 17);
+        // shares low bits with others, but differs on higher level
+        HashKey d = new HashKey("d", 17 | (1 << 10));
+
+        PersistentMap<HashKey, String> map =
+                PersistentMap.<HashKey, String>empty().put(a, "a").put(b, "b");
+        PersistentMap<HashKey, String> map2 = map.put(c, "c").put(d, "d").put(b, "B");
+
+        assertEquals(2, map.size());
+        assertEquals("b", map.get(b));
+        assertNull(map.get(c));
+        assertEquals(4, map2.size());
+        assertEquals("a", map2.get(a));
+        assertEquals("B", map2.get(b));
+        assertEquals("c", map2.get(c));
+        assertEquals("d", map2.get(d));
+        assertNull(map2.get(new HashKey("e", 17)));
+    }
+}
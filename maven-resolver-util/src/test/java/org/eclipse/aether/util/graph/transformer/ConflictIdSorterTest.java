@@ -18,9 +18,12 @@
  */
 package org.eclipse.aether.util.graph.transformer;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
 
 import org.eclipse.aether.collection.DependencyGraphTransformer;
@@ -105,4 +108,25 @@ public class ConflictIdSorterTest extends AbstractDependencyGraphTransformerTest
         expectOrder("gid:aid::jar", "gid3:aid::jar", "gid2:aid::jar", "gid4:aid::jar");
         expectCycle(false);
     }
+
+    @Test
+    void testGraphChangedAfterMarking() throws Exception {
+        DependencyNode node = parseLiteral("(null)\n+- gid:a:1\n\\- gid:b:1\n");
+        DependencyNode a = node.getChildren().get(0);
+        DependencyNode b = node.getChildren().get(1);
+        transformer = new ChainedDependencyGraphTransformer(
+                new ConflictMarker(),
+                (root, context) -> {
+                    // "a" moves below "b", after graph of marker was built
+                    root.setChildren(new ArrayList<>(Collections.singletonList(b)));
+                    b.setChildren(new ArrayList<>(Collections.singletonList(a)));
+                    return root;
+                },
+                new ConflictIdSorter());
+        assertSame(node, transform(node));
+
+        Map<?, ?> conflictIds = (Map<?, ?>) context.get(TransformationContextKeys.CONFLICT_IDS);
+        expectOrder((String) conflictIds.get(b), (String) conflictIds.get(a));
+        expectCycle(false);
+    }
 }
@@ -62,6 +62,9 @@ public class ConflictResolverJMHBenchmark {
     private ConflictResolver classic;
     private ConflictResolver path;
 
+    private DependencyNode binaryTree;
+    private DependencyNode layeredDag;
+
     @Setup
     public void setup() {
         classic = new ClassicConflictResolver(
@@ -74,6 +77,8 @@ public class ConflictResolverJMHBenchmark {
                 new JavaScopeSelector(),
                 new SimpleOptionalitySelector(),
                 new JavaScopeDeriver());
+        binaryTree = binaryTree(12, 500);
+        layeredDag = layeredDag(40, 50, 4);
     }
 
     public static void main(String... args) throws RunnerException {
@@ -183,6 +188,86 @@ public class ConflictResolverJMHBenchmark {
         diamondFan(classic, 10, 20);
     }
 
+    @Benchmark
+    public void markAndSort_binaryTreeMod500_12() throws RepositoryException {
+        markAndSort(binaryTree);
+    }
+
+    @Benchmark
+    public void markAndSort_layeredDag_40x50() throws RepositoryException {
+        markAndSort(layeredDag);
+    }
+
+    @Benchmark
+    public void layeredDag_40x50_path() throws RepositoryException {
+        transform(path, layeredDag(40, 50, 4));
+    }
+
+    @Benchmark
+    public void layeredDag_40x50_classic() throws RepositoryException {
+        transform(classic, layeredDag(40, 50, 4));
+    }
+
+    /**
+     * Runs conflict marker and conflict id sorter only; they do not modify the graph, so it can be built once.
+     */
+    private static void markAndSort(DependencyNode root) throws RepositoryException {
+        DependencyGraphTransformationContext context = TestUtils.newTransformationContext(session);
+        new ConflictMarker().transformGraph(root, context);
+        new ConflictIdSorter().transformGraph(root, context);
+        assertNotNull(context.get(TransformationContextKeys.SORTED_CONFLICT_IDS));
+    }
+
+    /**
+     * A binary tree with given depth, where artifact ids repeat with given modulo (so they conflict).
+     */
+    private static DependencyNode binaryTree(int depth, int modulo) {
+        DependencyNode root = makeDependencyNode("group-id", "root", "1.0");
+        int idCounter = 1;
+        List<DependencyNode> level = mutableList(root);
+        for (int i = 0; i < depth; i++) {
+            List<DependencyNode> next = new ArrayList<>();
+            for (DependencyNode node : level) {
+                DependencyNode left = makeDependencyNode("group-id", "d" + idCounter++ % modulo, "1.0");
+                DependencyNode right = makeDependencyNode("group-id", "d" + idCounter++ % modulo, "2.0");
+                node.setChildren(mutableList(left, right));
+                next.add(left);
+                next.add(right);
+            }
+            level = next;
+        }
+        return root;
+    }
+
+    /**
+     * A "layered DAG": {@code layers} layers of {@code width} nodes, each node depending on {@code fanOut} nodes of
+     * next layer, hence nodes are shared by many parents (as collectors do). Every layer has two versions of each
+     * artifact, so there are conflicts on all layers.
+     */
+    private static DependencyNode layeredDag(int layers, int width, int fanOut) {
+        DependencyNode root = makeDependencyNode("group-id", "root", "1.0");
+        List<DependencyNode> level = new ArrayList<>();
+        for (int w = 0; w < width; w++) {
+            level.add(makeDependencyNode("group-id", "l0-" + w / 2, w % 2 == 0 ? "1.0" : "2.0"));
+        }
+        root.setChildren(new ArrayList<>(level));
+        for (int l = 1; l < layers; l++) {
+            List<DependencyNode> next = new ArrayList<>();
+            for (int w = 0; w < width; w++) {
+                next.add(makeDependencyNode("group-id", "l" + l + "-" + w / 2, w % 2 == 0 ? "1.0" : "2.0"));
+            }
+            for (int w = 0; w < width; w++) {
+                List<DependencyNode> children = new ArrayList<>(fanOut);
+                for (int f = 0; f < fanOut; f++) {
+                    children.add(next.get((w * 7 + f * 13) % width));
+                }
+                level.get(w).setChildren(children);
+            }
+            level = next;
+        }
+        return root;
+    }
+
     /**
      * A "snake", plain chain of unique dependencies of given length.
      */
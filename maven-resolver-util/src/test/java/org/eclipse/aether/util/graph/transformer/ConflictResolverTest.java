@@ -20,7 +20,13 @@ package org.eclipse.aether.util.graph.transformer;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
@@ -37,6 +43,7 @@ import org.eclipse.aether.util.graph.visitor.DependencyGraphDumper;
 import org.eclipse.aether.util.graph.visitor.TreeDependencyVisitor;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -728,6 +735,130 @@ public final class ConflictResolverTest extends AbstractConflictResolverTest {
         return makeDependencyNode(groupId, artifactId, version, null, "compile");
     }
 
+    @ParameterizedTest
+    @EnumSource(ConflictResolver.Verbosity.class)
+    void parallelResolutionSameAsSequential(ConflictResolver.Verbosity verbosity) throws RepositoryException {
+        ConflictResolver conflictResolver = new PathConflictResolver(
+                new NearestVersionSelector(),
+                new JavaScopeSelector(),
+                new SimpleOptionalitySelector(),
+                new JavaScopeDeriver());
+        setVerbosity(verbosity);
+        for (long seed = 0; seed < 20; seed++) {
+            session.setConfigProperty(PathConflictResolver.CONFIG_PROP_PARALLELISM, 1);
+            String sequential = dump(transform(conflictResolver, randomGraph(seed)));
+            session.setConfigProperty(PathConflictResolver.CONFIG_PROP_PARALLELISM, 4);
+            String parallel = dump(transform(conflictResolver, randomGraph(seed)));
+            assertEquals(sequential, parallel, "seed " + seed);
+        }
+    }
+
+    /**
+     * Sibling groups under a single parent are not related, hence their losers are removed from (or swapped in) the
+     * children of that parent concurrently; the result must still be the same as of sequential resolution.
+     */
+    @ParameterizedTest
+    @EnumSource(ConflictResolver.Verbosity.class)
+    void parallelResolutionOfSiblingGroupsSameAsSequential(ConflictResolver.Verbosity verbosity)
+            throws RepositoryException {
+        ConflictResolver conflictResolver = new PathConflictResolver(
+                new NearestVersionSelector(),
+                new JavaScopeSelector(),
+                new SimpleOptionalitySelector(),
+                new JavaScopeDeriver());
+        setVerbosity(verbosity);
+        session.setConfigProperty(PathConflictResolver.CONFIG_PROP_PARALLELISM, 1);
+        String sequential = dump(transform(conflictResolver, siblingGroupsGraph()));
+        session.setConfigProperty(PathConflictResolver.CONFIG_PROP_PARALLELISM, 4);
+        for (int i = 0; i < 20; i++) {
+            assertEquals(sequential, dump(transform(conflictResolver, siblingGroupsGraph())), "run " + i);
+        }
+    }
+
+    /**
+     * Root depends on parent and on "b" artifacts, parent depends on other versions of same "b" artifacts, that lose.
+     */
+    private static DependencyNode siblingGroupsGraph() {
+        DependencyNode root = makeDependencyNode("group", "root", "1.0");
+        DependencyNode parent = makeDependencyNode("group", "parent", "1.0");
+        List<DependencyNode> rootChildren = mutableList(parent);
+        List<DependencyNode> parentChildren = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            DependencyNode winner = makeDependencyNode("group", "b" + i, "2.0", "compile");
+            winner.setChildren(new ArrayList<>());
+            rootChildren.add(winner);
+            DependencyNode loser = makeDependencyNode("group", "b" + i, "1.0", "runtime");
+            loser.setChildren(mutableList(makeDependencyNode("group", "c" + i, "1.0", "compile")));
+            parentChildren.add(loser);
+        }
+        parent.setChildren(parentChildren);
+        root.setChildren(rootChildren);
+        return root;
+    }
+
+    /**
+     * Random graph with version conflicts, classifiers, scopes, optionals and some cycles, where (as collector does)
+     * nodes of same artifact share their children list.
+     */
+    private static DependencyNode randomGraph(long seed) {
+        Random random = new Random(seed);
+        DependencyNode root = makeDependencyNode("group", "root", "1.0");
+        root.setChildren(randomChildren(random, new HashMap<>(), 0, 0));
+        return root;
+    }
+
+    private static List<DependencyNode> randomChildren(
+            Random random, Map<String, List<DependencyNode>> childrenLists, int artifact, int depth) {
+        int count = depth == 0 ? 8 : depth < 5 ? random.nextInt(4) : 0;
+        List<DependencyNode> children = new ArrayList<>(count);
+        String[] scopes = {"compile", "runtime", "provided", "test"};
+        for (int i = 0; i < count; i++) {
+            // mostly toward "later" artifacts, sometimes backward forming cycles
+            int child = random.nextInt(10) == 0 ? random.nextInt(artifact + 1) : artifact + 1 + random.nextInt(8);
+            String version = "1." + random.nextInt(3);
+            String classifier = random.nextInt(8) == 0 ? "tests" : null;
+            DependencyNode node = makeDependencyNode(
+                    "group", "a" + child, version, classifier, scopes[random.nextInt(scopes.length)]);
+            node.setOptional(random.nextInt(6) == 0);
+            String key = child + ":" + version + ":" + classifier;
+            List<DependencyNode> grandChildren = childrenLists.get(key);
+            if (grandChildren == null) {
+                grandChildren = randomChildren(random, childrenLists, child, depth + 1);
+                childrenLists.put(key, grandChildren);
+            }
+            node.setChildren(grandChildren);
+            children.add(node);
+        }
+        return children;
+    }
+
+    private static String dump(DependencyNode root) {
+        StringBuilder sb = new StringBuilder();
+        dump(sb, root, "", Collections.newSetFromMap(new IdentityHashMap<>()));
+        return sb.toString();
+    }
+
+    private static void dump(StringBuilder sb, DependencyNode node, String indent, Set<DependencyNode> path) {
+        sb.append(indent).append(node.getArtifact());
+        if (node.getDependency() != null) {
+            sb.append(' ')
+                    .append(node.getDependency().getScope())
+                    .append(' ')
+                    .append(node.getDependency().isOptional());
+        }
+        DependencyNode winner = (DependencyNode) node.getData().get(ConflictResolver.NODE_DATA_WINNER);
+        if (winner != null) {
+            sb.append(" winner=").append(winner.getArtifact());
+        }
+        sb.append('\n');
+        if (path.add(node)) {
+            for (DependencyNode child : node.getChildren()) {
+                dump(sb, child, indent + "  ", path);
+            }
+            path.remove(node);
+        }
+    }
+
     private static DependencyNode makeDependencyNode(
             String groupId, String artifactId, String version, String classifier, String scope) {
         DefaultDependencyNode node = (classifier != null && !classifier.isEmpty())
@@ -18,82 +18,83 @@
  */
 package org.eclipse.aether.util.graph.transformer;
 
-import org.eclipse.aether.util.graph.transformer.ConflictIdSorter.ConflictId;
 import org.eclipse.aether.util.graph.transformer.ConflictIdSorter.RootQueue;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 public class RootQueueTest {
+    // ids are indexes into depths
+    private final int[] depths = {0, 1, 2, 3};
 
     @Test
     void testIsEmpty() {
-        ConflictId id = new ConflictId("a", 0);
-        RootQueue queue = new RootQueue(10);
+        int id = 0;
+        RootQueue queue = new RootQueue(10, depths);
         assertTrue(queue.isEmpty());
         queue.add(id);
         assertFalse(queue.isEmpty());
-        assertSame(id, queue.remove());
+        assertEquals(id, queue.remove());
         assertTrue(queue.isEmpty());
     }
 
     @Test
     void testAddSortsByDepth() {
-        ConflictId id1 = new ConflictId("a", 0);
-        ConflictId id2 = new ConflictId("b", 1);
-        ConflictId id3 = new ConflictId("c", 2);
-        ConflictId id4 = new ConflictId("d", 3);
+        int id1 = 0;
+        int id2 = 1;
+        int id3 = 2;
+        int id4 = 3;
 
-        RootQueue queue = new RootQueue(10);
+        RootQueue queue = new RootQueue(10, depths);
         queue.add(id1);
         queue.add(id2);
         queue.add(id3);
         queue.add(id4);
-        assertSame(id1, queue.remove());
-        assertSame(id2, queue.remove());
-        assertSame(id3, queue.remove());
-        assertSame(id4, queue.remove());
+        assertEquals(id1, queue.remove());
+        assertEquals(id2, queue.remove());
+        assertEquals(id3, queue.remove());
+        assertEquals(id4, queue.remove());
 
-        queue = new RootQueue(10);
+        queue = new RootQueue(10, depths);
         queue.add(id4);
         queue.add(id3);
         queue.add(id2);
         queue.add(id1);
-        assertSame(id1, queue.remove());
-        assertSame(id2, queue.remove());
-        assertSame(id3, queue.remove());
-        assertSame(id4, queue.remove());
+        assertEquals(id1, queue.remove());
+        assertEquals(id2, queue.remove());
+        assertEquals(id3, queue.remove());
+        assertEquals(id4, queue.remove());
     }
 
     @Test
     void testAddWithArrayCompact() {
-        ConflictId id = new ConflictId("a", 0);
+        int id = 0;
 
-        RootQueue queue = new RootQueue(10);
+        RootQueue queue = new RootQueue(10, depths);
         assertTrue(queue.isEmpty());
         queue.add(id);
         assertFalse(queue.isEmpty());
-        assertSame(id, queue.remove());
+        assertEquals(id, queue.remove());
         assertTrue(queue.isEmpty());
         queue.add(id);
         assertFalse(queue.isEmpty());
-        assertSame(id, queue.remove());
+        assertEquals(id, queue.remove());
         assertTrue(queue.isEmpty());
     }
 
     @Test
     void testAddMinimumAfterSomeRemoves() {
-        ConflictId id1 = new ConflictId("a", 0);
-        ConflictId id2 = new ConflictId("b", 1);
-        ConflictId id3 = new ConflictId("c", 2);
+        int id1 = 0;
+        int id2 = 1;
+        int id3 = 2;
 
-        RootQueue queue = new RootQueue(10);
+        RootQueue queue = new RootQueue(10, depths);
         queue.add(id2);
         queue.add(id3);
-        assertSame(id2, queue.remove());
+        assertEquals(id2, queue.remove());
         queue.add(id1);
-        assertSame(id1, queue.remove());
-        assertSame(id3, queue.remove());
+        assertEquals(id1, queue.remove());
+        assertEquals(id3, queue.remove());
         assertTrue(queue.isEmpty());
     }
 }
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.eclipse.aether.util.graph.visitor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.graph.Exclusion;
+import org.eclipse.aether.internal.test.util.DependencyGraphParser;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.util.version.GenericVersionScheme;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DependencyGraphWriterTest {
+
+    private static byte[] write(DependencyNode root) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new DependencyGraphWriter(out).write(root);
+        return out.toByteArray();
+    }
+
+    private static String dump(DependencyNode root) {
+        StringBuilder sb = new StringBuilder();
+        root.accept(new TreeDependencyVisitor(
+                new DependencyGraphDumper(line -> sb.append(line).append('\n'))));
+        return sb.toString();
+    }
+
+    @Test
+    void roundTripParsedGraph() throws Exception {
+        DependencyNode root = new DependencyGraphParser("visitor/ordered-list/").parseResource("cycles.txt");
+        DependencyNode read = new DependencyGraphReader().read(write(root));
+        assertEquals(dump(root), dump(read));
+    }
+
+    @Test
+    void roundTripDetails() throws Exception {
+        GenericVersionScheme versionScheme = new GenericVersionScheme();
+        RemoteRepository central =
+                new RemoteRepository.Builder("central", "default", "https://repo.maven.apache.org/").build();
+        DefaultDependencyNode root = new DefaultDependencyNode(new DefaultArtifact("gid:root:1"));
+        root.setRequestContext("project");
+        DefaultDependencyNode a = new DefaultDependencyNode(new Dependency(
+                new DefaultArtifact(
+                        "gid", "a", "tests", "jar", "1.0", Collections.singletonMap("key", "value"), (Path) null),
+                "test",
+                true,
+                Collections.singletonList(new Exclusion("ex", "*", "*", "*"))));
+        a.setVersion(versionScheme.parseVersion("1.0"));
+        a.setVersionConstraint(versionScheme.parseVersionConstraint("[1.0,2.0)"));
+        a.setManagedBits(DependencyNode.MANAGED_SCOPE);
+        a.setRepositories(Collections.singletonList(central));
+        a.setData("conflict.originalScope", "compile");
+        a.setData(DependencyGraphWriterTest.class, new Object());
+        DefaultDependencyNode b =
+                new DefaultDependencyNode(new Dependency(new DefaultArtifact("gid:b:2"), "compile", null));
+        b.setRelocations(Collections.singletonList(new DefaultArtifact("old:b:2")));
+        DefaultDependencyNode shared = new DefaultDependencyNode(new Dependency(new DefaultArtifact("gid:c:3"), null));
+        root.setChildren(Arrays.asList(a, b));
+        a.setChildren(Collections.singletonList(shared));
+        b.setChildren(Collections.singletonList(shared));
+        shared.setChildren(Collections.singletonList(a));
+
+        DependencyNode readRoot = new DependencyGraphReader(versionScheme).read(write(root));
+
+        assertNull(readRoot.getDependency());
+        assertEquals(root.getArtifact(), readRoot.getArtifact());
+        assertEquals("project", readRoot.getRequestContext());
+        assertEquals(2, readRoot.getChildren().size());
+
+        DependencyNode readA = readRoot.getChildren().get(0);
+        assertEquals(a.getDependency(), readA.getDependency());
+        assertEquals(a.getArtifact().getProperties(), readA.getArtifact().getProperties());
+        assertEquals(Boolean.TRUE, readA.getDependency().getOptional());
+        assertEquals(a.getVersion(), readA.getVersion());
+        assertEquals(a.getVersionConstraint(), readA.getVersionConstraint());
+        assertEquals(DependencyNode.MANAGED_SCOPE, readA.getManagedBits());
+        assertEquals(a.getRepositories(), readA.getRepositories());
+        assertEquals(Collections.singletonMap("conflict.originalScope", "compile"), readA.getData());
+
+        DependencyNode readB = readRoot.getChildren().get(1);
+        assertEquals(b.getDependency(), readB.getDependency());
+        assertNull(readB.getDependency().getOptional());
+        assertEquals(b.getRelocations(), readB.getRelocations());
+
+        DependencyNode readShared = readA.getChildren().get(0);
+        assertEquals("", readShared.getDependency().getScope());
+        assertSame(readShared, readB.getChildren().get(0));
+        assertSame(readA, readShared.getChildren().get(0));
+    }
+
+    @Test
+    void modifyChildren() throws Exception {
+        DependencyNode root = new DependencyGraphParser("visitor/ordered-list/").parseResource("simple.txt");
+        DependencyNode read = new DependencyGraphReader().read(write(root));
+        int size = read.getChildren().size();
+        DependencyNode first = read.getChildren().remove(0);
+        read.getChildren().add(first);
+        assertEquals(size, read.getChildren().size());
+        assertSame(first, read.getChildren().get(size - 1));
+    }
+
+    @Test
+    void rejectInvalidInput() {
+        assertThrows(IOException.class, () -> new DependencyGraphReader().read(new byte[] {1, 2, 3, 4, 5}));
+        assertThrows(IOException.class, () -> new DependencyGraphReader().read(new byte[] {0x52, 0x44, 0x47, 0x31}));
+    }
+}